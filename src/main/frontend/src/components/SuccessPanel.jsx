@@ -18,6 +18,10 @@ export default function SuccessPanel({ submission, formData, onReset }) {
   // Translate a panchanga value to Telugu using the lookup (case-insensitive)
   const toTelugu = (category, value) => {
     if (!value) return value;
+    // Intercalary month, e.g. "Adhika Jyeshthamu"
+    if (category === 'masam' && value.startsWith('Adhika ')) {
+      return `అధిక ${toTelugu(category, value.slice('Adhika '.length))}`;
+    }
     const map = teluguMap[category];
     if (!map) return value;
     // Try exact match first
@@ -57,7 +61,17 @@ export default function SuccessPanel({ submission, formData, onReset }) {
     if (timeString.includes('AM') || timeString.includes('PM')) {
       return timeString;
     }
-    
+
+    // ISO-8601 with the city's offset, e.g. 2026-02-25T07:01:56+05:30: show the city's wall clock
+    const iso = timeString.match(/^(\d{4}-\d{2}-\d{2})T(\d{2}):(\d{2})/);
+    if (iso) {
+      const hour = parseInt(iso[2]);
+      const ampm = hour >= 12 ? 'PM' : 'AM';
+      const displayHour = hour % 12 || 12;
+      const day = iso[1] === formData.date ? '' : ` on ${iso[1]}`;
+      return `${displayHour.toString().padStart(2, '0')}:${iso[3]} ${ampm}${day}`;
+    }
+
     // Otherwise parse HH:MM or HH:MM:SS format
     const timeParts = timeString.split(':');
     const hour = parseInt(timeParts[0]);
@@ -143,6 +157,23 @@ export default function SuccessPanel({ submission, formData, onReset }) {
               </div>
             )}
           </div>
+
+          {/* Daytime windows: eighths of sunrise–sunset by weekday, and the noon muhurtham */}
+          <div className="celestial-times">
+            {[
+              ['Rahu Kalam', data.rahuKalam],
+              ['Yamagandam', data.yamagandam],
+              ['Gulika Kalam', data.gulikaKalam],
+              ['Abhijit Muhurtham', data.abhijitMuhurtham],
+            ].filter(([, window]) => window).map(([label, window]) => (
+              <div className="celestial-item" key={label}>
+                <div className="celestial-content">
+                  <span className="celestial-label">{label}</span>
+                  <span className="celestial-time">{window.start} – {window.end}</span>
+                </div>
+              </div>
+            ))}
+          </div>
         </div>
       )}
 
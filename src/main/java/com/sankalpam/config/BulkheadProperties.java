@@ -0,0 +1,34 @@
+package com.sankalpam.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Settings for the per-upstream bulkheads that bound concurrent calls to the appspot
+ * Panchanga RPC and the Geoapify APIs. The same limits apply to each upstream separately.
+ */
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "upstream.bulkhead")
+public class BulkheadProperties {
+
+    /** Turn the bulkheads off (calls are still counted, but never queued or rejected). */
+    private boolean enabled = true;
+
+    /** Calls allowed in flight to one upstream at a time. */
+    private int maxConcurrentCalls = 8;
+
+    /** Calls allowed to wait for a free slot; beyond this, calls are rejected at once. */
+    private int maxQueuedCalls = 16;
+
+    /** A queued call that has not got a slot within this time is rejected. */
+    private Duration maxWaitDuration = Duration.ofSeconds(1);
+
+    /** Sent as {@code Retry-After} when a request is turned away because an upstream is saturated. */
+    private Duration retryAfter = Duration.ofSeconds(5);
+}
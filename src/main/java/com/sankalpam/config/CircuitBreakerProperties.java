@@ -0,0 +1,43 @@
+package com.sankalpam.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Settings for the per-upstream circuit breakers in front of the appspot Panchanga RPC
+ * and the Geoapify APIs. The same settings apply to every upstream.
+ */
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "upstream.circuit-breaker")
+public class CircuitBreakerProperties {
+
+    /** Turn the breakers off entirely (every call goes upstream). */
+    private boolean enabled = true;
+
+    /** Number of most recent calls whose outcomes decide whether to open. */
+    private int slidingWindowSize = 20;
+
+    /** Calls that must be recorded before the failure and slow-call rates are evaluated. */
+    private int minimumNumberOfCalls = 10;
+
+    /** Open when at least this percentage of recorded calls failed (I/O error, timeout or HTTP 5xx). */
+    private int failureRateThreshold = 50;
+
+    /** Open when at least this percentage of recorded calls took {@link #slowCallDuration} or longer. */
+    private int slowCallRateThreshold = 50;
+
+    /** A call taking at least this long counts as slow. */
+    private Duration slowCallDuration = Duration.ofSeconds(5);
+
+    /** How long the breaker stays open (rejecting calls) before letting probes through. */
+    private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+
+    /** Probe calls let through while half-open; all must succeed to close again. */
+    private int permittedCallsInHalfOpenState = 3;
+}
@@ -0,0 +1,43 @@
+package com.sankalpam.config;
+
+import com.sankalpam.service.upstream.Upstream;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Settings for hedged upstream requests: when a response is slower than the usual tail,
+ * a single duplicate request is sent and whichever answers first is used.
+ */
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "upstream.hedging")
+public class HedgingProperties {
+
+    /** Hedging is opt-in. */
+    private boolean enabled = false;
+
+    /** Upstreams whose async calls may be hedged. Only idempotent GETs go through the client. */
+    private Set<Upstream> upstreams = EnumSet.of(Upstream.PANCHANGA);
+
+    /**
+     * Send the hedge once the call has been outstanding longer than this percentile of recent
+     * latency (the window is {@code upstream.http.latency-window-size}).
+     */
+    private double percentile = 95.0;
+
+    /** Never hedge earlier than this, however fast the upstream usually is. */
+    private Duration minimumDelay = Duration.ofMillis(50);
+
+    /** Latencies that must be observed before any hedge is sent. */
+    private int minimumSamples = 20;
+
+    /** Hedges may add at most this percentage on top of the primary requests. */
+    private int budgetPercent = 10;
+}
@@ -0,0 +1,36 @@
+package com.sankalpam.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Settings for the in-memory Panchanga result cache in front of the appspot RPC.
+ */
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "panchanga.cache")
+public class PanchangaCacheProperties {
+
+    /** Turn the cache off entirely (every /find goes upstream). */
+    private boolean enabled = true;
+
+    /** Maximum number of (location, timezone, date) entries kept; W-TinyLFU decides what to evict. */
+    private long maximumSize = 10_000;
+
+    /**
+     * How long a result is kept after its valid-through instant so it can still be served,
+     * flagged stale, when appspot fails or is slow.
+     */
+    private Duration staleRetention = Duration.ofDays(2);
+
+    /**
+     * When a stale result is on hand, how long a request waits for appspot before getting the
+     * stale result instead. The upstream call carries on in the background and refreshes the cache.
+     */
+    private Duration staleAfter = Duration.ofSeconds(2);
+}
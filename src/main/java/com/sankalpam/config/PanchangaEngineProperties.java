@@ -0,0 +1,103 @@
+package com.sankalpam.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Where each Panchanga element comes from: the appspot response, the in-process engine
+ * ({@code com.sankalpam.service.panchanga}), or appspot with the engine filling in whatever
+ * the response lacks.
+ */
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "panchanga.engine")
+public class PanchangaEngineProperties {
+
+    public enum Source {
+        /** Only the appspot value; a response without it is rejected. */
+        UPSTREAM,
+        /** Always the in-process value; the appspot value is ignored. */
+        COMPUTED,
+        /** The appspot value when present, otherwise the in-process one. */
+        FALLBACK
+    }
+
+    public enum Mode {
+        /** Every lookup goes to appspot; the engine only fills the elements configured below. */
+        UPSTREAM,
+        /**
+         * Appspot and the engine both answer a sampled share of lookups and their answers are
+         * compared (see {@link Shadow}); {@link Shadow#getPrimary()} decides whose is returned.
+         */
+        SHADOW,
+        /** Lookups are answered entirely in-process, with no network I/O. */
+        LOCAL
+    }
+
+    public enum Engine {
+        UPSTREAM,
+        LOCAL
+    }
+
+    public enum Reckoning {
+        /** Elements are those prevailing at the sunrise that began the requested Hindu day, as appspot does. */
+        SUNRISE,
+        /** Elements are those prevailing at the requested instant itself. */
+        INSTANT
+    }
+
+    private Mode mode = Mode.UPSTREAM;
+
+    /** The instant tithi, paksham and nakshatram are evaluated at when computed locally. */
+    private Reckoning reckoning = Reckoning.SUNRISE;
+
+    /** Source of sunrise and sunset. */
+    private Source sunTimes = Source.FALLBACK;
+
+    /**
+     * Source of the nakshatram. Pada and Chandra rasi are always computed (appspot has
+     * neither); pada is only reported alongside a computed or agreeing nakshatram.
+     */
+    private Source nakshatram = Source.FALLBACK;
+
+    /**
+     * Source of validUntil: appspot's "valid through" text or the engine's next sunrise (first
+     * element end under instant reckoning). Either way it is returned as an ISO-8601 timestamp
+     * and drives cache expiry.
+     */
+    private Source validUntil = Source.FALLBACK;
+
+    /**
+     * Observer height above the surrounding horizon in metres, used for the horizon-dip
+     * correction. The city lookup does not carry elevation, so this applies everywhere.
+     */
+    private double observerElevation = 0;
+
+    private Shadow shadow = new Shadow();
+
+    /** Settings for {@link Mode#SHADOW}. */
+    @Setter
+    @Getter
+    public static class Shadow {
+
+        /**
+         * The engine whose answer callers receive. Start with appspot; switch to the local
+         * engine once the comparisons agree, then to {@code mode: local} to stop calling appspot.
+         */
+        private Engine primary = Engine.UPSTREAM;
+
+        /** Fraction of lookups, 0 to 1, that are also answered by the other engine and compared. */
+        private double sampleRate = 0.1;
+
+        /** Sunrise, sunset and validUntil agree when they are at most this far apart. */
+        private Duration timeTolerance = Duration.ofMinutes(2);
+
+        /** Most recent disagreements kept for {@code /actuator/panchangashadow}. */
+        private int mismatchLogSize = 100;
+    }
+}
@@ -0,0 +1,40 @@
+package com.sankalpam.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Settings for the on-disk Panchanga store behind the in-memory result cache, which keeps
+ * parsed results across restarts.
+ */
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "panchanga.store")
+public class PanchangaStoreProperties {
+
+    /** Turn the store off (results then live only as long as the process). */
+    private boolean enabled = true;
+
+    /** Directory holding the data and index files; created on the first write. */
+    private String directory = "data/panchanga-store";
+
+    /** Slots in a new index; it doubles whenever it is 70% full. Rounded up to a power of two. */
+    private int initialIndexCapacity = 16_384;
+
+    /**
+     * Results waiting for the store's writer thread; beyond this new ones are not persisted
+     * (they are still cached in memory) until the writer catches up.
+     */
+    private int maxPendingWrites = 1024;
+
+    /** How often to check whether the data file needs compacting. */
+    private Duration compactionInterval = Duration.ofHours(1);
+
+    /** Compact once at least this fraction of the data file is superseded or expired records. */
+    private double compactionThreshold = 0.5;
+}
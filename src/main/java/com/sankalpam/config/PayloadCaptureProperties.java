@@ -0,0 +1,41 @@
+package com.sankalpam.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings for upstream payload capture: a sample of raw upstream responses written off the
+ * request path to their own rolling file. {@code enabled} and {@code sample-rate} can also be
+ * changed at runtime through {@code /actuator/payloadcapture}.
+ */
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "upstream.payload-capture")
+public class PayloadCaptureProperties {
+
+    private boolean enabled = true;
+
+    /** Capture one in this many successful responses; 0 captures none, 1 captures all. */
+    private int sampleRate = 100;
+
+    /** Always capture responses that were not 200 or could not be parsed, regardless of sampling. */
+    private boolean alwaysCaptureFailures = true;
+
+    /** Captures waiting for the writer; beyond this they are dropped rather than block a request. */
+    private int queueCapacity = 256;
+
+    /** Bodies longer than this many characters are truncated in the capture. */
+    private int maxBodyLength = 64 * 1024;
+
+    /** The sink is {@code <directory>/upstream-payloads.log}, rolled to {@code .1}, {@code .2}, ... */
+    private String directory = "logs";
+
+    private DataSize maxFileSize = DataSize.ofMegabytes(10);
+
+    /** Rolled files kept besides the active one. */
+    private int maxHistory = 5;
+}
@@ -0,0 +1,48 @@
+package com.sankalpam.config;
+
+import com.sankalpam.service.SankalpamApiClient;
+import com.sankalpam.service.impl.CoalescingSankalpamApiClient;
+import com.sankalpam.service.impl.LocalSankalpamApiClient;
+import com.sankalpam.service.impl.SankalpamApiClientImpl;
+import com.sankalpam.service.impl.ShadowSankalpamApiClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Assembles the {@link SankalpamApiClient} that the rest of the application sees: the
+ * appspot-backed {@link SankalpamApiClientImpl} wrapped in its decorators or, with
+ * {@code panchanga.engine.mode=local}, the in-process {@link LocalSankalpamApiClient}
+ * (which needs no single-flight: a lookup costs microseconds). With {@code mode=shadow} the
+ * {@link ShadowSankalpamApiClient} answers from one and compares a sample against the other;
+ * it exists only in that mode.
+ */
+@Configuration
+public class SankalpamApiClientConfig {
+
+    @Bean
+    @Primary
+    public SankalpamApiClient sankalpamApiClient(SankalpamApiClientImpl upstreamClient, LocalSankalpamApiClient localClient,
+                                                 ObjectProvider<ShadowSankalpamApiClient> shadowClient,
+                                                 PanchangaEngineProperties engineProperties, MeterRegistry meterRegistry) {
+        return switch (engineProperties.getMode()) {
+            case LOCAL -> localClient;
+            case SHADOW -> shadowClient.getObject();
+            case UPSTREAM -> new CoalescingSankalpamApiClient(upstreamClient, meterRegistry);
+        };
+    }
+
+    /** A bean of its own so {@code /actuator/panchangashadow} can report on it. */
+    @Bean
+    @ConditionalOnProperty(name = "panchanga.engine.mode", havingValue = "shadow")
+    public ShadowSankalpamApiClient shadowSankalpamApiClient(SankalpamApiClientImpl upstreamClient,
+                                                             LocalSankalpamApiClient localClient,
+                                                             PanchangaEngineProperties engineProperties,
+                                                             MeterRegistry meterRegistry) {
+        return new ShadowSankalpamApiClient(new CoalescingSankalpamApiClient(upstreamClient, meterRegistry),
+                localClient, engineProperties, meterRegistry);
+    }
+}
@@ -7,6 +7,7 @@ import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
@@ -22,6 +23,9 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 @EnableWebSecurity
 public class SecurityConfig {
 
+    /** Role of {@code spring.security.user}, required for every actuator endpoint but health and info. */
+    static final String ACTUATOR_ROLE = "ACTUATOR";
+
     @Value("${app.cors.allowed-origins:*}")
     private String allowedOrigins;
 
@@ -63,9 +67,14 @@ public class SecurityConfig {
                 // conflicts with SPA resource handler behind reverse proxies
                 .requestMatchers(new AntPathRequestMatcher("/api/**")).permitAll()
                 .requestMatchers(new AntPathRequestMatcher("/actuator/health")).permitAll()
+                .requestMatchers(new AntPathRequestMatcher("/actuator/health/**")).permitAll()
                 .requestMatchers(new AntPathRequestMatcher("/actuator/info")).permitAll()
+                // the other endpoints reveal or change operational state (payload capture, metrics...)
+                .requestMatchers(new AntPathRequestMatcher("/actuator/**")).hasRole(ACTUATOR_ROLE)
                 .anyRequest().permitAll()
             )
+            // the actuator user is spring.security.user; nothing else asks for credentials
+            .httpBasic(Customizer.withDefaults())
             .headers(headers -> headers
                 .contentSecurityPolicy(csp ->
                     csp.policyDirectives(
@@ -0,0 +1,94 @@
+package com.sankalpam.config;
+
+import com.sankalpam.service.upstream.Upstream;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Settings for the shared outbound HTTP client used for the appspot Panchanga RPC
+ * and the Geoapify APIs.
+ */
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "upstream.http")
+public class UpstreamHttpProperties {
+
+    /** Base URL of the appspot Panchanga RPC; point it at a stub server for offline runs. */
+    private String panchangaBaseUrl = "https://samekadasi-324123.uc.r.appspot.com";
+
+    /** Base URL of the Geoapify APIs. */
+    private String geoapifyBaseUrl = "https://api.geoapify.com";
+
+    /** TCP/TLS connect timeout for a new upstream connection. */
+    private Duration connectTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Per-request timeout, measured until response headers arrive. With adaptive timeouts on,
+     * this is the ceiling and the value used until enough latencies have been observed.
+     */
+    private Duration requestTimeout = Duration.ofSeconds(15);
+
+    /** Maximum idle HTTP/1.1 connections kept per JVM (0 = unbounded). */
+    private int connectionPoolSize = 32;
+
+    /** How long an idle pooled connection is kept open before it is closed. */
+    private Duration keepAlive = Duration.ofSeconds(60);
+
+    /** Negotiate HTTP/2 via ALPN, falling back to HTTP/1.1 when the server does not support it. */
+    private boolean http2 = true;
+
+    /** Number of recent response latencies kept per upstream (feeds adaptive timeouts and hedging). */
+    private int latencyWindowSize = 1000;
+
+    private AdaptiveTimeout adaptiveTimeout = new AdaptiveTimeout();
+
+    private Recording recording = new Recording();
+
+    public String baseUrl(Upstream upstream) {
+        return switch (upstream) {
+            case PANCHANGA -> panchangaBaseUrl;
+            case GEOAPIFY -> geoapifyBaseUrl;
+        };
+    }
+
+    /**
+     * Derive each upstream's request timeout from its own recent latency:
+     * {@code clamp(percentile × multiplier, floor, requestTimeout)}.
+     */
+    @Setter
+    @Getter
+    public static class AdaptiveTimeout {
+
+        private boolean enabled = true;
+
+        /** Latency percentile the timeout is based on. */
+        private double percentile = 99.9;
+
+        /** Headroom applied to the percentile. */
+        private double multiplier = 2.0;
+
+        /** Never time out sooner than this. */
+        private Duration floor = Duration.ofSeconds(2);
+
+        /** Latencies that must be observed before the derived timeout replaces {@code requestTimeout}. */
+        private int minimumSamples = 50;
+    }
+
+    /**
+     * Record mode: every upstream response is also written to {@code directory} as JSON, one file
+     * per distinct request, for {@code UpstreamStubServer} to replay. API keys are left out.
+     */
+    @Setter
+    @Getter
+    public static class Recording {
+
+        private boolean enabled = false;
+
+        private String directory = "upstream-recordings";
+    }
+}
@@ -13,6 +13,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * REST Controller for Sankalpam operations.
@@ -39,13 +40,22 @@ public class SankalpamController {
      * POST /api/v1/sankalpam/find
      * NEW: Accepts and validates a Sankalpam Finder request (simplified form with date, time, city).
      * Returns calculated Panchanga information for the given date, time, and location.
+     * Handled asynchronously: the request thread is released while the upstream Panchanga call is in flight.
      */
     @PostMapping("/find")
-    public ResponseEntity<ApiResponse<SankalpamPanchangaResponse>> find(
+    public CompletableFuture<ResponseEntity<ApiResponse<SankalpamPanchangaResponse>>> find(
             @Valid @RequestBody SankalpamFinderRequest request) {
 
-        SankalpamFinder result = sankalpamService.findSankalpam(request);
+        return sankalpamService.findSankalpamAsync(request)
+                .thenApply(result -> ResponseEntity
+                        .status(HttpStatus.OK)
+                        .body(ApiResponse.ok(
+                            "Sankalpam found successfully for the given date, time, and location.",
+                            toPanchangaResponse(result)
+                        )));
+    }
 
+    private SankalpamPanchangaResponse toPanchangaResponse(SankalpamFinder result) {
         SankalpamPanchangaResponse panchanga = new SankalpamPanchangaResponse();
         panchanga.setSamvatsaram(result.getSamvatsaram());
         panchanga.setAyanam(result.getAyanam());
@@ -55,17 +65,24 @@ public class SankalpamController {
         panchanga.setTithi(result.getTithi());
         panchanga.setVaaram(result.getVaasaram());
         panchanga.setNakshatram(result.getNakshatram());
+        panchanga.setNakshatramPada(result.getNakshatramPada());
+        panchanga.setRasi(result.getRasi());
+        panchanga.setYoga(result.getYoga());
+        panchanga.setKarana(result.getKarana());
         panchanga.setSunrise(result.getSunrise());
         panchanga.setSunset(result.getSunset());
         panchanga.setValidUntil(result.getValidUntil());
+        panchanga.setRahuKalam(result.getRahuKalam());
+        panchanga.setYamagandam(result.getYamagandam());
+        panchanga.setGulikaKalam(result.getGulikaKalam());
+        panchanga.setAbhijitMuhurtham(result.getAbhijitMuhurtham());
+        panchanga.setTithiEndsAt(result.getTithiEndsAt());
+        panchanga.setNakshatramEndsAt(result.getNakshatramEndsAt());
+        panchanga.setYogaEndsAt(result.getYogaEndsAt());
+        panchanga.setKaranaEndsAt(result.getKaranaEndsAt());
         panchanga.setTimezone(result.getTimezone());
-
-        return ResponseEntity
-                .status(HttpStatus.OK)
-                .body(ApiResponse.ok(
-                    "Sankalpam found successfully for the given date, time, and location.",
-                    panchanga
-                ));
+        panchanga.setStale(result.isStale());
+        return panchanga;
     }
 
     /**
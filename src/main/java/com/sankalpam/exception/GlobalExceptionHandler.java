@@ -3,6 +3,7 @@ package com.sankalpam.exception;
 import com.sankalpam.dto.ApiResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -70,6 +71,25 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(message, null));
     }
 
+    @ExceptionHandler(PanchangaUnavailableException.class)
+    public ResponseEntity<ApiResponse<Void>> handlePanchangaUnavailable(PanchangaUnavailableException ex) {
+        log.warn("Panchanga unavailable: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(ApiResponse.error("Panchanga data is temporarily unavailable. Please try again shortly.", null));
+    }
+
+    @ExceptionHandler(UpstreamBusyException.class)
+    public ResponseEntity<ApiResponse<Void>> handleUpstreamBusy(UpstreamBusyException ex) {
+        log.warn("Upstream busy: {}", ex.getMessage());
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(ApiResponse.error("The service is busy. Please try again shortly.", null));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse<Void>> handleGeneric(Exception ex) {
         log.error("Unexpected error: ", ex);
@@ -0,0 +1,16 @@
+package com.sankalpam.exception;
+
+/**
+ * No Panchanga could be produced: the upstream failed and there was no known-good result
+ * for the same place and date to fall back on. Mapped to 503 by {@link GlobalExceptionHandler}.
+ */
+public class PanchangaUnavailableException extends RuntimeException {
+
+    public PanchangaUnavailableException(String message) {
+        super(message);
+    }
+
+    public PanchangaUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
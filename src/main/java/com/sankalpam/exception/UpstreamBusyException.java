@@ -0,0 +1,22 @@
+package com.sankalpam.exception;
+
+import java.time.Duration;
+
+/**
+ * An upstream we depend on is already handling as many calls as we allow, so the request was
+ * turned away rather than queued indefinitely. Mapped to 503 with {@code Retry-After} by
+ * {@link GlobalExceptionHandler}.
+ */
+public class UpstreamBusyException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public UpstreamBusyException(String message, Duration retryAfter, Throwable cause) {
+        super(message, cause);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -24,15 +24,33 @@ public class SankalpamFinder {
     private String vaasaram;
     private String nakshatram;
     private String rasi;
+    private Integer nakshatramPada;
+    private String yoga;
+    private String karana;
 
     // Sunrise and Sunset times
     private String sunrise;
     private String sunset;
     private String validUntil;
 
+    // Rahu Kalam, Yamagandam, Gulika Kalam and Abhijit muhurtham, from the sunrise and sunset above
+    private TimeWindow rahuKalam;
+    private TimeWindow yamagandam;
+    private TimeWindow gulikaKalam;
+    private TimeWindow abhijitMuhurtham;
+
+    // ISO-8601 end instants of the tithi, nakshatram, yoga and karana, when computed
+    private String tithiEndsAt;
+    private String nakshatramEndsAt;
+    private String yogaEndsAt;
+    private String karanaEndsAt;
+
     // Timezone for the city
     private String timezone;
 
+    // True when served from the last known-good result because a fresh one was unavailable
+    private boolean stale;
+
     private Instant createdAt;
 
     // Constructors
@@ -49,6 +67,39 @@ public class SankalpamFinder {
         this.createdAt = Instant.now();
     }
 
+    /**
+     * Copy constructor used when handing out cached results: every request gets its own
+     * instance (fresh id and createdAt) so callers can adjust it without touching the cache.
+     */
+    public SankalpamFinder(SankalpamFinder source) {
+        this(source.date, source.time, source.city);
+        this.samvatsaram = source.samvatsaram;
+        this.ayanam = source.ayanam;
+        this.ruthu = source.ruthu;
+        this.masam = source.masam;
+        this.paksham = source.paksham;
+        this.tithi = source.tithi;
+        this.vaasaram = source.vaasaram;
+        this.nakshatram = source.nakshatram;
+        this.rasi = source.rasi;
+        this.nakshatramPada = source.nakshatramPada;
+        this.yoga = source.yoga;
+        this.karana = source.karana;
+        this.sunrise = source.sunrise;
+        this.sunset = source.sunset;
+        this.validUntil = source.validUntil;
+        this.rahuKalam = source.rahuKalam;
+        this.yamagandam = source.yamagandam;
+        this.gulikaKalam = source.gulikaKalam;
+        this.abhijitMuhurtham = source.abhijitMuhurtham;
+        this.tithiEndsAt = source.tithiEndsAt;
+        this.nakshatramEndsAt = source.nakshatramEndsAt;
+        this.yogaEndsAt = source.yogaEndsAt;
+        this.karanaEndsAt = source.karanaEndsAt;
+        this.timezone = source.timezone;
+        this.stale = source.stale;
+    }
+
     // Getters and Setters
     public String getId() {
         return id;
@@ -154,6 +205,30 @@ public class SankalpamFinder {
         this.rasi = rasi;
     }
 
+    public Integer getNakshatramPada() {
+        return nakshatramPada;
+    }
+
+    public void setNakshatramPada(Integer nakshatramPada) {
+        this.nakshatramPada = nakshatramPada;
+    }
+
+    public String getYoga() {
+        return yoga;
+    }
+
+    public void setYoga(String yoga) {
+        this.yoga = yoga;
+    }
+
+    public String getKarana() {
+        return karana;
+    }
+
+    public void setKarana(String karana) {
+        this.karana = karana;
+    }
+
     public String getSunrise() {
         return sunrise;
     }
@@ -178,6 +253,70 @@ public class SankalpamFinder {
         this.validUntil = validUntil;
     }
 
+    public TimeWindow getRahuKalam() {
+        return rahuKalam;
+    }
+
+    public void setRahuKalam(TimeWindow rahuKalam) {
+        this.rahuKalam = rahuKalam;
+    }
+
+    public TimeWindow getYamagandam() {
+        return yamagandam;
+    }
+
+    public void setYamagandam(TimeWindow yamagandam) {
+        this.yamagandam = yamagandam;
+    }
+
+    public TimeWindow getGulikaKalam() {
+        return gulikaKalam;
+    }
+
+    public void setGulikaKalam(TimeWindow gulikaKalam) {
+        this.gulikaKalam = gulikaKalam;
+    }
+
+    public TimeWindow getAbhijitMuhurtham() {
+        return abhijitMuhurtham;
+    }
+
+    public void setAbhijitMuhurtham(TimeWindow abhijitMuhurtham) {
+        this.abhijitMuhurtham = abhijitMuhurtham;
+    }
+
+    public String getTithiEndsAt() {
+        return tithiEndsAt;
+    }
+
+    public void setTithiEndsAt(String tithiEndsAt) {
+        this.tithiEndsAt = tithiEndsAt;
+    }
+
+    public String getNakshatramEndsAt() {
+        return nakshatramEndsAt;
+    }
+
+    public void setNakshatramEndsAt(String nakshatramEndsAt) {
+        this.nakshatramEndsAt = nakshatramEndsAt;
+    }
+
+    public String getYogaEndsAt() {
+        return yogaEndsAt;
+    }
+
+    public void setYogaEndsAt(String yogaEndsAt) {
+        this.yogaEndsAt = yogaEndsAt;
+    }
+
+    public String getKaranaEndsAt() {
+        return karanaEndsAt;
+    }
+
+    public void setKaranaEndsAt(String karanaEndsAt) {
+        this.karanaEndsAt = karanaEndsAt;
+    }
+
     public String getTimezone() {
         return timezone;
     }
@@ -186,6 +325,14 @@ public class SankalpamFinder {
         this.timezone = timezone;
     }
 
+    public boolean isStale() {
+        return stale;
+    }
+
+    public void setStale(boolean stale) {
+        this.stale = stale;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
@@ -210,6 +357,9 @@ public class SankalpamFinder {
                 ", vaasaram='" + vaasaram + '\'' +
                 ", nakshatram='" + nakshatram + '\'' +
                 ", rasi='" + rasi + '\'' +
+                ", nakshatramPada=" + nakshatramPada +
+                ", yoga='" + yoga + '\'' +
+                ", karana='" + karana + '\'' +
                 '}';
     }
 }
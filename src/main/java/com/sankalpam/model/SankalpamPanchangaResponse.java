@@ -22,14 +22,40 @@ public class SankalpamPanchangaResponse {
     private String Vaaram;
     @JsonProperty("nakshatram")
     private String Nakshatram;
+    @JsonProperty("nakshatramPada")
+    private Integer NakshatramPada;
+    @JsonProperty("rasi")
+    private String Rasi;
+    @JsonProperty("yoga")
+    private String Yoga;
+    @JsonProperty("karana")
+    private String Karana;
     @JsonProperty("sunrise")
     private String Sunrise;
     @JsonProperty("sunset")
     private String Sunset;
     @JsonProperty("validUntil")
     private String ValidUntil;
+    @JsonProperty("rahuKalam")
+    private TimeWindow RahuKalam;
+    @JsonProperty("yamagandam")
+    private TimeWindow Yamagandam;
+    @JsonProperty("gulikaKalam")
+    private TimeWindow GulikaKalam;
+    @JsonProperty("abhijitMuhurtham")
+    private TimeWindow AbhijitMuhurtham;
+    @JsonProperty("tithiEndsAt")
+    private String TithiEndsAt;
+    @JsonProperty("nakshatramEndsAt")
+    private String NakshatramEndsAt;
+    @JsonProperty("yogaEndsAt")
+    private String YogaEndsAt;
+    @JsonProperty("karanaEndsAt")
+    private String KaranaEndsAt;
     @JsonProperty("timezone")
     private String Timezone;
+    @JsonProperty("stale")
+    private boolean Stale;
 
     public String getSamvatsaram() {
         return Samvatsaram;
@@ -95,6 +121,38 @@ public class SankalpamPanchangaResponse {
         this.Nakshatram = nakshatram;
     }
 
+    public Integer getNakshatramPada() {
+        return NakshatramPada;
+    }
+
+    public void setNakshatramPada(Integer nakshatramPada) {
+        this.NakshatramPada = nakshatramPada;
+    }
+
+    public String getRasi() {
+        return Rasi;
+    }
+
+    public void setRasi(String rasi) {
+        this.Rasi = rasi;
+    }
+
+    public String getYoga() {
+        return Yoga;
+    }
+
+    public void setYoga(String yoga) {
+        this.Yoga = yoga;
+    }
+
+    public String getKarana() {
+        return Karana;
+    }
+
+    public void setKarana(String karana) {
+        this.Karana = karana;
+    }
+
     public String getSunrise() {
         return Sunrise;
     }
@@ -119,6 +177,70 @@ public class SankalpamPanchangaResponse {
         this.ValidUntil = validUntil;
     }
 
+    public TimeWindow getRahuKalam() {
+        return RahuKalam;
+    }
+
+    public void setRahuKalam(TimeWindow rahuKalam) {
+        this.RahuKalam = rahuKalam;
+    }
+
+    public TimeWindow getYamagandam() {
+        return Yamagandam;
+    }
+
+    public void setYamagandam(TimeWindow yamagandam) {
+        this.Yamagandam = yamagandam;
+    }
+
+    public TimeWindow getGulikaKalam() {
+        return GulikaKalam;
+    }
+
+    public void setGulikaKalam(TimeWindow gulikaKalam) {
+        this.GulikaKalam = gulikaKalam;
+    }
+
+    public TimeWindow getAbhijitMuhurtham() {
+        return AbhijitMuhurtham;
+    }
+
+    public void setAbhijitMuhurtham(TimeWindow abhijitMuhurtham) {
+        this.AbhijitMuhurtham = abhijitMuhurtham;
+    }
+
+    public String getTithiEndsAt() {
+        return TithiEndsAt;
+    }
+
+    public void setTithiEndsAt(String tithiEndsAt) {
+        this.TithiEndsAt = tithiEndsAt;
+    }
+
+    public String getNakshatramEndsAt() {
+        return NakshatramEndsAt;
+    }
+
+    public void setNakshatramEndsAt(String nakshatramEndsAt) {
+        this.NakshatramEndsAt = nakshatramEndsAt;
+    }
+
+    public String getYogaEndsAt() {
+        return YogaEndsAt;
+    }
+
+    public void setYogaEndsAt(String yogaEndsAt) {
+        this.YogaEndsAt = yogaEndsAt;
+    }
+
+    public String getKaranaEndsAt() {
+        return KaranaEndsAt;
+    }
+
+    public void setKaranaEndsAt(String karanaEndsAt) {
+        this.KaranaEndsAt = karanaEndsAt;
+    }
+
     public String getTimezone() {
         return Timezone;
     }
@@ -126,5 +248,12 @@ public class SankalpamPanchangaResponse {
     public void setTimezone(String timezone) {
         this.Timezone = timezone;
     }
-}
 
+    public boolean isStale() {
+        return Stale;
+    }
+
+    public void setStale(boolean stale) {
+        this.Stale = stale;
+    }
+}
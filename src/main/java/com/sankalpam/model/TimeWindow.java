@@ -0,0 +1,4 @@
+package com.sankalpam.model;
+
+/** A daytime window on the city's wall clock, e.g. "04:56:54 PM" to "06:23:23 PM". */
+public record TimeWindow(String start, String end) {}
@@ -0,0 +1,188 @@
+package com.sankalpam.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.sankalpam.config.PanchangaCacheProperties;
+import com.sankalpam.model.Coordinates;
+import com.sankalpam.model.SankalpamFinder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * In-memory cache of parsed Panchanga results, keyed by (coordinates, timezone, date).
+ *
+ * The appspot RPC tells us how long its answer holds ("valid through 05:30:12 AM of
+ * following day"), so each entry stops being fresh exactly at that instant instead of after
+ * a fixed TTL. An entry only answers requests whose instant falls inside its window
+ * [earliest requested instant seen, valid-through); a request before the window (e.g. before
+ * sunrise, when the previous day's values still apply) is a miss and goes upstream.
+ *
+ * Entries are kept for {@code panchanga.cache.stale-retention} past their valid-through
+ * instant as the last known-good answer for that place and date. {@link #getStale} hands
+ * those out, flagged stale, when appspot cannot provide a fresh one.
+ *
+ * Size is bounded; Caffeine's W-TinyLFU policy keeps the popular cities. Hit/miss/eviction
+ * counts are published as {@code cache.*} metrics with {@code cache=panchanga}.
+ *
+ * Every stored result is also written to the {@link PanchangaStore} on disk, and a miss here
+ * is looked up there before going upstream, so a restarted instance starts warm.
+ */
+@Slf4j
+@Component
+public class PanchangaResultCache {
+
+    /** Cache key. Coordinates are rounded to ~10 m so float noise does not split entries. */
+    record Key(long latE4, long lngE4, String timezone, String date) {
+        static Key of(Coordinates coords, String timezone, String date) {
+            return new Key(Math.round(coords.lat() * 10_000), Math.round(coords.lng() * 10_000), timezone, date);
+        }
+    }
+
+    /** A cached result and the window of request instants it is valid for. */
+    record Entry(SankalpamFinder value, Instant validFrom, Instant validUntil) {
+        boolean covers(Instant at) {
+            return !at.isBefore(validFrom) && at.isBefore(validUntil);
+        }
+    }
+
+    private final boolean enabled;
+    private final Duration staleAfter;
+    private final Cache<Key, Entry> cache;
+    private final PanchangaStore store;
+
+    /** Memory only, for tests. */
+    PanchangaResultCache(PanchangaCacheProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, null);
+    }
+
+    @Autowired
+    public PanchangaResultCache(PanchangaCacheProperties properties, MeterRegistry meterRegistry, PanchangaStore store) {
+        this.enabled = properties.isEnabled();
+        this.store = store;
+        this.staleAfter = properties.getStaleAfter();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new ValidThroughExpiry(properties.getStaleRetention()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "panchanga");
+        log.info("Panchanga result cache initialised: enabled={}, maximumSize={}, staleRetention={}, staleAfter={}",
+                enabled, properties.getMaximumSize(), properties.getStaleRetention(), staleAfter);
+    }
+
+    /**
+     * Look up a result valid at {@code at}. Returns a private copy the caller may modify.
+     */
+    public Optional<SankalpamFinder> get(Coordinates coords, String timezone, String date, Instant at) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Entry entry = lookup(Key.of(coords, timezone, date));
+        if (entry == null || !entry.covers(at)) {
+            return Optional.empty();
+        }
+        return Optional.of(new SankalpamFinder(entry.value()));
+    }
+
+    /**
+     * The last known-good result for this place and date, whatever instant it was valid for,
+     * as a private copy flagged {@link SankalpamFinder#isStale() stale}. Only meant for when a
+     * fresh answer cannot be had.
+     */
+    public Optional<SankalpamFinder> getStale(Coordinates coords, String timezone, String date) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Entry entry = lookup(Key.of(coords, timezone, date));
+        if (entry == null) {
+            return Optional.empty();
+        }
+        SankalpamFinder copy = new SankalpamFinder(entry.value());
+        copy.setStale(true);
+        return Optional.of(copy);
+    }
+
+    /** How long a caller holding a stale result should wait for the upstream before serving it. */
+    public Duration getStaleAfter() {
+        return staleAfter;
+    }
+
+    /**
+     * Store a successfully parsed result that was requested for {@code requestedAt} and stays
+     * valid until {@code validUntil}. A second result with the same end instant for an earlier
+     * request widens the window downwards rather than replacing it.
+     */
+    public void put(Coordinates coords, String timezone, String date,
+                    Instant requestedAt, Instant validUntil, SankalpamFinder value) {
+        if (!enabled || validUntil == null || !validUntil.isAfter(requestedAt)) {
+            return;
+        }
+        SankalpamFinder snapshot = new SankalpamFinder(value);
+        Key key = Key.of(coords, timezone, date);
+        Entry fresh = new Entry(snapshot, requestedAt, validUntil);
+        Entry stored = cache.asMap().merge(key, fresh,
+                (existing, update) -> existing.validUntil().equals(update.validUntil())
+                        && existing.validFrom().isBefore(update.validFrom())
+                        ? existing
+                        : update);
+        if (store != null && stored == fresh) {
+            store.put(key, stored);
+        }
+        log.debug("Cached Panchanga for date={} tz={} valid [{} .. {})", date, timezone, requestedAt, validUntil);
+    }
+
+    /** The in-memory entry, or else the one on disk (which is then kept in memory too). */
+    private Entry lookup(Key key) {
+        Entry entry = cache.getIfPresent(key);
+        if (entry == null && store != null) {
+            entry = store.get(key).orElse(null);
+            if (entry != null) {
+                cache.asMap().putIfAbsent(key, entry);
+            }
+        }
+        return entry;
+    }
+
+    /** Number of live entries (approximate, for diagnostics and tests). */
+    public long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    /** Per-entry expiry: live until the upstream's valid-through instant plus the stale retention. */
+    private static final class ValidThroughExpiry implements Expiry<Key, Entry> {
+        private final Duration staleRetention;
+
+        ValidThroughExpiry(Duration staleRetention) {
+            this.staleRetention = staleRetention;
+        }
+
+        @Override
+        public long expireAfterCreate(Key key, Entry entry, long currentTime) {
+            return nanosUntil(entry.validUntil().plus(staleRetention));
+        }
+
+        @Override
+        public long expireAfterUpdate(Key key, Entry entry, long currentTime, long currentDuration) {
+            return nanosUntil(entry.validUntil().plus(staleRetention));
+        }
+
+        @Override
+        public long expireAfterRead(Key key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        private static long nanosUntil(Instant instant) {
+            Duration remaining = Duration.between(Instant.now(), instant);
+            return remaining.isNegative() ? 0 : remaining.toNanos();
+        }
+    }
+}
@@ -0,0 +1,818 @@
+package com.sankalpam.service;
+
+import com.sankalpam.config.PanchangaCacheProperties;
+import com.sankalpam.config.PanchangaStoreProperties;
+import com.sankalpam.model.SankalpamFinder;
+import com.sankalpam.model.TimeWindow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * Durable store of parsed Panchanga results behind {@link PanchangaResultCache}, so a
+ * restarted instance answers recently seen (place, date) lookups from disk instead of
+ * sending them all to appspot again.
+ *
+ * Two files in {@code panchanga.store.directory}:
+ * <ul>
+ *   <li>{@code panchanga.dat} — append-only records, each {@code [length][crc32][payload]};
+ *       a newer record for the same key supersedes the older one.</li>
+ *   <li>{@code panchanga.idx} — a memory-mapped open-addressing hash table (linear probing)
+ *       mapping the key's 64-bit hash to the offset, length and expiry of its latest record.</li>
+ * </ul>
+ * The index is derived data. It records which data file (by id) and how many bytes of it it
+ * covers; if either does not match on open — after a crash, or a compaction interrupted
+ * between renames — it is rebuilt by scanning the data file, which also drops a torn tail
+ * record. Writes are not fsynced individually, so a crash can lose the last few results;
+ * they are only a cache of appspot's answers.
+ *
+ * Files are opened on a background thread at startup (lookups until then simply miss) and
+ * created on the first write. Records are read from disk only when looked up. Appends are
+ * handed to the same thread, so a request never waits on the disk or on the write lock; a
+ * lookup of a result that is still queued misses, which the in-memory cache in front hides.
+ * The same thread periodically rewrites the data file without superseded and expired records once they
+ * make up {@code compaction-threshold} of it. An entry expires like the in-memory one:
+ * {@code panchanga.cache.stale-retention} after its valid-through instant.
+ */
+@Slf4j
+@Component
+public class PanchangaStore {
+
+    static final String DATA_FILE = "panchanga.dat";
+    static final String INDEX_FILE = "panchanga.idx";
+    private static final String COMPACT_SUFFIX = ".compact";
+
+    private static final int DATA_MAGIC = 0x50414e44;   // "PAND"
+    private static final int INDEX_MAGIC = 0x50414e49;  // "PANI"
+    /**
+     * 2: records carry the nakshatram pada, tithi and nakshatram end times, yoga and karana
+     * and the daytime windows. Files of another version are discarded on open.
+     */
+    private static final int FORMAT_VERSION = 2;
+
+    /** magic, version, file id. */
+    private static final int DATA_HEADER_BYTES = 16;
+    /** magic, version, capacity, count, data file id, data length covered. */
+    private static final int INDEX_HEADER_BYTES = 32;
+    /** key hash, record offset, expires-at epoch millis, record length, reserved. */
+    private static final int SLOT_BYTES = 32;
+    /** length, crc32. */
+    private static final int RECORD_HEADER_BYTES = 8;
+    private static final int MAX_RECORD_BYTES = 64 * 1024;
+    private static final double MAX_LOAD_FACTOR = 0.7;
+
+    private final PanchangaStoreProperties properties;
+    private final Duration staleRetention;
+    private final Path dataPath;
+    private final Path indexPath;
+    private final ScheduledExecutorService background;
+    private final Counter compactions;
+    private final Counter droppedWrites;
+    private final AtomicInteger pendingWrites = new AtomicInteger();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private boolean opened;
+    private FileChannel data;
+    private long fileId;
+    private long dataLength;
+    private FileChannel indexChannel;
+    private MappedByteBuffer index;
+    private int capacity;
+    private int count;
+
+    @Autowired
+    public PanchangaStore(PanchangaStoreProperties properties, PanchangaCacheProperties cacheProperties,
+                          MeterRegistry meterRegistry) {
+        this(properties, cacheProperties, meterRegistry, true);
+    }
+
+    /**
+     * For tests: with {@code background} false nothing runs until {@link #open()} is called,
+     * and {@link #put} writes on the caller's thread.
+     */
+    PanchangaStore(PanchangaStoreProperties properties, PanchangaCacheProperties cacheProperties,
+                   MeterRegistry meterRegistry, boolean background) {
+        this.properties = properties;
+        this.staleRetention = cacheProperties.getStaleRetention();
+        Path directory = Path.of(properties.getDirectory());
+        this.dataPath = directory.resolve(DATA_FILE);
+        this.indexPath = directory.resolve(INDEX_FILE);
+        this.compactions = Counter.builder("panchanga.store.compactions")
+                .description("Rewrites of the Panchanga data file without dead records")
+                .register(meterRegistry);
+        this.droppedWrites = Counter.builder("panchanga.store.dropped.writes")
+                .description("Results not persisted because the store's writer had too many pending")
+                .register(meterRegistry);
+        Gauge.builder("panchanga.store.records", this, PanchangaStore::size)
+                .description("Results held in the on-disk Panchanga store")
+                .register(meterRegistry);
+        Gauge.builder("panchanga.store.size", this, PanchangaStore::dataBytes)
+                .description("Size of the Panchanga data file")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+
+        if (properties.isEnabled() && background) {
+            this.background = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("panchanga-store").daemon().factory());
+            this.background.execute(this::openQuietly);
+            long interval = properties.getCompactionInterval().toMillis();
+            this.background.scheduleWithFixedDelay(this::compactIfWorthwhile, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            this.background = null;
+        }
+    }
+
+    /**
+     * The stored entry for {@code key}, unless there is none or it has expired. Before the
+     * store has been opened this is always empty.
+     */
+    Optional<PanchangaResultCache.Entry> get(PanchangaResultCache.Key key) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            if (index == null) {
+                return Optional.empty();
+            }
+            long hash = hash(key);
+            long now = System.currentTimeMillis();
+            int slot = find(hash);
+            if (slot < 0 || index.getLong(slotOffset(slot) + 16) <= now) {
+                return Optional.empty();
+            }
+            Record record = readRecord(data, index.getLong(slotOffset(slot) + 8));
+            // 64-bit hashes do not collide in practice, but a lookup must never return another key's result.
+            return record != null && record.key().equals(key) ? Optional.of(record.entry()) : Optional.empty();
+        } catch (IOException e) {
+            log.warn("Could not read Panchanga store entry for {}: {}", key, e.toString());
+            return Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Queue {@code entry} to be appended as the latest result for {@code key}. Failures are
+     * logged, never thrown.
+     */
+    void put(PanchangaResultCache.Key key, PanchangaResultCache.Entry entry) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long expiresAt = entry.validUntil().plus(staleRetention).toEpochMilli();
+        if (expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        byte[] record;
+        try {
+            record = encode(key, entry);
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Could not encode Panchanga store entry for {}: {}", key, e.toString());
+            return;
+        }
+        if (background == null) {
+            append(key, record, expiresAt);
+            return;
+        }
+        if (pendingWrites.incrementAndGet() > properties.getMaxPendingWrites()) {
+            pendingWrites.decrementAndGet();
+            droppedWrites.increment();
+            log.debug("Panchanga store writer is behind; not persisting {}", key);
+            return;
+        }
+        try {
+            background.execute(() -> {
+                pendingWrites.decrementAndGet();
+                append(key, record, expiresAt);
+            });
+        } catch (RejectedExecutionException e) {
+            pendingWrites.decrementAndGet();
+            log.debug("Panchanga store is closed; not persisting {}", key);
+        }
+    }
+
+    private void append(PanchangaResultCache.Key key, byte[] record, long expiresAt) {
+        lock.writeLock().lock();
+        try {
+            openIfNeeded();
+            if (data == null) {
+                createFiles();
+            }
+            long offset = dataLength;
+            writeFully(data, ByteBuffer.wrap(record), offset);
+            dataLength += record.length;
+            long hash = hash(key);
+            // Superseding a key reuses its slot; only a new key can push the table past its load factor.
+            if (find(hash) < 0 && count + 1 > capacity * MAX_LOAD_FACTOR) {
+                rebuildIndex(capacity * 2, false);
+            }
+            if (insert(index, capacity, hash, offset, expiresAt, record.length)) {
+                count++;
+            }
+            index.putLong(24, dataLength);
+        } catch (IOException e) {
+            log.warn("Could not write Panchanga store entry for {}: {}", key, e.toString());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Number of keys in the index, including expired ones not yet compacted away. */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Current size of the data file in bytes. */
+    public long dataBytes() {
+        lock.readLock().lock();
+        try {
+            return dataLength;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Open the files if they exist, rebuilding the index when it does not match the data
+     * file. Idempotent; normally run on the background thread at startup.
+     */
+    void open() throws IOException {
+        lock.writeLock().lock();
+        try {
+            openIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rewrite the data file keeping only the latest, unexpired record per key, and build a
+     * fresh index for it. The new files are written beside the old ones and renamed over them.
+     */
+    void compact() throws IOException {
+        lock.writeLock().lock();
+        try {
+            openIfNeeded();
+            if (data == null) {
+                return;
+            }
+            long before = dataLength;
+            long now = System.currentTimeMillis();
+            long newFileId = ThreadLocalRandom.current().nextLong();
+            Path compactData = dataPath.resolveSibling(DATA_FILE + COMPACT_SUFFIX);
+            int live = 0;
+            try (FileChannel out = FileChannel.open(compactData, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long position = writeDataHeader(out, newFileId);
+                int newCapacity = indexCapacityFor(count);
+                MappedByteBuffer newIndex = createIndex(indexPath.resolveSibling(INDEX_FILE + COMPACT_SUFFIX),
+                        newCapacity, newFileId);
+                for (int slot = 0; slot < capacity; slot++) {
+                    int base = slotOffset(slot);
+                    long hash = index.getLong(base);
+                    long expiresAt = index.getLong(base + 16);
+                    if (hash == 0 || expiresAt <= now) {
+                        continue;
+                    }
+                    int length = index.getInt(base + 24);
+                    ByteBuffer record = ByteBuffer.allocate(length);
+                    readFully(data, record, index.getLong(base + 8));
+                    record.flip();
+                    writeFully(out, record, position);
+                    insert(newIndex, newCapacity, hash, position, expiresAt, length);
+                    position += length;
+                    live++;
+                }
+                newIndex.putLong(24, position);
+                newIndex.force();
+                out.force(true);
+            }
+            closeFiles();
+            // Data first: if we stop between the renames, the old index names another file id and is rebuilt.
+            Files.move(compactData, dataPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.move(indexPath.resolveSibling(INDEX_FILE + COMPACT_SUFFIX), indexPath,
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            opened = false;
+            openIfNeeded();
+            compactions.increment();
+            log.info("Compacted Panchanga store: {} live records, {} -> {} bytes", live, before, dataLength);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Fraction of the data file taken by superseded or expired records. */
+    double deadFraction() {
+        lock.readLock().lock();
+        try {
+            long payload = dataLength - DATA_HEADER_BYTES;
+            if (index == null || payload <= 0) {
+                return 0;
+            }
+            long now = System.currentTimeMillis();
+            long liveBytes = 0;
+            for (int slot = 0; slot < capacity; slot++) {
+                int base = slotOffset(slot);
+                if (index.getLong(base) != 0 && index.getLong(base + 16) > now) {
+                    liveBytes += index.getInt(base + 24);
+                }
+            }
+            return 1.0 - (double) liveBytes / payload;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Stops the background thread after the appends already queued, then flushes the files. */
+    @PreDestroy
+    public void close() {
+        if (background != null) {
+            background.shutdown();
+            try {
+                if (!background.awaitTermination(5, TimeUnit.SECONDS)) {
+                    log.warn("Panchanga store writer did not finish on shutdown; {} results not persisted",
+                            pendingWrites.get());
+                    background.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                background.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            if (index != null) {
+                index.force();
+            }
+            if (data != null) {
+                data.force(false);
+            }
+            closeFiles();
+        } catch (IOException e) {
+            log.warn("Could not flush Panchanga store on shutdown: {}", e.toString());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void openQuietly() {
+        long start = System.nanoTime();
+        try {
+            open();
+            log.info("Panchanga store opened in {} ms: {} records, {} bytes at {}",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), size(), dataBytes(), dataPath.getParent());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not open Panchanga store at {}; results will not persist across restarts: {}",
+                    dataPath.getParent(), e.toString());
+        }
+    }
+
+    private void compactIfWorthwhile() {
+        try {
+            double dead = deadFraction();
+            if (dead >= properties.getCompactionThreshold()) {
+                log.info("Panchanga store is {}% dead records; compacting", Math.round(dead * 100));
+                compact();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Panchanga store compaction failed: {}", e.toString());
+        }
+    }
+
+    // ── Files (all called with the write lock held) ──
+
+    private void openIfNeeded() throws IOException {
+        if (opened) {
+            return;
+        }
+        opened = true;
+        if (!Files.exists(dataPath)) {
+            return;
+        }
+        data = FileChannel.open(dataPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(DATA_HEADER_BYTES);
+        if (data.size() < DATA_HEADER_BYTES || readFully(data, header, 0) < DATA_HEADER_BYTES
+                || header.getInt(0) != DATA_MAGIC || header.getInt(4) != FORMAT_VERSION) {
+            log.warn("Panchanga store data file {} is not in the expected format; starting empty", dataPath);
+            closeFiles();
+            Files.deleteIfExists(indexPath);
+            Files.delete(dataPath);
+            return;
+        }
+        fileId = header.getLong(8);
+        dataLength = data.size();
+        if (!mapExistingIndex()) {
+            log.info("Panchanga store index missing or out of date; rebuilding from {}", dataPath);
+            rebuildIndex(properties.getInitialIndexCapacity(), true);
+        }
+    }
+
+    private boolean mapExistingIndex() throws IOException {
+        if (!Files.exists(indexPath) || Files.size(indexPath) < INDEX_HEADER_BYTES) {
+            return false;
+        }
+        FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        int slots = mapped.getInt(8);
+        boolean valid = mapped.getInt(0) == INDEX_MAGIC && mapped.getInt(4) == FORMAT_VERSION
+                && Integer.bitCount(slots) == 1
+                && channel.size() == INDEX_HEADER_BYTES + (long) slots * SLOT_BYTES
+                && mapped.getLong(16) == fileId && mapped.getLong(24) == dataLength;
+        if (!valid) {
+            channel.close();
+            return false;
+        }
+        indexChannel = channel;
+        index = mapped;
+        capacity = slots;
+        count = mapped.getInt(12);
+        return true;
+    }
+
+    /**
+     * Build a new index of {@code newCapacity} slots, either from the current index (to grow it)
+     * or by scanning the data file. A scan stops at the first record that is incomplete or fails
+     * its checksum and truncates the file there.
+     */
+    private void rebuildIndex(int newCapacity, boolean scanData) throws IOException {
+        Path tmp = indexPath.resolveSibling(INDEX_FILE + COMPACT_SUFFIX);
+        int slots = scanData ? Math.max(indexCapacityFor(0), newCapacity) : newCapacity;
+        MappedByteBuffer rebuilt = createIndex(tmp, slots, fileId);
+        int entries;
+        if (scanData) {
+            long now = System.currentTimeMillis();
+            long position = DATA_HEADER_BYTES;
+            while (position < dataLength) {
+                Record record = readRecord(data, position);
+                if (record == null) {
+                    log.warn("Panchanga store: dropping {} bytes of incomplete or corrupt records at offset {}",
+                            dataLength - position, position);
+                    data.truncate(position);
+                    dataLength = position;
+                    break;
+                }
+                long expiresAt = record.entry().validUntil().plus(staleRetention).toEpochMilli();
+                if (expiresAt > now) {
+                    if (rebuilt.getInt(12) + 1 > slots * MAX_LOAD_FACTOR) {
+                        rebuilt = grow(rebuilt, slots, tmp);
+                        slots *= 2;
+                    }
+                    insert(rebuilt, slots, hash(record.key()), position, expiresAt, record.length());
+                } else {
+                    remove(rebuilt, slots, hash(record.key()));
+                }
+                position += record.length();
+            }
+            entries = rebuilt.getInt(12);
+        } else {
+            entries = 0;
+            for (int slot = 0; slot < capacity; slot++) {
+                int base = slotOffset(slot);
+                long hash = index.getLong(base);
+                if (hash != 0) {
+                    insert(rebuilt, slots, hash, index.getLong(base + 8), index.getLong(base + 16), index.getInt(base + 24));
+                    entries++;
+                }
+            }
+        }
+        rebuilt.putLong(24, dataLength);
+        rebuilt.force();
+        if (indexChannel != null) {
+            indexChannel.close();
+        }
+        Files.move(tmp, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        indexChannel = FileChannel.open(indexPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, indexChannel.size());
+        capacity = slots;
+        count = entries;
+    }
+
+    /** Copy {@code from} into an index twice its size, in place of the file at {@code path}. */
+    private MappedByteBuffer grow(MappedByteBuffer from, int slots, Path path) throws IOException {
+        int doubled = slots * 2;
+        long[] hashes = new long[slots];
+        long[][] values = new long[slots][];
+        for (int slot = 0; slot < slots; slot++) {
+            int base = slotOffset(slot);
+            hashes[slot] = from.getLong(base);
+            values[slot] = new long[]{from.getLong(base + 8), from.getLong(base + 16), from.getInt(base + 24)};
+        }
+        MappedByteBuffer grown = createIndex(path, doubled, fileId);
+        for (int slot = 0; slot < slots; slot++) {
+            if (hashes[slot] != 0) {
+                insert(grown, doubled, hashes[slot], values[slot][0], values[slot][1], (int) values[slot][2]);
+            }
+        }
+        return grown;
+    }
+
+    private void createFiles() throws IOException {
+        Files.createDirectories(dataPath.getParent());
+        fileId = ThreadLocalRandom.current().nextLong();
+        data = FileChannel.open(dataPath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        dataLength = writeDataHeader(data, fileId);
+        capacity = indexCapacityFor(0);
+        index = createIndex(indexPath, capacity, fileId);
+        indexChannel = FileChannel.open(indexPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        count = 0;
+        log.info("Created Panchanga store at {}", dataPath.getParent());
+    }
+
+    private static long writeDataHeader(FileChannel channel, long fileId) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(DATA_HEADER_BYTES)
+                .putInt(DATA_MAGIC).putInt(FORMAT_VERSION).putLong(fileId);
+        header.flip();
+        writeFully(channel, header, 0);
+        return DATA_HEADER_BYTES;
+    }
+
+    private static MappedByteBuffer createIndex(Path path, int slots, long fileId) throws IOException {
+        Files.deleteIfExists(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    INDEX_HEADER_BYTES + (long) slots * SLOT_BYTES);
+            mapped.putInt(0, INDEX_MAGIC).putInt(4, FORMAT_VERSION).putInt(8, slots).putInt(12, 0)
+                    .putLong(16, fileId).putLong(24, DATA_HEADER_BYTES);
+            return mapped;
+        }
+    }
+
+    private void closeFiles() throws IOException {
+        if (indexChannel != null) {
+            indexChannel.close();
+        }
+        if (data != null) {
+            data.close();
+        }
+        indexChannel = null;
+        index = null;
+        data = null;
+        dataLength = 0;
+        capacity = 0;
+        count = 0;
+    }
+
+    private int indexCapacityFor(int entries) {
+        int wanted = Math.max(properties.getInitialIndexCapacity(), (int) Math.ceil(entries / MAX_LOAD_FACTOR) + 1);
+        return Math.max(16, Integer.highestOneBit(wanted - 1) << 1);
+    }
+
+    // ── Hash table ──
+
+    /**
+     * Point {@code hash} at a record, replacing the slot it already has. Returns true when the
+     * key is new. The entry count lives in the index header.
+     */
+    private static boolean insert(MappedByteBuffer table, int slots, long hash, long offset, long expiresAt, int length) {
+        int slot = (int) (hash & (slots - 1));
+        while (true) {
+            int base = slotOffset(slot);
+            long existing = table.getLong(base);
+            if (existing == 0 || existing == hash) {
+                table.putLong(base, hash).putLong(base + 8, offset).putLong(base + 16, expiresAt).putInt(base + 24, length);
+                if (existing == 0) {
+                    table.putInt(12, table.getInt(12) + 1);
+                    return true;
+                }
+                return false;
+            }
+            slot = (slot + 1) & (slots - 1);
+        }
+    }
+
+    /** Delete {@code hash}, shifting later entries of its probe run back so lookups still find them. */
+    private static void remove(MappedByteBuffer table, int slots, long hash) {
+        int slot = (int) (hash & (slots - 1));
+        while (table.getLong(slotOffset(slot)) != hash) {
+            if (table.getLong(slotOffset(slot)) == 0) {
+                return;
+            }
+            slot = (slot + 1) & (slots - 1);
+        }
+        int hole = slot;
+        for (int next = (hole + 1) & (slots - 1); ; next = (next + 1) & (slots - 1)) {
+            long nextHash = table.getLong(slotOffset(next));
+            if (nextHash == 0) {
+                break;
+            }
+            int home = (int) (nextHash & (slots - 1));
+            // Move it back unless its home lies cyclically in (hole, next].
+            boolean stays = hole <= next ? hole < home && home <= next : hole < home || home <= next;
+            if (!stays) {
+                for (int i = 0; i < SLOT_BYTES; i += 8) {
+                    table.putLong(slotOffset(hole) + i, table.getLong(slotOffset(next) + i));
+                }
+                hole = next;
+            }
+        }
+        for (int i = 0; i < SLOT_BYTES; i += 8) {
+            table.putLong(slotOffset(hole) + i, 0);
+        }
+        table.putInt(12, table.getInt(12) - 1);
+    }
+
+    /** The slot holding {@code hash}, or -1. */
+    private int find(long hash) {
+        for (int slot = home(hash); ; slot = next(slot)) {
+            long slotHash = index.getLong(slotOffset(slot));
+            if (slotHash == hash) {
+                return slot;
+            }
+            if (slotHash == 0) {
+                return -1;
+            }
+        }
+    }
+
+    private int home(long hash) {
+        return (int) (hash & (capacity - 1));
+    }
+
+    private int next(int slot) {
+        return (slot + 1) & (capacity - 1);
+    }
+
+    private static int slotOffset(int slot) {
+        return INDEX_HEADER_BYTES + slot * SLOT_BYTES;
+    }
+
+    /** 64-bit hash of the key, never 0 (0 marks an empty slot). */
+    static long hash(PanchangaResultCache.Key key) {
+        long h = key.latE4() * 0x9E3779B97F4A7C15L;
+        h = (h ^ key.lngE4()) * 0xC2B2AE3D27D4EB4FL;
+        h = (h ^ key.timezone().hashCode()) * 0x165667B19E3779F9L;
+        h = (h ^ key.date().hashCode()) * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 32;
+        return h == 0 ? 1 : h;
+    }
+
+    // ── Records ──
+
+    private record Record(PanchangaResultCache.Key key, PanchangaResultCache.Entry entry, int length) {}
+
+    private static byte[] encode(PanchangaResultCache.Key key, PanchangaResultCache.Entry entry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        bytes.write(new byte[RECORD_HEADER_BYTES]);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeLong(key.latE4());
+        out.writeLong(key.lngE4());
+        out.writeUTF(key.timezone());
+        out.writeUTF(key.date());
+        out.writeLong(entry.validFrom().toEpochMilli());
+        out.writeLong(entry.validUntil().toEpochMilli());
+        SankalpamFinder value = entry.value();
+        for (String field : new String[]{value.getDate(), value.getSamvatsaram(), value.getAyanam(), value.getRuthu(),
+                value.getMasam(), value.getPaksham(), value.getTithi(), value.getVaasaram(), value.getNakshatram(),
+                value.getRasi(), value.getSunrise(), value.getSunset(), value.getValidUntil(), value.getTimezone()}) {
+            writeNullable(out, field);
+        }
+        Integer pada = value.getNakshatramPada();
+        out.writeByte(pada == null ? 0 : pada);
+        writeNullable(out, value.getTithiEndsAt());
+        writeNullable(out, value.getNakshatramEndsAt());
+        writeNullable(out, value.getYoga());
+        writeNullable(out, value.getYogaEndsAt());
+        writeNullable(out, value.getKarana());
+        writeNullable(out, value.getKaranaEndsAt());
+        for (TimeWindow window : new TimeWindow[]{value.getRahuKalam(), value.getYamagandam(), value.getGulikaKalam(),
+                value.getAbhijitMuhurtham()}) {
+            writeNullable(out, window == null ? null : window.start());
+            writeNullable(out, window == null ? null : window.end());
+        }
+        out.flush();
+        byte[] record = bytes.toByteArray();
+        if (record.length > MAX_RECORD_BYTES) {
+            throw new IllegalArgumentException("record of " + record.length + " bytes");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(record, RECORD_HEADER_BYTES, record.length - RECORD_HEADER_BYTES);
+        ByteBuffer.wrap(record).putInt(record.length).putInt((int) crc.getValue());
+        return record;
+    }
+
+    /** The record at {@code position}, or null if it is truncated or fails its checksum. */
+    private static Record readRecord(FileChannel channel, long position) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_BYTES);
+        if (readFully(channel, header, position) < RECORD_HEADER_BYTES) {
+            return null;
+        }
+        int length = header.getInt(0);
+        if (length <= RECORD_HEADER_BYTES || length > MAX_RECORD_BYTES) {
+            return null;
+        }
+        ByteBuffer body = ByteBuffer.allocate(length - RECORD_HEADER_BYTES);
+        if (readFully(channel, body, position + RECORD_HEADER_BYTES) < body.capacity()) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(body.array());
+        if ((int) crc.getValue() != header.getInt(4)) {
+            return null;
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(body.array()));
+        PanchangaResultCache.Key key = new PanchangaResultCache.Key(in.readLong(), in.readLong(), in.readUTF(), in.readUTF());
+        Instant validFrom = Instant.ofEpochMilli(in.readLong());
+        Instant validUntil = Instant.ofEpochMilli(in.readLong());
+        SankalpamFinder value = new SankalpamFinder();
+        value.setDate(readNullable(in));
+        value.setSamvatsaram(readNullable(in));
+        value.setAyanam(readNullable(in));
+        value.setRuthu(readNullable(in));
+        value.setMasam(readNullable(in));
+        value.setPaksham(readNullable(in));
+        value.setTithi(readNullable(in));
+        value.setVaasaram(readNullable(in));
+        value.setNakshatram(readNullable(in));
+        value.setRasi(readNullable(in));
+        value.setSunrise(readNullable(in));
+        value.setSunset(readNullable(in));
+        value.setValidUntil(readNullable(in));
+        value.setTimezone(readNullable(in));
+        int pada = in.readByte();
+        value.setNakshatramPada(pada == 0 ? null : pada);
+        value.setTithiEndsAt(readNullable(in));
+        value.setNakshatramEndsAt(readNullable(in));
+        value.setYoga(readNullable(in));
+        value.setYogaEndsAt(readNullable(in));
+        value.setKarana(readNullable(in));
+        value.setKaranaEndsAt(readNullable(in));
+        value.setRahuKalam(readWindow(in));
+        value.setYamagandam(readWindow(in));
+        value.setGulikaKalam(readWindow(in));
+        value.setAbhijitMuhurtham(readWindow(in));
+        return new Record(key, new PanchangaResultCache.Entry(value, validFrom, validUntil), length);
+    }
+
+    private static void writeNullable(DataOutputStream out, String field) throws IOException {
+        out.writeBoolean(field != null);
+        if (field != null) {
+            out.writeUTF(field);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static TimeWindow readWindow(DataInputStream in) throws IOException {
+        String start = readNullable(in);
+        String end = readNullable(in);
+        return start == null || end == null ? null : new TimeWindow(start, end);
+    }
+
+    private static int readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        int total = 0;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + total);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long written = 0;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer, position + written);
+        }
+    }
+}
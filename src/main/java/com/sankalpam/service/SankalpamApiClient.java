@@ -3,6 +3,18 @@ package com.sankalpam.service;
 import com.sankalpam.model.Coordinates;
 import com.sankalpam.model.SankalpamFinder;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface SankalpamApiClient {
     SankalpamFinder fetchSankalpam(String city, Coordinates coords, String timezone, String dateStr, String timeStr);
-}
\ No newline at end of file
+
+    /**
+     * Non-blocking variant of {@link #fetchSankalpam}. Implementations that perform network
+     * I/O override this so no thread waits on the upstream; the default simply runs the
+     * synchronous call on the common pool and suits purely in-process implementations.
+     */
+    default CompletableFuture<SankalpamFinder> fetchSankalpamAsync(String city, Coordinates coords, String timezone,
+                                                                   String dateStr, String timeStr) {
+        return CompletableFuture.supplyAsync(() -> fetchSankalpam(city, coords, timezone, dateStr, timeStr));
+    }
+}
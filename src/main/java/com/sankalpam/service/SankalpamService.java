@@ -5,6 +5,8 @@ import com.sankalpam.dto.SankalpamFinderRequest;
 import com.sankalpam.model.Sankalpam;
 import com.sankalpam.model.SankalpamFinder;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Service interface for Sankalpam business logic.
  * Defines contracts for Sankalpam operations.
@@ -28,5 +30,14 @@ public interface SankalpamService {
      */
     SankalpamFinder findSankalpam(SankalpamFinderRequest request);
 
+    /**
+     * Non-blocking variant of {@link #findSankalpam}. The returned future completes once the
+     * upstream Panchanga call finishes, without holding the calling thread in the meantime.
+     *
+     * @param request the Sankalpam Finder request with date, time, and city
+     * @return a future of the Panchanga information for the given parameters
+     */
+    CompletableFuture<SankalpamFinder> findSankalpamAsync(SankalpamFinderRequest request);
+
 }
 
@@ -45,7 +45,7 @@ public class CityLookupServiceImpl implements CityLookupService {
             }
             Map<String, CityGeoInfo> data = objectMapper.readValue(is, new TypeReference<Map<String, CityGeoInfo>>() {});
             cityCache.putAll(data);
-            log.info("Loaded {} cities from lookup cache: {}", cityCache.size(), cityCache.keySet());
+            log.info("Loaded {} cities from lookup cache", cityCache.size());
         } catch (IOException e) {
             log.error("Failed to load city lookup file: {}", e.getMessage(), e);
         }
@@ -59,9 +59,9 @@ public class CityLookupServiceImpl implements CityLookupService {
         String key = city.toLowerCase().trim();
         CityGeoInfo info = cityCache.get(key);
         if (info != null) {
-            log.info("City lookup HIT for '{}': lat={}, lng={}, tz={}", city, info.getLatitude(), info.getLongitude(), info.getTimezone());
+            log.debug("City lookup HIT for '{}': lat={}, lng={}, tz={}", city, info.getLatitude(), info.getLongitude(), info.getTimezone());
         } else {
-            log.info("City lookup MISS for '{}'", city);
+            log.debug("City lookup MISS for '{}'", city);
         }
         return Optional.ofNullable(info);
     }
@@ -99,7 +99,7 @@ public class CityLookupServiceImpl implements CityLookupService {
                 .sorted()
                 .collect(Collectors.toList());
 
-        log.info("Local city search for '{}': {} match(es) -> {}", query, matches.size(), matches);
+        log.debug("Local city search for '{}': {} match(es) -> {}", query, matches.size(), matches);
         return matches;
     }
 
@@ -109,7 +109,7 @@ public class CityLookupServiceImpl implements CityLookupService {
                 .map(this::capitalise)
                 .sorted()
                 .collect(Collectors.toList());
-        log.info("Returning all {} cached city names", all.size());
+        log.debug("Returning all {} cached city names", all.size());
         return all;
     }
 
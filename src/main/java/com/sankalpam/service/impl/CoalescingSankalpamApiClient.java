@@ -0,0 +1,109 @@
+package com.sankalpam.service.impl;
+
+import com.sankalpam.model.Coordinates;
+import com.sankalpam.model.SankalpamFinder;
+import com.sankalpam.service.SankalpamApiClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-flight decorator for any {@link SankalpamApiClient}.
+ *
+ * When several identical requests (same city, coordinates, timezone, date and time) arrive
+ * while one is already in flight, only the first one calls the delegate; the others attach
+ * to that call's future and each receive their own copy of its result (or its exception).
+ * Nothing is remembered once the call completes — caching is the delegate's business — so
+ * this works the same with or without {@code PanchangaResultCache} behind it.
+ *
+ * Metrics: {@code panchanga.fetch.singleflight} with {@code outcome=originated|coalesced}.
+ */
+@Slf4j
+public class CoalescingSankalpamApiClient implements SankalpamApiClient {
+
+    record Key(String city, Coordinates coords, String timezone, String date, String time) {}
+
+    private final SankalpamApiClient delegate;
+    private final ConcurrentHashMap<Key, CompletableFuture<SankalpamFinder>> inFlight = new ConcurrentHashMap<>();
+    private final Counter originated;
+    private final Counter coalesced;
+
+    public CoalescingSankalpamApiClient(SankalpamApiClient delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.originated = Counter.builder("panchanga.fetch.singleflight")
+                .description("Panchanga fetches by single-flight outcome")
+                .tag("outcome", "originated")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("panchanga.fetch.singleflight")
+                .description("Panchanga fetches by single-flight outcome")
+                .tag("outcome", "coalesced")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public SankalpamFinder fetchSankalpam(String city, Coordinates coords, String timezone, String dateStr, String timeStr) {
+        return await(fetchSankalpamAsync(city, coords, timezone, dateStr, timeStr));
+    }
+
+    @Override
+    public CompletableFuture<SankalpamFinder> fetchSankalpamAsync(String city, Coordinates coords, String timezone,
+                                                                  String dateStr, String timeStr) {
+        Key key = new Key(city, coords, timezone, dateStr, timeStr);
+        CompletableFuture<SankalpamFinder> call = new CompletableFuture<>();
+        CompletableFuture<SankalpamFinder> leader = inFlight.putIfAbsent(key, call);
+
+        if (leader != null) {
+            coalesced.increment();
+            log.debug("Coalescing Panchanga fetch for city={}, date={}, time={}", city, dateStr, timeStr);
+            return leader.thenApply(SankalpamFinder::new);
+        }
+
+        originated.increment();
+        CompletableFuture<SankalpamFinder> upstream;
+        try {
+            upstream = delegate.fetchSankalpamAsync(city, coords, timezone, dateStr, timeStr);
+        } catch (RuntimeException e) {
+            upstream = CompletableFuture.failedFuture(e);
+        }
+        upstream.whenComplete((result, error) -> {
+            // Leave the map before waking waiters so a request arriving afterwards starts a fresh call.
+            inFlight.remove(key, call);
+            if (error != null) {
+                call.completeExceptionally(unwrap(error));
+            } else {
+                call.complete(result);
+            }
+        });
+        // Hand out a dependent copy so a caller cancelling its future cannot cancel the shared call.
+        return call.copy();
+    }
+
+    /** Calls that actually reached the delegate. */
+    public long getOriginatedCount() {
+        return (long) originated.count();
+    }
+
+    /** Calls that piggy-backed on an in-flight call instead of reaching the delegate. */
+    public long getCoalescedCount() {
+        return (long) coalesced.count();
+    }
+
+    private static SankalpamFinder await(CompletableFuture<SankalpamFinder> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
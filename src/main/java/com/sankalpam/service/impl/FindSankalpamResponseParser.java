@@ -0,0 +1,230 @@
+package com.sankalpam.service.impl;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Parser for the HTML body returned by appspot's {@code action=findSankalpam}.
+ *
+ * The body looks like:
+ * <pre>
+ *   ... valid through 07:01:56 AM of following day: &lt;br/&gt;
+ *   &lt;b&gt;viSvAvasu&lt;/b&gt; nAma saMvatsarE, &lt;b&gt;uttarAyaNE&lt;/b&gt;, ... &lt;b&gt;rOhiNI&lt;/b&gt; nakShatrE&lt;br/&gt;
+ *   Sunrise: &lt;i&gt;07:02:37 AM&lt;/i&gt; Sunset: &lt;i&gt;06:43:05 PM&lt;/i&gt;&lt;br/&gt;
+ * </pre>
+ * The first eight bold values are, in order, samvatsaram, ayanam, ruthu, maasam, paksham,
+ * tithi, vaasaram and nakshatram.
+ *
+ * Everything is extracted in one forward pass over the body with plain character comparisons,
+ * so nothing is compiled per request. Matching follows the regular expressions this replaced:
+ * tags and labels are case-insensitive, a bold value does not span lines, and the first
+ * well-formed Sunrise / Sunset / valid-through occurrence wins. Stateless and thread-safe.
+ */
+public final class FindSankalpamResponseParser {
+
+    /** Fields the response must carry; bold fields are listed in the order they appear. */
+    public enum Field {
+        SAMVATSARAM, AYANAM, RUTHU, MAASAM, PAKSHAM, TITHI, VAASARAM, NAKSHATRAM, SUNRISE, SUNSET
+    }
+
+    private static final Field[] BOLD_FIELDS = {
+            Field.SAMVATSARAM, Field.AYANAM, Field.RUTHU, Field.MAASAM,
+            Field.PAKSHAM, Field.TITHI, Field.VAASARAM, Field.NAKSHATRAM
+    };
+
+    private static final String BOLD_OPEN = "<b>";
+    private static final String BOLD_CLOSE = "</b>";
+    private static final String ITALIC_OPEN = "<i>";
+    private static final String ITALIC_CLOSE = "</i>";
+    private static final String SUNRISE = "sunrise";
+    private static final String SUNSET = "sunset";
+    private static final String VALID_THROUGH = "valid through";
+    private static final String LINE_BREAK = "<br";
+
+    /**
+     * Raw (unmapped) values as they appear in the response. {@code validThrough} may be null, as
+     * may nakshatram, sunrise and sunset when the caller made them optional.
+     */
+    public record Result(String samvatsaram, String ayanam, String ruthu, String maasam, String paksham,
+                         String tithi, String vaasaram, String nakshatram,
+                         String sunrise, String sunset, String validThrough) {}
+
+    /** The response was not in the expected shape; lists every required field that was missing. */
+    public static class ParseException extends RuntimeException {
+
+        private final Set<Field> missingFields;
+        private final int boldValueCount;
+
+        ParseException(Set<Field> missingFields, int boldValueCount) {
+            super("Panchanga response is missing " + missingFields + " (found " + boldValueCount + " bold values)");
+            this.missingFields = Set.copyOf(missingFields);
+            this.boldValueCount = boldValueCount;
+        }
+
+        public Set<Field> getMissingFields() {
+            return missingFields;
+        }
+
+        public int getBoldValueCount() {
+            return boldValueCount;
+        }
+    }
+
+    /**
+     * Parse {@code body}.
+     *
+     * @throws ParseException when any field in {@link Field} is absent; the valid-through text is optional
+     */
+    public Result parse(String body) {
+        return parse(body, EnumSet.noneOf(Field.class));
+    }
+
+    /**
+     * Parse {@code body}, accepting a response without the {@code optional} fields; those come
+     * back null when absent. Only {@link Field#NAKSHATRAM}, {@link Field#SUNRISE} and
+     * {@link Field#SUNSET} can be optional: the bold values are positional, so a missing one
+     * shifts every later field and only the last of them can be told apart from a shifted one.
+     *
+     * @throws ParseException when any other field in {@link Field} is absent
+     */
+    public Result parse(String body, Set<Field> optional) {
+        String[] bold = new String[BOLD_FIELDS.length];
+        int boldCount = 0;
+        String sunrise = null;
+        String sunset = null;
+        String validThrough = null;
+
+        int length = body == null ? 0 : body.length();
+        int i = 0;
+        while (i < length) {
+            int next = i + 1;
+            switch (body.charAt(i)) {
+                case '<' -> {
+                    if (body.regionMatches(true, i, BOLD_OPEN, 0, BOLD_OPEN.length())) {
+                        int start = i + BOLD_OPEN.length();
+                        int end = indexOfOnLine(body, BOLD_CLOSE, start);
+                        if (end >= 0) {
+                            if (boldCount < bold.length) {
+                                bold[boldCount] = body.substring(start, end).trim();
+                            }
+                            boldCount++;
+                            next = end + BOLD_CLOSE.length();
+                        }
+                    }
+                }
+                case 'S', 's' -> {
+                    if (sunrise == null && body.regionMatches(true, i, SUNRISE, 0, SUNRISE.length())) {
+                        int end = labelledItalicEnd(body, i + SUNRISE.length());
+                        if (end >= 0) {
+                            sunrise = italicValue(body, i + SUNRISE.length(), end);
+                            next = end + ITALIC_CLOSE.length();
+                        }
+                    } else if (sunset == null && body.regionMatches(true, i, SUNSET, 0, SUNSET.length())) {
+                        int end = labelledItalicEnd(body, i + SUNSET.length());
+                        if (end >= 0) {
+                            sunset = italicValue(body, i + SUNSET.length(), end);
+                            next = end + ITALIC_CLOSE.length();
+                        }
+                    }
+                }
+                case 'V', 'v' -> {
+                    if (validThrough == null && body.regionMatches(true, i, VALID_THROUGH, 0, VALID_THROUGH.length())) {
+                        validThrough = validThroughValue(body, i + VALID_THROUGH.length());
+                    }
+                }
+                default -> { }
+            }
+            i = next;
+        }
+
+        Set<Field> missing = EnumSet.noneOf(Field.class);
+        for (int f = Math.min(boldCount, bold.length); f < bold.length; f++) {
+            if (BOLD_FIELDS[f] != Field.NAKSHATRAM || !optional.contains(Field.NAKSHATRAM)) {
+                missing.add(BOLD_FIELDS[f]);
+            }
+        }
+        if (sunrise == null && !optional.contains(Field.SUNRISE)) {
+            missing.add(Field.SUNRISE);
+        }
+        if (sunset == null && !optional.contains(Field.SUNSET)) {
+            missing.add(Field.SUNSET);
+        }
+        if (!missing.isEmpty()) {
+            throw new ParseException(missing, boldCount);
+        }
+        return new Result(bold[0], bold[1], bold[2], bold[3], bold[4], bold[5], bold[6], bold[7],
+                sunrise, sunset, validThrough);
+    }
+
+    /**
+     * After a label: {@code ":" whitespace* "<i>" [^<]+ "</i>"}. Returns the index of the
+     * closing {@code </i>}, or -1 when the text does not have that shape.
+     */
+    private static int labelledItalicEnd(String body, int from) {
+        if (from >= body.length() || body.charAt(from) != ':') {
+            return -1;
+        }
+        int i = skipWhitespace(body, from + 1);
+        if (!body.regionMatches(true, i, ITALIC_OPEN, 0, ITALIC_OPEN.length())) {
+            return -1;
+        }
+        int start = i + ITALIC_OPEN.length();
+        int end = body.indexOf('<', start);
+        if (end <= start || !body.regionMatches(true, end, ITALIC_CLOSE, 0, ITALIC_CLOSE.length())) {
+            return -1;
+        }
+        return end;
+    }
+
+    private static String italicValue(String body, int labelEnd, int italicClose) {
+        int start = skipWhitespace(body, labelEnd + 1) + ITALIC_OPEN.length();
+        return body.substring(start, italicClose).trim();
+    }
+
+    /**
+     * After "valid through": {@code whitespace+ (text on one line) whitespace* ":" whitespace* "<br"},
+     * taking the shortest text. Returns null when there is no such terminator.
+     */
+    private static String validThroughValue(String body, int from) {
+        int start = skipWhitespace(body, from);
+        if (start == from || start >= body.length()) {
+            return null;
+        }
+        for (int i = start + 1; i < body.length(); i++) {
+            char c = body.charAt(i);
+            if (c == '\n' || c == '\r') {
+                return null;
+            }
+            if (c == ':' && body.regionMatches(true, skipWhitespace(body, i + 1), LINE_BREAK, 0, LINE_BREAK.length())) {
+                return body.substring(start, i).trim();
+            }
+        }
+        return null;
+    }
+
+    private static int indexOfOnLine(String body, String token, int from) {
+        for (int i = from; i < body.length(); i++) {
+            char c = body.charAt(i);
+            if (c == '\n' || c == '\r') {
+                return -1;
+            }
+            if (c == '<' && body.regionMatches(true, i, token, 0, token.length())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** Skips what a regex {@code \s} would match. */
+    private static int skipWhitespace(String body, int from) {
+        int i = from;
+        while (i < body.length()) {
+            char c = body.charAt(i);
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\r' && c != '\f' && c != 0x0B) {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+}
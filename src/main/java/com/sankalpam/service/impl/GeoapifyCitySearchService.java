@@ -3,20 +3,21 @@ package com.sankalpam.service.impl;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sankalpam.config.GeoSearchApiProperties;
+import com.sankalpam.exception.UpstreamBusyException;
 import com.sankalpam.model.CityGeoInfo;
 import com.sankalpam.service.CityLookupService;
 import com.sankalpam.service.CitySearchService;
 import com.sankalpam.service.GeoapifyRateLimiter;
+import com.sankalpam.service.upstream.BulkheadFullException;
+import com.sankalpam.service.upstream.Upstream;
+import com.sankalpam.service.upstream.UpstreamHttpClient;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.net.URL;
+import java.net.URI;
 import java.net.URLEncoder;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
-import java.time.Duration;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -29,14 +30,17 @@ public class GeoapifyCitySearchService implements CitySearchService {
     private final GeoSearchApiProperties geoSearchApiProperties;
     private final GeoapifyRateLimiter rateLimiter;
     private final CityLookupService cityLookupService;
+    private final UpstreamHttpClient upstreamHttpClient;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     public GeoapifyCitySearchService(GeoSearchApiProperties geoSearchApiProperties,
                                      GeoapifyRateLimiter rateLimiter,
-                                     CityLookupService cityLookupService) {
+                                     CityLookupService cityLookupService,
+                                     UpstreamHttpClient upstreamHttpClient) {
         this.geoSearchApiProperties = geoSearchApiProperties;
         this.rateLimiter = rateLimiter;
         this.cityLookupService = cityLookupService;
+        this.upstreamHttpClient = upstreamHttpClient;
     }
 
     @Override
@@ -75,25 +79,14 @@ public class GeoapifyCitySearchService implements CitySearchService {
             String encodedQuery = URLEncoder.encode(query.trim(), StandardCharsets.UTF_8);
             String encodedApiKey = URLEncoder.encode(apiKey, StandardCharsets.UTF_8);
             String url = String.format(
-                    "https://api.geoapify.com/v1/geocode/autocomplete?text=%s&type=city&format=json&apiKey=%s",
+                    "/v1/geocode/autocomplete?text=%s&type=city&format=json&apiKey=%s",
                     encodedQuery,
                     encodedApiKey
             );
 
             log.debug("Geoapify Autocomplete URL: {}", url.replace(apiKey, "***API_KEY***"));
 
-            HttpClient client = HttpClient.newBuilder()
-                    .connectTimeout(Duration.ofSeconds(10))
-                    .build();
-
-            HttpResponse<String> response = client.send(
-                    HttpRequest.newBuilder()
-                            .uri(new URL(url).toURI())
-                            .timeout(Duration.ofSeconds(15))
-                            .GET()
-                            .build(),
-                    HttpResponse.BodyHandlers.ofString()
-            );
+            HttpResponse<String> response = upstreamHttpClient.get(Upstream.GEOAPIFY, URI.create(url));
 
             log.info("Geoapify Autocomplete HTTP status: {}", response.statusCode());
 
@@ -121,6 +114,8 @@ public class GeoapifyCitySearchService implements CitySearchService {
                 log.warn("Response body: {}", response.body());
             }
 
+        } catch (BulkheadFullException e) {
+            throw new UpstreamBusyException("Geoapify upstream is saturated: " + e.getMessage(), e.getRetryAfter(), e);
         } catch (Exception e) {
             log.error("Failed to search cities using Geoapify API. Query: {}. Error: {}", query, e.getMessage(), e);
         }
@@ -3,22 +3,22 @@ package com.sankalpam.service.impl;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sankalpam.config.GeoSearchApiProperties;
+import com.sankalpam.exception.UpstreamBusyException;
 import com.sankalpam.model.CityGeoInfo;
 import com.sankalpam.model.Coordinates;
 import com.sankalpam.service.CityLookupService;
 import com.sankalpam.service.GeoapifyRateLimiter;
 import com.sankalpam.service.GeoLocationService;
+import com.sankalpam.service.upstream.BulkheadFullException;
+import com.sankalpam.service.upstream.Upstream;
+import com.sankalpam.service.upstream.UpstreamHttpClient;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.net.URI;
-import java.net.URL;
 import java.net.URLEncoder;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
-import java.time.Duration;
 import java.util.Optional;
 
 @Slf4j
@@ -28,14 +28,17 @@ public class GeoapifyGeoLocationService implements GeoLocationService {
     private final GeoSearchApiProperties geoSearchApiProperties;
     private final CityLookupService cityLookupService;
     private final GeoapifyRateLimiter rateLimiter;
+    private final UpstreamHttpClient upstreamHttpClient;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     public GeoapifyGeoLocationService(GeoSearchApiProperties geoSearchApiProperties,
                                        CityLookupService cityLookupService,
-                                       GeoapifyRateLimiter rateLimiter) {
+                                       GeoapifyRateLimiter rateLimiter,
+                                       UpstreamHttpClient upstreamHttpClient) {
         this.geoSearchApiProperties = geoSearchApiProperties;
         this.cityLookupService = cityLookupService;
         this.rateLimiter = rateLimiter;
+        this.upstreamHttpClient = upstreamHttpClient;
     }
 
     @Override
@@ -93,7 +96,7 @@ public class GeoapifyGeoLocationService implements GeoLocationService {
 
             // Build URL with country code filter if available
             StringBuilder urlBuilder = new StringBuilder();
-            urlBuilder.append("https://api.geoapify.com/v1/geocode/search?text=")
+            urlBuilder.append("/v1/geocode/search?text=")
                       .append(encodedCity)
                       .append("&lang=en&limit=10&type=city");
 
@@ -107,18 +110,7 @@ public class GeoapifyGeoLocationService implements GeoLocationService {
             String url = urlBuilder.toString();
             log.debug("Geoapify Search URL: {}", url.replace(apiKey, "***API_KEY***"));
 
-            HttpClient client = HttpClient.newBuilder()
-                    .connectTimeout(Duration.ofSeconds(10))
-                    .build();
-
-            HttpResponse<String> response = client.send(
-                    HttpRequest.newBuilder()
-                            .uri(new URL(url).toURI())
-                            .timeout(Duration.ofSeconds(15))
-                            .GET()
-                            .build(),
-                    HttpResponse.BodyHandlers.ofString()
-            );
+            HttpResponse<String> response = upstreamHttpClient.get(Upstream.GEOAPIFY, URI.create(url));
 
             log.info("Geoapify Search HTTP status: {}", response.statusCode());
 
@@ -146,6 +138,8 @@ public class GeoapifyGeoLocationService implements GeoLocationService {
                 log.warn("Response body: {}", response.body());
             }
 
+        } catch (BulkheadFullException e) {
+            throw new UpstreamBusyException("Geoapify upstream is saturated: " + e.getMessage(), e.getRetryAfter(), e);
         } catch (Exception e) {
             log.error("Failed to fetch geo info from Geoapify for city: {}. Error: {}", city, e.getMessage(), e);
         }
@@ -0,0 +1,98 @@
+package com.sankalpam.service.impl;
+
+import com.sankalpam.model.Coordinates;
+import com.sankalpam.model.SankalpamFinder;
+import com.sankalpam.service.SankalpamApiClient;
+import com.sankalpam.service.panchanga.PanchangaEngine;
+import com.sankalpam.service.panchanga.PanchangaEngine.Panchanga;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link SankalpamApiClient} answered entirely in-process by {@link PanchangaEngine}: no
+ * network I/O, a few microseconds per lookup. Selected with {@code panchanga.engine.mode=local}.
+ *
+ * Maasam, Ruthuvu and Vaaram are named by the same rules as in {@link SankalpamApiClientImpl}
+ * (they never came from appspot). The sunrise and sunset shown are those of the Hindu day, so
+ * before sunrise they belong to the previous civil date; Vaaram and the daytime windows follow
+ * that same date.
+ */
+@Slf4j
+@Service
+public class LocalSankalpamApiClient implements SankalpamApiClient {
+
+    private static final DateTimeFormatter SUN_TIME_FORMAT = DateTimeFormatter.ofPattern("hh:mm:ss a", Locale.US);
+
+    private final PanchangaEngine engine;
+    private final SankalpamApiClientImpl calendarRules;
+
+    public LocalSankalpamApiClient(PanchangaEngine engine, SankalpamApiClientImpl calendarRules) {
+        this.engine = engine;
+        this.calendarRules = calendarRules;
+    }
+
+    /**
+     * @throws IllegalArgumentException when the date, time or timezone does not parse
+     */
+    @Override
+    public SankalpamFinder fetchSankalpam(String city, Coordinates coords, String timezone, String dateStr, String timeStr) {
+        Instant requestedAt = calendarRules.resolveRequestedInstant(dateStr, timeStr, timezone);
+        if (requestedAt == null) {
+            throw new IllegalArgumentException("Invalid date, time or timezone: " + dateStr + " " + timeStr + " " + timezone);
+        }
+        ZoneId zone = ZoneId.of(timezone);
+        Panchanga panchanga = engine.compute(coords, zone, requestedAt.atZone(zone));
+
+        SankalpamFinder finder = new SankalpamFinder(dateStr, timeStr, city);
+        finder.setPaksham(panchanga.tithi().paksham());
+        finder.setTithi(panchanga.tithi().name());
+        finder.setNakshatram(panchanga.nakshatram().name());
+        finder.setNakshatramPada(panchanga.nakshatram().pada());
+        finder.setRasi(panchanga.nakshatram().rasiName());
+        finder.setTithiEndsAt(SankalpamApiClientImpl.isoTime(panchanga.ends().tithi(), zone));
+        finder.setNakshatramEndsAt(SankalpamApiClientImpl.isoTime(panchanga.ends().nakshatram(), zone));
+        SankalpamApiClientImpl.applyYogaAndKarana(finder, panchanga, zone);
+        finder.setValidUntil(panchanga.validUntil() == null ? null
+                : SankalpamApiClientImpl.isoTime(panchanga.validUntil(), zone));
+        finder.setSunrise(format(panchanga.sunTimes().sunrise()));
+        finder.setSunset(format(panchanga.sunTimes().sunset()));
+        SankalpamApiClientImpl.applyDaytimeWindows(finder, panchanga.day());
+
+        finder.setSamvatsaram(panchanga.samvatsaram().name());
+        finder.setAyanam(panchanga.solarMonth().ayanam());
+        String maasam = calendarRules.extractMaasam(panchanga.reckonedAt());
+        finder.setMasam(maasam);
+        finder.setRuthu(calendarRules.extractRuthuFromMaasam(maasam));
+        finder.setVaasaram(calendarRules.extractVaaramFromDate(panchanga.day().toString()));
+
+        log.debug("Computed Panchanga for city={}, date={}, time={}: paksham={}, tithi={}, nakshatram={} pada {}, "
+                        + "rasi={}, yoga={}, karana={} (elongation {}, sidereal moon {} at {})",
+                city, dateStr, timeStr, finder.getPaksham(), finder.getTithi(), finder.getNakshatram(),
+                finder.getNakshatramPada(), finder.getRasi(), finder.getYoga(), finder.getKarana(),
+                panchanga.tithi().elongation(),
+                panchanga.nakshatram().siderealLongitude(), panchanga.reckonedAt());
+        return finder;
+    }
+
+    /** Nothing blocks, so the async variant completes on the caller's thread. */
+    @Override
+    public CompletableFuture<SankalpamFinder> fetchSankalpamAsync(String city, Coordinates coords, String timezone,
+                                                                  String dateStr, String timeStr) {
+        try {
+            return CompletableFuture.completedFuture(fetchSankalpam(city, coords, timezone, dateStr, timeStr));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static String format(ZonedDateTime time) {
+        return time == null ? null : time.format(SUN_TIME_FORMAT);
+    }
+}
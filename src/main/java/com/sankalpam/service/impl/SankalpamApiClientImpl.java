@@ -1,27 +1,55 @@
 package com.sankalpam.service.impl;
 
+import com.sankalpam.config.PanchangaEngineProperties;
+import com.sankalpam.config.PanchangaEngineProperties.Source;
+import com.sankalpam.exception.PanchangaUnavailableException;
+import com.sankalpam.exception.UpstreamBusyException;
 import com.sankalpam.model.Coordinates;
 import com.sankalpam.model.SankalpamFinder;
+import com.sankalpam.model.TimeWindow;
+import com.sankalpam.service.PanchangaResultCache;
 import com.sankalpam.service.SankalpamApiClient;
 import com.sankalpam.service.mapping.MappingService;
+import com.sankalpam.service.panchanga.DaytimeWindows;
+import com.sankalpam.service.panchanga.Nakshatram;
+import com.sankalpam.service.panchanga.PanchangaEngine;
+import com.sankalpam.service.panchanga.PanchangaEngine.Panchanga;
+import com.sankalpam.service.panchanga.SolarCalculator;
+import com.sankalpam.service.panchanga.LunarMonth;
+import com.sankalpam.service.upstream.BulkheadFullException;
+import com.sankalpam.service.upstream.PayloadCapture;
+import com.sankalpam.service.upstream.Upstream;
+import com.sankalpam.service.upstream.UpstreamHttpClient;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.net.URI;
 import java.net.URLEncoder;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
-import java.util.ArrayList;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -32,14 +60,100 @@ public class SankalpamApiClientImpl implements SankalpamApiClient {
     @Autowired
     private MappingService mappingService;
 
+    @Autowired
+    private UpstreamHttpClient upstreamHttpClient;
+
+    @Autowired
+    private PanchangaResultCache resultCache;
+
+    @Autowired
+    private PayloadCapture payloadCapture;
+
+    @Autowired
+    private PanchangaEngineProperties engineProperties;
+
+    @Autowired
+    private PanchangaEngine panchangaEngine;
+
+    private final FindSankalpamResponseParser responseParser = new FindSankalpamResponseParser();
+
+    /** Maasam and Ruthuvu names, built lazily (once) from the JSON data. */
+    private volatile List<String> maasamNames;
+    private volatile Map<String, String> ruthuByMaasam;
+
+    /** "05:30:12 AM of following day" → time part + optional day qualifier. */
+    private static final Pattern VALID_THROUGH_TIME =
+            Pattern.compile("^(\\d{1,2}:\\d{2}(?::\\d{2})?\\s*[AP]M)(.*)$", Pattern.CASE_INSENSITIVE);
+
+    private static final Set<FindSankalpamResponseParser.Field> SUN_FIELDS =
+            EnumSet.of(FindSankalpamResponseParser.Field.SUNRISE, FindSankalpamResponseParser.Field.SUNSET);
+
+    /** Same shape as appspot's "07:02:37 AM". */
+    private static final DateTimeFormatter SUN_TIME_FORMAT = DateTimeFormatter.ofPattern("hh:mm:ss a", Locale.US);
+
+    private static final DateTimeFormatter VALID_THROUGH_FORMAT = new DateTimeFormatterBuilder()
+            .parseCaseInsensitive()
+            .appendPattern("h:mm[:ss][ ]a")
+            .toFormatter(Locale.US);
+
+    /** Chaitramu, the first Maasam, opens in March. */
+    private static final int CHAITRA_OPENS_IN = 3;
+
+    /** Prefixed to the Maasam name of an intercalary month. */
+    static final String ADHIKA_PREFIX = "Adhika ";
+
     @Override
     public SankalpamFinder fetchSankalpam(String city, Coordinates coords, String timezone, String dateStr, String timeStr) {
+        try {
+            return fetchSankalpamAsync(city, coords, timezone, dateStr, timeStr).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Non-blocking fetch built on {@code HttpClient.sendAsync}: no caller thread is held while
+     * appspot responds.
+     *
+     * When there is no fresh cached answer but a last known-good one exists for the same place
+     * and date, the caller gets the upstream answer if it arrives within
+     * {@code panchanga.cache.stale-after}, and otherwise (or if appspot fails) the known-good
+     * one flagged stale. The upstream call keeps running and refreshes the cache when it lands.
+     * With nothing to fall back on, failures complete with {@link PanchangaUnavailableException},
+     * or {@link UpstreamBusyException} when the call was turned away by the upstream's bulkhead.
+     */
+    @Override
+    public CompletableFuture<SankalpamFinder> fetchSankalpamAsync(String city, Coordinates coords, String timezone,
+                                                                  String dateStr, String timeStr) {
+        Instant requestedAt = resolveRequestedInstant(dateStr, timeStr, timezone);
+        Optional<SankalpamFinder> stale = Optional.empty();
+        if (requestedAt != null) {
+            Optional<SankalpamFinder> cached = resultCache.get(coords, timezone, dateStr, requestedAt);
+            if (cached.isPresent()) {
+                SankalpamFinder finder = cached.get();
+                finder.setTime(timeStr);
+                finder.setCity(city);
+                log.debug("Panchanga cache HIT: city={}, date={}, time={} (valid until {})",
+                        city, dateStr, timeStr, finder.getValidUntil());
+                return CompletableFuture.completedFuture(finder);
+            }
+            stale = resultCache.getStale(coords, timezone, dateStr);
+            stale.ifPresent(finder -> {
+                finder.setTime(timeStr);
+                finder.setCity(city);
+            });
+        }
+
+        CompletableFuture<SankalpamFinder> fresh;
         try {
             String apiDate = LocalDate.parse(dateStr).format(DateTimeFormatter.ofPattern("MM/dd/yyyy"));
             String apiTime = normalizeApiTime(timeStr);
 
             String url = String.format(
-                    "https://samekadasi-324123.uc.r.appspot.com/rpc?action=findSankalpam&cityfld=%s&latfld=%f&lngfld=%f&tzfld=%s&sankalpamdatestr=%s&sankalpamtimestr=%s",
+                    "/rpc?action=findSankalpam&cityfld=%s&latfld=%f&lngfld=%f&tzfld=%s&sankalpamdatestr=%s&sankalpamtimestr=%s",
                     URLEncoder.encode(city, StandardCharsets.UTF_8),
                     coords.lat(), coords.lng(),
                     URLEncoder.encode(timezone, StandardCharsets.UTF_8),
@@ -47,361 +161,441 @@ public class SankalpamApiClientImpl implements SankalpamApiClient {
                     URLEncoder.encode(apiTime, StandardCharsets.UTF_8)
             );
 
-            log.info("Calling Sankalpam API: city={}, date={}, time={}, timezone={}", city, dateStr, timeStr, timezone);
+            log.debug("Calling Sankalpam API: city={}, date={}, time={}, timezone={}", city, dateStr, timeStr, timezone);
 
-            HttpClient client = HttpClient.newBuilder()
-                    .connectTimeout(Duration.ofSeconds(10))
-                    .build();
+            fresh = upstreamHttpClient.getAsync(Upstream.PANCHANGA, URI.create(url))
+                    .thenApply(response -> handleResponse(response, url, city, coords, timezone, dateStr, timeStr, requestedAt));
+        } catch (Exception e) {
+            fresh = CompletableFuture.failedFuture(e);
+        }
 
-            HttpResponse<String> response = client.send(
-                    HttpRequest.newBuilder()
-                            .uri(URI.create(url))
-                            .timeout(Duration.ofSeconds(15))
-                            .GET()
-                            .build(),
-                    HttpResponse.BodyHandlers.ofString()
-            );
+        if (stale.isEmpty()) {
+            return fresh.exceptionally(e -> {
+                log.error("Failed to fetch Sankalpam data from external API and no known-good result to fall back on", e);
+                throw unavailable(e);
+            });
+        }
+        return preferFresh(fresh, stale.get(), city, dateStr, timeStr);
+    }
 
-            log.info("Sankalpam API response status: {}", response.statusCode());
-
-            // Print the complete API response for debugging
-            String responseBody = response.body();
-            log.info("");
-            log.info("================================================================================");
-            log.info("SANKALPAM API RESPONSE");
-            log.info("================================================================================");
-            log.info("URL: {}", url.replace(URLEncoder.encode(timezone, StandardCharsets.UTF_8), "[TIMEZONE]"));
-            log.info("Status Code: {}", response.statusCode());
-            log.info("--------------------------------------------------------------------------------");
-            log.info("Response Body:");
-            log.info("{}", responseBody);
-            log.info("================================================================================");
-            log.info("");
-
-            if (response.statusCode() != 200) {
-                log.warn("Sankalpam API returned non-200 status: {}. Using fallback data.", response.statusCode());
-                return createFallbackSankalpam(city, dateStr, timeStr);
+    /**
+     * Complete with {@code fresh} if it succeeds within the stale-after budget, otherwise with
+     * {@code stale}. {@code fresh} is left running either way so it can refresh the cache.
+     */
+    private CompletableFuture<SankalpamFinder> preferFresh(CompletableFuture<SankalpamFinder> fresh, SankalpamFinder stale,
+                                                           String city, String dateStr, String timeStr) {
+        CompletableFuture<SankalpamFinder> served = new CompletableFuture<>();
+        fresh.whenComplete((result, error) -> {
+            if (error == null) {
+                served.complete(result);
+            } else if (served.complete(stale)) {
+                log.warn("Sankalpam API failed; serving stale result for city={}, date={}, time={} (valid until {}): {}",
+                        city, dateStr, timeStr, stale.getValidUntil(), error.toString());
             }
+        });
+        Duration staleAfter = resultCache.getStaleAfter();
+        CompletableFuture.delayedExecutor(staleAfter.toMillis(), TimeUnit.MILLISECONDS).execute(() -> {
+            if (served.complete(stale)) {
+                log.warn("Sankalpam API slower than {}; serving stale result for city={}, date={}, time={} while it refreshes",
+                        staleAfter, city, dateStr, timeStr);
+            }
+        });
+        return served;
+    }
 
-            SankalpamFinder finder = new SankalpamFinder();
-            finder.setDate(dateStr);
-            finder.setTime(timeStr);
-            finder.setCity(city);
+    private static RuntimeException unavailable(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof PanchangaUnavailableException unavailable) {
+            return unavailable;
+        }
+        if (cause instanceof BulkheadFullException full) {
+            return new UpstreamBusyException("Panchanga upstream is saturated: " + full.getMessage(), full.getRetryAfter(), full);
+        }
+        return new PanchangaUnavailableException("Panchanga upstream call failed: " + cause, cause);
+    }
 
-            if (!applyHtmlResponse(responseBody, finder)) {
-                log.warn("Failed to parse HTML response. Using fallback data.");
-                return createFallbackSankalpam(city, dateStr, timeStr);
-            }
+    private SankalpamFinder handleResponse(HttpResponse<String> response, String url, String city, Coordinates coords,
+                                           String timezone, String dateStr, String timeStr, Instant requestedAt) {
+        String responseBody = response.body();
+        if (response.statusCode() != 200) {
+            log.warn("Sankalpam API returned non-200 status: {}", response.statusCode());
+            payloadCapture.capture(Upstream.PANCHANGA, URI.create(url), response.statusCode(), responseBody, true);
+            throw new PanchangaUnavailableException("Panchanga upstream returned HTTP " + response.statusCode());
+        }
+
+        SankalpamFinder finder = new SankalpamFinder();
+        finder.setDate(dateStr);
+        finder.setTime(timeStr);
+        finder.setCity(city);
 
-            // Log parsed Panchanga details
-            log.info("");
-            log.info("================================================================================");
-            log.info("PARSED PANCHANGA DETAILS");
-            log.info("================================================================================");
-            log.info("Samvatsaram:  {}", finder.getSamvatsaram());
-            log.info("Ayanam:       {}", finder.getAyanam());
-            log.info("Ruthuvu:      {}", finder.getRuthu());
-            log.info("Maasam:       {}", finder.getMasam());
-            log.info("Paksham:      {}", finder.getPaksham());
-            log.info("Tithi:        {}", finder.getTithi());
-            log.info("Vaaram:       {}", finder.getVaasaram());
-            log.info("Nakshatram:   {}", finder.getNakshatram());
-            log.info("Sunrise:      {}", finder.getSunrise());
-            log.info("Sunset:       {}", finder.getSunset());
-            log.info("Valid Until:  {}", finder.getValidUntil());
-            log.info("================================================================================");
-            log.info("");
-
-            log.info("Successfully fetched Sankalpam data from external API");
-            return finder;
+        boolean parsed = applyHtmlResponse(responseBody, finder, coords, timezone, requestedAt);
+        payloadCapture.capture(Upstream.PANCHANGA, URI.create(url), response.statusCode(), responseBody, !parsed);
+        if (!parsed) {
+            throw new PanchangaUnavailableException("Panchanga upstream response could not be parsed");
+        }
 
-        } catch (Exception e) {
-            log.error("Failed to fetch Sankalpam data from external API. Using fallback data.", e);
-            return createFallbackSankalpam(city, dateStr, timeStr);
+        log.debug("Parsed Panchanga for city={}, date={}, time={}: samvatsaram={}, ayanam={}, ruthu={}, maasam={}, "
+                        + "paksham={}, tithi={}, vaaram={}, nakshatram={}, sunrise={}, sunset={}, validUntil={}",
+                city, dateStr, timeStr, finder.getSamvatsaram(), finder.getAyanam(), finder.getRuthu(), finder.getMasam(),
+                finder.getPaksham(), finder.getTithi(), finder.getVaasaram(), finder.getNakshatram(),
+                finder.getSunrise(), finder.getSunset(), finder.getValidUntil());
+        if (requestedAt != null) {
+            Instant validUntil = finder.getValidUntil() == null ? null
+                    : OffsetDateTime.parse(finder.getValidUntil()).toInstant();
+            resultCache.put(coords, timezone, dateStr, requestedAt, validUntil, finder);
         }
+        return finder;
     }
 
-    private boolean applyHtmlResponse(String responseBody, SankalpamFinder finder) {
+    private boolean applyHtmlResponse(String responseBody, SankalpamFinder finder, Coordinates coords, String timezone,
+                                      Instant requestedAt) {
         try {
-            List<String> boldValues = extractBoldValues(responseBody);
-            if (boldValues.size() < 8) {
-                log.warn("Expected at least 8 bold values, but got: {}", boldValues.size());
-                return false;
+            Source sunSource = engineProperties.getSunTimes();
+            Source nakshatramSource = engineProperties.getNakshatram();
+            Set<FindSankalpamResponseParser.Field> optional = EnumSet.noneOf(FindSankalpamResponseParser.Field.class);
+            if (sunSource != Source.UPSTREAM) {
+                optional.addAll(SUN_FIELDS);
+            }
+            if (nakshatramSource != Source.UPSTREAM && requestedAt != null) {
+                optional.add(FindSankalpamResponseParser.Field.NAKSHATRAM);
             }
+            FindSankalpamResponseParser.Result parsed = responseParser.parse(responseBody, optional);
 
-            finder.setSamvatsaram(boldValues.get(0));
-            finder.setAyanam(mappingService.mapAyanam(boldValues.get(1)));
+            ZoneId zone = ZoneId.of(timezone);
+            Panchanga computed = requestedAt == null ? null
+                    : panchangaEngine.compute(coords, zone, requestedAt.atZone(zone));
 
-            // Extract Maasam from date range instead of using API response value
-            String maasam = extractMaasamFromDateRange(finder.getDate());
-            finder.setMasam(maasam);
+            // Samvatsaram changes at the computed Ugadi; appspot's only stands in when there is no requested instant
+            finder.setSamvatsaram(computed != null ? computed.samvatsaram().name() : parsed.samvatsaram());
 
-            // Extract Ruthuvu based on Maasam instead of using API response value
-            String ruthuvu = extractRuthuFromMaasam(maasam);
-            finder.setRuthu(ruthuvu);
+            // Ayanam follows the Sun's sidereal rasi, Maasam and Ruthuvu the amanta lunar month, rather than the API response
+            if (computed != null) {
+                finder.setAyanam(computed.solarMonth().ayanam());
+                finder.setMasam(extractMaasam(computed.reckonedAt()));
+            } else {
+                finder.setAyanam(mappingService.mapAyanam(parsed.ayanam()));
+                finder.setMasam(extractMaasamFromDateRange(finder.getDate()));
+            }
+            finder.setRuthu(extractRuthuFromMaasam(finder.getMasam()));
 
-            finder.setPaksham(mappingService.mapPaksham(boldValues.get(4)));
-            finder.setTithi(mappingService.mapTithi(boldValues.get(5)));
+            finder.setPaksham(mappingService.mapPaksham(parsed.paksham()));
+            finder.setTithi(mappingService.mapTithi(parsed.tithi()));
 
             // Extract Vaaram based on day of week instead of using API response value
             String vaaram = extractVaaramFromDate(finder.getDate());
             finder.setVaasaram(vaaram);
 
-            finder.setNakshatram(mappingService.mapNakshatram(boldValues.get(7)));
+            applyMoonPosition(finder, parsed, nakshatramSource, coords, zone, computed);
+            if (computed != null) {
+                applyYogaAndKarana(finder, computed, zone);
+            }
 
-            finder.setSunrise(extractTagValue(responseBody, "Sunrise"));
-            finder.setSunset(extractTagValue(responseBody, "Sunset"));
-            finder.setValidUntil(extractValidThroughTime(responseBody, finder.getDate(), finder.getTime()));
+            applySunTimes(finder, parsed, sunSource, coords, timezone);
+            applyDaytimeWindows(finder, LocalDate.parse(finder.getDate()));
+            applyValidUntil(finder, parsed, engineProperties.getValidUntil(), zone, computed);
 
-            return finder.getSunrise() != null && finder.getSunset() != null;
+            return true;
+        } catch (FindSankalpamResponseParser.ParseException e) {
+            log.warn("Unexpected Panchanga response: {}", e.getMessage());
+            log.debug("Response body snippet (first 500 chars): {}",
+                    responseBody == null ? null : responseBody.substring(0, Math.min(500, responseBody.length())));
+            return false;
         } catch (Exception e) {
             log.error("Exception occurred while applying HTML response parsing", e);
             return false;
         }
     }
 
-    private List<String> extractBoldValues(String responseBody) {
-        List<String> values = new ArrayList<>();
-        Matcher matcher = Pattern.compile("<b>(.*?)</b>", Pattern.CASE_INSENSITIVE).matcher(responseBody);
-        while (matcher.find()) {
-            values.add(matcher.group(1).trim());
+    /**
+     * Sunrise and sunset per {@code panchanga.engine.sun-times}: appspot's text, the
+     * {@link SolarCalculator} value, or appspot's with the computed one filling a gap.
+     */
+    private void applySunTimes(SankalpamFinder finder, FindSankalpamResponseParser.Result parsed, Source source,
+                               Coordinates coords, String timezone) {
+        String sunrise = parsed.sunrise();
+        String sunset = parsed.sunset();
+        if (source == Source.COMPUTED || (source == Source.FALLBACK && (sunrise == null || sunset == null))) {
+            SolarCalculator.SunTimes computed = SolarCalculator.sunTimes(LocalDate.parse(finder.getDate()),
+                    coords.lat(), coords.lng(), engineProperties.getObserverElevation(), ZoneId.of(timezone));
+            if (source == Source.COMPUTED || sunrise == null) {
+                sunrise = computed.sunrise() == null ? null : computed.sunrise().format(SUN_TIME_FORMAT);
+            }
+            if (source == Source.COMPUTED || sunset == null) {
+                sunset = computed.sunset() == null ? null : computed.sunset().format(SUN_TIME_FORMAT);
+            }
+            log.debug("Computed sun times for {} on {}: sunrise={}, sunset={}", coords, finder.getDate(), sunrise, sunset);
         }
-        return values;
+        finder.setSunrise(sunrise);
+        finder.setSunset(sunset);
     }
 
-    private String extractTagValue(String responseBody, String label) {
+    /**
+     * Nakshatram per {@code panchanga.engine.nakshatram}, plus the pada and Chandra rasi that
+     * appspot never returns, from one {@link PanchangaEngine} evaluation. The pada belongs to
+     * the computed nakshatram, so it is dropped when an appspot name is shown that disagrees.
+     */
+    private void applyMoonPosition(SankalpamFinder finder, FindSankalpamResponseParser.Result parsed, Source source,
+                                   Coordinates coords, ZoneId zone, Panchanga panchanga) {
+        String upstream = parsed.nakshatram();
+        if (panchanga == null) {
+            finder.setNakshatram(mappingService.mapNakshatram(upstream));
+            return;
+        }
+        Nakshatram computed = panchanga.nakshatram();
+        boolean useComputed = source == Source.COMPUTED || (source == Source.FALLBACK && upstream == null);
+        boolean agrees = useComputed || computed.name().equals(upstream);
+        finder.setNakshatram(useComputed ? computed.name() : mappingService.mapNakshatram(upstream));
+        finder.setNakshatramPada(agrees ? computed.pada() : null);
+        finder.setNakshatramEndsAt(agrees ? isoTime(panchanga.ends().nakshatram(), zone) : null);
+        finder.setRasi(computed.rasiName());
+        // the tithi is always appspot's; its end is only known when the engine agrees on it
+        boolean tithiAgrees = panchanga.tithi().name().equals(parsed.tithi());
+        finder.setTithiEndsAt(tithiAgrees ? isoTime(panchanga.ends().tithi(), zone) : null);
+        log.debug("Computed moon position for {} at {}: nakshatram={} pada {}, rasi={} (sidereal {}), appspot nakshatram={}",
+                coords, panchanga.reckonedAt(), computed.name(), computed.pada(), computed.rasiName(),
+                computed.siderealLongitude(), upstream);
+    }
+
+    /**
+     * Rahu Kalam, Yamagandam, Gulika Kalam and Abhijit muhurtham from the finder's own sunrise
+     * and sunset, so they are cached and stored with the rest of the result. Left unset when
+     * either time is missing or unreadable.
+     *
+     * @param day the date whose sunrise and sunset the finder carries; its weekday picks the
+     *            eighths, and callers name Vaaram from the same date
+     */
+    static void applyDaytimeWindows(SankalpamFinder finder, LocalDate day) {
+        DaytimeWindows windows;
         try {
-            Pattern pattern = Pattern.compile(label + ":\\s*<i>([^<]+)</i>", Pattern.CASE_INSENSITIVE);
-            Matcher matcher = pattern.matcher(responseBody);
-            return matcher.find() ? matcher.group(1).trim() : null;
-        } catch (Exception e) {
-            log.error("Exception occurred while extracting tag value for label: {}", label, e);
-            return null;
+            windows = DaytimeWindows.of(day.getDayOfWeek(), sunTime(finder.getSunrise()), sunTime(finder.getSunset()));
+        } catch (DateTimeParseException e) {
+            log.debug("Unreadable sun times {} / {}; no daytime windows", finder.getSunrise(), finder.getSunset());
+            return;
+        }
+        if (windows == null) {
+            return;
+        }
+        finder.setRahuKalam(timeWindow(windows.rahuKalam()));
+        finder.setYamagandam(timeWindow(windows.yamagandam()));
+        finder.setGulikaKalam(timeWindow(windows.gulikaKalam()));
+        finder.setAbhijitMuhurtham(timeWindow(windows.abhijit()));
+    }
+
+    private static LocalTime sunTime(String text) {
+        return text == null ? null : LocalTime.parse(text, SUN_TIME_FORMAT);
+    }
+
+    private static TimeWindow timeWindow(DaytimeWindows.Window window) {
+        return window == null ? null
+                : new TimeWindow(window.start().format(SUN_TIME_FORMAT), window.end().format(SUN_TIME_FORMAT));
+    }
+
+    /** Yoga and karana, with their ends; appspot has neither, so they are always the engine's. */
+    static void applyYogaAndKarana(SankalpamFinder finder, Panchanga panchanga, ZoneId zone) {
+        finder.setYoga(panchanga.yoga().name());
+        finder.setYogaEndsAt(isoTime(panchanga.ends().yoga(), zone));
+        finder.setKarana(panchanga.karana().name());
+        finder.setKaranaEndsAt(isoTime(panchanga.ends().karana(), zone));
+    }
+
+    /**
+     * validUntil per {@code panchanga.engine.valid-until}, as an ISO-8601 timestamp with the
+     * city's offset: appspot's "valid through" text resolved against the request date, or the
+     * {@link PanchangaEngine} instant. Null when the chosen source has no answer; such a result
+     * is not cached.
+     */
+    private void applyValidUntil(SankalpamFinder finder, FindSankalpamResponseParser.Result parsed, Source source,
+                                 ZoneId zone, Panchanga panchanga) {
+        Instant upstream = source == Source.COMPUTED ? null
+                : resolveValidThroughInstant(parsed.validThrough(), finder.getDate(), zone.getId());
+        if (source != Source.COMPUTED && upstream == null) {
+            log.warn("Could not resolve valid through time from response: {}", parsed.validThrough());
+        }
+        Instant validUntil = upstream;
+        if (source == Source.COMPUTED || (source == Source.FALLBACK && upstream == null)) {
+            validUntil = panchanga == null ? null : panchanga.validUntil();
         }
+        finder.setValidUntil(validUntil == null ? null : isoTime(validUntil, zone));
+    }
+
+    /** "2026-02-25T07:01:56+05:30" */
+    static String isoTime(Instant instant, ZoneId zone) {
+        return instant.atZone(zone).format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
     }
 
     private String normalizeApiTime(String timeStr) {
         try {
-            String trimmed = timeStr == null ? "" : timeStr.trim();
             DateTimeFormatter apiOut = DateTimeFormatter.ofPattern("h:mm a", Locale.US);
-
-            if (trimmed.toLowerCase(Locale.US).contains("am") || trimmed.toLowerCase(Locale.US).contains("pm")) {
-                DateTimeFormatter ampmIn = new DateTimeFormatterBuilder()
-                        .parseCaseInsensitive()
-                        .appendPattern("h:mm a")
-                        .toFormatter(Locale.US);
-                return LocalTime.parse(trimmed, ampmIn).format(apiOut);
-            }
-
-            DateTimeFormatter twentyFourIn = DateTimeFormatter.ofPattern("H:mm");
-            return LocalTime.parse(trimmed, twentyFourIn).format(apiOut);
+            return parseRequestTime(timeStr).format(apiOut);
         } catch (Exception e) {
             log.error("Exception occurred while normalizing API time: {}", timeStr, e);
             return timeStr;
         }
     }
 
-    private String extractValidThroughTime(String responseBody, String date, String time) {
-        try {
-            // The API response format is: "valid through {TIME_INFO}: <br/>"
-            // Examples:
-            //   - "valid through 05:30:12 AM of following day: <br/>"
-            //   - "valid through 06:19:49 AM: <br/>"
-            // We need to capture everything between "valid through" and the final ": <br"
-            Pattern pattern = Pattern.compile("valid through\\s+(.+?)\\s*:\\s*<br", Pattern.CASE_INSENSITIVE);
-            Matcher matcher = pattern.matcher(responseBody);
-
-            if (matcher.find()) {
-                String validThroughTime = matcher.group(1).trim();
-                log.info("Extracted valid through time: {}", validThroughTime);
-                return validThroughTime;
-            }
+    /** Parse the request time, accepting both "18:30" and "6:30 PM". */
+    private LocalTime parseRequestTime(String timeStr) {
+        String trimmed = timeStr == null ? "" : timeStr.trim();
+        if (trimmed.toLowerCase(Locale.US).contains("am") || trimmed.toLowerCase(Locale.US).contains("pm")) {
+            DateTimeFormatter ampmIn = new DateTimeFormatterBuilder()
+                    .parseCaseInsensitive()
+                    .appendPattern("h:mm a")
+                    .toFormatter(Locale.US);
+            return LocalTime.parse(trimmed, ampmIn);
+        }
+        return LocalTime.parse(trimmed, DateTimeFormatter.ofPattern("H:mm"));
+    }
 
-            log.warn("Could not extract valid through time from response");
-            log.debug("Response body snippet (first 500 chars): {}", responseBody.substring(0, Math.min(500, responseBody.length())));
-            return null;
+    /**
+     * The instant the caller asked about: request date + time in the city's timezone.
+     * Returns null when any part does not parse, which simply bypasses the cache.
+     */
+    Instant resolveRequestedInstant(String dateStr, String timeStr, String timezone) {
+        try {
+            return LocalDate.parse(dateStr).atTime(parseRequestTime(timeStr)).atZone(ZoneId.of(timezone)).toInstant();
         } catch (Exception e) {
-            log.error("Exception occurred while extracting valid through time", e);
+            log.debug("Could not resolve requested instant for date={}, time={}, tz={}", dateStr, timeStr, timezone);
             return null;
         }
     }
 
-    private SankalpamFinder createFallbackSankalpam(String city, String dateStr, String timeStr) {
-        log.info("Creating fallback Sankalpam data for: city={}, date={}, time={}", city, dateStr, timeStr);
-
-        SankalpamFinder finder = new SankalpamFinder();
-        finder.setDate(dateStr);
-        finder.setTime(timeStr);
-        finder.setCity(city);
-
-        // Mock Panchanga data based on current date (Feb 24, 2026)
-        finder.setSamvatsaram("Pingala");
-        finder.setAyanam("Uttarayanam");
-        finder.setRuthu("Vasantha Ruthu");
-        finder.setMasam("Phalguna");
-        finder.setPaksham("Krishna Paksham");
-        finder.setTithi("Ashtami");
-        finder.setVaasaram("Soma Vaasaram (Monday)");
-        finder.setNakshatram("Purva Phalguni");
-        finder.setRasi("Simha (Leo)");
-
-        // Default sunrise/sunset
-        finder.setSunrise("06:18");
-        finder.setSunset("18:35");
-        finder.setValidUntil(dateStr + "T23:59:59");
-
-        return finder;
-    }
-
     /**
-     * Extract Maasam based on the date and date ranges defined in Maasam.json
-     * Supports both YYYY-MM-DD and MM/DD/YYYY date formats
-     *
-     * Each Maasam has a date range like "15/02-14/03" (Phalgunamu)
-     * If the date falls within that range, return that Maasam name
+     * Convert the upstream's "valid through" text into an instant in the city's timezone.
+     *   "06:19:49 AM"                   → that time on the request date
+     *   "05:30:12 AM of following day"  → that time on the next day
+     * Returns null when the text is missing or not in either form (the result is then not cached).
      */
-    /**
-     * O(1) Maasam lookup using precomputed maps.
-     *
-     * Every Maasam spans from the 15th of one month to the 14th of the next:
-     *   day >= 15  →  look up by start-month
-     *   day <= 14  →  look up by end-month
-     *
-     * The two maps are built lazily (once) from the JSON data.
-     */
-    private volatile java.util.Map<Integer, String> maasamByStartMonth;
-    private volatile java.util.Map<Integer, String> maasamByEndMonth;
-
-    private void ensureMaasamLookupMaps() {
-        if (maasamByStartMonth != null) return;
-
-        synchronized (this) {
-            if (maasamByStartMonth != null) return;
-
-            java.util.Map<Integer, String> byStart = new java.util.HashMap<>();
-            java.util.Map<Integer, String> byEnd   = new java.util.HashMap<>();
-
-            java.util.Map<String, java.util.Map<String, Object>> maasamMap =
-                    mappingService.getAllMaasamMappings();
-
-            for (var entry : maasamMap.entrySet()) {
-                String name  = entry.getKey();
-                String range = (String) entry.getValue().get("range");
-                // range format: "15/03-14/04"
-                String[] parts      = range.split("-");
-                int startMonth = Integer.parseInt(parts[0].split("/")[1]);
-                int endMonth   = Integer.parseInt(parts[1].split("/")[1]);
-
-                byStart.put(startMonth, name);
-                byEnd.put(endMonth, name);
-            }
-
-            maasamByEndMonth   = byEnd;
-            maasamByStartMonth = byStart;
-            log.info("Maasam O(1) lookup maps initialised — {} entries", byStart.size());
+    Instant resolveValidThroughInstant(String validThrough, String dateStr, String timezone) {
+        if (validThrough == null) {
+            return null;
         }
-    }
-
-    String extractMaasamFromDateRange(String dateStr) {
         try {
-            if (dateStr == null || dateStr.isEmpty()) {
-                log.warn("Date string is empty, cannot extract Maasam");
+            Matcher matcher = VALID_THROUGH_TIME.matcher(validThrough.trim());
+            if (!matcher.matches()) {
+                log.debug("Unrecognised valid-through text: {}", validThrough);
                 return null;
             }
-
-            int month;
-            int day;
-
-            // Handle both YYYY-MM-DD and MM/DD/YYYY formats
-            if (dateStr.contains("-")) {
-                String[] p = dateStr.split("-");
-                if (p.length < 3) { log.warn("Invalid date format: {}", dateStr); return null; }
-                month = Integer.parseInt(p[1]);
-                day   = Integer.parseInt(p[2]);
-            } else if (dateStr.contains("/")) {
-                String[] p = dateStr.split("/");
-                if (p.length < 2) { log.warn("Invalid date format: {}", dateStr); return null; }
-                month = Integer.parseInt(p[0]);
-                day   = Integer.parseInt(p[1]);
-            } else {
-                log.warn("Unsupported date format: {}", dateStr);
-                return null;
-            }
-
-            ensureMaasamLookupMaps();
-
-            // Direct O(1) lookup — no iteration needed
-            String maasam = (day >= 15)
-                    ? maasamByStartMonth.get(month)
-                    : maasamByEndMonth.get(month);
-
-            if (maasam != null) {
-                log.info("Matched Maasam: {} for date: {} (month={}, day={})", maasam, dateStr, month, day);
-            } else {
-                log.warn("No matching Maasam found for date: {}", dateStr);
+            LocalTime time = LocalTime.parse(matcher.group(1).trim(), VALID_THROUGH_FORMAT);
+            LocalDate date = LocalDate.parse(dateStr);
+            if (matcher.group(2).toLowerCase(Locale.US).contains("following day")) {
+                date = date.plusDays(1);
             }
-            return maasam;
-
+            return date.atTime(time).atZone(ZoneId.of(timezone)).toInstant();
         } catch (Exception e) {
-            log.error("Exception occurred while extracting Maasam from date range: {}", dateStr, e);
+            log.debug("Could not resolve valid-through instant from '{}': {}", validThrough, e.getMessage());
             return null;
         }
     }
 
     /**
-     * Extract Ruthuvu based on Maasam value using Ruthuvu.json mapping
-     * Each Ruthuvu spans 2 Maasams, so we look up which Ruthuvu contains the given Maasam
-     *
-     * Example: If Maasam is "Phalgunamu", it's in Ruthuvu.Shishira (which has ["Maghamu", "Phalgunamu"])
+     * Maasam names in order from Chaitramu. Each Maasam.json entry lists the Gregorian months it
+     * spans, the first being the one it opens in, so the position comes from that rather than
+     * from the map's key order.
      */
-    String extractRuthuFromMaasam(String maasam) {
-        try {
-            if (maasam == null || maasam.isEmpty()) {
-                log.warn("Maasam is empty, cannot extract Ruthuvu");
-                return null;
+    private List<String> maasamNames() {
+        List<String> names = maasamNames;
+        if (names == null) {
+            String[] ordered = new String[12];
+            for (Map.Entry<String, Map<String, Object>> entry : mappingService.getAllMaasamMappings().entrySet()) {
+                if (entry.getValue().get("months") instanceof List<?> months && !months.isEmpty()
+                        && months.get(0) instanceof Number opens) {
+                    int index = Math.floorMod(opens.intValue() - CHAITRA_OPENS_IN, 12);
+                    if (ordered[index] != null) {
+                        log.warn("Maasams {} and {} both open in month {}", ordered[index], entry.getKey(), opens);
+                    }
+                    ordered[index] = entry.getKey();
+                }
             }
-
-            log.debug("Extracting Ruthuvu for Maasam: {}", maasam);
-
-            // Get the Ruthuvu mapping from JSON
-            java.util.Map<String, java.util.Map<String, Object>> ruthuMap =
-                mappingService.getAllRuthuMappings();
-
-            if (ruthuMap == null || ruthuMap.isEmpty()) {
-                log.warn("Ruthuvu mapping is not available");
-                return null;
+            if (Arrays.asList(ordered).contains(null)) {
+                log.warn("Maasam mapping does not name all 12 months: {}", Arrays.toString(ordered));
             }
+            names = Collections.unmodifiableList(Arrays.asList(ordered));
+            maasamNames = names;
+        }
+        return names;
+    }
 
-            // Check each Ruthuvu's maasam list
-            for (java.util.Map.Entry<String, java.util.Map<String, Object>> entry : ruthuMap.entrySet()) {
-                String ruthuName = entry.getKey();
-                java.util.Map<String, Object> ruthuData = entry.getValue();
-
-                @SuppressWarnings("unchecked")
-                java.util.List<String> maasams = (java.util.List<String>) ruthuData.get("maasam");
-
-                if (maasams == null || maasams.isEmpty()) {
-                    continue;
-                }
-
-                // Check if the given Maasam is in this Ruthuvu's list
-                for (String m : maasams) {
-                    if (m != null && m.equalsIgnoreCase(maasam)) {
-                        log.info("Matched Ruthuvu: {} for Maasam: {}", ruthuName, maasam);
-                        return ruthuName;
+    /** Ruthuvu of each Maasam, keyed in lower case, from Ruthuvu.json's two Maasams per Ruthuvu. */
+    private Map<String, String> ruthuByMaasam() {
+        Map<String, String> byMaasam = ruthuByMaasam;
+        if (byMaasam == null) {
+            byMaasam = new HashMap<>();
+            Map<String, Map<String, Object>> ruthuMap = mappingService.getAllRuthuMappings();
+            if (ruthuMap != null) {
+                for (var entry : ruthuMap.entrySet()) {
+                    @SuppressWarnings("unchecked")
+                    List<String> maasams = (List<String>) entry.getValue().get("maasam");
+                    if (maasams != null) {
+                        for (String m : maasams) {
+                            if (m != null) {
+                                byMaasam.put(m.toLowerCase(Locale.ROOT), entry.getKey());
+                            }
+                        }
                     }
                 }
             }
+            ruthuByMaasam = byMaasam;
+        }
+        return byMaasam;
+    }
 
-            log.warn("No matching Ruthuvu found for Maasam: {}", maasam);
+    /**
+     * Maasam of the amanta lunar month in progress at {@code at}, found by binary search in
+     * {@link com.sankalpam.service.panchanga.LunarMonthTable} and named from Maasam.json; an
+     * intercalary month is named with {@link #ADHIKA_PREFIX}, e.g. "Adhika Jyeshthamu".
+     */
+    String extractMaasam(Instant at) {
+        LunarMonth month = LunarMonth.at(at);
+        List<String> names = maasamNames();
+        if (month.maasam() > names.size()) {
             return null;
+        }
+        String name = names.get(month.maasam() - 1);
+        return month.adhika() ? ADHIKA_PREFIX + name : name;
+    }
 
+    /**
+     * Maasam for a date alone (YYYY-MM-DD or MM/DD/YYYY). Without a location or time the day
+     * is taken at 12:00 UTC; callers that have the requested instant use {@link #extractMaasam}.
+     * The month changes at the new moon, not on a fixed date.
+     */
+    String extractMaasamFromDateRange(String dateStr) {
+        if (dateStr == null || dateStr.isEmpty()) {
+            log.warn("Date string is empty, cannot extract Maasam");
+            return null;
+        }
+        try {
+            LocalDate date = dateStr.contains("/")
+                    ? LocalDate.parse(dateStr, DateTimeFormatter.ofPattern("MM/dd/yyyy"))
+                    : LocalDate.parse(dateStr);
+            String maasam = extractMaasam(date.atTime(LocalTime.NOON).toInstant(ZoneOffset.UTC));
+            log.debug("Matched Maasam: {} for date: {}", maasam, dateStr);
+            return maasam;
         } catch (Exception e) {
-            log.error("Exception occurred while extracting Ruthuvu from Maasam: {}", maasam, e);
+            log.warn("Could not extract Maasam from date: {}", dateStr);
             return null;
         }
     }
 
+    /**
+     * Ruthuvu containing the given Maasam, per Ruthuvu.json (each Ruthuvu spans two Maasams).
+     *
+     * Example: If Maasam is "Phalgunamu", it's in Ruthuvu.Shishira (which has ["Maghamu", "Phalgunamu"])
+     * An Adhika month belongs to the same Ruthuvu as the Nija month it precedes.
+     */
+    String extractRuthuFromMaasam(String maasam) {
+        if (maasam == null || maasam.isEmpty()) {
+            log.warn("Maasam is empty, cannot extract Ruthuvu");
+            return null;
+        }
+        String nija = maasam.startsWith(ADHIKA_PREFIX) ? maasam.substring(ADHIKA_PREFIX.length()) : maasam;
+        String ruthu = ruthuByMaasam().get(nija.toLowerCase(Locale.ROOT));
+        if (ruthu == null) {
+            log.warn("No matching Ruthuvu found for Maasam: {}", maasam);
+        }
+        return ruthu;
+    }
+
     /**
      * Extract Vaaram (day of week) based on the date using Vaasare.json mapping
      *
@@ -415,7 +609,7 @@ public class SankalpamApiClientImpl implements SankalpamApiClient {
                 return null;
             }
 
-            log.info("Extracting Vaaram for date: {}", dateStr);
+            log.debug("Extracting Vaaram for date: {}", dateStr);
 
             // Parse the date to get day of week
             java.time.LocalDate date = parseDate(dateStr);
@@ -426,13 +620,13 @@ public class SankalpamApiClientImpl implements SankalpamApiClient {
 
             // Get day of week name
             String dayOfWeek = date.getDayOfWeek().toString();
-            log.info("Extracted day of week: {} for date: {}", dayOfWeek, dateStr);
+            log.debug("Extracted day of week: {} for date: {}", dayOfWeek, dateStr);
 
             // Look up Vaasare mapping
             String vaasare = mappingService.mapVaasare(dayOfWeek);
 
             if (vaasare != null) {
-                log.info("Matched Vaasare: {} for day: {} ({} date)", vaasare, dayOfWeek, dateStr);
+                log.debug("Matched Vaasare: {} for day: {} ({} date)", vaasare, dayOfWeek, dateStr);
                 return vaasare;
             }
 
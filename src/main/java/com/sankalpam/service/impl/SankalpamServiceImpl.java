@@ -12,6 +12,8 @@ import com.sankalpam.service.SankalpamService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Service implementation for Sankalpam business logic.
  * Implements the SankalpamService interface.
@@ -106,6 +108,20 @@ public class SankalpamServiceImpl implements SankalpamService {
         return result;
     }
 
+    @Override
+    public CompletableFuture<SankalpamFinder> findSankalpamAsync(SankalpamFinderRequest request) {
+        String city = request.getCity().trim();
+        // Geo info is almost always served from the local city cache, so it stays synchronous
+        CityGeoInfo geoInfo = geoService.getGeoInfo(city);
+        Coordinates coords = geoInfo.toCoordinates();
+        String timezone = geoInfo.getTimezone();
+        return apiClient.fetchSankalpamAsync(city, coords, timezone, request.getDate(), request.getTime())
+                .thenApply(result -> {
+                    result.setTimezone(timezone);
+                    return result;
+                });
+    }
+
 
     private String sanitize(String input) {
         if (input == null) return null;
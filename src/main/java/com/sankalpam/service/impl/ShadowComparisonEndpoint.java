@@ -0,0 +1,63 @@
+package com.sankalpam.service.impl;
+
+import com.sankalpam.config.PanchangaEngineProperties;
+import com.sankalpam.config.PanchangaEngineProperties.Engine;
+import com.sankalpam.config.PanchangaEngineProperties.Mode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code GET /actuator/panchangashadow} — shadow-mode settings, comparison counts and the
+ * retained disagreements. {@code POST /actuator/panchangashadow} with {@code {"primary": "local"}}
+ * and/or {@code {"sampleRate": 0.5}} — change them at runtime (not persisted across restarts).
+ * Present only with {@code panchanga.engine.mode=shadow}. Both need the actuator role (see
+ * {@code SecurityConfig}), since a POST moves live traffic between engines.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "panchanga.engine.mode", havingValue = "shadow")
+@Endpoint(id = "panchangashadow")
+public class ShadowComparisonEndpoint {
+
+    public record Status(Mode mode, Engine primary, double sampleRate, Map<String, Long> comparisons,
+                         Map<String, Long> mismatches, List<ShadowSankalpamApiClient.Mismatch> recent) {}
+
+    private final PanchangaEngineProperties properties;
+    private final ShadowSankalpamApiClient client;
+
+    public ShadowComparisonEndpoint(PanchangaEngineProperties properties, ShadowSankalpamApiClient client) {
+        this.properties = properties;
+        this.client = client;
+    }
+
+    @ReadOperation
+    public Status status() {
+        PanchangaEngineProperties.Shadow shadow = properties.getShadow();
+        return new Status(properties.getMode(), shadow.getPrimary(), shadow.getSampleRate(),
+                client.comparisonCounts(), client.mismatchCounts(), client.recentMismatches());
+    }
+
+    @WriteOperation
+    public Status update(@Nullable Engine primary, @Nullable Double sampleRate) {
+        if (sampleRate != null) {
+            if (sampleRate < 0 || sampleRate > 1) {
+                throw new IllegalArgumentException("sampleRate must be between 0 and 1, was " + sampleRate);
+            }
+            properties.getShadow().setSampleRate(sampleRate);
+        }
+        if (primary != null) {
+            properties.getShadow().setPrimary(primary);
+        }
+        log.info("Shadow mode updated: primary={}, sampleRate={}", properties.getShadow().getPrimary(),
+                properties.getShadow().getSampleRate());
+        return status();
+    }
+}
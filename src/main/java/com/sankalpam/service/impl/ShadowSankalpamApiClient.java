@@ -0,0 +1,336 @@
+package com.sankalpam.service.impl;
+
+import com.sankalpam.config.PanchangaEngineProperties;
+import com.sankalpam.config.PanchangaEngineProperties.Engine;
+import com.sankalpam.model.Coordinates;
+import com.sankalpam.model.SankalpamFinder;
+import com.sankalpam.service.SankalpamApiClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Shadow-mode decorator: answers from one engine and, for {@code panchanga.engine.shadow.sample-rate}
+ * of lookups, asks the other one in parallel and compares the two answers field by field.
+ * Selected with {@code panchanga.engine.mode=shadow}.
+ *
+ * {@code shadow.primary} (read on every lookup, so an authenticated
+ * {@code POST /actuator/panchangashadow} can change it at runtime) picks whose answer callers get: appspot while agreement is being
+ * established, the local engine once it is. The shadow call never affects the caller — its
+ * result, failure and latency are only recorded, after the primary has answered. Tithi,
+ * nakshatram and paksham must match by name; sunrise, sunset and validUntil may differ by
+ * {@code shadow.time-tolerance}. The last {@code shadow.mismatch-log-size} disagreements are kept.
+ *
+ * Metrics:
+ * {@code panchanga.shadow.comparisons} with {@code outcome=agreed|diverged|failed} (failed: the
+ * shadow call threw);
+ * {@code panchanga.shadow.fields} with {@code field} and {@code outcome=match|mismatch};
+ * {@code panchanga.shadow.latency} (timer) with {@code engine=upstream|local};
+ * {@code panchanga.shadow.latency.delta} (milliseconds) with {@code faster=upstream|local}.
+ */
+@Slf4j
+public class ShadowSankalpamApiClient implements SankalpamApiClient {
+
+    /** One field on which the engines disagreed. */
+    public record Mismatch(Instant observedAt, String city, String date, String time, String field,
+                           String upstream, String local) {}
+
+    private record Check(String field, Function<SankalpamFinder, String> value, Agreement agreement,
+                         Counter matched, Counter mismatched) {}
+
+    @FunctionalInterface
+    private interface Agreement {
+        boolean test(String upstream, String local, Duration tolerance);
+    }
+
+    private static final DateTimeFormatter TWELVE_HOUR = new DateTimeFormatterBuilder()
+            .parseCaseInsensitive().appendPattern("h:mm[:ss] a").toFormatter(Locale.US);
+    private static final DateTimeFormatter TWENTY_FOUR_HOUR = DateTimeFormatter.ofPattern("H:mm[:ss]", Locale.US);
+
+    private final SankalpamApiClient upstream;
+    private final SankalpamApiClient local;
+    private final PanchangaEngineProperties properties;
+    private final List<Check> checks;
+    private final Counter agreed;
+    private final Counter diverged;
+    private final Counter failed;
+    private final Timer upstreamLatency;
+    private final Timer localLatency;
+    private final DistributionSummary localFaster;
+    private final DistributionSummary upstreamFaster;
+    private final ArrayDeque<Mismatch> mismatches = new ArrayDeque<>();
+
+    public ShadowSankalpamApiClient(SankalpamApiClient upstream, SankalpamApiClient local,
+                                    PanchangaEngineProperties properties, MeterRegistry meterRegistry) {
+        this.upstream = upstream;
+        this.local = local;
+        this.properties = properties;
+        this.checks = List.of(
+                check("tithi", SankalpamFinder::getTithi, ShadowSankalpamApiClient::sameName, meterRegistry),
+                check("nakshatram", SankalpamFinder::getNakshatram, ShadowSankalpamApiClient::sameName, meterRegistry),
+                check("paksham", SankalpamFinder::getPaksham, ShadowSankalpamApiClient::sameName, meterRegistry),
+                check("sunrise", SankalpamFinder::getSunrise, ShadowSankalpamApiClient::sameClockTime, meterRegistry),
+                check("sunset", SankalpamFinder::getSunset, ShadowSankalpamApiClient::sameClockTime, meterRegistry),
+                check("validUntil", SankalpamFinder::getValidUntil, ShadowSankalpamApiClient::sameInstant, meterRegistry));
+        this.agreed = comparisons("agreed", meterRegistry);
+        this.diverged = comparisons("diverged", meterRegistry);
+        this.failed = comparisons("failed", meterRegistry);
+        this.upstreamLatency = latency("upstream", meterRegistry);
+        this.localLatency = latency("local", meterRegistry);
+        this.localFaster = delta("local", meterRegistry);
+        this.upstreamFaster = delta("upstream", meterRegistry);
+    }
+
+    @Override
+    public SankalpamFinder fetchSankalpam(String city, Coordinates coords, String timezone, String dateStr, String timeStr) {
+        if (!sampled()) {
+            return primary().fetchSankalpam(city, coords, timezone, dateStr, timeStr);
+        }
+        return await(shadowed(city, coords, timezone, dateStr, timeStr));
+    }
+
+    @Override
+    public CompletableFuture<SankalpamFinder> fetchSankalpamAsync(String city, Coordinates coords, String timezone,
+                                                                  String dateStr, String timeStr) {
+        if (!sampled()) {
+            return primary().fetchSankalpamAsync(city, coords, timezone, dateStr, timeStr);
+        }
+        return shadowed(city, coords, timezone, dateStr, timeStr);
+    }
+
+    private CompletableFuture<SankalpamFinder> shadowed(String city, Coordinates coords, String timezone,
+                                                        String dateStr, String timeStr) {
+        boolean localPrimary = properties.getShadow().getPrimary() == Engine.LOCAL;
+        long started = System.nanoTime();
+        CompletableFuture<SankalpamFinder> primaryCall = call(localPrimary ? local : upstream,
+                city, coords, timezone, dateStr, timeStr);
+        CompletableFuture<Long> primaryElapsed = primaryCall.handle((result, error) -> System.nanoTime() - started);
+
+        long shadowStarted = System.nanoTime();
+        CompletableFuture<SankalpamFinder> shadowCall = call(localPrimary ? upstream : local,
+                city, coords, timezone, dateStr, timeStr);
+        CompletableFuture<Long> shadowElapsed = shadowCall.handle((result, error) -> System.nanoTime() - shadowStarted);
+
+        primaryElapsed.thenAcceptBoth(shadowElapsed, (primaryNanos, shadowNanos) -> {
+            try {
+                long upstreamNanos = localPrimary ? shadowNanos : primaryNanos;
+                long localNanos = localPrimary ? primaryNanos : shadowNanos;
+                compare(city, dateStr, timeStr, localPrimary, localPrimary ? shadowCall : primaryCall,
+                        localPrimary ? primaryCall : shadowCall, upstreamNanos, localNanos);
+            } catch (RuntimeException e) {
+                log.warn("Shadow comparison failed for city={}, date={}, time={}", city, dateStr, timeStr, e);
+            }
+        });
+        // Callers get their own copy, so nothing they do to it can race the comparison.
+        return primaryCall.thenApply(SankalpamFinder::new);
+    }
+
+    private void compare(String city, String date, String time, boolean localPrimary,
+                         CompletableFuture<SankalpamFinder> upstreamCall, CompletableFuture<SankalpamFinder> localCall,
+                         long upstreamNanos, long localNanos) {
+        CompletableFuture<SankalpamFinder> primaryCall = localPrimary ? localCall : upstreamCall;
+        CompletableFuture<SankalpamFinder> shadowCall = localPrimary ? upstreamCall : localCall;
+        if (primaryCall.isCompletedExceptionally() || shadowCall.isCompletedExceptionally()) {
+            // a failing primary already reached the caller; only a failing shadow is counted here
+            if (!primaryCall.isCompletedExceptionally()) {
+                failed.increment();
+                log.debug("Shadow {} call failed for city={}, date={}, time={}: {}", localPrimary ? "upstream" : "local",
+                        city, date, time, unwrap(shadowCall.handle((r, e) -> e).join()).toString());
+            }
+            return;
+        }
+
+        upstreamLatency.record(upstreamNanos, TimeUnit.NANOSECONDS);
+        localLatency.record(localNanos, TimeUnit.NANOSECONDS);
+        (localNanos <= upstreamNanos ? localFaster : upstreamFaster)
+                .record(Math.abs(upstreamNanos - localNanos) / 1_000_000.0);
+
+        SankalpamFinder fromUpstream = upstreamCall.join();
+        SankalpamFinder fromLocal = localCall.join();
+        Duration tolerance = properties.getShadow().getTimeTolerance();
+        List<Mismatch> found = new ArrayList<>();
+        for (Check check : checks) {
+            String upstreamValue = check.value().apply(fromUpstream);
+            String localValue = check.value().apply(fromLocal);
+            if (check.agreement().test(upstreamValue, localValue, tolerance)) {
+                check.matched().increment();
+            } else {
+                check.mismatched().increment();
+                found.add(new Mismatch(Instant.now(), city, date, time, check.field(), upstreamValue, localValue));
+            }
+        }
+        if (found.isEmpty()) {
+            agreed.increment();
+            return;
+        }
+        diverged.increment();
+        remember(found);
+        log.info("Shadow disagreement for city={}, date={}, time={}: {}", city, date, time,
+                found.stream().map(m -> m.field() + " upstream=" + m.upstream() + " local=" + m.local()).toList());
+    }
+
+    private void remember(List<Mismatch> found) {
+        int capacity = properties.getShadow().getMismatchLogSize();
+        synchronized (mismatches) {
+            mismatches.addAll(found);
+            while (mismatches.size() > Math.max(capacity, 0)) {
+                mismatches.removeFirst();
+            }
+        }
+    }
+
+    /** The retained disagreements, oldest first. */
+    public List<Mismatch> recentMismatches() {
+        synchronized (mismatches) {
+            return List.copyOf(mismatches);
+        }
+    }
+
+    /** Lookups compared so far, by {@code agreed}, {@code diverged} and {@code failed}. */
+    public Map<String, Long> comparisonCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("agreed", (long) agreed.count());
+        counts.put("diverged", (long) diverged.count());
+        counts.put("failed", (long) failed.count());
+        return counts;
+    }
+
+    /** Disagreements so far per field, in comparison order. */
+    public Map<String, Long> mismatchCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        checks.forEach(check -> counts.put(check.field(), (long) check.mismatched().count()));
+        return counts;
+    }
+
+    private SankalpamApiClient primary() {
+        return properties.getShadow().getPrimary() == Engine.LOCAL ? local : upstream;
+    }
+
+    private boolean sampled() {
+        double rate = properties.getShadow().getSampleRate();
+        return rate > 0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    private static CompletableFuture<SankalpamFinder> call(SankalpamApiClient client, String city, Coordinates coords,
+                                                           String timezone, String dateStr, String timeStr) {
+        try {
+            return client.fetchSankalpamAsync(city, coords, timezone, dateStr, timeStr);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    static boolean sameName(String upstream, String local, Duration tolerance) {
+        return upstream == null || local == null ? upstream == local : upstream.trim().equalsIgnoreCase(local.trim());
+    }
+
+    /** "07:02:37 AM" (or 24-hour) within the tolerance, across midnight too. */
+    static boolean sameClockTime(String upstream, String local, Duration tolerance) {
+        LocalTime a = clockTime(upstream);
+        LocalTime b = clockTime(local);
+        if (a == null || b == null) {
+            return sameName(upstream, local, tolerance);
+        }
+        long apart = Math.abs(a.toSecondOfDay() - b.toSecondOfDay());
+        return Math.min(apart, 86_400 - apart) <= tolerance.toSeconds();
+    }
+
+    /** ISO-8601 timestamps within the tolerance, whatever their offsets. */
+    static boolean sameInstant(String upstream, String local, Duration tolerance) {
+        try {
+            if (upstream != null && local != null) {
+                Duration apart = Duration.between(OffsetDateTime.parse(upstream), OffsetDateTime.parse(local)).abs();
+                return apart.compareTo(tolerance) <= 0;
+            }
+        } catch (DateTimeParseException e) {
+            // compared as text below
+        }
+        return sameName(upstream, local, tolerance);
+    }
+
+    private static LocalTime clockTime(String text) {
+        if (text == null) {
+            return null;
+        }
+        for (DateTimeFormatter format : List.of(TWELVE_HOUR, TWENTY_FOUR_HOUR)) {
+            try {
+                return LocalTime.parse(text.trim(), format);
+            } catch (DateTimeParseException e) {
+                // try the next format
+            }
+        }
+        return null;
+    }
+
+    private static Check check(String field, Function<SankalpamFinder, String> value, Agreement agreement,
+                               MeterRegistry meterRegistry) {
+        return new Check(field, value, agreement, fields(field, "match", meterRegistry),
+                fields(field, "mismatch", meterRegistry));
+    }
+
+    private static Counter fields(String field, String outcome, MeterRegistry meterRegistry) {
+        return Counter.builder("panchanga.shadow.fields")
+                .description("Fields compared between appspot and the local engine, by outcome")
+                .tag("field", field)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static Counter comparisons(String outcome, MeterRegistry meterRegistry) {
+        return Counter.builder("panchanga.shadow.comparisons")
+                .description("Shadowed lookups by comparison outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static Timer latency(String engine, MeterRegistry meterRegistry) {
+        return Timer.builder("panchanga.shadow.latency")
+                .description("Latency of each engine on shadowed lookups")
+                .tag("engine", engine)
+                .register(meterRegistry);
+    }
+
+    private static DistributionSummary delta(String faster, MeterRegistry meterRegistry) {
+        return DistributionSummary.builder("panchanga.shadow.latency.delta")
+                .description("How much sooner the faster engine answered a shadowed lookup")
+                .baseUnit("milliseconds")
+                .tag("faster", faster)
+                .register(meterRegistry);
+    }
+
+    private static SankalpamFinder await(CompletableFuture<SankalpamFinder> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
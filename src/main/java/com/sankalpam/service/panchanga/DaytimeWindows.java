@@ -0,0 +1,48 @@
+package com.sankalpam.service.panchanga;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * Rahu Kalam, Yamagandam and Gulika Kalam — each one of the eight equal parts of the time from
+ * sunrise to sunset, chosen by weekday — and Abhijit muhurtham, the eighth of the fifteen
+ * daytime muhurthams (the one straddling local noon). Abhijit is not observed on Wednesdays,
+ * so it is null then.
+ *
+ * Works on the same sunrise and sunset shown with the Panchanga, whichever source they came
+ * from, so the windows always agree with them.
+ */
+public record DaytimeWindows(Window rahuKalam, Window yamagandam, Window gulikaKalam, Window abhijit) {
+
+    public record Window(LocalTime start, LocalTime end) {}
+
+    // which eighth of the daytime, 1–8, Monday to Sunday
+    private static final int[] RAHU_KALAM = {2, 7, 5, 6, 4, 3, 8};
+    private static final int[] YAMAGANDAM = {4, 3, 2, 1, 7, 6, 5};
+    private static final int[] GULIKA_KALAM = {6, 5, 4, 3, 2, 1, 7};
+
+    private static final int MUHURTHAMS = 15;
+
+    /** Null when either time is missing or the Sun sets before it rises (polar day or night). */
+    public static DaytimeWindows of(DayOfWeek day, LocalTime sunrise, LocalTime sunset) {
+        if (sunrise == null || sunset == null || !sunset.isAfter(sunrise)) {
+            return null;
+        }
+        long daytime = sunset.toNanoOfDay() - sunrise.toNanoOfDay();
+        int i = day.getValue() - 1;
+        return new DaytimeWindows(
+                eighth(sunrise, daytime, RAHU_KALAM[i]),
+                eighth(sunrise, daytime, YAMAGANDAM[i]),
+                eighth(sunrise, daytime, GULIKA_KALAM[i]),
+                day == DayOfWeek.WEDNESDAY ? null : window(sunrise, daytime, 7, 8, MUHURTHAMS));
+    }
+
+    private static Window eighth(LocalTime sunrise, long daytime, int part) {
+        return window(sunrise, daytime, part - 1, part, 8);
+    }
+
+    private static Window window(LocalTime sunrise, long daytime, int from, int to, int parts) {
+        return new Window(sunrise.plusNanos(daytime * from / parts).withNano(0),
+                sunrise.plusNanos(daytime * to / parts).withNano(0));
+    }
+}
@@ -0,0 +1,56 @@
+package com.sankalpam.service.panchanga;
+
+/**
+ * ΔT = TT − UT in seconds, from the Espenak–Meeus polynomial fits (NASA eclipse pages).
+ *
+ * Civil instants are UT; the ephemeris theories run on Terrestrial Time. Over 1900–2100 the
+ * fits are within a couple of seconds of observed values up to the present, which moves the
+ * Moon by about a second of arc; later years are extrapolations.
+ */
+final class DeltaT {
+
+    private DeltaT() {
+    }
+
+    static double seconds(double year) {
+        if (year < 1900) {
+            double u = (year - 1820) / 100;
+            return -20 + 32 * u * u;
+        }
+        if (year < 1920) {
+            double t = year - 1900;
+            return -2.79 + t * (1.494119 + t * (-0.0598939 + t * (0.0061966 - t * 0.000197)));
+        }
+        if (year < 1941) {
+            double t = year - 1920;
+            return 21.20 + t * (0.84493 + t * (-0.076100 + t * 0.0020936));
+        }
+        if (year < 1961) {
+            double t = year - 1950;
+            return 29.07 + t * (0.407 + t * (-1 / 233.0 + t / 2547.0));
+        }
+        if (year < 1986) {
+            double t = year - 1975;
+            return 45.45 + t * (1.067 + t * (-1 / 260.0 - t / 718.0));
+        }
+        if (year < 2005) {
+            double t = year - 2000;
+            return 63.86 + t * (0.3345 + t * (-0.060374 + t * (0.0017275 + t * (0.000651814 + t * 0.00002373599))));
+        }
+        if (year < 2050) {
+            double t = year - 2000;
+            return 62.92 + t * (0.32217 + t * 0.005589);
+        }
+        double u = (year - 1820) / 100;
+        if (year < 2150) {
+            return -20 + 32 * u * u - 0.5628 * (2150 - year);
+        }
+        return -20 + 32 * u * u;
+    }
+
+    /** Julian (TT) day for a Julian (UT) day. */
+    static double toTerrestrial(double julianDayUt) {
+        double year = 2000 + (julianDayUt - SolarCalculator.J2000) / 365.25;
+        return julianDayUt + seconds(year) / 86400.0;
+    }
+}
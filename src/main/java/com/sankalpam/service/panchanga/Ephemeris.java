@@ -0,0 +1,248 @@
+package com.sankalpam.service.panchanga;
+
+import java.time.Instant;
+
+/**
+ * Apparent geocentric ecliptic longitudes of the Sun and the Moon (tropical, of date).
+ *
+ * <ul>
+ *   <li>Sun: VSOP87 heliocentric longitude of the Earth, truncated as in Meeus,
+ *       <i>Astronomical Algorithms</i> Appendix III, converted to FK5 and corrected for
+ *       nutation and aberration (Meeus ch. 25, "higher accuracy"). About 1″.</li>
+ *   <li>Moon: the ELP-2000/82 main series of Meeus ch. 47 (60 longitude terms plus the
+ *       Venus, Jupiter and flattening terms), corrected for nutation. About 10″.</li>
+ *   <li>Nutation in longitude: the four-term expression of Meeus ch. 22 (0.5″).</li>
+ * </ul>
+ * Sidereal longitudes subtract the Lahiri (Chitrapaksha) ayanamsa: 23°15′00.658″ at
+ * 1956-03-21, carried by general precession in longitude (IAU 1976), applied to the longitude
+ * without nutation as the Indian Ephemeris does.
+ * Civil instants are converted to Terrestrial Time with {@link DeltaT}. Over 1900–2100 the
+ * Moon − Sun elongation that drives tithi is good to a few arc-seconds, i.e. a tithi boundary
+ * to well under a minute.
+ *
+ * Pure arithmetic over constant tables; stateless and thread-safe.
+ */
+public final class Ephemeris {
+
+    private static final double ARCSEC = 1.0 / 3600.0;
+
+    /** Lahiri ayanamsa at its defining epoch, 1956-03-21 0h TT (Julian centuries from J2000). */
+    private static final double LAHIRI_AT_EPOCH = 23.245524743;
+    private static final double LAHIRI_EPOCH = (2435553.5 - SolarCalculator.J2000) / 36525.0;
+
+    /*
+     * VSOP87 Earth series, rows of {A, B, C}: term = A·cos(B + C·τ), τ in Julian millennia
+     * of TT from J2000, sum × 1e-8 radians (L) or AU (R).
+     */
+    private static final double[][] L0 = {
+            {175347046, 0, 0}, {3341656, 4.6692568, 6283.0758500}, {34894, 4.62610, 12566.15170},
+            {3497, 2.7441, 5753.3849}, {3418, 2.8289, 3.5231}, {3136, 3.6277, 77713.7715},
+            {2676, 4.4181, 7860.4194}, {2343, 6.1352, 3930.2097}, {1324, 0.7425, 11506.7698},
+            {1273, 2.0371, 529.6910}, {1199, 1.1096, 1577.3435}, {990, 5.233, 5884.927},
+            {902, 2.045, 26.298}, {857, 3.508, 398.149}, {780, 1.179, 5223.694},
+            {753, 2.533, 5507.553}, {505, 4.583, 18849.228}, {492, 4.205, 775.523},
+            {357, 2.920, 0.067}, {317, 5.849, 11790.629}, {284, 1.899, 796.298},
+            {271, 0.315, 10977.079}, {243, 0.345, 5486.778}, {206, 4.806, 2544.314},
+            {205, 1.869, 5573.143}, {202, 2.458, 6069.777}, {156, 0.833, 213.299},
+            {132, 3.411, 2942.463}, {126, 1.083, 20.775}, {115, 0.645, 0.980},
+            {103, 0.636, 4694.003}, {102, 0.976, 15720.839}, {102, 4.267, 7.114},
+            {99, 6.21, 2146.17}, {98, 0.68, 155.42}, {86, 5.98, 161000.69},
+            {85, 1.30, 6275.96}, {85, 3.67, 71430.70}, {80, 1.81, 17260.15},
+            {79, 3.04, 12036.46}, {75, 1.76, 5088.63}, {74, 3.50, 3154.69},
+            {74, 4.68, 801.82}, {70, 0.83, 9437.76}, {62, 3.98, 8827.39},
+            {61, 1.82, 7084.90}, {57, 2.78, 6286.60}, {56, 4.39, 14143.50},
+            {56, 3.47, 6279.55}, {52, 0.19, 12139.55}, {52, 1.33, 1748.02},
+            {51, 0.28, 5856.48}, {49, 0.49, 1194.45}, {41, 5.37, 8429.24},
+            {41, 2.40, 19651.05}, {39, 6.17, 10447.39}, {37, 6.04, 10213.29},
+            {37, 2.57, 1059.38}, {36, 1.71, 2352.87}, {36, 1.78, 6812.77},
+            {33, 0.59, 17789.85}, {30, 0.44, 83996.85}, {30, 2.74, 1349.87},
+            {25, 3.16, 4690.48}
+    };
+    private static final double[][] L1 = {
+            {628331966747.0, 0, 0}, {206059, 2.678235, 6283.07585}, {4303, 2.6351, 12566.1517},
+            {425, 1.590, 3.523}, {119, 5.796, 26.298}, {109, 2.966, 1577.344},
+            {93, 2.59, 18849.23}, {72, 1.14, 529.69}, {68, 1.87, 398.15},
+            {67, 4.41, 5507.55}, {59, 2.89, 5223.69}, {56, 2.17, 155.42},
+            {45, 0.40, 796.30}, {36, 0.47, 775.52}, {29, 2.65, 7.11},
+            {21, 5.34, 0.98}, {19, 1.85, 5486.78}, {19, 4.97, 213.30},
+            {17, 2.99, 6275.96}, {16, 0.03, 2544.31}, {16, 1.43, 2146.17},
+            {15, 1.21, 10977.08}, {12, 2.83, 1748.02}, {12, 3.26, 5088.63},
+            {12, 5.27, 1194.45}, {12, 2.08, 4694.00}, {11, 0.77, 553.57},
+            {10, 1.30, 6286.60}, {10, 4.24, 1349.87}, {9, 2.70, 242.73},
+            {9, 5.64, 951.72}, {8, 5.30, 2352.87}, {6, 2.65, 9437.76},
+            {6, 4.67, 4690.48}
+    };
+    private static final double[][] L2 = {
+            {52919, 0, 0}, {8720, 1.0721, 6283.0758}, {309, 0.867, 12566.152},
+            {27, 0.05, 3.52}, {16, 5.19, 26.30}, {16, 3.68, 155.42},
+            {10, 0.76, 18849.23}, {9, 2.06, 77713.77}, {7, 0.83, 775.52},
+            {5, 4.66, 1577.34}, {4, 1.03, 7.11}, {4, 3.44, 5573.14},
+            {3, 5.14, 796.30}, {3, 6.05, 5507.55}, {3, 1.19, 242.73},
+            {3, 6.12, 529.69}, {3, 0.31, 398.15}, {3, 2.28, 553.57},
+            {2, 4.38, 5223.69}, {2, 3.75, 0.98}
+    };
+    private static final double[][] L3 = {
+            {289, 5.844, 6283.076}, {35, 0, 0}, {17, 5.49, 12566.15},
+            {3, 5.20, 155.42}, {1, 4.72, 3.52}, {1, 5.30, 18849.23}, {1, 5.97, 242.73}
+    };
+    private static final double[][] L4 = {
+            {114, 3.142, 0}, {8, 4.13, 6283.08}, {1, 3.84, 12566.15}
+    };
+    private static final double[][] L5 = {
+            {1, 3.14, 0}
+    };
+    private static final double[][][] L = {L0, L1, L2, L3, L4, L5};
+
+    /** Leading terms of the radius vector; it only feeds the ~20″ aberration term. */
+    private static final double[][] R0 = {
+            {100013989, 0, 0}, {1670700, 3.0984635, 6283.0758500}, {13956, 3.05525, 12566.15170},
+            {3084, 5.1985, 77713.7715}, {1628, 1.1739, 5753.3849}, {1576, 2.8469, 7860.4194}
+    };
+    private static final double[][] R1 = {
+            {103019, 1.107490, 6283.075850}, {1721, 1.0644, 12566.1517}, {702, 3.142, 0}
+    };
+    private static final double[][] R2 = {
+            {4359, 5.7846, 6283.0758}
+    };
+    private static final double[][][] R = {R0, R1, R2};
+
+    /*
+     * Meeus table 47.A, longitude column: multiples of D, M, M', F and the coefficient of
+     * sin(argument) in 1e-6 degrees.
+     */
+    private static final int[][] MOON_LONGITUDE = {
+            {0, 0, 1, 0, 6288774}, {2, 0, -1, 0, 1274027}, {2, 0, 0, 0, 658314},
+            {0, 0, 2, 0, 213618}, {0, 1, 0, 0, -185116}, {0, 0, 0, 2, -114332},
+            {2, 0, -2, 0, 58793}, {2, -1, -1, 0, 57066}, {2, 0, 1, 0, 53322},
+            {2, -1, 0, 0, 45758}, {0, 1, -1, 0, -40923}, {1, 0, 0, 0, -34720},
+            {0, 1, 1, 0, -30383}, {2, 0, 0, -2, 15327}, {0, 0, 1, 2, -12528},
+            {0, 0, 1, -2, 10980}, {4, 0, -1, 0, 10675}, {0, 0, 3, 0, 10034},
+            {4, 0, -2, 0, 8548}, {2, 1, -1, 0, -7888}, {2, 1, 0, 0, -6766},
+            {1, 0, -1, 0, -5163}, {1, 1, 0, 0, 4987}, {2, -1, 1, 0, 4036},
+            {2, 0, 2, 0, 3994}, {4, 0, 0, 0, 3861}, {2, 0, -3, 0, 3665},
+            {0, 1, -2, 0, -2689}, {2, 0, -1, 2, -2602}, {2, -1, -2, 0, 2390},
+            {1, 0, 1, 0, -2348}, {2, -2, 0, 0, 2236}, {0, 1, 2, 0, -2120},
+            {0, 2, 0, 0, -2069}, {2, -2, -1, 0, 2048}, {2, 0, 1, -2, -1773},
+            {2, 0, 0, 2, -1595}, {4, -1, -1, 0, 1215}, {0, 0, 2, 2, -1110},
+            {3, 0, -1, 0, -892}, {2, 1, 1, 0, -810}, {4, -1, -2, 0, 759},
+            {0, 2, -1, 0, -713}, {2, 2, -1, 0, -700}, {2, 1, -2, 0, 691},
+            {2, -1, 0, -2, 596}, {4, 0, 1, 0, 549}, {0, 0, 4, 0, 537},
+            {4, -1, 0, 0, 520}, {1, 0, -2, 0, -487}, {2, 1, 0, -2, -399},
+            {0, 0, 2, -2, -381}, {1, 1, 1, 0, 351}, {3, 0, -2, 0, -340},
+            {4, 0, -3, 0, 330}, {2, -1, 2, 0, 327}, {0, 2, 1, 0, -323},
+            {1, 1, -1, 0, 299}, {2, 0, 3, 0, 294}
+    };
+
+    private Ephemeris() {
+    }
+
+    /** Apparent tropical longitude of the Sun at {@code instant}, degrees in [0, 360). */
+    public static double sunLongitude(Instant instant) {
+        return sunLongitudeTT(DeltaT.toTerrestrial(SolarCalculator.julianDay(instant)));
+    }
+
+    /** Apparent tropical longitude of the Moon at {@code instant}, degrees in [0, 360). */
+    public static double moonLongitude(Instant instant) {
+        return moonLongitudeTT(DeltaT.toTerrestrial(SolarCalculator.julianDay(instant)));
+    }
+
+    /** Moon − Sun in degrees, [0, 360): 0 at new moon, 180 at full moon. */
+    public static double elongation(Instant instant) {
+        double jde = DeltaT.toTerrestrial(SolarCalculator.julianDay(instant));
+        return SolarCalculator.normalize(moonLongitudeTT(jde) - sunLongitudeTT(jde));
+    }
+
+    /** Lahiri sidereal longitude of the Moon at {@code instant}, degrees in [0, 360). */
+    public static double siderealMoonLongitude(Instant instant) {
+        double jde = DeltaT.toTerrestrial(SolarCalculator.julianDay(instant));
+        double t = SolarCalculator.centuries(jde);
+        return SolarCalculator.normalize(moonLongitudeTT(jde) - nutationInLongitude(t) - lahiriAyanamsa(t));
+    }
+
+    /** Lahiri sidereal longitude of the Sun at {@code instant}, degrees in [0, 360). */
+    public static double siderealSunLongitude(Instant instant) {
+        double jde = DeltaT.toTerrestrial(SolarCalculator.julianDay(instant));
+        double t = SolarCalculator.centuries(jde);
+        return SolarCalculator.normalize(sunLongitudeTT(jde) - nutationInLongitude(t) - lahiriAyanamsa(t));
+    }
+
+    /** Sum of the Sun's and the Moon's Lahiri sidereal longitudes, the yoga angle, in [0, 360). */
+    public static double yogaLongitude(Instant instant) {
+        double jde = DeltaT.toTerrestrial(SolarCalculator.julianDay(instant));
+        double t = SolarCalculator.centuries(jde);
+        double offset = nutationInLongitude(t) + lahiriAyanamsa(t);
+        return SolarCalculator.normalize(sunLongitudeTT(jde) + moonLongitudeTT(jde) - 2 * offset);
+    }
+
+    /** Mean Lahiri ayanamsa in degrees for {@code t} Julian centuries of TT. */
+    static double lahiriAyanamsa(double t) {
+        return LAHIRI_AT_EPOCH + (precession(t) - precession(LAHIRI_EPOCH)) * ARCSEC;
+    }
+
+    /** General precession in longitude since J2000, arc-seconds. */
+    private static double precession(double t) {
+        return t * (5029.0966 + t * (1.11113 - t * 0.000006));
+    }
+
+    static double sunLongitudeTT(double jde) {
+        double tau = SolarCalculator.centuries(jde) / 10.0;
+        double earth = series(L, tau);
+        double radius = series(R, tau);
+        double t = tau * 10.0;
+        // geocentric = heliocentric Earth + 180°, then VSOP → FK5, nutation and aberration
+        double geometric = Math.toDegrees(earth) + 180.0;
+        double apparent = geometric - 0.09033 * ARCSEC + nutationInLongitude(t) - 20.4898 * ARCSEC / radius;
+        return SolarCalculator.normalize(apparent);
+    }
+
+    static double moonLongitudeTT(double jde) {
+        double t = SolarCalculator.centuries(jde);
+        double meanLongitude = 218.3164477 + t * (481267.88123421 + t * (-0.0015786 + t * (1 / 538841.0 - t / 65194000.0)));
+        double d = Math.toRadians(297.8501921 + t * (445267.1114034 + t * (-0.0018819 + t * (1 / 545868.0 - t / 113065000.0))));
+        double m = Math.toRadians(357.5291092 + t * (35999.0502909 + t * (-0.0001536 + t / 24490000.0)));
+        double mPrime = Math.toRadians(134.9633964 + t * (477198.8675055 + t * (0.0087414 + t * (1 / 69699.0 - t / 14712000.0))));
+        double f = Math.toRadians(93.2720950 + t * (483202.0175233 + t * (-0.0036539 + t * (-1 / 3526000.0 + t / 863310000.0))));
+        double e = 1 - t * (0.002516 + t * 0.0000074);
+
+        double sum = 0;
+        for (int[] term : MOON_LONGITUDE) {
+            double coefficient = term[4];
+            int sunAnomaly = Math.abs(term[1]);
+            if (sunAnomaly == 1) {
+                coefficient *= e;
+            } else if (sunAnomaly == 2) {
+                coefficient *= e * e;
+            }
+            sum += coefficient * Math.sin(term[0] * d + term[1] * m + term[2] * mPrime + term[3] * f);
+        }
+        double a1 = Math.toRadians(119.75 + 131.849 * t);
+        double a2 = Math.toRadians(53.09 + 479264.290 * t);
+        sum += 3958 * Math.sin(a1) + 1962 * Math.sin(Math.toRadians(meanLongitude) - f) + 318 * Math.sin(a2);
+
+        return SolarCalculator.normalize(meanLongitude + sum / 1e6 + nutationInLongitude(t));
+    }
+
+    /** Δψ in degrees for {@code t} Julian centuries of TT (Meeus 22, low accuracy). */
+    static double nutationInLongitude(double t) {
+        double node = Math.toRadians(125.04452 - 1934.136261 * t);
+        double sun = Math.toRadians(280.4665 + 36000.7698 * t);
+        double moon = Math.toRadians(218.3165 + 481267.8813 * t);
+        return (-17.20 * Math.sin(node) - 1.32 * Math.sin(2 * sun) - 0.23 * Math.sin(2 * moon)
+                + 0.21 * Math.sin(2 * node)) * ARCSEC;
+    }
+
+    /** Σ_k τ^k Σ_i A·cos(B + C·τ) × 1e-8. */
+    private static double series(double[][][] powers, double tau) {
+        double total = 0;
+        double factor = 1;
+        for (double[][] terms : powers) {
+            double sum = 0;
+            for (double[] term : terms) {
+                sum += term[0] * Math.cos(term[1] + term[2] * tau);
+            }
+            total += sum * factor;
+            factor *= tau;
+        }
+        return total / 1e8;
+    }
+}
@@ -0,0 +1,120 @@
+package com.sankalpam.service.panchanga;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Build-time generator of {@link EphemerisTables}: fits {@link Ephemeris}' sidereal Sun and
+ * Moon with Chebyshev series and writes the binary table. Bound to {@code process-classes} in
+ * the pom, so the table lands next to the classes that read it:
+ * <pre>
+ *   java ... EphemerisTableGenerator &lt;output&gt; [fromYear toYear]   (default 1900 2100)
+ * </pre>
+ *
+ * Each interval is sampled at its Chebyshev nodes (longitudes unwrapped across 360°), and the
+ * fit is then checked against the theory at points between the nodes; the largest difference
+ * is recorded in the table.
+ */
+public final class EphemerisTableGenerator {
+
+    static final int MOON_INTERVAL_DAYS = 8;
+    static final int SUN_INTERVAL_DAYS = 32;
+    static final int COEFFICIENTS = 14;
+    private static final int CHECKS_PER_INTERVAL = 16;
+
+    private EphemerisTableGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1 && args.length != 3) {
+            System.err.println("usage: EphemerisTableGenerator <output> [fromYear toYear]");
+            System.exit(2);
+        }
+        int fromYear = args.length == 3 ? Integer.parseInt(args[1]) : 1900;
+        int toYear = args.length == 3 ? Integer.parseInt(args[2]) : 2100;
+        long started = System.nanoTime();
+        Path output = Path.of(args[0]);
+        write(output, LocalDate.of(fromYear, 1, 1), LocalDate.of(toYear + 1, 1, 1));
+        System.out.printf("Wrote %s (%d bytes) in %d ms%n", output, Files.size(output),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /** Write tables covering at least {@code from} (inclusive) to {@code until} (exclusive), UTC. */
+    static void write(Path output, LocalDate from, LocalDate until) throws IOException {
+        long start = from.atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+        long end = until.atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        Path partial = output.resolveSibling(output.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(partial)))) {
+            out.writeInt(EphemerisTables.MAGIC);
+            out.writeInt(EphemerisTables.VERSION);
+            fit(out, Ephemeris::siderealSunLongitude, start, end, SUN_INTERVAL_DAYS * 86400);
+            fit(out, Ephemeris::siderealMoonLongitude, start, end, MOON_INTERVAL_DAYS * 86400);
+        }
+        Files.move(partial, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void fit(DataOutputStream out, ToDoubleFunction<Instant> longitude, long start, long end,
+                            int interval) throws IOException {
+        int intervals = (int) ((end - start + interval - 1) / interval);
+        double[] coefficients = new double[intervals * COEFFICIENTS];
+        double[] samples = new double[COEFFICIENTS];
+        double maxError = 0;
+        for (int i = 0; i < intervals; i++) {
+            double mid = start + (i + 0.5) * interval;
+            double reference = longitude.applyAsDouble(instant(mid));
+            for (int k = 0; k < COEFFICIENTS; k++) {
+                double x = Math.cos(Math.PI * (k + 0.5) / COEFFICIENTS);
+                samples[k] = reference + difference(longitude.applyAsDouble(instant(mid + x * interval / 2)), reference);
+            }
+            for (int j = 0; j < COEFFICIENTS; j++) {
+                double sum = 0;
+                for (int k = 0; k < COEFFICIENTS; k++) {
+                    sum += samples[k] * Math.cos(Math.PI * j * (k + 0.5) / COEFFICIENTS);
+                }
+                coefficients[i * COEFFICIENTS + j] = (j == 0 ? 1.0 : 2.0) * sum / COEFFICIENTS;
+            }
+        }
+
+        EphemerisTables.Series series = new EphemerisTables.Series(start, interval, intervals, COEFFICIENTS, 0,
+                DoubleBuffer.wrap(coefficients));
+        for (int i = 0; i < intervals; i++) {
+            for (int m = 0; m < CHECKS_PER_INTERVAL; m++) {
+                double seconds = start + (i + (m + 0.5) / CHECKS_PER_INTERVAL) * interval;
+                double error = Math.abs(difference(series.evaluate(seconds), longitude.applyAsDouble(instant(seconds))));
+                maxError = Math.max(maxError, error);
+            }
+        }
+
+        out.writeLong(start);
+        out.writeInt(interval);
+        out.writeInt(intervals);
+        out.writeInt(COEFFICIENTS);
+        out.writeDouble(maxError);
+        for (double c : coefficients) {
+            out.writeDouble(c);
+        }
+    }
+
+    private static Instant instant(double seconds) {
+        long whole = (long) Math.floor(seconds);
+        return Instant.ofEpochSecond(whole, Math.round((seconds - whole) * 1e9));
+    }
+
+    /** a − b folded into (−180, 180]. */
+    private static double difference(double a, double b) {
+        double d = SolarCalculator.normalize(a - b);
+        return d > 180 ? d - 360 : d;
+    }
+}
@@ -0,0 +1,200 @@
+package com.sankalpam.service.panchanga;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+/**
+ * Lahiri sidereal longitudes of the Sun and the Moon from precomputed Chebyshev series, with
+ * {@link Ephemeris} as the fallback outside the tables' range (or when they are absent).
+ *
+ * {@link EphemerisTableGenerator} fits each body over fixed intervals of UT (8 days for the
+ * Moon, 32 for the Sun) at build time and writes {@value #RESOURCE} into the classes
+ * directory. It is memory-mapped once on first use — a jar entry is first copied to a
+ * temporary file — so a longitude is one interval index and a 14-term Clenshaw recurrence
+ * over the mapped coefficients instead of some 120 trigonometric terms. The largest fit error
+ * found while generating is recorded in the file ({@link #maxError(boolean)}).
+ *
+ * File layout, big-endian: {@code int magic, int version}, then for the Sun and the Moon in
+ * turn {@code long startSecond, int intervalSeconds, int intervals, int coefficients,
+ * double maxError} followed by {@code intervals × coefficients} doubles, lowest order first.
+ * Thread-safe: the mapped buffers are only read with absolute gets.
+ */
+@Slf4j
+public final class EphemerisTables {
+
+    static final String RESOURCE = "ephemeris/chebyshev.bin";
+    static final int MAGIC = 0x43484542;
+    static final int VERSION = 1;
+
+    /** One body's series over consecutive equal intervals. */
+    record Series(long startSecond, int intervalSeconds, int intervals, int coefficients, double maxError,
+                  DoubleBuffer data) {
+
+        /** Longitude in degrees [0, 360) at {@code seconds} since the epoch, or NaN outside the table. */
+        double evaluate(double seconds) {
+            double offset = seconds - startSecond;
+            int i = (int) Math.floor(offset / intervalSeconds);
+            if (offset < 0 || i >= intervals) {
+                return Double.NaN;
+            }
+            double x = 2 * (offset - (double) i * intervalSeconds) / intervalSeconds - 1;
+            int base = i * coefficients;
+            double b1 = 0;
+            double b2 = 0;
+            for (int j = coefficients - 1; j >= 1; j--) {
+                double b = 2 * x * b1 - b2 + data.get(base + j);
+                b2 = b1;
+                b1 = b;
+            }
+            return SolarCalculator.normalize(x * b1 - b2 + data.get(base));
+        }
+    }
+
+    private static final class Shared {
+        static final EphemerisTables INSTANCE = loadResource();
+    }
+
+    private final Series sun;
+    private final Series moon;
+
+    private EphemerisTables(Series sun, Series moon) {
+        this.sun = sun;
+        this.moon = moon;
+    }
+
+    /** The tables on the classpath, mapped on first call; null when the resource is missing or unreadable. */
+    public static EphemerisTables shared() {
+        return Shared.INSTANCE;
+    }
+
+    public static double siderealSunLongitude(Instant instant) {
+        double fitted = evaluate(false, instant);
+        return Double.isNaN(fitted) ? Ephemeris.siderealSunLongitude(instant) : fitted;
+    }
+
+    public static double siderealMoonLongitude(Instant instant) {
+        double fitted = evaluate(true, instant);
+        return Double.isNaN(fitted) ? Ephemeris.siderealMoonLongitude(instant) : fitted;
+    }
+
+    /** Moon − Sun, as {@link Ephemeris#elongation}: the ayanamsa and nutation cancel. */
+    public static double elongation(Instant instant) {
+        double moon = evaluate(true, instant);
+        double sun = evaluate(false, instant);
+        return Double.isNaN(moon) || Double.isNaN(sun) ? Ephemeris.elongation(instant)
+                : SolarCalculator.normalize(moon - sun);
+    }
+
+    /** Sun + Moon, as {@link Ephemeris#yogaLongitude}. */
+    public static double yogaLongitude(Instant instant) {
+        double moon = evaluate(true, instant);
+        double sun = evaluate(false, instant);
+        return Double.isNaN(moon) || Double.isNaN(sun) ? Ephemeris.yogaLongitude(instant)
+                : SolarCalculator.normalize(moon + sun);
+    }
+
+    private static double evaluate(boolean moon, Instant instant) {
+        EphemerisTables tables = shared();
+        return tables == null ? Double.NaN : tables.longitude(moon, instant);
+    }
+
+    /** Fitted longitude of the Moon ({@code moon}) or the Sun, or NaN outside the table. */
+    double longitude(boolean moon, Instant instant) {
+        return (moon ? this.moon : sun).evaluate(seconds(instant));
+    }
+
+    Series series(boolean moon) {
+        return moon ? this.moon : sun;
+    }
+
+    /** Largest difference from {@link Ephemeris} found while fitting, degrees. */
+    public double maxError(boolean moon) {
+        return (moon ? this.moon : sun).maxError();
+    }
+
+    /** First and last instants both bodies cover. */
+    public Instant from() {
+        return Instant.ofEpochSecond(Math.max(sun.startSecond(), moon.startSecond()));
+    }
+
+    public Instant until() {
+        return Instant.ofEpochSecond(Math.min(end(sun), end(moon)));
+    }
+
+    private static long end(Series series) {
+        return series.startSecond() + (long) series.intervals() * series.intervalSeconds();
+    }
+
+    static double seconds(Instant instant) {
+        return instant.getEpochSecond() + instant.getNano() / 1e9;
+    }
+
+    /** Map {@code path} read-only; the mapping outlives the channel. */
+    static EphemerisTables map(Path path) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IOException("Not a version " + VERSION + " ephemeris table: " + path);
+        }
+        Series sun = series(buffer);
+        Series moon = series(buffer);
+        return new EphemerisTables(sun, moon);
+    }
+
+    private static Series series(ByteBuffer buffer) throws IOException {
+        long start = buffer.getLong();
+        int interval = buffer.getInt();
+        int intervals = buffer.getInt();
+        int coefficients = buffer.getInt();
+        double maxError = buffer.getDouble();
+        int bytes = intervals * coefficients * Double.BYTES;
+        if (intervals <= 0 || coefficients <= 0 || buffer.remaining() < bytes) {
+            throw new IOException("Truncated ephemeris table");
+        }
+        DoubleBuffer data = buffer.slice(buffer.position(), bytes).asDoubleBuffer();
+        buffer.position(buffer.position() + bytes);
+        return new Series(start, interval, intervals, coefficients, maxError, data);
+    }
+
+    private static EphemerisTables loadResource() {
+        URL url = EphemerisTables.class.getClassLoader().getResource(RESOURCE);
+        if (url == null) {
+            log.warn("No {} on the classpath; sun and moon longitudes will be computed from the full theory", RESOURCE);
+            return null;
+        }
+        try {
+            Path path;
+            if ("file".equals(url.getProtocol())) {
+                path = Path.of(url.toURI());
+            } else {
+                path = Files.createTempFile("ephemeris", ".bin");
+                path.toFile().deleteOnExit();
+                try (InputStream in = url.openStream()) {
+                    Files.copy(in, path, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            EphemerisTables tables = map(path);
+            log.info("Mapped ephemeris tables {} ({} bytes): {} to {}, max error sun {}″ moon {}″", path,
+                    Files.size(path), tables.from(), tables.until(),
+                    String.format("%.4f", tables.maxError(false) * 3600), String.format("%.4f", tables.maxError(true) * 3600));
+            return tables;
+        } catch (Exception e) {
+            log.warn("Could not map {}; sun and moon longitudes will be computed from the full theory: {}",
+                    url, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.sankalpam.service.panchanga;
+
+import java.time.Instant;
+
+/**
+ * The karana in progress at an instant: half a tithi, so the Moon − Sun elongation in 60 steps
+ * of 6°. The first half of Sukla prathama is kiMstughna; the seven movable karanas then repeat
+ * eight times; the second half of kRShNa caturdaSi and both halves of amAvAsyA are Sakuni,
+ * catuShpAda and nAga.
+ *
+ * @param number     1–60
+ * @param elongation Moon − Sun in degrees, [0, 360)
+ */
+public record Karana(int number, double elongation) {
+
+    public static final double SPAN = Tithi.SPAN / 2;
+
+    private static final int MOVABLE = 7;
+
+    public static Karana at(Instant instant) {
+        return of(EphemerisTables.elongation(instant));
+    }
+
+    static Karana of(double elongation) {
+        return new Karana(Math.min(60, (int) Math.floor(elongation / SPAN) + 1), elongation);
+    }
+
+    /** The seven movable karanas recur; the four fixed ones fall once a lunar month. */
+    public boolean isMovable() {
+        return number > 1 && number < 58;
+    }
+
+    public String name() {
+        if (isMovable()) {
+            return PanchangaNames.KARANAS.get((number - 2) % MOVABLE);
+        }
+        // 58, 59, 60 → Sakuni, catuShpAda, nAga; 1 → kiMstughna
+        return PanchangaNames.KARANAS.get(number == 1 ? MOVABLE + 3 : number - 58 + MOVABLE);
+    }
+}
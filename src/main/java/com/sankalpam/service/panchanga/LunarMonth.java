@@ -0,0 +1,23 @@
+package com.sankalpam.service.panchanga;
+
+import java.time.Instant;
+
+/**
+ * An amanta lunar month, from {@link LunarMonthTable}.
+ *
+ * @param maasam  1 Chaitra … 12 Phalguna
+ * @param adhika  the intercalary month, followed by the Nija month of the same name
+ * @param began   the new moon that opened it
+ * @param ends    the next new moon
+ */
+public record LunarMonth(int maasam, boolean adhika, Instant began, Instant ends) {
+
+    public static LunarMonth at(Instant instant) {
+        return LunarMonthTable.at(instant);
+    }
+
+    /** 1 Vasantha … 6 Shishira. */
+    public int ruthu() {
+        return (maasam + 1) / 2;
+    }
+}
@@ -0,0 +1,102 @@
+package com.sankalpam.service.panchanga;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Amanta lunar months: new moon to new moon, each named by the Sun's rasi at the new moon
+ * that opens it ({@link SolarMonth#maasam()}: Chaitra when the Sun is in Meena, and so on).
+ *
+ * A month in which the Sun enters no new rasi — both its new moons fall in the same rasi — is
+ * Adhika and shares its name with the Nija month after it. The rare month with two sankrantis
+ * simply causes the next name to be skipped (kshaya).
+ *
+ * Like {@link SankrantiTable}, each UTC year is solved once on first use into a sorted array
+ * of new moons headed by the previous December's, and lookups are a binary search. Thread-safe.
+ */
+public final class LunarMonthTable {
+
+    /** New moons in epoch seconds, ascending; maasam and adhika of the month each one opens. */
+    private record Table(long[] seconds, int[] maasams, boolean[] adhika, long following) {}
+
+    private static final ConcurrentMap<Integer, Table> TABLES = new ConcurrentHashMap<>();
+
+    /** A lunation is at most 29.8 days, so there is always a new moon in the 31 days before 1 January. */
+    private static final long LEAD_SECONDS = 31 * 86400L;
+
+    private LunarMonthTable() {
+    }
+
+    /** The months opening in UTC year {@code year}, in order. */
+    public static List<LunarMonth> year(int year) {
+        Table table = table(year);
+        List<LunarMonth> months = new ArrayList<>(table.seconds.length - 1);
+        for (int i = 1; i < table.seconds.length; i++) {
+            months.add(month(table, i));
+        }
+        return months;
+    }
+
+    /** Ugadi of UTC year {@code year}: the new moon opening its first Chaitra, Adhika or Nija. */
+    public static Instant ugadi(int year) {
+        Table table = table(year);
+        for (int i = 1; i < table.seconds.length; i++) {
+            if (table.maasams[i] == 1) {
+                return Instant.ofEpochSecond(table.seconds[i]);
+            }
+        }
+        throw new IllegalStateException("No Chaitra in " + year);
+    }
+
+    /** The month in progress at {@code at}. */
+    public static LunarMonth at(Instant at) {
+        Table table = table(at.atOffset(ZoneOffset.UTC).getYear());
+        int i = Arrays.binarySearch(table.seconds, at.getEpochSecond());
+        return month(table, i >= 0 ? i : -i - 2);
+    }
+
+    private static LunarMonth month(Table table, int i) {
+        long ends = i + 1 < table.seconds.length ? table.seconds[i + 1] : table.following;
+        return new LunarMonth(table.maasams[i], table.adhika[i],
+                Instant.ofEpochSecond(table.seconds[i]), Instant.ofEpochSecond(ends));
+    }
+
+    private static Table table(int year) {
+        return TABLES.computeIfAbsent(year, LunarMonthTable::solve);
+    }
+
+    /** The last new moon of {@code year - 1}, those of {@code year}, and the next one after for the adhika test. */
+    private static Table solve(int year) {
+        Instant start = LocalDate.of(year, 1, 1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        Instant end = start.atOffset(ZoneOffset.UTC).plusYears(1).toInstant();
+        List<Instant> newMoons = new ArrayList<>(15);
+        Instant newMoon = TransitionSolver.end(TransitionSolver.Element.LUNATION, start.minusSeconds(LEAD_SECONDS));
+        while (true) {
+            newMoons.add(newMoon);
+            if (!newMoon.isBefore(end)) {
+                break;
+            }
+            newMoon = TransitionSolver.end(TransitionSolver.Element.LUNATION, newMoon.plusSeconds(86400));
+        }
+
+        int n = newMoons.size() - 1;
+        long[] seconds = new long[n];
+        int[] maasams = new int[n];
+        boolean[] adhika = new boolean[n];
+        int nextRasi = SankrantiTable.rasiAt(newMoons.get(n));
+        for (int i = n - 1; i >= 0; i--) {
+            int rasi = SankrantiTable.rasiAt(newMoons.get(i));
+            seconds[i] = newMoons.get(i).getEpochSecond();
+            maasams[i] = new SolarMonth(rasi, null, null).maasam();
+            adhika[i] = rasi == nextRasi;
+            nextRasi = rasi;
+        }
+        return new Table(seconds, maasams, adhika, newMoons.get(n).getEpochSecond());
+    }
+}
@@ -0,0 +1,36 @@
+package com.sankalpam.service.panchanga;
+
+import java.time.Instant;
+
+/**
+ * The Moon's nakshatra, pada and rasi at an instant, from its Lahiri sidereal longitude:
+ * 27 nakshatras of 13°20′ each split into four padas of 3°20′, and 12 rasis of 30°.
+ *
+ * @param number             1–27, from aSvinI
+ * @param pada               1–4
+ * @param rasi               1–12, from Mesha
+ * @param siderealLongitude  degrees, [0, 360)
+ */
+public record Nakshatram(int number, int pada, int rasi, double siderealLongitude) {
+
+    public static final double SPAN = 360.0 / 27;
+    public static final double PADA_SPAN = SPAN / 4;
+
+    public static Nakshatram at(Instant instant) {
+        return of(EphemerisTables.siderealMoonLongitude(instant));
+    }
+
+    static Nakshatram of(double siderealLongitude) {
+        int quarter = Math.min(107, (int) Math.floor(siderealLongitude / PADA_SPAN));
+        int rasi = Math.min(11, (int) Math.floor(siderealLongitude / 30.0));
+        return new Nakshatram(quarter / 4 + 1, quarter % 4 + 1, rasi + 1, siderealLongitude);
+    }
+
+    public String name() {
+        return PanchangaNames.NAKSHATRAMS.get(number - 1);
+    }
+
+    public String rasiName() {
+        return PanchangaNames.RASIS.get(rasi - 1);
+    }
+}
@@ -0,0 +1,175 @@
+package com.sankalpam.service.panchanga;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.DoubleBuffer;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Panchanga for many instants at once, for calendar, month and year views: sidereal Sun and
+ * Moon longitudes, tithi (1–30) and nakshatram (1–27) into primitive arrays, with no
+ * per-instant allocation.
+ *
+ * The longitudes come from the {@link EphemerisTables} series, copied once from the mapped file
+ * to heap arrays. With {@code --add-modules jdk.incubator.vector} on the
+ * command line the Clenshaw recurrence runs across SIMD lanes ({@code VectorBatchKernel}, which
+ * is compiled separately against the incubator module and loaded by name);
+ * without it, or without the tables, a scalar loop produces the same numbers. Instants
+ * outside the tables fall back to {@link Ephemeris} one by one.
+ *
+ * {@link PanchangaEngine#sunrises} builds the instants for a location (its sunrises), and
+ * {@link PanchangaEngine#batch} evaluates arbitrary instants there as the engine reckons them.
+ * Stateless and thread-safe.
+ */
+@Slf4j
+public final class PanchangaBatch {
+
+    /**
+     * @param epochSeconds  the instants evaluated
+     * @param sunLongitude  Lahiri sidereal longitude of the Sun, degrees [0, 360)
+     * @param moonLongitude Lahiri sidereal longitude of the Moon, degrees [0, 360)
+     * @param tithi         1–30, as {@link Tithi#number()}
+     * @param nakshatram    1–27, as {@link Nakshatram#number()}
+     */
+    public record Result(long[] epochSeconds, double[] sunLongitude, double[] moonLongitude, int[] tithi,
+                         int[] nakshatram) {
+
+        public int size() {
+            return epochSeconds.length;
+        }
+    }
+
+    /** One body's series with its coefficients on the heap. */
+    record Coefficients(double start, double interval, int intervals, int count, double[] data) {
+
+        static Coefficients of(EphemerisTables.Series series) {
+            double[] data = new double[series.intervals() * series.coefficients()];
+            DoubleBuffer source = series.data().duplicate();
+            source.get(0, data);
+            return new Coefficients(series.startSecond(), series.intervalSeconds(), series.intervals(),
+                    series.coefficients(), data);
+        }
+
+        /** Interval index of {@code seconds}, or −1 outside the table. */
+        int interval(double seconds) {
+            double offset = seconds - start;
+            int i = (int) Math.floor(offset / interval);
+            return offset < 0 || i >= intervals ? -1 : i;
+        }
+
+        /** Position of {@code seconds} within interval {@code i}, in [−1, 1). */
+        double x(double seconds, int i) {
+            return 2 * (seconds - start - i * interval) / interval - 1;
+        }
+    }
+
+    /** Fills {@code out[from, to)} with longitudes; instants outside the table are set to NaN. */
+    interface Kernel {
+        void longitudes(Coefficients table, double[] seconds, double[] out, int from, int to);
+    }
+
+    private static final class Shared {
+        static final Coefficients SUN;
+        static final Coefficients MOON;
+        static final Kernel KERNEL;
+
+        static {
+            EphemerisTables tables = EphemerisTables.shared();
+            SUN = tables == null ? null : Coefficients.of(tables.series(false));
+            MOON = tables == null ? null : Coefficients.of(tables.series(true));
+            KERNEL = vectorKernel();
+        }
+    }
+
+    private PanchangaBatch() {
+    }
+
+    public static Result at(Instant... instants) {
+        long[] seconds = new long[instants.length];
+        for (int i = 0; i < instants.length; i++) {
+            seconds[i] = instants[i].getEpochSecond();
+        }
+        return at(seconds);
+    }
+
+    public static Result at(long[] epochSeconds) {
+        return evaluate(epochSeconds, Shared.KERNEL);
+    }
+
+    /** Whether {@link #at} runs on SIMD lanes. */
+    public static boolean vectorized() {
+        return Shared.KERNEL != SCALAR;
+    }
+
+    static Result evaluate(long[] epochSeconds, Kernel kernel) {
+        int n = epochSeconds.length;
+        double[] seconds = new double[n];
+        for (int i = 0; i < n; i++) {
+            seconds[i] = epochSeconds[i];
+        }
+        double[] sun = new double[n];
+        double[] moon = new double[n];
+        if (Shared.SUN != null) {
+            kernel.longitudes(Shared.SUN, seconds, sun, 0, n);
+            kernel.longitudes(Shared.MOON, seconds, moon, 0, n);
+        } else {
+            Arrays.fill(sun, Double.NaN);
+            Arrays.fill(moon, Double.NaN);
+        }
+
+        int[] tithi = new int[n];
+        int[] nakshatram = new int[n];
+        for (int i = 0; i < n; i++) {
+            if (Double.isNaN(sun[i]) || Double.isNaN(moon[i])) {
+                Instant at = Instant.ofEpochSecond(epochSeconds[i]);
+                sun[i] = Ephemeris.siderealSunLongitude(at);
+                moon[i] = Ephemeris.siderealMoonLongitude(at);
+            }
+            tithi[i] = Tithi.of(SolarCalculator.normalize(moon[i] - sun[i])).number();
+            nakshatram[i] = Math.min(27, (int) (moon[i] / Nakshatram.SPAN) + 1);
+        }
+        return new Result(epochSeconds, sun, moon, tithi, nakshatram);
+    }
+
+    /** One Clenshaw recurrence per instant, as {@link EphemerisTables.Series#evaluate}. */
+    static final Kernel SCALAR = (table, seconds, out, from, to) -> {
+        double[] data = table.data();
+        int count = table.count();
+        for (int k = from; k < to; k++) {
+            int i = table.interval(seconds[k]);
+            if (i < 0) {
+                out[k] = Double.NaN;
+                continue;
+            }
+            double x = table.x(seconds[k], i);
+            int base = i * count;
+            double b1 = 0;
+            double b2 = 0;
+            for (int j = count - 1; j >= 1; j--) {
+                double b = 2 * x * b1 - b2 + data[base + j];
+                b2 = b1;
+                b1 = b;
+            }
+            out[k] = SolarCalculator.normalize(x * b1 - b2 + data[base]);
+        }
+    };
+
+    private static final String VECTOR_KERNEL = "com.sankalpam.service.panchanga.VectorBatchKernel";
+
+    /** The SIMD kernel when the incubator module is resolved, else {@link #SCALAR}. */
+    private static Kernel vectorKernel() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            log.info("jdk.incubator.vector not resolved; batch Panchanga evaluation is scalar");
+            return SCALAR;
+        }
+        try {
+            Kernel kernel = (Kernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+            log.info("Batch Panchanga evaluation on {}", kernel);
+            return kernel;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("Vector API unavailable ({}); batch Panchanga evaluation is scalar", e.toString());
+            return SCALAR;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.sankalpam.service.panchanga;
+
+import com.sankalpam.config.PanchangaEngineProperties;
+import com.sankalpam.config.PanchangaEngineProperties.Reckoning;
+import com.sankalpam.model.Coordinates;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * In-process Panchanga: sun times from {@link SolarCalculator}, tithi and paksham from the
+ * Moon − Sun elongation (read from {@link EphemerisTables}, fitted to {@link Ephemeris}), nakshatram, pada and Chandra rasi from the
+ * Moon's sidereal longitude; yoga from the Sun + Moon sum and karana from the elongation again; ayanam from the Sun's sidereal rasi, looked up in
+ * {@link SankrantiTable}; the amanta maasam (and its ruthu) and the samvatsaram from
+ * {@link LunarMonthTable}.
+ *
+ * A Hindu day runs from one sunrise to the next, so a request at 05:00 belongs to the previous
+ * civil date's day. With {@link Reckoning#SUNRISE} (the default, and what appspot does) the
+ * lunar elements are those prevailing at that day's sunrise; with {@link Reckoning#INSTANT}
+ * they are evaluated at the requested instant. Where the Sun does not rise (polar day or
+ * night) the requested instant is used either way.
+ *
+ * End instants come from {@link TransitionSolver}. The result is valid until the next sunrise
+ * under sunrise reckoning; under instant reckoning, until the first of the tithi, nakshatram,
+ * yoga or karana ending, the next sankranti or the next sunrise.
+ */
+@Component
+public class PanchangaEngine {
+
+    /**
+     * @param day         civil date of the sunrise that began the Hindu day
+     * @param sunTimes    that day's sunrise and sunset (either may be null near the poles)
+     * @param reckonedAt  the instant the lunar elements were evaluated at
+     * @param solarMonth  the Sun's rasi at {@code reckonedAt}
+     * @param lunarMonth  the amanta month in progress at {@code reckonedAt}
+     * @param samvatsaram the year of the 60-year cycle in progress at {@code reckonedAt}
+     * @param ends        when each element prevailing at {@code reckonedAt} ends
+     * @param validUntil  when this answer stops being the answer for later requests
+     */
+    public record Panchanga(LocalDate day, SolarCalculator.SunTimes sunTimes, Instant reckonedAt, Tithi tithi,
+                            Nakshatram nakshatram, Yoga yoga, Karana karana, SolarMonth solarMonth, LunarMonth lunarMonth, Samvatsaram samvatsaram,
+                            Ends ends, Instant validUntil) {}
+
+    /** End instants, to the second, of the elements prevailing at the reckoning instant. */
+    public record Ends(Instant tithi, Instant nakshatram, Instant yoga, Instant karana) {
+
+        static Ends at(Instant instant) {
+            return new Ends(
+                    TransitionSolver.end(TransitionSolver.Element.TITHI, instant),
+                    TransitionSolver.end(TransitionSolver.Element.NAKSHATRAM, instant),
+                    TransitionSolver.end(TransitionSolver.Element.YOGA, instant),
+                    TransitionSolver.end(TransitionSolver.Element.KARANA, instant));
+        }
+    }
+
+    private final PanchangaEngineProperties properties;
+
+    public PanchangaEngine(PanchangaEngineProperties properties) {
+        this.properties = properties;
+        // map the Chebyshev tables now rather than on the first request
+        EphemerisTables.shared();
+    }
+
+    public Panchanga compute(Coordinates coords, ZoneId zone, ZonedDateTime requested) {
+        LocalDate day = requested.toLocalDate();
+        SolarCalculator.SunTimes sunTimes = sunTimes(coords, zone, day);
+        if (sunTimes.sunrise() != null && requested.isBefore(sunTimes.sunrise())) {
+            day = day.minusDays(1);
+            sunTimes = sunTimes(coords, zone, day);
+        }
+        boolean atSunrise = properties.getReckoning() == Reckoning.SUNRISE && sunTimes.sunrise() != null;
+        Instant reckonedAt = atSunrise ? sunTimes.sunrise().toInstant() : requested.toInstant();
+        Ends ends = Ends.at(reckonedAt);
+        SolarMonth solarMonth = SolarMonth.at(reckonedAt);
+        ZonedDateTime nextSunrise = sunTimes(coords, zone, day.plusDays(1)).sunrise();
+        Instant validUntil = nextSunrise == null ? null : nextSunrise.toInstant().truncatedTo(ChronoUnit.SECONDS);
+        if (!atSunrise) {
+            validUntil = earliest(validUntil, earliest(ends.tithi(), earliest(ends.nakshatram(),
+                    earliest(ends.yoga(), earliest(ends.karana(), solarMonth.ends())))));
+        }
+        // the lunar month and samvatsaram end with an amavasya tithi, which ends.tithi() already bounds
+        double elongation = EphemerisTables.elongation(reckonedAt);
+        return new Panchanga(day, sunTimes, reckonedAt, Tithi.of(elongation), Nakshatram.at(reckonedAt),
+                Yoga.at(reckonedAt), Karana.of(elongation), solarMonth,
+                LunarMonth.at(reckonedAt), Samvatsaram.at(reckonedAt), ends, validUntil);
+    }
+
+    private static Instant earliest(Instant a, Instant b) {
+        return a == null || (b != null && b.isBefore(a)) ? b : a;
+    }
+
+    /**
+     * Sunrise on each of {@code days} civil dates from {@code from}, in epoch seconds, for
+     * {@link PanchangaBatch#at(long[])}; local noon on a date without one.
+     */
+    public long[] sunrises(Coordinates coords, ZoneId zone, LocalDate from, int days) {
+        ZonedDateTime[] sunrises = sunriseTimes(coords, zone, from, days);
+        long[] seconds = new long[days];
+        for (int i = 0; i < days; i++) {
+            ZonedDateTime sunrise = sunrises[i];
+            seconds[i] = (sunrise != null ? sunrise : from.plusDays(i).atTime(12, 0).atZone(zone)).toEpochSecond();
+        }
+        return seconds;
+    }
+
+    /**
+     * {@link PanchangaBatch} for {@code instants} at a location, each reckoned as
+     * {@link #compute} reckons it: at the sunrise that began its Hindu day, or at the instant
+     * itself under {@link Reckoning#INSTANT} or where the Sun does not rise. The result's
+     * {@code epochSeconds} are those reckoning instants.
+     */
+    public PanchangaBatch.Result batch(Coordinates coords, ZoneId zone, Instant... instants) {
+        if (instants.length == 0) {
+            return PanchangaBatch.at(new long[0]);
+        }
+        LocalDate first = null;
+        LocalDate last = null;
+        for (Instant instant : instants) {
+            LocalDate date = LocalDate.ofInstant(instant, zone);
+            first = first == null || date.isBefore(first) ? date : first;
+            last = last == null || date.isAfter(last) ? date : last;
+        }
+        // one day earlier for instants before their date's sunrise
+        LocalDate from = first.minusDays(1);
+        ZonedDateTime[] sunrises = sunriseTimes(coords, zone, from, (int) ChronoUnit.DAYS.between(from, last) + 1);
+        boolean atSunrise = properties.getReckoning() == Reckoning.SUNRISE;
+        long[] seconds = new long[instants.length];
+        for (int i = 0; i < instants.length; i++) {
+            int day = (int) ChronoUnit.DAYS.between(from, LocalDate.ofInstant(instants[i], zone));
+            ZonedDateTime sunrise = sunrises[day];
+            if (sunrise != null && instants[i].isBefore(sunrise.toInstant())) {
+                sunrise = sunrises[day - 1];
+            }
+            seconds[i] = (atSunrise && sunrise != null ? sunrise.toInstant() : instants[i]).getEpochSecond();
+        }
+        return PanchangaBatch.at(seconds);
+    }
+
+    private ZonedDateTime[] sunriseTimes(Coordinates coords, ZoneId zone, LocalDate from, int days) {
+        ZonedDateTime[] sunrises = new ZonedDateTime[days];
+        for (int i = 0; i < days; i++) {
+            sunrises[i] = sunTimes(coords, zone, from.plusDays(i)).sunrise();
+        }
+        return sunrises;
+    }
+
+    public SolarCalculator.SunTimes sunTimes(Coordinates coords, ZoneId zone, LocalDate date) {
+        return SolarCalculator.sunTimes(date, coords.lat(), coords.lng(), properties.getObserverElevation(), zone);
+    }
+}
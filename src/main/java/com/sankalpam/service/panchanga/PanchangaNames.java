@@ -0,0 +1,61 @@
+package com.sankalpam.service.panchanga;
+
+import com.sankalpam.controller.SankalpamData;
+
+import java.util.List;
+
+/**
+ * Names the engine gives its results, in the same transliteration and grammatical form as
+ * appspot's findSankalpam response (e.g. "Sukla", "saptamyAm"), so a computed result reads
+ * exactly like an upstream one and the two can be compared or cached interchangeably.
+ * Appspot has no rasi, so rasis use the display names of {@link SankalpamData#RASIS}; samvatsarams
+ * likewise use {@link SankalpamData#SAMVATSARAMS}, the names the sankalpam form offers.
+ */
+public final class PanchangaNames {
+
+    private PanchangaNames() {
+    }
+
+    public static final List<String> PAKSHAMS = List.of("Sukla", "kRShNa");
+
+    /** Tithis 1–14 of either paksham, then pUrNimA (Sukla 15) and amAvAsyA (kRShNa 15). */
+    public static final List<String> TITHIS = List.of(
+            "prathamyAm", "dvitIyAyAm", "tRtIyAyAm", "caturthyAm", "paMcamyAm",
+            "ShaShThyAm", "saptamyAm", "aShTamyAm", "navamyAm", "daSamyAm",
+            "EkAdaSyAm", "dvAdaSyAm", "trayOdaSyAm", "caturdaSyAm",
+            "pUrNimAyAm", "amAvAsyAyAm"
+    );
+
+    /** The 27 nakshatras from aSvinI, each 13°20′ of sidereal longitude. */
+    public static final List<String> NAKSHATRAMS = List.of(
+            "aSvinI", "BaraNI", "kRttikA", "rOhiNI", "mRgaSIrSha", "ArdrA",
+            "punarvasU", "puShya", "ASlEShA", "maGA", "pUrvaPalgunI", "uttaraPalgunI",
+            "hasta", "citrA", "svAtI", "viSAKA", "anUrAdhA", "jyEShThA",
+            "mUlA", "pUrvAShADhA", "uttarAShADhA", "SravaNa", "dhaniShThA", "SatabhiShak",
+            "pUrvABAdrapadA", "uttarABAdrapadA", "rEvatI"
+    );
+
+    /** The 27 yogas from viShkaMBa, each 13°20′ of the Sun + Moon longitude sum. */
+    public static final List<String> YOGAS = List.of(
+            "viShkaMBa", "prIti", "AyuShmAn", "saubhAgya", "SObhana", "atigaMDa",
+            "sukarmA", "dhRti", "SUla", "gaMDa", "vRddhi", "dhruva",
+            "vyAGAta", "harShaNa", "vajra", "siddhi", "vyatIpAta", "varIyAn",
+            "pariGa", "Siva", "siddha", "sAdhya", "Subha", "Sukla",
+            "brahma", "aiMdra", "vaidhRti"
+    );
+
+    /** The seven movable karanas from bava, then the fixed Sakuni, catuShpAda, nAga and kiMstughna. */
+    public static final List<String> KARANAS = List.of(
+            "bava", "bAlava", "kaulava", "taitila", "garaja", "vaNija", "viShTi",
+            "Sakuni", "catuShpAda", "nAga", "kiMstughna"
+    );
+
+    /** Uttarayanam, then Dakshinayanam. */
+    public static final List<String> AYANAMS = List.of("uttarAyaNE", "dakshinAyaNE");
+
+    /** The 60-year cycle from Prabhava. */
+    public static final List<String> SAMVATSARAMS = SankalpamData.SAMVATSARAMS;
+
+    /** The 12 rasis from Mesha, each 30° of sidereal longitude. */
+    public static final List<String> RASIS = SankalpamData.RASIS;
+}
@@ -0,0 +1,36 @@
+package com.sankalpam.service.panchanga;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+/**
+ * The year of the 60-year Jovian cycle in progress, Ugadi to Ugadi. Ugadi (Chaitra Shukla
+ * Prathama) is the new moon that opens the first Chaitra of the year in {@link LunarMonthTable},
+ * so in a year with an Adhika Chaitra the new samvatsaram begins with the Adhika month.
+ *
+ * @param number  1 Prabhava … 60 Akshaya
+ * @param began   the Ugadi that began it
+ * @param ends    the next Ugadi
+ */
+public record Samvatsaram(int number, Instant began, Instant ends) {
+
+    /** Prabhava, the first of the cycle, began with the Ugadi of 1987. */
+    static final int PRABHAVA_YEAR = 1987;
+
+    public static Samvatsaram at(Instant instant) {
+        int year = instant.atOffset(ZoneOffset.UTC).getYear();
+        Instant ugadi = LunarMonthTable.ugadi(year);
+        if (instant.isBefore(ugadi)) {
+            return new Samvatsaram(number(year - 1), LunarMonthTable.ugadi(year - 1), ugadi);
+        }
+        return new Samvatsaram(number(year), ugadi, LunarMonthTable.ugadi(year + 1));
+    }
+
+    private static int number(int ugadiYear) {
+        return Math.floorMod(ugadiYear - PRABHAVA_YEAR, 60) + 1;
+    }
+
+    public String name() {
+        return PanchangaNames.SAMVATSARAMS.get(number - 1);
+    }
+}
@@ -0,0 +1,101 @@
+package com.sankalpam.service.panchanga;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Sidereal solar ingresses (sankrantis): the instants the Sun enters each Lahiri rasi.
+ *
+ * Each UTC year is solved once with {@link TransitionSolver}, on first use, into a sorted
+ * array of ingress instants headed by the previous December's. Any lookup is then a binary
+ * search over 13 entries. Built tables are kept for the life of the process (a few hundred
+ * bytes a year). Thread-safe.
+ */
+public final class SankrantiTable {
+
+    /** The Sun entering {@code rasi} (1 Mesha … 12 Meena) at {@code at}. */
+    public record Sankranti(Instant at, int rasi) {}
+
+    /** Ingress instants in epoch seconds and the rasi each begins, ascending. */
+    private record Table(long[] seconds, int[] rasis) {}
+
+    private static final ConcurrentMap<Integer, Table> TABLES = new ConcurrentHashMap<>();
+
+    private SankrantiTable() {
+    }
+
+    /** The twelve sankrantis falling in UTC year {@code year}, in order. */
+    public static List<Sankranti> year(int year) {
+        Table table = table(year);
+        List<Sankranti> sankrantis = new ArrayList<>(table.seconds.length - 1);
+        for (int i = 1; i < table.seconds.length; i++) {
+            sankrantis.add(new Sankranti(Instant.ofEpochSecond(table.seconds[i]), table.rasis[i]));
+        }
+        return sankrantis;
+    }
+
+    /** The most recent sankranti at or before {@code at}: the rasi the Sun is in and since when. */
+    public static Sankranti previous(Instant at) {
+        Table table = table(yearOf(at));
+        int i = index(table, at);
+        return new Sankranti(Instant.ofEpochSecond(table.seconds[i]), table.rasis[i]);
+    }
+
+    /** The first sankranti after {@code at}. */
+    public static Sankranti next(Instant at) {
+        Table table = table(yearOf(at));
+        int i = index(table, at) + 1;
+        if (i == table.seconds.length) {
+            // past the year's last ingress: the next year's first one of its own
+            table = table(yearOf(at) + 1);
+            i = 1;
+        }
+        return new Sankranti(Instant.ofEpochSecond(table.seconds[i]), table.rasis[i]);
+    }
+
+    /** Sidereal rasi of the Sun at {@code at}, 1 Mesha … 12 Meena. */
+    public static int rasiAt(Instant at) {
+        Table table = table(yearOf(at));
+        return table.rasis[index(table, at)];
+    }
+
+    private static int index(Table table, Instant at) {
+        int i = Arrays.binarySearch(table.seconds, at.getEpochSecond());
+        return i >= 0 ? i : -i - 2;
+    }
+
+    private static int yearOf(Instant at) {
+        return at.atOffset(ZoneOffset.UTC).getYear();
+    }
+
+    private static Table table(int year) {
+        return TABLES.computeIfAbsent(year, SankrantiTable::solve);
+    }
+
+    /** The last ingress of {@code year - 1} followed by the twelve of {@code year}. */
+    private static Table solve(int year) {
+        Instant start = LocalDate.of(year, 1, 1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        Instant end = start.atOffset(ZoneOffset.UTC).plusYears(1).toInstant();
+        long[] seconds = new long[13];
+        int[] rasis = new int[13];
+        // Sankrantis are 29.3–31.5 days apart, so exactly one falls in the 35 days before 1 January
+        Instant ingress = TransitionSolver.end(TransitionSolver.Element.SANKRANTI, start.minusSeconds(35 * 86400L));
+        int n = 0;
+        while (ingress.isBefore(end) && n < seconds.length) {
+            seconds[n] = ingress.getEpochSecond();
+            rasis[n] = (int) Math.floor(EphemerisTables.siderealSunLongitude(ingress.plusSeconds(3600)) / 30) + 1;
+            n++;
+            ingress = TransitionSolver.end(TransitionSolver.Element.SANKRANTI, ingress.plusSeconds(86400));
+        }
+        if (n != seconds.length || seconds[1] < start.getEpochSecond()) {
+            throw new IllegalStateException("Solved " + n + " sankrantis for " + year);
+        }
+        return new Table(seconds, rasis);
+    }
+}
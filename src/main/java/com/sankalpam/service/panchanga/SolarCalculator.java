@@ -0,0 +1,148 @@
+package com.sankalpam.service.panchanga;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+/**
+ * Sun position and sunrise / sunset, computed in-process.
+ *
+ * The position follows the low-precision solar theory in Meeus, <i>Astronomical Algorithms</i>
+ * ch. 25 (about 0.01° in longitude, i.e. a few seconds of time at rise and set for the
+ * latitudes we serve). Sunrise and sunset are the instants the Sun's upper limb touches the
+ * horizon: centre at −0°50′ (34′ standard refraction plus 16′ semi-diameter), lowered further
+ * by the dip of the horizon for an elevated observer. Each event is found by iterating the
+ * hour-angle equation at the event time itself, so the Sun's motion during the day is taken
+ * into account.
+ *
+ * Pure arithmetic with no allocation beyond the result: a rise/set pair takes a few
+ * microseconds. Stateless and thread-safe.
+ */
+public final class SolarCalculator {
+
+    /** Julian day of 2000-01-01T12:00Z. */
+    static final double J2000 = 2451545.0;
+
+    /** Standard refraction at the horizon plus the solar semi-diameter, degrees. */
+    static final double HORIZON_ALTITUDE = -50.0 / 60.0;
+
+    private static final double DAYS_PER_CENTURY = 36525.0;
+    private static final double UNIX_EPOCH_JD = 2440587.5;
+    private static final int ITERATIONS = 4;
+
+    /** Where the Sun is at an instant. Angles in degrees; equation of time in minutes. */
+    public record Position(double apparentLongitude, double rightAscension, double declination,
+                           double equationOfTime) {}
+
+    /**
+     * Sunrise and sunset in the requested zone. Either is null when the Sun does not cross the
+     * horizon that day (polar day or night).
+     */
+    public record SunTimes(ZonedDateTime sunrise, ZonedDateTime sunset) {}
+
+    private SolarCalculator() {
+    }
+
+    public static double julianDay(Instant instant) {
+        return UNIX_EPOCH_JD + (instant.getEpochSecond() + instant.getNano() / 1e9) / 86400.0;
+    }
+
+    public static Instant instant(double julianDay) {
+        double seconds = (julianDay - UNIX_EPOCH_JD) * 86400.0;
+        long whole = (long) Math.floor(seconds);
+        return Instant.ofEpochSecond(whole, Math.round((seconds - whole) * 1e9));
+    }
+
+    /** Julian centuries since J2000. */
+    static double centuries(double julianDay) {
+        return (julianDay - J2000) / DAYS_PER_CENTURY;
+    }
+
+    public static Position position(double julianDay) {
+        double t = centuries(julianDay);
+        double meanLongitude = normalize(280.46646 + t * (36000.76983 + t * 0.0003032));
+        double meanAnomaly = Math.toRadians(357.52911 + t * (35999.05029 - t * 0.0001537));
+        double eccentricity = 0.016708634 - t * (0.000042037 + t * 0.0000001267);
+        double center = (1.914602 - t * (0.004817 + t * 0.000014)) * Math.sin(meanAnomaly)
+                + (0.019993 - t * 0.000101) * Math.sin(2 * meanAnomaly)
+                + 0.000289 * Math.sin(3 * meanAnomaly);
+        double node = Math.toRadians(125.04 - 1934.136 * t);
+        double apparentLongitude = meanLongitude + center - 0.00569 - 0.00478 * Math.sin(node);
+
+        double obliquity = Math.toRadians(meanObliquity(t) + 0.00256 * Math.cos(node));
+        double lambda = Math.toRadians(apparentLongitude);
+        double rightAscension = Math.toDegrees(Math.atan2(Math.cos(obliquity) * Math.sin(lambda), Math.cos(lambda)));
+        double declination = Math.toDegrees(Math.asin(Math.sin(obliquity) * Math.sin(lambda)));
+
+        double y = Math.tan(obliquity / 2) * Math.tan(obliquity / 2);
+        double l0 = Math.toRadians(meanLongitude);
+        double equationOfTime = 4 * Math.toDegrees(y * Math.sin(2 * l0)
+                - 2 * eccentricity * Math.sin(meanAnomaly)
+                + 4 * eccentricity * y * Math.sin(meanAnomaly) * Math.cos(2 * l0)
+                - 0.5 * y * y * Math.sin(4 * l0)
+                - 1.25 * eccentricity * eccentricity * Math.sin(2 * meanAnomaly));
+
+        return new Position(normalize(apparentLongitude), normalize(rightAscension), declination, equationOfTime);
+    }
+
+    /** Mean obliquity of the ecliptic in degrees (Meeus 22.2). */
+    static double meanObliquity(double t) {
+        return 23.0 + (26.0 + (21.448 - t * (46.815 + t * (0.00059 - t * 0.001813))) / 60.0) / 60.0;
+    }
+
+    /** Altitude of the Sun's centre at rise and set for an observer {@code elevation} metres up. */
+    static double horizonAltitude(double elevation) {
+        return HORIZON_ALTITUDE - (elevation > 0 ? 2.076 * Math.sqrt(elevation) / 60.0 : 0);
+    }
+
+    /**
+     * Sunrise and sunset on the civil date {@code date} in {@code zone}.
+     *
+     * @param latitude  degrees, north positive
+     * @param longitude degrees, east positive
+     * @param elevation observer height above the horizon in metres (0 for sea level)
+     */
+    public static SunTimes sunTimes(LocalDate date, double latitude, double longitude, double elevation, ZoneId zone) {
+        double altitude = horizonAltitude(elevation);
+        // local midday in the zone, so the events found belong to this civil date even far from the meridian
+        double noon = julianDay(date.atTime(12, 0).atZone(zone).toInstant());
+        double rise = event(noon, latitude, longitude, altitude, true);
+        double set = event(noon, latitude, longitude, altitude, false);
+        return new SunTimes(
+                Double.isNaN(rise) ? null : instant(rise).atZone(zone),
+                Double.isNaN(set) ? null : instant(set).atZone(zone));
+    }
+
+    /** Julian day of the rise ({@code rising}) or set nearest {@code noon}, or NaN if there is none. */
+    private static double event(double noon, double latitude, double longitude, double altitude, boolean rising) {
+        double phi = Math.toRadians(latitude);
+        double sinAltitude = Math.sin(Math.toRadians(altitude));
+        double jd = noon;
+        for (int i = 0; i < ITERATIONS; i++) {
+            Position sun = position(jd);
+            double delta = Math.toRadians(sun.declination());
+            double cosH = (sinAltitude - Math.sin(phi) * Math.sin(delta)) / (Math.cos(phi) * Math.cos(delta));
+            if (cosH < -1 || cosH > 1) {
+                return Double.NaN;
+            }
+            double hourAngle = Math.toDegrees(Math.acos(cosH));
+            // solar transit nearest jd, in UT minutes from that day's 0h
+            double day0 = Math.floor(jd - 0.5) + 0.5;
+            double transitMinutes = 720 - 4 * longitude - sun.equationOfTime();
+            double transit = day0 + transitMinutes / 1440.0;
+            if (transit - jd > 0.5) {
+                transit -= 1;
+            } else if (jd - transit > 0.5) {
+                transit += 1;
+            }
+            jd = transit + (rising ? -hourAngle : hourAngle) * 4 / 1440.0;
+        }
+        return jd;
+    }
+
+    static double normalize(double degrees) {
+        double d = degrees % 360.0;
+        return d < 0 ? d + 360.0 : d;
+    }
+}
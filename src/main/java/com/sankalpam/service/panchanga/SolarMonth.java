@@ -0,0 +1,41 @@
+package com.sankalpam.service.panchanga;
+
+import java.time.Instant;
+
+/**
+ * The solar month in progress: the Sun's sidereal rasi between two sankrantis, and what it
+ * fixes. Each month takes the name of the lunar month that begins while the Sun is in its
+ * rasi: Chaitra in Meena, Vaisakha in Mesha, and so on. Two months make a ruthu, starting
+ * with Vasantha (Chaitra, Vaisakha). Uttarayanam runs from Makara sankranti to Karka
+ * sankranti, Dakshinayanam for the other half of the year.
+ *
+ * @param rasi   1 Mesha … 12 Meena
+ * @param began  the sankranti that began it
+ * @param ends   the next sankranti
+ */
+public record SolarMonth(int rasi, Instant began, Instant ends) {
+
+    public static SolarMonth at(Instant instant) {
+        SankrantiTable.Sankranti previous = SankrantiTable.previous(instant);
+        return new SolarMonth(previous.rasi(), previous.at(), SankrantiTable.next(instant).at());
+    }
+
+    /** 1 Chaitra … 12 Phalguna. */
+    public int maasam() {
+        return rasi % 12 + 1;
+    }
+
+    /** 1 Vasantha … 6 Shishira. */
+    public int ruthu() {
+        return (maasam() + 1) / 2;
+    }
+
+    /** Sun in Makara through Mithuna. */
+    public boolean isUttarayanam() {
+        return rasi >= 10 || rasi <= 3;
+    }
+
+    public String ayanam() {
+        return PanchangaNames.AYANAMS.get(isUttarayanam() ? 0 : 1);
+    }
+}
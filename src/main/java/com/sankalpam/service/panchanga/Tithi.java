@@ -0,0 +1,44 @@
+package com.sankalpam.service.panchanga;
+
+import java.time.Instant;
+
+/**
+ * The lunar day in progress at an instant: the Moon − Sun elongation divided into thirty
+ * 12° steps. Numbers 1–15 are the Sukla (waxing) paksham ending at full moon, 16–30 the
+ * kRShNa (waning) paksham ending at new moon.
+ *
+ * @param number     1–30
+ * @param elongation Moon − Sun in degrees, [0, 360)
+ */
+public record Tithi(int number, double elongation) {
+
+    public static final double SPAN = 12.0;
+
+    public static Tithi at(Instant instant) {
+        return of(EphemerisTables.elongation(instant));
+    }
+
+    static Tithi of(double elongation) {
+        return new Tithi(Math.min(30, (int) Math.floor(elongation / SPAN) + 1), elongation);
+    }
+
+    public boolean isSukla() {
+        return number <= 15;
+    }
+
+    /** 1–15 within the paksham. */
+    public int dayOfPaksham() {
+        return (number - 1) % 15 + 1;
+    }
+
+    public String paksham() {
+        return PanchangaNames.PAKSHAMS.get(isSukla() ? 0 : 1);
+    }
+
+    public String name() {
+        if (number == 30) {
+            return PanchangaNames.TITHIS.get(15);
+        }
+        return PanchangaNames.TITHIS.get(dayOfPaksham() - 1);
+    }
+}
@@ -0,0 +1,104 @@
+package com.sankalpam.service.panchanga;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * End instants of the Panchanga elements: the next time the angle behind an element crosses a
+ * multiple of its span.
+ *
+ * Every angle here (Moon − Sun, sidereal Moon, sidereal Sun + Moon, sidereal Sun) only ever increases, so
+ * the crossing is unique. It is found by secant iteration started from the angle's mean daily
+ * motion; the Moon's speed varies by ±15% over a month (the Sun's by ±3%), so four or five ephemeris evaluations
+ * bring the step under {@link #TOLERANCE_SECONDS}. Stateless and thread-safe.
+ */
+public final class TransitionSolver {
+
+    /** Results are rounded to the second; that is finer than the ephemeris itself. */
+    static final double TOLERANCE_SECONDS = 0.5;
+
+    private static final int MAX_ITERATIONS = 20;
+
+    /** A Panchanga element and the angle that drives it. */
+    public enum Element {
+        TITHI(Tithi.SPAN, 12.19, EphemerisTables::elongation),
+        NAKSHATRAM(Nakshatram.SPAN, 13.18, EphemerisTables::siderealMoonLongitude),
+        YOGA(360.0 / 27, 14.17, EphemerisTables::yogaLongitude),
+        /** Half a tithi. */
+        KARANA(Tithi.SPAN / 2, 12.19, EphemerisTables::elongation),
+        /** New moon to new moon. */
+        LUNATION(360, 12.19, EphemerisTables::elongation),
+        /** The Sun entering a sidereal rasi. */
+        SANKRANTI(30, 0.9856, EphemerisTables::siderealSunLongitude);
+
+        private final double span;
+        private final double meanDailyMotion;
+        private final ToDoubleFunction<Instant> angle;
+
+        Element(double span, double meanDailyMotion, ToDoubleFunction<Instant> angle) {
+            this.span = span;
+            this.meanDailyMotion = meanDailyMotion;
+            this.angle = angle;
+        }
+
+        public double span() {
+            return span;
+        }
+
+        public double angle(Instant instant) {
+            return angle.applyAsDouble(instant);
+        }
+    }
+
+    private TransitionSolver() {
+    }
+
+    /** When the {@code element} in progress at {@code at} ends, to the second. */
+    public static Instant end(Element element, Instant at) {
+        double value = element.angle(at);
+        double target = (Math.floor(value / element.span) + 1) * element.span;
+        return crossing(element, at, value, target);
+    }
+
+    /** When the {@code element} in progress at {@code at} began, to the second. */
+    public static Instant start(Element element, Instant at) {
+        double value = element.angle(at);
+        double target = Math.floor(value / element.span) * element.span;
+        return crossing(element, at, value, target);
+    }
+
+    /**
+     * The instant near {@code from} where the angle equals {@code target}. Angles are unwrapped
+     * against the value the current rate predicts, so a span of a whole turn (a lunation) is
+     * still reached going forward rather than folded back onto the previous crossing.
+     */
+    private static Instant crossing(Element element, Instant from, double value, double target) {
+        double days = 0;
+        double rate = element.meanDailyMotion;
+        for (int i = 0; i < MAX_ITERATIONS; i++) {
+            double step = (target - value) / rate;
+            days += step;
+            if (Math.abs(step) * 86400 < TOLERANCE_SECONDS) {
+                break;
+            }
+            double predicted = value + step * rate;
+            double next = predicted + difference(element.angle(at(from, days)), predicted);
+            if (next != value) {
+                rate = (next - value) / step;
+            }
+            value = next;
+        }
+        return at(from, days).plusMillis(500).truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    private static Instant at(Instant from, double days) {
+        return from.plusNanos(Math.round(days * 86400e9));
+    }
+
+    /** a − b folded into (−180, 180]. */
+    private static double difference(double a, double b) {
+        double d = SolarCalculator.normalize(a - b);
+        return d > 180 ? d - 360 : d;
+    }
+}
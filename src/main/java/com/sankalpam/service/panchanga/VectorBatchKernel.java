@@ -0,0 +1,76 @@
+package com.sankalpam.service.panchanga;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link PanchangaBatch.Kernel} on the incubating Vector API: each lane evaluates one instant.
+ * The lanes' coefficients are transposed into a small lane-major buffer rather than read with
+ * an indexed gather, which C2 in JDK 21.0.1 miscompiles (SIGSEGV) on AVX-512 and AVX2 alike.
+ * Only loaded once {@link PanchangaBatch} has checked that {@code jdk.incubator.vector} is
+ * resolved; a chunk with any lane outside the table is handed to the scalar kernel. Until C2
+ * compiles it, Vector API code runs boxed and far slower than the scalar loop.
+ */
+final class VectorBatchKernel implements PanchangaBatch.Kernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void longitudes(PanchangaBatch.Coefficients table, double[] seconds, double[] out, int from, int to) {
+        int lanes = SPECIES.length();
+        int count = table.count();
+        double[] data = table.data();
+        int[] bases = new int[lanes];
+        double[] xs = new double[lanes];
+        // lane-major copy of each lane's coefficients, so every step of the recurrence is one contiguous load
+        double[] lanesByTerm = new double[count * lanes];
+        int k = from;
+        for (; k + lanes <= to; k += lanes) {
+            if (!positions(table, seconds, k, bases, xs)) {
+                PanchangaBatch.SCALAR.longitudes(table, seconds, out, k, k + lanes);
+                continue;
+            }
+            for (int lane = 0; lane < lanes; lane++) {
+                for (int j = 0; j < count; j++) {
+                    lanesByTerm[j * lanes + lane] = data[bases[lane] + j];
+                }
+            }
+            DoubleVector x = DoubleVector.fromArray(SPECIES, xs, 0);
+            DoubleVector twoX = x.add(x);
+            DoubleVector b1 = DoubleVector.zero(SPECIES);
+            DoubleVector b2 = b1;
+            for (int j = count - 1; j >= 1; j--) {
+                DoubleVector c = DoubleVector.fromArray(SPECIES, lanesByTerm, j * lanes);
+                DoubleVector b = twoX.fma(b1, c.sub(b2));
+                b2 = b1;
+                b1 = b;
+            }
+            DoubleVector value = x.fma(b1, DoubleVector.fromArray(SPECIES, lanesByTerm, 0).sub(b2));
+            // the fit is unwrapped around its interval's midpoint, so value > −360: shift, truncate, shift back
+            DoubleVector turns = (DoubleVector) value.add(360).div(360)
+                    .convert(VectorOperators.D2L, 0).convert(VectorOperators.L2D, 0);
+            value.sub(turns.sub(1).mul(360)).intoArray(out, k);
+        }
+        PanchangaBatch.SCALAR.longitudes(table, seconds, out, k, to);
+    }
+
+    /** Interval base offsets and positions of lanes {@code [k, k + lanes)}; false if any is outside the table. */
+    private static boolean positions(PanchangaBatch.Coefficients table, double[] seconds, int k, int[] bases,
+                                     double[] xs) {
+        for (int lane = 0; lane < bases.length; lane++) {
+            int i = table.interval(seconds[k + lane]);
+            if (i < 0) {
+                return false;
+            }
+            bases[lane] = i * table.count();
+            xs[lane] = table.x(seconds[k + lane], i);
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "Vector API " + SPECIES;
+    }
+}
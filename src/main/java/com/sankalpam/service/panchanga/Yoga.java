@@ -0,0 +1,28 @@
+package com.sankalpam.service.panchanga;
+
+import java.time.Instant;
+
+/**
+ * The yoga in progress at an instant: the sum of the Sun's and the Moon's sidereal longitudes
+ * divided into 27 steps of 13°20′, from viShkaMBa. The ayanamsa enters the sum twice, so unlike
+ * the tithi a yoga depends on it.
+ *
+ * @param number    1–27
+ * @param longitude Sun + Moon in degrees, [0, 360)
+ */
+public record Yoga(int number, double longitude) {
+
+    public static final double SPAN = 360.0 / 27;
+
+    public static Yoga at(Instant instant) {
+        return of(EphemerisTables.yogaLongitude(instant));
+    }
+
+    static Yoga of(double longitude) {
+        return new Yoga(Math.min(27, (int) Math.floor(longitude / SPAN) + 1), longitude);
+    }
+
+    public String name() {
+        return PanchangaNames.YOGAS.get(number - 1);
+    }
+}
@@ -0,0 +1,128 @@
+package com.sankalpam.service.upstream;
+
+import com.sankalpam.config.BulkheadProperties;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrency limit for one upstream, with a bounded FIFO queue of calls waiting for a slot.
+ *
+ * {@link #acquire()} returns a future that completes once the caller holds a slot, which it
+ * must hand back with {@link #release()} when its call finishes. When every slot is taken the
+ * caller queues; when the queue is also full, or it has waited {@code max-wait-duration}, the
+ * future fails with {@link BulkheadFullException}. Waiting never holds a thread unless the
+ * caller blocks on the future itself.
+ *
+ * A released slot passes straight to the oldest waiter, so queued calls are not overtaken
+ * by newcomers. All state changes happen under the monitor; futures are completed outside it.
+ */
+public class Bulkhead {
+
+    /** Receives rejections, e.g. to publish metrics. {@code reason} is a metric-friendly tag value. */
+    public interface Listener {
+        void onRejected(String reason);
+    }
+
+    static final String QUEUE_FULL = "queue_full";
+    static final String WAIT_TIMEOUT = "wait_timeout";
+
+    private final Upstream upstream;
+    private final BulkheadProperties properties;
+    private final Listener listener;
+
+    private int inFlight;
+    private final Deque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+
+    public Bulkhead(Upstream upstream, BulkheadProperties properties, Listener listener) {
+        this.upstream = upstream;
+        this.properties = properties;
+        this.listener = listener;
+    }
+
+    /** Take a slot, queueing for one if necessary. */
+    public CompletableFuture<Void> acquire() {
+        CompletableFuture<Void> waiter = new CompletableFuture<>();
+        synchronized (this) {
+            if (!properties.isEnabled() || (inFlight < properties.getMaxConcurrentCalls() && waiters.isEmpty())) {
+                inFlight++;
+                return CompletableFuture.completedFuture(null);
+            }
+            if (waiters.size() < properties.getMaxQueuedCalls()) {
+                waiters.addLast(waiter);
+            } else {
+                waiter = null;
+            }
+        }
+        if (waiter == null) {
+            return CompletableFuture.failedFuture(reject(QUEUE_FULL, "all " + properties.getMaxConcurrentCalls()
+                    + " slots busy and " + properties.getMaxQueuedCalls() + " calls already queued"));
+        }
+        CompletableFuture<Void> queued = waiter;
+        CompletableFuture.delayedExecutor(properties.getMaxWaitDuration().toNanos(), TimeUnit.NANOSECONDS).execute(() -> {
+            if (remove(queued)) {
+                queued.completeExceptionally(reject(WAIT_TIMEOUT, "no slot within " + properties.getMaxWaitDuration()));
+            }
+        });
+        return queued;
+    }
+
+    /** Take a slot only if one is free right now and nobody is queued for it. */
+    public synchronized boolean tryAcquire() {
+        if (!properties.isEnabled() || (inFlight < properties.getMaxConcurrentCalls() && waiters.isEmpty())) {
+            inFlight++;
+            return true;
+        }
+        return false;
+    }
+
+    /** Hand back a slot obtained from {@link #acquire()} or {@link #tryAcquire()}. */
+    public void release() {
+        while (true) {
+            CompletableFuture<Void> next;
+            synchronized (this) {
+                next = waiters.pollFirst();
+                if (next == null) {
+                    inFlight--;
+                    return;
+                }
+            }
+            // The slot passes to the waiter; if it was abandoned meanwhile, offer it to the next one.
+            if (next.complete(null)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Withdraw a future returned by {@link #acquire()}. Returns true if it was still queued (it
+     * is then failed and no slot is held); false if it already has, or is being handed, a slot,
+     * in which case the caller must release it once the future completes.
+     */
+    public boolean cancel(CompletableFuture<Void> slot) {
+        if (remove(slot)) {
+            slot.cancel(false);
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueued() {
+        return waiters.size();
+    }
+
+    private synchronized boolean remove(CompletableFuture<Void> waiter) {
+        return waiters.remove(waiter);
+    }
+
+    private BulkheadFullException reject(String reason, String detail) {
+        listener.onRejected(reason);
+        return new BulkheadFullException(upstream, detail, properties.getRetryAfter());
+    }
+}
@@ -0,0 +1,29 @@
+package com.sankalpam.service.upstream;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * The upstream's bulkhead had no free slot: its wait queue was full, or the call waited in it
+ * longer than allowed. Like {@link CircuitOpenException}, an {@link IOException} so callers
+ * treat it as a failed upstream call; it also says when a retry is worth attempting.
+ */
+public class BulkheadFullException extends IOException {
+
+    private final Upstream upstream;
+    private final Duration retryAfter;
+
+    public BulkheadFullException(Upstream upstream, String reason, Duration retryAfter) {
+        super("Bulkhead for " + upstream.tag() + " upstream is full: " + reason);
+        this.upstream = upstream;
+        this.retryAfter = retryAfter;
+    }
+
+    public Upstream getUpstream() {
+        return upstream;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,199 @@
+package com.sankalpam.service.upstream;
+
+import com.sankalpam.config.CircuitBreakerProperties;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Count-based circuit breaker for one upstream.
+ *
+ * <pre>
+ *   CLOSED ──(failure or slow-call rate ≥ threshold over the window)──▶ OPEN
+ *   OPEN ──(wait duration elapsed, next call)──▶ HALF_OPEN
+ *   HALF_OPEN ──(all probes succeed)──▶ CLOSED
+ *   HALF_OPEN ──(any probe fails or is slow)──▶ OPEN
+ * </pre>
+ *
+ * {@link #tryAcquirePermission()} hands out a permit stamped with the current state
+ * generation; outcomes reported with a permit from an earlier generation (calls that were
+ * already in flight when the state changed) are ignored, so a late response from before an
+ * open cannot count as a half-open probe.
+ *
+ * All methods are synchronised; they do a handful of array operations, which is nothing next
+ * to the HTTP call they guard.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    /** A state change, kept for the actuator endpoint. */
+    public record Transition(State from, State to, Instant at, String reason) {}
+
+    /** Point-in-time view of the breaker. Rates are percentages, or -1 before the minimum number of calls. */
+    public record Snapshot(State state, int bufferedCalls, float failureRate, float slowCallRate,
+                           long rejectedCalls, List<Transition> recentTransitions) {}
+
+    /** Receives state changes and rejections, e.g. to publish metrics. */
+    public interface Listener {
+        void onTransition(Transition transition);
+
+        void onRejected();
+    }
+
+    /** Returned by {@link #tryAcquirePermission()} when the call must not go upstream. */
+    public static final long NOT_PERMITTED = -1;
+
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+    private static final int MAX_RECENT_TRANSITIONS = 10;
+
+    private final CircuitBreakerProperties properties;
+    private final Clock clock;
+    private final Listener listener;
+
+    /** Ring buffer of outcome bits for the last {@code slidingWindowSize} calls. */
+    private final byte[] window;
+    private int windowNext;
+    private int windowCount;
+    private int failedCount;
+    private int slowCount;
+
+    private State state = State.CLOSED;
+    private long generation;
+    private Instant openedAt;
+    private int probesIssued;
+    private int probesSucceeded;
+    private long rejectedCalls;
+    private final Deque<Transition> recentTransitions = new ArrayDeque<>();
+
+    public CircuitBreaker(CircuitBreakerProperties properties, Clock clock, Listener listener) {
+        this.properties = properties;
+        this.clock = clock;
+        this.listener = listener;
+        this.window = new byte[Math.max(1, properties.getSlidingWindowSize())];
+    }
+
+    /**
+     * Ask to make a call. Returns a permit to pass back to {@link #onResult}, or
+     * {@link #NOT_PERMITTED} when the breaker is open (or half-open with all probes out).
+     */
+    public synchronized long tryAcquirePermission() {
+        if (!properties.isEnabled()) {
+            return generation;
+        }
+        if (state == State.OPEN
+                && !clock.instant().isBefore(openedAt.plus(properties.getWaitDurationInOpenState()))) {
+            transitionTo(State.HALF_OPEN, "wait duration elapsed");
+        }
+        switch (state) {
+            case CLOSED -> {
+                return generation;
+            }
+            case HALF_OPEN -> {
+                if (probesIssued < properties.getPermittedCallsInHalfOpenState()) {
+                    probesIssued++;
+                    return generation;
+                }
+            }
+            default -> { }
+        }
+        rejectedCalls++;
+        listener.onRejected();
+        return NOT_PERMITTED;
+    }
+
+    /** Report how a permitted call went. {@code failed} covers I/O errors, timeouts and 5xx responses. */
+    public synchronized void onResult(long permit, Duration elapsed, boolean failed) {
+        if (!properties.isEnabled() || permit != generation) {
+            return;
+        }
+        boolean slow = elapsed.compareTo(properties.getSlowCallDuration()) >= 0;
+        if (state == State.HALF_OPEN) {
+            if (failed || slow) {
+                transitionTo(State.OPEN, failed ? "half-open probe failed" : "half-open probe was slow (" + elapsed.toMillis() + " ms)");
+            } else if (++probesSucceeded >= properties.getPermittedCallsInHalfOpenState()) {
+                transitionTo(State.CLOSED, probesSucceeded + " half-open probes succeeded");
+            }
+            return;
+        }
+        if (state == State.CLOSED) {
+            record((byte) ((failed ? FAILED : 0) | (slow ? SLOW : 0)));
+            if (windowCount >= properties.getMinimumNumberOfCalls()) {
+                float failureRate = rate(failedCount);
+                float slowRate = rate(slowCount);
+                if (failureRate >= properties.getFailureRateThreshold()) {
+                    transitionTo(State.OPEN, String.format("failure rate %.0f%% over %d calls", failureRate, windowCount));
+                } else if (slowRate >= properties.getSlowCallRateThreshold()) {
+                    transitionTo(State.OPEN, String.format("slow-call rate %.0f%% over %d calls", slowRate, windowCount));
+                }
+            }
+        }
+    }
+
+    /**
+     * Give back a permit whose call was abandoned without an outcome (e.g. the losing half of
+     * a hedged pair), so a half-open breaker is not left waiting for a probe that never reports.
+     */
+    public synchronized void releasePermission(long permit) {
+        if (properties.isEnabled() && permit == generation && state == State.HALF_OPEN && probesIssued > 0) {
+            probesIssued--;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized Snapshot snapshot() {
+        boolean evaluated = windowCount >= properties.getMinimumNumberOfCalls();
+        return new Snapshot(state, windowCount,
+                evaluated ? rate(failedCount) : -1,
+                evaluated ? rate(slowCount) : -1,
+                rejectedCalls, List.copyOf(recentTransitions));
+    }
+
+    private void record(byte outcome) {
+        if (windowCount == window.length) {
+            byte evicted = window[windowNext];
+            failedCount -= evicted & FAILED;
+            slowCount -= (evicted & SLOW) >> 1;
+        } else {
+            windowCount++;
+        }
+        window[windowNext] = outcome;
+        windowNext = (windowNext + 1) % window.length;
+        failedCount += outcome & FAILED;
+        slowCount += (outcome & SLOW) >> 1;
+    }
+
+    private float rate(int count) {
+        return windowCount == 0 ? 0 : count * 100f / windowCount;
+    }
+
+    private void transitionTo(State target, String reason) {
+        Transition transition = new Transition(state, target, clock.instant(), reason);
+        state = target;
+        generation++;
+        probesIssued = 0;
+        probesSucceeded = 0;
+        if (target == State.OPEN) {
+            openedAt = transition.at();
+        }
+        if (target == State.CLOSED) {
+            windowNext = 0;
+            windowCount = 0;
+            failedCount = 0;
+            slowCount = 0;
+        }
+        if (recentTransitions.size() == MAX_RECENT_TRANSITIONS) {
+            recentTransitions.removeFirst();
+        }
+        recentTransitions.addLast(transition);
+        listener.onTransition(transition);
+    }
+}
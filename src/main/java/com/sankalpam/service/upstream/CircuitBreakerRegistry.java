@@ -0,0 +1,84 @@
+package com.sankalpam.service.upstream;
+
+import com.sankalpam.config.CircuitBreakerProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * One {@link CircuitBreaker} per {@link Upstream}, shared by every outbound call.
+ *
+ * Metrics (tag {@code upstream}):
+ * <ul>
+ *   <li>{@code upstream.circuitbreaker.state} — 1 for the current state, 0 for the others (tag {@code state})</li>
+ *   <li>{@code upstream.circuitbreaker.transitions} — state changes (tag {@code to})</li>
+ *   <li>{@code upstream.circuitbreaker.calls.rejected} — calls refused while open or half-open</li>
+ * </ul>
+ * The full picture, including recent transitions, is at {@code /actuator/circuitbreakers}.
+ */
+@Slf4j
+@Component
+public class CircuitBreakerRegistry {
+
+    private final Map<Upstream, CircuitBreaker> breakers = new EnumMap<>(Upstream.class);
+
+    @Autowired
+    public CircuitBreakerRegistry(CircuitBreakerProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Clock.systemUTC());
+    }
+
+    CircuitBreakerRegistry(CircuitBreakerProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        for (Upstream upstream : Upstream.values()) {
+            CircuitBreaker breaker = new CircuitBreaker(properties, clock, listener(upstream, meterRegistry));
+            breakers.put(upstream, breaker);
+            for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+                Gauge.builder("upstream.circuitbreaker.state", breaker, b -> b.getState() == state ? 1 : 0)
+                        .description("Circuit breaker state (1 = current)")
+                        .tag("upstream", upstream.tag())
+                        .tag("state", state.name().toLowerCase())
+                        .register(meterRegistry);
+            }
+        }
+        log.info("Upstream circuit breakers initialised: enabled={}, window={}, minCalls={}, failureRate={}%, slowCallRate={}% (>= {}), openFor={}, halfOpenProbes={}",
+                properties.isEnabled(), properties.getSlidingWindowSize(), properties.getMinimumNumberOfCalls(),
+                properties.getFailureRateThreshold(), properties.getSlowCallRateThreshold(), properties.getSlowCallDuration(),
+                properties.getWaitDurationInOpenState(), properties.getPermittedCallsInHalfOpenState());
+    }
+
+    public CircuitBreaker forUpstream(Upstream upstream) {
+        return breakers.get(upstream);
+    }
+
+    public Map<Upstream, CircuitBreaker> all() {
+        return Collections.unmodifiableMap(breakers);
+    }
+
+    private static CircuitBreaker.Listener listener(Upstream upstream, MeterRegistry meterRegistry) {
+        Counter rejected = Counter.builder("upstream.circuitbreaker.calls.rejected")
+                .description("Calls refused because the circuit breaker was open")
+                .tag("upstream", upstream.tag())
+                .register(meterRegistry);
+        return new CircuitBreaker.Listener() {
+            @Override
+            public void onTransition(CircuitBreaker.Transition transition) {
+                log.warn("Circuit breaker for {} upstream: {} -> {} ({})",
+                        upstream.tag(), transition.from(), transition.to(), transition.reason());
+                meterRegistry.counter("upstream.circuitbreaker.transitions",
+                        "upstream", upstream.tag(), "to", transition.to().name().toLowerCase()).increment();
+            }
+
+            @Override
+            public void onRejected() {
+                rejected.increment();
+            }
+        };
+    }
+}
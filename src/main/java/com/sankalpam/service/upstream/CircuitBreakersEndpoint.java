@@ -0,0 +1,30 @@
+package com.sankalpam.service.upstream;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code GET /actuator/circuitbreakers} — state, window rates and recent transitions of
+ * each upstream's circuit breaker.
+ */
+@Component
+@Endpoint(id = "circuitbreakers")
+public class CircuitBreakersEndpoint {
+
+    private final CircuitBreakerRegistry registry;
+
+    public CircuitBreakersEndpoint(CircuitBreakerRegistry registry) {
+        this.registry = registry;
+    }
+
+    @ReadOperation
+    public Map<String, CircuitBreaker.Snapshot> circuitBreakers() {
+        Map<String, CircuitBreaker.Snapshot> snapshots = new LinkedHashMap<>();
+        registry.all().forEach((upstream, breaker) -> snapshots.put(upstream.tag(), breaker.snapshot()));
+        return snapshots;
+    }
+}
@@ -0,0 +1,21 @@
+package com.sankalpam.service.upstream;
+
+import java.io.IOException;
+
+/**
+ * The upstream's circuit breaker is open, so the call was not attempted. An {@link IOException}
+ * so callers treat it like any other failed upstream call and take their fallback path at once.
+ */
+public class CircuitOpenException extends IOException {
+
+    private final Upstream upstream;
+
+    public CircuitOpenException(Upstream upstream) {
+        super("Circuit breaker for " + upstream.tag() + " upstream is open");
+        this.upstream = upstream;
+    }
+
+    public Upstream getUpstream() {
+        return upstream;
+    }
+}
@@ -0,0 +1,33 @@
+package com.sankalpam.service.upstream;
+
+/**
+ * Caps hedged requests at a fixed share of primary requests. Every primary request deposits
+ * {@code percent / 100} of a token and every hedge spends a whole one, so over any stretch of
+ * traffic hedges add at most {@code percent}% on top. The balance is capped so a long quiet
+ * spell cannot bank a burst of hedges. Kept in hundredths of a token to stay exact.
+ */
+class HedgeBudget {
+
+    private static final int HEDGE_COST = 100;
+
+    private final int depositPerRequest;
+    private final int maxBalance;
+    private int balance;
+
+    HedgeBudget(int percent) {
+        this.depositPerRequest = Math.max(0, percent);
+        this.maxBalance = Math.max(HEDGE_COST, depositPerRequest * 100);
+    }
+
+    synchronized void onPrimaryRequest() {
+        balance = Math.min(maxBalance, balance + depositPerRequest);
+    }
+
+    synchronized boolean tryAcquire() {
+        if (balance >= HEDGE_COST) {
+            balance -= HEDGE_COST;
+            return true;
+        }
+        return false;
+    }
+}
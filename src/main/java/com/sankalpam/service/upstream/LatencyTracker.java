@@ -0,0 +1,59 @@
+package com.sankalpam.service.upstream;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Rolling window of the most recent response latencies for one upstream, with percentile
+ * lookups. Percentiles are recomputed from a sorted copy at most once every
+ * {@link #RECOMPUTE_EVERY} samples, so reading them on every call is cheap; in between they
+ * may lag the window by fewer than that many samples, also while it fills.
+ */
+public class LatencyTracker {
+
+    static final int RECOMPUTE_EVERY = 16;
+
+    private final long[] samples;
+    private int next;
+    private int count;
+    // starts due, so the first percentile() sorts
+    private int sinceSort = RECOMPUTE_EVERY;
+    private long[] sorted = new long[0];
+
+    public LatencyTracker(int windowSize) {
+        this.samples = new long[Math.max(1, windowSize)];
+    }
+
+    public synchronized void record(Duration latency) {
+        samples[next] = latency.toNanos();
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+        if (sinceSort < RECOMPUTE_EVERY) {
+            sinceSort++;
+        }
+    }
+
+    /** Number of samples currently in the window. */
+    public synchronized int count() {
+        return count;
+    }
+
+    /**
+     * The latency below which {@code percentile} percent of the windowed samples fall
+     * (nearest-rank), or {@code null} when fewer than {@code minimumSamples} have been seen.
+     */
+    public synchronized Duration percentile(double percentile, int minimumSamples) {
+        if (count == 0 || count < minimumSamples) {
+            return null;
+        }
+        if (sinceSort >= RECOMPUTE_EVERY) {
+            sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            sinceSort = 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return Duration.ofNanos(sorted[Math.min(sorted.length, Math.max(1, rank)) - 1]);
+    }
+}
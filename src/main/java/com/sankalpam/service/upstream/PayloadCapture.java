@@ -0,0 +1,243 @@
+package com.sankalpam.service.upstream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sankalpam.config.PayloadCaptureProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Off-request-path capture of raw upstream responses.
+ *
+ * {@link #capture} decides whether to keep a response (one in {@code sample-rate}, plus every
+ * failure) and hands it to a bounded queue; it never blocks and never does I/O. A single
+ * writer thread drains the queue into {@code <directory>/upstream-payloads.log}, one JSON
+ * object per line, rolling the file by size. When the writer falls behind, new captures are
+ * dropped and counted rather than slowing requests down.
+ *
+ * Sampling settings are read from {@link PayloadCaptureProperties} on every call, so changes
+ * made through {@link PayloadCaptureEndpoint} apply immediately.
+ */
+@Slf4j
+@Component
+public class PayloadCapture {
+
+    static final String FILE_NAME = "upstream-payloads.log";
+
+    /** Why a response was captured. */
+    public enum Reason { SAMPLED, FAILURE }
+
+    /** One captured response, as written to the sink. */
+    public record Payload(Instant at, String upstream, String request, int status, Reason reason,
+                          boolean truncated, String body) {}
+
+    private static final Payload STOP = new Payload(null, null, null, 0, null, false, null);
+
+    private final PayloadCaptureProperties properties;
+    private final ObjectMapper mapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final BlockingQueue<Payload> queue;
+    private final Thread writerThread;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final Counter queued;
+    private final Counter dropped;
+    private final Counter written;
+
+    /** Writer-thread state. */
+    private BufferedWriter writer;
+    private long fileSize;
+
+    public PayloadCapture(PayloadCaptureProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity()));
+        this.queued = captureCounter(meterRegistry, "queued");
+        this.dropped = captureCounter(meterRegistry, "dropped");
+        this.written = captureCounter(meterRegistry, "written");
+        Gauge.builder("upstream.payload.capture.queue", queue, BlockingQueue::size)
+                .description("Captured payloads waiting to be written")
+                .register(meterRegistry);
+        this.writerThread = Thread.ofPlatform().name("payload-capture").daemon().unstarted(this::drain);
+        writerThread.start();
+    }
+
+    private static Counter captureCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("upstream.payload.capture")
+                .description("Upstream payload captures by result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Offer a response for capture. {@code failed} marks a response that was not usable (non-200
+     * or unparseable); those bypass sampling when {@code always-capture-failures} is set.
+     * Returns true when the response was queued.
+     */
+    public boolean capture(Upstream upstream, URI request, int status, String body, boolean failed) {
+        Reason reason = select(failed);
+        if (reason == null) {
+            return false;
+        }
+        int max = Math.max(0, properties.getMaxBodyLength());
+        boolean truncated = body != null && body.length() > max;
+        Payload payload = new Payload(Instant.now(), upstream.tag(), UpstreamRecording.requestKey(request), status,
+                reason, truncated, truncated ? body.substring(0, max) : body);
+        if (!queue.offer(payload)) {
+            dropped.increment();
+            return false;
+        }
+        queued.increment();
+        return true;
+    }
+
+    private Reason select(boolean failed) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        if (failed && properties.isAlwaysCaptureFailures()) {
+            return Reason.FAILURE;
+        }
+        int rate = properties.getSampleRate();
+        return rate > 0 && sequence.getAndIncrement() % rate == 0 ? Reason.SAMPLED : null;
+    }
+
+    public int getQueued() {
+        return queue.size();
+    }
+
+    public long getDropped() {
+        return (long) dropped.count();
+    }
+
+    public long getWritten() {
+        return (long) written.count();
+    }
+
+    /** The active sink file. */
+    public Path file() {
+        return Path.of(properties.getDirectory(), FILE_NAME);
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                Payload payload = queue.poll(1, TimeUnit.SECONDS);
+                if (payload == STOP) {
+                    break;
+                }
+                if (payload != null) {
+                    write(payload);
+                }
+                if (queue.isEmpty()) {
+                    flush();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closeWriter();
+        }
+    }
+
+    private void write(Payload payload) {
+        try {
+            String line = mapper.writeValueAsString(payload) + System.lineSeparator();
+            long length = line.getBytes(StandardCharsets.UTF_8).length;
+            if (writer == null) {
+                open();
+            }
+            if (fileSize > 0 && fileSize + length > properties.getMaxFileSize().toBytes()) {
+                roll();
+            }
+            writer.write(line);
+            fileSize += length;
+            written.increment();
+        } catch (IOException e) {
+            log.warn("Could not write captured payload to {}: {}", file(), e.toString());
+            closeWriter();
+        }
+    }
+
+    private void open() throws IOException {
+        Path file = file();
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        fileSize = Files.exists(file) ? Files.size(file) : 0;
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /** upstream-payloads.log → .1 → .2 ... → .max-history, dropping the oldest. */
+    private void roll() throws IOException {
+        closeWriter();
+        Path file = file();
+        int history = Math.max(0, properties.getMaxHistory());
+        if (history == 0) {
+            Files.deleteIfExists(file);
+        } else {
+            Files.deleteIfExists(rolled(file, history));
+            for (int i = history - 1; i >= 1; i--) {
+                Path from = rolled(file, i);
+                if (Files.exists(from)) {
+                    Files.move(from, rolled(file, i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(file, rolled(file, 1), StandardCopyOption.REPLACE_EXISTING);
+        }
+        open();
+    }
+
+    static Path rolled(Path file, int generation) {
+        return file.resolveSibling(file.getFileName() + "." + generation);
+    }
+
+    private void flush() {
+        if (writer != null) {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                log.warn("Could not flush captured payloads to {}: {}", file(), e.toString());
+                closeWriter();
+            }
+        }
+    }
+
+    private void closeWriter() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.debug("Could not close {}: {}", file(), e.toString());
+            }
+            writer = null;
+        }
+    }
+
+    /** Write out whatever is queued, then stop the writer. */
+    @PreDestroy
+    public void shutdown() {
+        try {
+            queue.put(STOP);
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
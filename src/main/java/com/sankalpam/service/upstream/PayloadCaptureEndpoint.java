@@ -0,0 +1,53 @@
+package com.sankalpam.service.upstream;
+
+import com.sankalpam.config.PayloadCaptureProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code GET /actuator/payloadcapture} — capture settings and counters.
+ * {@code POST /actuator/payloadcapture} with {@code {"enabled": false}} and/or
+ * {@code {"sampleRate": 1}} — change them at runtime (not persisted across restarts). Both need
+ * the actuator role (see {@code SecurityConfig}); the file is reported by name only.
+ */
+@Slf4j
+@Component
+@Endpoint(id = "payloadcapture")
+public class PayloadCaptureEndpoint {
+
+    public record Status(boolean enabled, int sampleRate, boolean alwaysCaptureFailures,
+                         int queued, long written, long dropped, String file) {}
+
+    private final PayloadCaptureProperties properties;
+    private final PayloadCapture capture;
+
+    public PayloadCaptureEndpoint(PayloadCaptureProperties properties, PayloadCapture capture) {
+        this.properties = properties;
+        this.capture = capture;
+    }
+
+    @ReadOperation
+    public Status status() {
+        return new Status(properties.isEnabled(), properties.getSampleRate(), properties.isAlwaysCaptureFailures(),
+                capture.getQueued(), capture.getWritten(), capture.getDropped(), capture.file().getFileName().toString());
+    }
+
+    @WriteOperation
+    public Status update(@Nullable Boolean enabled, @Nullable Integer sampleRate) {
+        if (sampleRate != null) {
+            if (sampleRate < 0) {
+                throw new IllegalArgumentException("sampleRate must be 0 (none) or more, was " + sampleRate);
+            }
+            properties.setSampleRate(sampleRate);
+        }
+        if (enabled != null) {
+            properties.setEnabled(enabled);
+        }
+        log.info("Payload capture updated: enabled={}, sampleRate={}", properties.isEnabled(), properties.getSampleRate());
+        return status();
+    }
+}
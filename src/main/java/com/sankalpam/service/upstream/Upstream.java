@@ -0,0 +1,25 @@
+package com.sankalpam.service.upstream;
+
+/**
+ * The external services this application calls. Used to tag metrics and to keep
+ * per-upstream state apart inside {@link UpstreamHttpClient}.
+ */
+public enum Upstream {
+
+    /** appspot findSankalpam RPC. */
+    PANCHANGA("panchanga"),
+
+    /** Geoapify geocoding (search and autocomplete). */
+    GEOAPIFY("geoapify");
+
+    private final String tag;
+
+    Upstream(String tag) {
+        this.tag = tag;
+    }
+
+    /** Lower-case name used as the {@code upstream} metric tag. */
+    public String tag() {
+        return tag;
+    }
+}
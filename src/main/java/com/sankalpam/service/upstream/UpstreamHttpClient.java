@@ -0,0 +1,546 @@
+package com.sankalpam.service.upstream;
+
+import com.sankalpam.config.BulkheadProperties;
+import com.sankalpam.config.HedgingProperties;
+import com.sankalpam.config.UpstreamHttpProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.net.ssl.SSLSession;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Single, long-lived HTTP client shared by every outbound call.
+ *
+ * Building a fresh {@link HttpClient} per request (as the services used to) pays a
+ * TCP + TLS handshake on every /find and every autocomplete keystroke and leaves a
+ * selector thread behind each time. This component owns one client with:
+ * <ul>
+ *   <li>HTTP/2 negotiation (one multiplexed connection per origin),</li>
+ *   <li>a bounded HTTP/1.1 keep-alive pool for servers without HTTP/2,</li>
+ *   <li>a virtual-thread executor for response handling,</li>
+ *   <li>a bulkhead per upstream (see {@link Bulkhead}) bounding concurrent calls; when it and its
+ *       wait queue are full, calls fail with {@link BulkheadFullException},</li>
+ *   <li>a circuit breaker per upstream (see {@link CircuitBreakerRegistry}); while it is open,
+ *       calls fail at once with {@link CircuitOpenException} instead of waiting out timeouts,</li>
+ *   <li>request timeouts adapted to each upstream's recent tail latency (see {@link #requestTimeout}),</li>
+ *   <li>optional hedging of slow async calls (see {@code upstream.hedging}),</li>
+ *   <li>per-upstream base URLs and an optional record mode (see {@link #resolve}, {@link UpstreamStubServer}).</li>
+ * </ul>
+ *
+ * Metrics (tag {@code upstream}):
+ * <ul>
+ *   <li>{@code upstream.http.requests} — latency histogram and p50/p95/p99/p99.9 per call, tagged with
+ *       the status code ({@code TIMEOUT} / {@code IO_ERROR} when there was no response)</li>
+ *   <li>{@code upstream.http.timeout} — request timeout currently derived for the upstream</li>
+ *   <li>{@code upstream.http.handshakes} — TLS sessions seen for the first time</li>
+ *   <li>{@code upstream.http.connections.reused} — responses served on an already-seen TLS session</li>
+ *   <li>{@code upstream.http.hedges} — hedged requests, tagged
+ *       {@code outcome=issued|won|skipped_budget|skipped_bulkhead}</li>
+ *   <li>{@code upstream.bulkhead.inflight} / {@code upstream.bulkhead.queued} — calls holding and
+ *       waiting for a bulkhead slot</li>
+ *   <li>{@code upstream.bulkhead.calls.rejected} — calls turned away, tagged {@code reason=queue_full|wait_timeout}</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class UpstreamHttpClient {
+
+    // JDK HttpClient pool tuning is only exposed through system properties, read once per JVM.
+    static final String POOL_SIZE_PROPERTY = "jdk.httpclient.connectionPoolSize";
+    static final String KEEP_ALIVE_PROPERTY = "jdk.httpclient.keepalive.timeout";
+    static final String KEEP_ALIVE_H2_PROPERTY = "jdk.httpclient.keepalive.timeout.h2";
+
+    private static final int MAX_TRACKED_SESSIONS = 256;
+
+    private final UpstreamHttpProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final HedgingProperties hedging;
+    private final BulkheadProperties bulkheadProperties;
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+    private final Map<Upstream, Counter> handshakes = new EnumMap<>(Upstream.class);
+    private final Map<Upstream, Counter> reusedConnections = new EnumMap<>(Upstream.class);
+    private final Map<Upstream, LatencyTracker> latencies = new EnumMap<>(Upstream.class);
+    private final Map<Upstream, HedgeBudget> hedgeBudgets = new EnumMap<>(Upstream.class);
+    private final Map<Upstream, Bulkhead> bulkheads = new EnumMap<>(Upstream.class);
+    /** Where responses are recorded, or null when record mode is off. */
+    private final Path recordingDirectory;
+
+    /** TLS sessions already observed, keyed by session id + creation time. Bounded LRU. */
+    private final Map<String, Boolean> knownSessions = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > MAX_TRACKED_SESSIONS;
+        }
+    };
+
+    public UpstreamHttpClient(UpstreamHttpProperties properties, MeterRegistry meterRegistry,
+                              CircuitBreakerRegistry circuitBreakers, HedgingProperties hedging,
+                              BulkheadProperties bulkheadProperties) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.circuitBreakers = circuitBreakers;
+        this.hedging = hedging;
+        this.bulkheadProperties = bulkheadProperties;
+        this.recordingDirectory = properties.getRecording().isEnabled()
+                ? Path.of(properties.getRecording().getDirectory())
+                : null;
+
+        applyPoolProperties(properties);
+
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.httpClient = HttpClient.newBuilder()
+                .version(properties.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(executor)
+                .build();
+
+        for (Upstream upstream : Upstream.values()) {
+            handshakes.put(upstream, Counter.builder("upstream.http.handshakes")
+                    .description("New TLS sessions established with the upstream")
+                    .tag("upstream", upstream.tag())
+                    .register(meterRegistry));
+            reusedConnections.put(upstream, Counter.builder("upstream.http.connections.reused")
+                    .description("Responses served on an already-established upstream connection")
+                    .tag("upstream", upstream.tag())
+                    .register(meterRegistry));
+            latencies.put(upstream, new LatencyTracker(properties.getLatencyWindowSize()));
+            Gauge.builder("upstream.http.timeout", this, client -> client.requestTimeout(upstream).toMillis())
+                    .description("Request timeout currently applied to the upstream")
+                    .baseUnit("milliseconds")
+                    .tag("upstream", upstream.tag())
+                    .register(meterRegistry);
+            hedgeBudgets.put(upstream, new HedgeBudget(hedging.getBudgetPercent()));
+            bulkheads.put(upstream, newBulkhead(upstream));
+        }
+
+        log.info("Upstream HTTP client initialised: version={}, connectTimeout={}, requestTimeout={}, poolSize={}, keepAlive={}",
+                httpClient.version(), properties.getConnectTimeout(), properties.getRequestTimeout(),
+                properties.getConnectionPoolSize(), properties.getKeepAlive());
+        if (recordingDirectory != null) {
+            log.warn("Upstream record mode is ON: responses are written to {}", recordingDirectory.toAbsolutePath());
+        }
+        if (bulkheadProperties.isEnabled()) {
+            log.info("Upstream bulkheads: {} concurrent calls and {} queued (max wait {}) per upstream",
+                    bulkheadProperties.getMaxConcurrentCalls(), bulkheadProperties.getMaxQueuedCalls(),
+                    bulkheadProperties.getMaxWaitDuration());
+        }
+        if (hedging.isEnabled()) {
+            log.info("Upstream hedging enabled for {}: after p{} of recent latency (min {}), budget {}%",
+                    hedging.getUpstreams(), hedging.getPercentile(), hedging.getMinimumDelay(), hedging.getBudgetPercent());
+        }
+    }
+
+    /**
+     * Issue a GET against the given upstream and return the body as a string.
+     * Uses the upstream's current request timeout (see {@link #requestTimeout}).
+     */
+    public HttpResponse<String> get(Upstream upstream, URI uri) throws IOException, InterruptedException {
+        Bulkhead bulkhead = bulkheads.get(upstream);
+        awaitSlot(bulkhead);
+        try {
+            return sendBlocking(upstream, resolve(upstream, uri));
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private HttpResponse<String> sendBlocking(Upstream upstream, URI uri) throws IOException, InterruptedException {
+        CircuitBreaker breaker = circuitBreakers.forUpstream(upstream);
+        long permit = breaker.tryAcquirePermission();
+        if (permit == CircuitBreaker.NOT_PERMITTED) {
+            throw new CircuitOpenException(upstream);
+        }
+        long start = System.nanoTime();
+        HttpResponse<String> response = null;
+        Throwable error = null;
+        try {
+            response = httpClient.send(newGetRequest(upstream, uri), HttpResponse.BodyHandlers.ofString());
+            recordTlsSession(upstream, response.sslSession());
+            recordResponse(upstream, uri, response);
+            return response;
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            recordLatency(upstream, response, error, start);
+            breaker.onResult(permit, Duration.ofNanos(System.nanoTime() - start), isFailure(response));
+        }
+    }
+
+    /**
+     * Non-blocking GET. The returned future completes on the client's virtual-thread
+     * executor, so dependent stages never run on the caller's (e.g. Tomcat) thread.
+     * For upstreams listed under {@code upstream.hedging}, a slow call may be hedged
+     * (see {@link #hedgedGetAsync}).
+     */
+    public CompletableFuture<HttpResponse<String>> getAsync(Upstream upstream, URI uri) {
+        URI target = resolve(upstream, uri);
+        if (hedging.isEnabled() && hedging.getUpstreams().contains(upstream)) {
+            return hedgedGetAsync(upstream, target);
+        }
+        return exchange(upstream, target).result();
+    }
+
+    /**
+     * Callers pass path and query only ({@code /rpc?action=...}); the upstream's configured
+     * base URL ({@code upstream.http.*-base-url}) is put in front. Absolute URIs are used as given.
+     */
+    URI resolve(Upstream upstream, URI uri) {
+        return uri.isAbsolute() ? uri : URI.create(properties.baseUrl(upstream) + uri);
+    }
+
+    /**
+     * One outbound call: {@code raw} is the JDK future (cancelling it aborts the request),
+     * {@code result} the instrumented one callers chain on.
+     */
+    private record Exchange(CompletableFuture<HttpResponse<String>> raw, CompletableFuture<HttpResponse<String>> result) {}
+
+    /** Blocks until the caller holds a slot in {@code bulkhead}. */
+    private static void awaitSlot(Bulkhead bulkhead) throws IOException, InterruptedException {
+        CompletableFuture<Void> slot = bulkhead.acquire();
+        try {
+            slot.get();
+        } catch (ExecutionException e) {
+            throw (BulkheadFullException) e.getCause();
+        } catch (InterruptedException e) {
+            if (!bulkhead.cancel(slot)) {
+                slot.thenRun(bulkhead::release);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * An exchange once a bulkhead slot is free. If the caller has to queue, the request is sent
+     * when the slot is handed over; cancelling {@code raw} while queued withdraws it from the queue.
+     */
+    private Exchange exchange(Upstream upstream, URI uri) {
+        Bulkhead bulkhead = bulkheads.get(upstream);
+        CompletableFuture<Void> slot = bulkhead.acquire();
+        if (slot.isDone()) {
+            if (slot.isCompletedExceptionally()) {
+                CompletableFuture<HttpResponse<String>> rejected = slot.thenApply(granted -> null);
+                return new Exchange(rejected, rejected);
+            }
+            return send(upstream, uri, bulkhead);
+        }
+        CompletableFuture<HttpResponse<String>> queued = new CompletableFuture<>();
+        slot.whenComplete((granted, error) -> {
+            if (error != null) {
+                queued.completeExceptionally(error);
+                return;
+            }
+            if (queued.isDone()) {
+                bulkhead.release();
+                return;
+            }
+            Exchange sent = send(upstream, uri, bulkhead);
+            queued.whenComplete((response, e) -> {
+                if (queued.isCancelled()) {
+                    sent.raw().cancel(true);
+                }
+            });
+            sent.result().whenComplete((response, e) -> {
+                if (e == null) {
+                    queued.complete(response);
+                } else {
+                    queued.completeExceptionally(unwrap(e));
+                }
+            });
+        });
+        queued.whenComplete((response, error) -> {
+            if (queued.isCancelled()) {
+                bulkhead.cancel(slot);
+            }
+        });
+        return new Exchange(queued, queued);
+    }
+
+    /** Send while holding a slot in {@code bulkhead}; the slot is released when the call ends, however it ends. */
+    private Exchange send(Upstream upstream, URI uri, Bulkhead bulkhead) {
+        CircuitBreaker breaker = circuitBreakers.forUpstream(upstream);
+        long permit = breaker.tryAcquirePermission();
+        if (permit == CircuitBreaker.NOT_PERMITTED) {
+            bulkhead.release();
+            CompletableFuture<HttpResponse<String>> rejected = CompletableFuture.failedFuture(new CircuitOpenException(upstream));
+            return new Exchange(rejected, rejected);
+        }
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse<String>> raw = httpClient.sendAsync(newGetRequest(upstream, uri), HttpResponse.BodyHandlers.ofString());
+        CompletableFuture<HttpResponse<String>> result = raw.whenComplete((response, error) -> {
+            bulkhead.release();
+            if (error instanceof CancellationException) {
+                // Abandoned (lost a hedge race): says nothing about the upstream's health.
+                breaker.releasePermission(permit);
+                return;
+            }
+            if (response != null) {
+                recordTlsSession(upstream, response.sslSession());
+                recordResponse(upstream, uri, response);
+            }
+            recordLatency(upstream, response, error, start);
+            breaker.onResult(permit, Duration.ofNanos(System.nanoTime() - start), isFailure(response));
+        });
+        return new Exchange(raw, result);
+    }
+
+    /**
+     * Send the request; if no response has arrived after the configured percentile of recent
+     * latency for this upstream, send one duplicate. The first successful response wins and the
+     * other request is cancelled; the call fails only when both do. Hedges are limited by a
+     * {@link HedgeBudget} and are not sent until enough latencies have been observed.
+     */
+    private CompletableFuture<HttpResponse<String>> hedgedGetAsync(Upstream upstream, URI uri) {
+        Exchange primary = exchange(upstream, uri);
+        HedgeBudget budget = hedgeBudgets.get(upstream);
+        budget.onPrimaryRequest();
+        Duration threshold = latencies.get(upstream).percentile(hedging.getPercentile(), hedging.getMinimumSamples());
+        if (threshold == null || primary.result().isDone()) {
+            return primary.result();
+        }
+        Duration delay = threshold.compareTo(hedging.getMinimumDelay()) < 0 ? hedging.getMinimumDelay() : threshold;
+
+        CompletableFuture<HttpResponse<String>> winner = new CompletableFuture<>();
+        AtomicInteger outstanding = new AtomicInteger(1);
+        AtomicReference<Exchange> hedge = new AtomicReference<>();
+        race(primary, winner, outstanding, null);
+
+        CompletableFuture.delayedExecutor(delay.toNanos(), TimeUnit.NANOSECONDS, executor).execute(() -> {
+            if (winner.isDone()) {
+                return;
+            }
+            if (!budget.tryAcquire()) {
+                hedgeCounter(upstream, "skipped_budget").increment();
+                return;
+            }
+            Bulkhead bulkhead = bulkheads.get(upstream);
+            if (!bulkhead.tryAcquire()) {
+                // A hedge is optional extra load: never queue for it.
+                hedgeCounter(upstream, "skipped_bulkhead").increment();
+                return;
+            }
+            outstanding.incrementAndGet();
+            Exchange duplicate = send(upstream, uri, bulkhead);
+            hedge.set(duplicate);
+            hedgeCounter(upstream, "issued").increment();
+            log.debug("Hedging {} request after {} ms", upstream.tag(), delay.toMillis());
+            race(duplicate, winner, outstanding, hedgeCounter(upstream, "won"));
+            if (winner.isDone()) {
+                duplicate.raw().cancel(true);
+            }
+        });
+
+        winner.whenComplete((response, error) -> {
+            primary.raw().cancel(true);
+            Exchange duplicate = hedge.get();
+            if (duplicate != null) {
+                duplicate.raw().cancel(true);
+            }
+        });
+        return winner;
+    }
+
+    private static void race(Exchange exchange, CompletableFuture<HttpResponse<String>> winner,
+                             AtomicInteger outstanding, Counter wonCounter) {
+        exchange.result().whenComplete((response, error) -> {
+            if (error == null) {
+                if (winner.complete(response) && wonCounter != null) {
+                    wonCounter.increment();
+                }
+            } else if (outstanding.decrementAndGet() == 0) {
+                winner.completeExceptionally(error);
+            }
+        });
+    }
+
+    private Counter hedgeCounter(Upstream upstream, String outcome) {
+        return Counter.builder("upstream.http.hedges")
+                .description("Hedged upstream requests by outcome")
+                .tag("upstream", upstream.tag())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * In record mode, save the response for {@link UpstreamStubServer} to replay. Server errors
+     * are not recorded so a bad moment upstream cannot replace a good capture.
+     */
+    private void recordResponse(Upstream upstream, URI uri, HttpResponse<String> response) {
+        if (recordingDirectory == null || response.statusCode() >= 500) {
+            return;
+        }
+        try {
+            new UpstreamRecording(upstream.tag(), UpstreamRecording.requestKey(uri), response.statusCode(),
+                    response.headers().firstValue("Content-Type").orElse(null), response.body())
+                    .write(recordingDirectory);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not record {} response for {}: {}", upstream.tag(), uri.getPath(), e.toString());
+        }
+    }
+
+    private Bulkhead newBulkhead(Upstream upstream) {
+        Bulkhead bulkhead = new Bulkhead(upstream, bulkheadProperties, reason -> Counter.builder("upstream.bulkhead.calls.rejected")
+                .description("Calls turned away because the upstream's bulkhead was full")
+                .tag("upstream", upstream.tag())
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment());
+        Gauge.builder("upstream.bulkhead.inflight", bulkhead, Bulkhead::getInFlight)
+                .description("Calls currently holding a bulkhead slot")
+                .tag("upstream", upstream.tag())
+                .register(meterRegistry);
+        Gauge.builder("upstream.bulkhead.queued", bulkhead, Bulkhead::getQueued)
+                .description("Calls waiting for a bulkhead slot")
+                .tag("upstream", upstream.tag())
+                .register(meterRegistry);
+        return bulkhead;
+    }
+
+    /** No response (I/O error, timeout) or a server-side error counts against the breaker; 4xx does not. */
+    private static boolean isFailure(HttpResponse<String> response) {
+        return response == null || response.statusCode() >= 500;
+    }
+
+    private HttpRequest newGetRequest(Upstream upstream, URI uri) {
+        return HttpRequest.newBuilder()
+                .uri(uri)
+                .timeout(requestTimeout(upstream))
+                .GET()
+                .build();
+    }
+
+    /**
+     * The request timeout currently applied to the upstream. With adaptive timeouts on, it is the
+     * configured percentile of the upstream's recent latency times the multiplier, clamped to
+     * [floor, {@code request-timeout}]; until enough latencies have been seen it is the
+     * configured {@code request-timeout}. The JDK starts this clock when the exchange begins, so
+     * it also bounds time spent connecting.
+     */
+    Duration requestTimeout(Upstream upstream) {
+        UpstreamHttpProperties.AdaptiveTimeout adaptive = properties.getAdaptiveTimeout();
+        Duration ceiling = properties.getRequestTimeout();
+        if (!adaptive.isEnabled()) {
+            return ceiling;
+        }
+        Duration tail = latencies.get(upstream).percentile(adaptive.getPercentile(), adaptive.getMinimumSamples());
+        if (tail == null) {
+            return ceiling;
+        }
+        Duration derived = Duration.ofNanos((long) (tail.toNanos() * adaptive.getMultiplier()));
+        if (derived.compareTo(adaptive.getFloor()) < 0) {
+            return adaptive.getFloor();
+        }
+        return derived.compareTo(ceiling) > 0 ? ceiling : derived;
+    }
+
+    /**
+     * Timed-out calls are recorded in the latency window at the time they waited, so that if
+     * the upstream becomes uniformly slower the derived timeout grows with it instead of
+     * cutting every call off at the old tail.
+     */
+    private void recordLatency(Upstream upstream, HttpResponse<String> response, Throwable error, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        boolean timedOut = unwrap(error) instanceof HttpTimeoutException;
+        String status = response != null ? String.valueOf(response.statusCode()) : timedOut ? "TIMEOUT" : "IO_ERROR";
+        Timer.builder("upstream.http.requests")
+                .description("Upstream request latency")
+                .tag("upstream", upstream.tag())
+                .tag("status", status)
+                .publishPercentiles(0.5, 0.95, 0.99, 0.999)
+                .publishPercentileHistogram()
+                .distributionStatisticExpiry(Duration.ofMinutes(5))
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        if (response != null || timedOut) {
+            latencies.get(upstream).record(Duration.ofNanos(elapsed));
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /** Number of TLS handshakes observed for the upstream since startup. */
+    public long getHandshakeCount(Upstream upstream) {
+        return (long) handshakes.get(upstream).count();
+    }
+
+    /** Number of responses that reused an existing connection for the upstream since startup. */
+    public long getReusedConnectionCount(Upstream upstream) {
+        return (long) reusedConnections.get(upstream).count();
+    }
+
+    /**
+     * The JDK reports the TLS session of the connection that carried the response. A session
+     * we have not seen before means a fresh handshake; a known one means the pooled (or
+     * HTTP/2 multiplexed) connection was reused. Plain-HTTP responses carry no session and
+     * are not counted either way.
+     */
+    void recordTlsSession(Upstream upstream, Optional<SSLSession> sslSession) {
+        if (sslSession == null || sslSession.isEmpty()) {
+            return;
+        }
+        SSLSession session = sslSession.get();
+        String key = HexFormat.of().formatHex(session.getId()) + '@' + session.getCreationTime();
+
+        boolean known;
+        synchronized (knownSessions) {
+            known = knownSessions.put(key, Boolean.TRUE) != null;
+        }
+        if (known) {
+            reusedConnections.get(upstream).increment();
+        } else {
+            handshakes.get(upstream).increment();
+            log.debug("New TLS session to {} upstream ({})", upstream.tag(), session.getProtocol());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        httpClient.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private static void applyPoolProperties(UpstreamHttpProperties properties) {
+        setIfAbsent(POOL_SIZE_PROPERTY, String.valueOf(properties.getConnectionPoolSize()));
+        setIfAbsent(KEEP_ALIVE_PROPERTY, String.valueOf(properties.getKeepAlive().toSeconds()));
+        setIfAbsent(KEEP_ALIVE_H2_PROPERTY, String.valueOf(properties.getKeepAlive().toSeconds()));
+    }
+
+    /** Explicit -D flags on the command line win over application.yml. */
+    private static void setIfAbsent(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+}
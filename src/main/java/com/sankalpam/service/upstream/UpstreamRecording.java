@@ -0,0 +1,74 @@
+package com.sankalpam.service.upstream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.stream.Collectors;
+
+/**
+ * One captured upstream response, as written in record mode and replayed by
+ * {@link UpstreamStubServer}. Stored as JSON in {@code <directory>/<upstream>/<hash>.json}.
+ *
+ * @param upstream    {@link Upstream#tag()} of the upstream that answered
+ * @param request     the request's {@link #requestKey(URI) key}: path plus sorted query, without credentials
+ * @param status      HTTP status code
+ * @param contentType response {@code Content-Type}, or null
+ * @param body        response body
+ */
+public record UpstreamRecording(String upstream, String request, int status, String contentType, String body) {
+
+    /** Query parameters that carry credentials; never written to disk or used for matching. */
+    private static final String API_KEY_PARAMETER = "apiKey";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * What identifies a request for replay: the raw path plus its query parameters in sorted
+     * order, with the API key removed, so the same lookup matches however it was built.
+     */
+    public static String requestKey(URI uri) {
+        String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        String query = uri.getRawQuery();
+        if (query == null || query.isEmpty()) {
+            return path;
+        }
+        String sorted = Arrays.stream(query.split("&"))
+                .filter(parameter -> !parameter.isEmpty() && !parameter.startsWith(API_KEY_PARAMETER + "="))
+                .sorted()
+                .collect(Collectors.joining("&"));
+        return sorted.isEmpty() ? path : path + "?" + sorted;
+    }
+
+    /** File the recording of {@code requestKey} lives in, below {@code directory}. */
+    public static Path file(Path directory, String upstream, String requestKey) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(requestKey.getBytes(StandardCharsets.UTF_8));
+            return directory.resolve(upstream).resolve(HexFormat.of().formatHex(digest, 0, 12) + ".json");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is always available", e);
+        }
+    }
+
+    public static UpstreamRecording read(Path file) throws IOException {
+        return MAPPER.readValue(file.toFile(), UpstreamRecording.class);
+    }
+
+    /** Write this recording below {@code directory}, replacing an earlier one for the same request. */
+    public Path write(Path directory) throws IOException {
+        Path file = file(directory, upstream, request);
+        Files.createDirectories(file.getParent());
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        MAPPER.writeValue(tmp.toFile(), this);
+        return Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
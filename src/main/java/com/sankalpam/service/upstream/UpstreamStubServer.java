@@ -0,0 +1,192 @@
+package com.sankalpam.service.upstream;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Local HTTP server that replays responses captured in record mode
+ * ({@code upstream.http.recording}), so /find can be exercised and load-tested without
+ * calling appspot or spending Geoapify quota. Point {@code upstream.http.panchanga-base-url}
+ * and {@code geoapify-base-url} at {@link #baseUrl()}.
+ *
+ * A request is answered with the recording of the same {@link UpstreamRecording#requestKey key}.
+ * If there is none and the server is lenient (the default), any recording for the same path is
+ * used instead, so a handful of recordings can serve arbitrary dates and places; otherwise the
+ * answer is 404. Each response can be delayed by a fixed latency plus uniform jitter, and a
+ * share of requests can be failed with 503 to exercise the breaker, bulkhead and stale paths.
+ *
+ * Embed it in a test or fixture, or run it standalone:
+ * <pre>
+ *   java -cp app.jar -Dloader.main=com.sankalpam.service.upstream.UpstreamStubServer \
+ *       org.springframework.boot.loader.launch.PropertiesLauncher &lt;recordings-dir&gt; [port] [latency-ms] [error-rate]
+ * </pre>
+ */
+@Slf4j
+public class UpstreamStubServer implements AutoCloseable {
+
+    private final Map<String, UpstreamRecording> byRequest = new HashMap<>();
+    private final Map<String, List<UpstreamRecording>> byPath = new HashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+
+    private volatile Duration latency = Duration.ZERO;
+    private volatile Duration jitter = Duration.ZERO;
+    private volatile double errorRate;
+    private volatile boolean lenient = true;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /** Load every {@code *.json} recording below {@code directory}. */
+    public UpstreamStubServer(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.filter(path -> path.toString().endsWith(".json")).toList()) {
+                add(UpstreamRecording.read(file));
+            }
+        }
+        log.info("Upstream stub loaded {} recordings from {}", byRequest.size(), directory);
+    }
+
+    /** Serve {@code recording} in addition to those loaded from disk. */
+    public UpstreamStubServer add(UpstreamRecording recording) {
+        byRequest.put(recording.request(), recording);
+        byPath.computeIfAbsent(path(recording.request()), path -> new ArrayList<>()).add(recording);
+        return this;
+    }
+
+    /** Delay every response by {@code latency} plus a uniformly random share of {@code jitter}. */
+    public UpstreamStubServer latency(Duration latency, Duration jitter) {
+        this.latency = latency;
+        this.jitter = jitter;
+        return this;
+    }
+
+    /** Answer this fraction of requests (0..1) with 503 instead of the recording. */
+    public UpstreamStubServer errorRate(double errorRate) {
+        this.errorRate = errorRate;
+        return this;
+    }
+
+    /** Whether a request with no exact recording may be answered with another one for the same path. */
+    public UpstreamStubServer lenient(boolean lenient) {
+        this.lenient = lenient;
+        return this;
+    }
+
+    /** Start on {@code port} (0 picks a free one) on the loopback interface. */
+    public UpstreamStubServer start(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        log.info("Upstream stub listening on {}", baseUrl());
+        return this;
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    public long getInjectedErrorCount() {
+        return injectedErrors.get();
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try (exchange) {
+            sleep();
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                injectedErrors.incrementAndGet();
+                respond(exchange, 503, "text/plain", "injected error");
+                return;
+            }
+            String key = UpstreamRecording.requestKey(exchange.getRequestURI());
+            UpstreamRecording recording = byRequest.get(key);
+            if (recording == null && lenient) {
+                List<UpstreamRecording> samePath = byPath.get(path(key));
+                if (samePath != null) {
+                    recording = samePath.get(ThreadLocalRandom.current().nextInt(samePath.size()));
+                }
+            }
+            if (recording == null) {
+                respond(exchange, 404, "text/plain", "no recording for " + key);
+                return;
+            }
+            respond(exchange, recording.status(), recording.contentType(), recording.body());
+        }
+    }
+
+    private void sleep() {
+        long nanos = latency.toNanos();
+        if (!jitter.isZero()) {
+            nanos += ThreadLocalRandom.current().nextLong(jitter.toNanos() + 1);
+        }
+        if (nanos > 0) {
+            try {
+                Thread.sleep(Duration.ofNanos(nanos));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body == null ? new byte[0] : body.getBytes(StandardCharsets.UTF_8);
+        if (contentType != null) {
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+        }
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String path(String requestKey) {
+        int query = requestKey.indexOf('?');
+        return query < 0 ? requestKey : requestKey.substring(0, query);
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("usage: UpstreamStubServer <recordings-dir> [port] [latency-ms] [error-rate]");
+            System.exit(2);
+        }
+        UpstreamStubServer stub = new UpstreamStubServer(Path.of(args[0]))
+                .latency(Duration.ofMillis(args.length > 2 ? Long.parseLong(args[2]) : 0), Duration.ZERO)
+                .errorRate(args.length > 3 ? Double.parseDouble(args[3]) : 0)
+                .start(args.length > 1 ? Integer.parseInt(args[1]) : 8089);
+        Runtime.getRuntime().addShutdownHook(new Thread(stub::close));
+        Thread.currentThread().join();
+    }
+}
@@ -1,149 +1,132 @@
 package com.sankalpam.util;
 
+import com.sankalpam.SankalpamApplication;
 import com.sankalpam.model.Coordinates;
 import com.sankalpam.model.SankalpamFinder;
-import com.sankalpam.service.impl.SankalpamApiClientImpl;
+import com.sankalpam.service.SankalpamApiClient;
+import com.sankalpam.service.upstream.UpstreamStubServer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Standalone tester for SankalpamApiClient.fetchSankalpam method
- * Run this directly to test the external Panchanga API
+ * Offline, repeatable performance fixture for SankalpamApiClient.fetchSankalpam.
+ *
+ * Starts an {@link UpstreamStubServer} replaying recorded appspot responses, boots the
+ * application against it (the Panchanga cache and store are off, so every call goes
+ * "upstream"), fires a fixed number of lookups at a fixed concurrency and prints latency
+ * percentiles and throughput. Nothing leaves the machine, so runs are comparable.
+ *
+ * Usage (from the project root):
+ * <pre>
+ *   SankalpamApiTester [recordings-dir] [requests] [concurrency] [stub-latency-ms] [stub-error-rate]
+ * </pre>
+ * Defaults: {@code src/test/resources/upstream-recordings 2000 64 50 0}. To capture fresh
+ * recordings, run the application once with {@code upstream.http.recording.enabled=true}.
  */
 public class SankalpamApiTester {
 
-    public static void main(String[] args) {
-        System.out.println("\n================================================================================");
-        System.out.println("     Sankalpam API fetchSankalpam Method Tester");
-        System.out.println("================================================================================\n");
+    private record Lookup(String city, Coordinates coords, String timezone, String date, String time) {}
 
-        SankalpamApiClientImpl apiClient = new SankalpamApiClientImpl();
-
-        // Test Case 1: Mumbai
-        System.out.println("Test 1: Mumbai, India");
-        System.out.println("--------------------------------------------------------------------------------");
-        testFetchSankalpam(
-                apiClient,
-                "Mumbai",
-                new Coordinates(19.0760, 72.8777),
-                "Asia/Kolkata",
-                "2026-02-24",
-                "18:30"
-        );
-
-        System.out.println("\n--------------------------------------------------------------------------------\n");
-
-        // Test Case 2: New York
-        System.out.println("Test 2: New York, USA");
-        System.out.println("--------------------------------------------------------------------------------");
-        testFetchSankalpam(
-                apiClient,
-                "New York",
-                new Coordinates(40.7128, -74.0060),
-                "America/New_York",
-                "2026-02-24",
-                "10:00"
-        );
-
-        System.out.println("\n--------------------------------------------------------------------------------\n");
-
-        // Test Case 3: Chennai (Different time)
-        System.out.println("Test 3: Chennai, India (Morning time)");
-        System.out.println("--------------------------------------------------------------------------------");
-        testFetchSankalpam(
-                apiClient,
-                "Chennai",
-                new Coordinates(13.0827, 80.2707),
-                "Asia/Kolkata",
-                "2026-03-15",
-                "06:00"
-        );
-
-        System.out.println("\n--------------------------------------------------------------------------------\n");
-
-        // Test Case 4: London (Different timezone)
-        System.out.println("Test 4: London, UK");
-        System.out.println("--------------------------------------------------------------------------------");
-        testFetchSankalpam(
-                apiClient,
-                "London",
-                new Coordinates(51.5074, -0.1278),
-                "Europe/London",
-                "2026-02-24",
-                "15:00"
-        );
+    private static final List<Lookup> LOOKUPS = List.of(
+            new Lookup("Mumbai", new Coordinates(19.0760, 72.8777), "Asia/Kolkata", "2026-02-24", "18:30"),
+            new Lookup("New York", new Coordinates(40.7128, -74.0060), "America/New_York", "2026-02-24", "10:00"),
+            new Lookup("Chennai", new Coordinates(13.0827, 80.2707), "Asia/Kolkata", "2026-03-15", "06:00"),
+            new Lookup("London", new Coordinates(51.5074, -0.1278), "Europe/London", "2026-02-24", "15:00")
+    );
+
+    public static void main(String[] args) throws Exception {
+        Path recordings = Path.of(arg(args, 0, "src/test/resources/upstream-recordings"));
+        int requests = Integer.parseInt(arg(args, 1, "2000"));
+        int concurrency = Integer.parseInt(arg(args, 2, "64"));
+        long stubLatencyMs = Long.parseLong(arg(args, 3, "50"));
+        double stubErrorRate = Double.parseDouble(arg(args, 4, "0"));
 
         System.out.println("\n================================================================================");
-        System.out.println("                  All Tests Complete");
+        System.out.println("     Sankalpam API fetchSankalpam offline performance fixture");
         System.out.println("================================================================================\n");
-    }
 
-    private static void testFetchSankalpam(
-            SankalpamApiClientImpl apiClient,
-            String city,
-            Coordinates coords,
-            String timezone,
-            String date,
-            String time
-    ) {
-        System.out.println("Input Parameters:");
-        System.out.println("  City: " + city);
-        System.out.println("  Coordinates: " + coords.lat() + ", " + coords.lng());
-        System.out.println("  Timezone: " + timezone);
-        System.out.println("  Date: " + date);
-        System.out.println("  Time: " + time);
-        System.out.println();
-
-        try {
-            long startTime = System.currentTimeMillis();
-
-            SankalpamFinder result = apiClient.fetchSankalpam(city, coords, timezone, date, time);
-
-            long duration = System.currentTimeMillis() - startTime;
-
-            if (result != null) {
-                System.out.println("SUCCESS! (Response time: " + duration + "ms)");
-                System.out.println();
-                System.out.println("Panchanga Details:");
-                System.out.println("  Samvatsaram: " + result.getSamvatsaram());
-                System.out.println("  Ayanam: " + result.getAyanam());
-                System.out.println("  Ruthu: " + result.getRuthu());
-                System.out.println("  Masam: " + result.getMasam());
-                System.out.println("  Paksham: " + result.getPaksham());
-                System.out.println("  Tithi: " + result.getTithi());
-                System.out.println("  Vaasaram: " + result.getVaasaram());
-                System.out.println("  Nakshatram: " + result.getNakshatram());
-                System.out.println("  Rasi: " + result.getRasi());
-                System.out.println();
-                System.out.println("Sunrise: " + result.getSunrise());
-                System.out.println("Sunset: " + result.getSunset());
-
-                // Validate all fields are populated
-                boolean allValid = true;
-                if (result.getSamvatsaram() == null || result.getSamvatsaram().isEmpty()) {
-                    System.out.println("WARNING: Samvatsaram is empty");
-                    allValid = false;
-                }
-                if (result.getAyanam() == null || result.getAyanam().isEmpty()) {
-                    System.out.println("WARNING: Ayanam is empty");
-                    allValid = false;
-                }
-                if (result.getMasam() == null || result.getMasam().isEmpty()) {
-                    System.out.println("WARNING: Masam is empty");
-                    allValid = false;
-                }
-
-                if (allValid) {
-                    System.out.println("\nAll fields validated successfully!");
-                }
-
-            } else {
-                System.out.println("FAILED: Result is null");
+        try (UpstreamStubServer stub = new UpstreamStubServer(recordings)
+                .latency(Duration.ofMillis(stubLatencyMs), Duration.ofMillis(stubLatencyMs / 5))
+                .errorRate(stubErrorRate)
+                .start(0);
+             ConfigurableApplicationContext context = new SpringApplicationBuilder(SankalpamApplication.class)
+                     .properties(
+                             "server.port=0",
+                             "geosearch.api.key=offline-fixture",
+                             "upstream.http.panchanga-base-url=" + stub.baseUrl(),
+                             "upstream.http.geoapify-base-url=" + stub.baseUrl(),
+                             "panchanga.cache.enabled=false",
+                             "panchanga.store.enabled=false",
+                             "logging.level.com.sankalpam=WARN")
+                     .run()) {
+
+            SankalpamApiClient apiClient = context.getBean(SankalpamApiClient.class);
+
+            System.out.println("Sample results:");
+            for (Lookup lookup : LOOKUPS) {
+                printResult(lookup, fetch(apiClient, lookup).get(30, TimeUnit.SECONDS));
             }
 
-        } catch (Exception e) {
-            System.out.println("EXCEPTION: " + e.getClass().getSimpleName());
-            System.out.println("   Message: " + e.getMessage());
-            e.printStackTrace();
+            System.out.printf("%nRunning %d lookups, %d at a time (stub latency %d ms, error rate %.2f)...%n",
+                    requests, concurrency, stubLatencyMs, stubErrorRate);
+            long[] latencies = new long[requests];
+            AtomicInteger failures = new AtomicInteger();
+            Semaphore inFlight = new Semaphore(concurrency);
+            List<CompletableFuture<?>> calls = new ArrayList<>(requests);
+            long start = System.nanoTime();
+            for (int i = 0; i < requests; i++) {
+                inFlight.acquire();
+                int n = i;
+                long sent = System.nanoTime();
+                calls.add(fetch(apiClient, LOOKUPS.get(i % LOOKUPS.size())).whenComplete((result, error) -> {
+                    latencies[n] = System.nanoTime() - sent;
+                    if (error != null) {
+                        failures.incrementAndGet();
+                    }
+                    inFlight.release();
+                }));
+            }
+            CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+            long elapsed = System.nanoTime() - start;
+
+            Arrays.sort(latencies);
+            System.out.println("\n--------------------------------------------------------------------------------");
+            System.out.printf("Completed:  %d (%d failed), stub served %d requests (%d injected errors)%n",
+                    requests, failures.get(), stub.getRequestCount(), stub.getInjectedErrorCount());
+            System.out.printf("Throughput: %.1f lookups/s%n", requests / (elapsed / 1e9));
+            System.out.printf("Latency:    p50 %.1f ms, p95 %.1f ms, p99 %.1f ms, max %.1f ms%n",
+                    percentileMs(latencies, 50), percentileMs(latencies, 95), percentileMs(latencies, 99),
+                    latencies[latencies.length - 1] / 1e6);
+            System.out.println("--------------------------------------------------------------------------------\n");
         }
     }
-}
 
+    private static CompletableFuture<SankalpamFinder> fetch(SankalpamApiClient apiClient, Lookup lookup) {
+        return apiClient.fetchSankalpamAsync(lookup.city(), lookup.coords(), lookup.timezone(), lookup.date(), lookup.time());
+    }
+
+    private static void printResult(Lookup lookup, SankalpamFinder result) {
+        System.out.printf("  %-9s %s %s  samvatsaram=%s masam=%s tithi=%s nakshatram=%s sunrise=%s%n",
+                lookup.city(), lookup.date(), lookup.time(), result.getSamvatsaram(), result.getMasam(),
+                result.getTithi(), result.getNakshatram(), result.getSunrise());
+    }
+
+    private static double percentileMs(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static String arg(String[] args, int index, String fallback) {
+        return args.length > index ? args[index] : fallback;
+    }
+}
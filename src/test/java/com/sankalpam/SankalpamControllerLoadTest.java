@@ -0,0 +1,107 @@
+package com.sankalpam;
+
+import com.sankalpam.dto.SankalpamFinderRequest;
+import com.sankalpam.model.SankalpamFinder;
+import com.sankalpam.service.SankalpamService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives /find with far more concurrent requests than Tomcat has worker threads while the
+ * (mocked) Panchanga lookup takes a fixed time to complete. With the asynchronous handler the
+ * requests overlap instead of queueing behind the worker pool.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = {
+        "geosearch.api.key=test-dummy-key-for-unit-tests",
+        "server.tomcat.threads.max=" + SankalpamControllerLoadTest.WORKER_THREADS
+})
+@DisplayName("SankalpamController load Tests")
+class SankalpamControllerLoadTest {
+
+    static final int WORKER_THREADS = 8;
+    private static final int CONCURRENT_REQUESTS = 64;
+    private static final long UPSTREAM_LATENCY_MS = 400;
+
+    @LocalServerPort
+    private int port;
+
+    @MockBean
+    private SankalpamService sankalpamService;
+
+    private final ScheduledExecutorService upstream = Executors.newSingleThreadScheduledExecutor();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        upstream.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Concurrent /find requests are not bounded by the servlet worker pool")
+    void find_ManyConcurrentRequests_OverlapBeyondWorkerPool() throws Exception {
+        when(sankalpamService.findSankalpamAsync(any(SankalpamFinderRequest.class))).thenAnswer(invocation -> {
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            CompletableFuture<SankalpamFinder> result = new CompletableFuture<>();
+            upstream.schedule(() -> {
+                inFlight.decrementAndGet();
+                SankalpamFinder finder = new SankalpamFinder("2026-03-02", "09:30", "Sydney");
+                finder.setSamvatsaram("Krodhi");
+                result.complete(finder);
+            }, UPSTREAM_LATENCY_MS, TimeUnit.MILLISECONDS);
+            return result;
+        });
+
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/sankalpam/find"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"date\":\"2026-03-02\",\"time\":\"09:30\",\"city\":\"Sydney\"}"))
+                .build();
+
+        long start = System.nanoTime();
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            responses.add(http.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            assertEquals(200, response.get().statusCode());
+            assertTrue(response.get().body().contains("Krodhi"));
+        }
+        assertTrue(peakInFlight.get() > WORKER_THREADS,
+                "expected more than " + WORKER_THREADS + " lookups in flight, peak was " + peakInFlight.get());
+        long blockingBoundMs = (CONCURRENT_REQUESTS / WORKER_THREADS) * UPSTREAM_LATENCY_MS;
+        assertTrue(elapsedMs < blockingBoundMs,
+                "took " + elapsedMs + " ms, a blocking handler would need at least " + blockingBoundMs + " ms");
+    }
+}
@@ -14,16 +14,20 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.options;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -80,16 +84,21 @@ class UiFlowCorsEmulationTest {
         result.setSunset("18:05");
         result.setValidUntil("2026-03-03T06:00:00Z");
 
-        when(sankalpamService.findSankalpam(any(SankalpamFinderRequest.class))).thenReturn(result);
+        when(sankalpamService.findSankalpamAsync(any(SankalpamFinderRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(result));
 
         SankalpamFinderRequest request = new SankalpamFinderRequest("2026-03-02", "09:30", "Sydney");
 
-        mockMvc.perform(post("/api/v1/sankalpam/find")
+        MvcResult started = mockMvc.perform(post("/api/v1/sankalpam/find")
                         .header(HttpHeaders.ORIGIN, UI_ORIGIN)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
-                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted())
                 .andExpect(header().string("Access-Control-Allow-Origin", UI_ORIGIN))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.data.samvatsaram").value("Krodhi"));
     }
@@ -8,15 +8,24 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
 @AutoConfigureMockMvc
-@TestPropertySource(properties = "geosearch.api.key=test-dummy-key-for-unit-tests")
+@TestPropertySource(properties = {
+        "geosearch.api.key=test-dummy-key-for-unit-tests",
+        "spring.security.user.password=" + SecurityConfigTest.ACTUATOR_PASSWORD,
+        "panchanga.engine.mode=shadow"
+})
 @DisplayName("SecurityConfig Tests")
 class SecurityConfigTest {
 
+    static final String ACTUATOR_PASSWORD = "test-actuator-password";
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -34,6 +43,37 @@ class SecurityConfigTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @DisplayName("Anonymous clients can neither read nor change payload capture")
+    void actuator_PayloadCapture_RequiresAuthentication() throws Exception {
+        mockMvc.perform(get("/actuator/payloadcapture"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/actuator/payloadcapture")
+                        .contentType("application/json")
+                        .content("{\"sampleRate\":1}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("The actuator user can read payload capture, which names its file without the path")
+    void actuator_PayloadCapture_PermittedForActuatorUser() throws Exception {
+        mockMvc.perform(get("/actuator/payloadcapture").with(httpBasic("actuator", ACTUATOR_PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.file").value(not(containsString("/"))));
+    }
+
+    @Test
+    @DisplayName("Anonymous clients cannot promote the local engine through the shadow endpoint")
+    void actuator_PanchangaShadow_AnonymousPostRejected() throws Exception {
+        mockMvc.perform(post("/actuator/panchangashadow")
+                        .contentType("application/json")
+                        .content("{\"primary\":\"local\",\"sampleRate\":1}"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/panchangashadow").with(httpBasic("actuator", ACTUATOR_PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.primary").value("UPSTREAM"));
+    }
+
     @Test
     @DisplayName("CORS preflight returns OK for allowed origin")
     void cors_Preflight_ReturnsOk() throws Exception {
@@ -15,6 +15,8 @@ import org.springframework.web.method.annotation.MethodArgumentTypeMismatchExcep
 import org.springframework.web.servlet.resource.NoResourceFoundException;
 import org.springframework.http.HttpInputMessage;
 
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @DisplayName("GlobalExceptionHandler Tests")
@@ -115,6 +117,28 @@ class GlobalExceptionHandlerTest {
         assertNotNull(response.getBody());
         assertFalse(response.getBody().isSuccess());
     }
-}
 
+    @Test
+    @DisplayName("handlePanchangaUnavailable returns 503 with Retry-After")
+    void handlePanchangaUnavailable_ReturnsServiceUnavailable() {
+        ResponseEntity<ApiResponse<Void>> response =
+                handler.handlePanchangaUnavailable(new PanchangaUnavailableException("appspot down"));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("30", response.getHeaders().getFirst("Retry-After"));
+        assertNotNull(response.getBody());
+        assertFalse(response.getBody().isSuccess());
+    }
 
+    @Test
+    @DisplayName("handleUpstreamBusy returns 503 with Retry-After rounded up to whole seconds")
+    void handleUpstreamBusy_ReturnsServiceUnavailable() {
+        ResponseEntity<ApiResponse<Void>> response = handler.handleUpstreamBusy(
+                new UpstreamBusyException("bulkhead full", Duration.ofMillis(2_500), null));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("3", response.getHeaders().getFirst("Retry-After"));
+        assertNotNull(response.getBody());
+        assertFalse(response.getBody().isSuccess());
+    }
+}
@@ -0,0 +1,164 @@
+package com.sankalpam.service;
+
+import com.sankalpam.config.PanchangaCacheProperties;
+import com.sankalpam.model.Coordinates;
+import com.sankalpam.model.SankalpamFinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PanchangaResultCache Tests")
+class PanchangaResultCacheTest {
+
+    private static final Coordinates MUMBAI = new Coordinates(19.0760, 72.8777);
+    private static final String TZ = "Asia/Kolkata";
+    private static final String DATE = "2026-02-24";
+
+    private PanchangaResultCache cache;
+    private Instant now;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PanchangaResultCache(new PanchangaCacheProperties(), new SimpleMeterRegistry());
+        now = Instant.now();
+    }
+
+    private static SankalpamFinder finder(String tithi) {
+        SankalpamFinder finder = new SankalpamFinder(DATE, "10:00", "Mumbai");
+        finder.setTithi(tithi);
+        return finder;
+    }
+
+    @Test
+    @DisplayName("Hit inside the validity window returns a copy")
+    void get_InsideWindow_ReturnsCopy() {
+        SankalpamFinder original = finder("Saptami");
+        cache.put(MUMBAI, TZ, DATE, now, now.plus(Duration.ofHours(3)), original);
+
+        Optional<SankalpamFinder> hit = cache.get(MUMBAI, TZ, DATE, now.plus(Duration.ofHours(1)));
+
+        assertTrue(hit.isPresent());
+        assertEquals("Saptami", hit.get().getTithi());
+        assertNotSame(original, hit.get());
+        assertNotEquals(original.getId(), hit.get().getId());
+    }
+
+    @Test
+    @DisplayName("Mutating a returned copy does not change the cached entry")
+    void get_ReturnedCopyIsIsolated() {
+        cache.put(MUMBAI, TZ, DATE, now, now.plus(Duration.ofHours(3)), finder("Saptami"));
+
+        cache.get(MUMBAI, TZ, DATE, now).orElseThrow().setTithi("changed");
+
+        assertEquals("Saptami", cache.get(MUMBAI, TZ, DATE, now).orElseThrow().getTithi());
+    }
+
+    @Test
+    @DisplayName("Request at or after valid-through is a miss")
+    void get_AtValidThrough_Misses() {
+        Instant validUntil = now.plus(Duration.ofHours(3));
+        cache.put(MUMBAI, TZ, DATE, now, validUntil, finder("Saptami"));
+
+        assertTrue(cache.get(MUMBAI, TZ, DATE, validUntil).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Request before the first requested instant is a miss")
+    void get_BeforeWindow_Misses() {
+        cache.put(MUMBAI, TZ, DATE, now, now.plus(Duration.ofHours(3)), finder("Saptami"));
+
+        assertTrue(cache.get(MUMBAI, TZ, DATE, now.minusSeconds(60)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Same valid-through for an earlier request widens the window")
+    void put_SameValidThroughEarlierRequest_WidensWindow() {
+        Instant validUntil = now.plus(Duration.ofHours(3));
+        cache.put(MUMBAI, TZ, DATE, now, validUntil, finder("Saptami"));
+        cache.put(MUMBAI, TZ, DATE, now.minus(Duration.ofHours(2)), validUntil, finder("Saptami"));
+
+        assertTrue(cache.get(MUMBAI, TZ, DATE, now.minus(Duration.ofHours(1))).isPresent());
+        assertTrue(cache.get(MUMBAI, TZ, DATE, now.plus(Duration.ofHours(1))).isPresent());
+    }
+
+    @Test
+    @DisplayName("Different date, timezone or location are separate entries")
+    void get_DifferentKey_Misses() {
+        cache.put(MUMBAI, TZ, DATE, now, now.plus(Duration.ofHours(3)), finder("Saptami"));
+
+        assertTrue(cache.get(MUMBAI, TZ, "2026-02-25", now).isEmpty());
+        assertTrue(cache.get(MUMBAI, "UTC", DATE, now).isEmpty());
+        assertTrue(cache.get(new Coordinates(13.0827, 80.2707), TZ, DATE, now).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Tiny coordinate noise maps to the same entry")
+    void get_CoordinateNoise_Hits() {
+        cache.put(MUMBAI, TZ, DATE, now, now.plus(Duration.ofHours(3)), finder("Saptami"));
+
+        assertTrue(cache.get(new Coordinates(19.076000001, 72.877699999), TZ, DATE, now).isPresent());
+    }
+
+    @Test
+    @DisplayName("Results whose validity already ended are kept only as a stale fallback")
+    void put_ValidThroughInPast_KeptAsStale() {
+        cache.put(MUMBAI, TZ, DATE, now.minus(Duration.ofHours(5)), now.minus(Duration.ofHours(1)), finder("Saptami"));
+
+        assertTrue(cache.get(MUMBAI, TZ, DATE, now).isEmpty());
+        assertTrue(cache.getStale(MUMBAI, TZ, DATE).isPresent());
+    }
+
+    @Test
+    @DisplayName("Results past valid-through plus the stale retention are not cached")
+    void put_PastStaleRetention_NotCached() {
+        PanchangaCacheProperties properties = new PanchangaCacheProperties();
+        properties.setStaleRetention(Duration.ofMinutes(30));
+        PanchangaResultCache shortRetention = new PanchangaResultCache(properties, new SimpleMeterRegistry());
+
+        shortRetention.put(MUMBAI, TZ, DATE, now.minus(Duration.ofHours(5)), now.minus(Duration.ofHours(1)), finder("Saptami"));
+
+        assertEquals(0, shortRetention.size());
+    }
+
+    @Test
+    @DisplayName("getStale returns the last known-good result for any instant, flagged stale")
+    void getStale_OutsideWindow_ReturnsFlaggedCopy() {
+        SankalpamFinder original = finder("Saptami");
+        cache.put(MUMBAI, TZ, DATE, now, now.plus(Duration.ofHours(3)), original);
+
+        SankalpamFinder stale = cache.getStale(MUMBAI, TZ, DATE).orElseThrow();
+
+        assertTrue(stale.isStale());
+        assertEquals("Saptami", stale.getTithi());
+        assertFalse(original.isStale());
+        assertFalse(cache.get(MUMBAI, TZ, DATE, now).orElseThrow().isStale());
+        assertTrue(cache.getStale(MUMBAI, TZ, "2026-02-25").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Missing valid-through is not cached")
+    void put_NullValidThrough_NotCached() {
+        cache.put(MUMBAI, TZ, DATE, now, null, finder("Saptami"));
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Disabled cache never stores or returns entries")
+    void disabled_NeverHits() {
+        PanchangaCacheProperties properties = new PanchangaCacheProperties();
+        properties.setEnabled(false);
+        PanchangaResultCache disabled = new PanchangaResultCache(properties, new SimpleMeterRegistry());
+
+        disabled.put(MUMBAI, TZ, DATE, now, now.plus(Duration.ofHours(3)), finder("Saptami"));
+
+        assertTrue(disabled.get(MUMBAI, TZ, DATE, now).isEmpty());
+    }
+}
@@ -0,0 +1,301 @@
+package com.sankalpam.service;
+
+import com.sankalpam.config.PanchangaCacheProperties;
+import com.sankalpam.config.PanchangaStoreProperties;
+import com.sankalpam.model.Coordinates;
+import com.sankalpam.model.SankalpamFinder;
+import com.sankalpam.model.TimeWindow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PanchangaStore Tests")
+class PanchangaStoreTest {
+
+    private static final String TZ = "Asia/Kolkata";
+    private static final String DATE = "2026-02-24";
+
+    @TempDir
+    Path directory;
+
+    private PanchangaStoreProperties properties;
+    private PanchangaCacheProperties cacheProperties;
+    private PanchangaStore store;
+    private Instant now;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new PanchangaStoreProperties();
+        properties.setDirectory(directory.toString());
+        properties.setInitialIndexCapacity(16);
+        cacheProperties = new PanchangaCacheProperties();
+        now = Instant.now();
+        store = reopen();
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    private PanchangaStore reopen() throws Exception {
+        if (store != null) {
+            store.close();
+        }
+        PanchangaStore opened = new PanchangaStore(properties, cacheProperties, new SimpleMeterRegistry(), false);
+        opened.open();
+        return opened;
+    }
+
+    private static PanchangaResultCache.Key key(int i) {
+        return PanchangaResultCache.Key.of(new Coordinates(19.0 + i * 0.01, 72.8777), TZ, DATE);
+    }
+
+    private PanchangaResultCache.Entry entry(String tithi, Duration validFor) {
+        SankalpamFinder finder = new SankalpamFinder(DATE, "10:00", "Mumbai");
+        finder.setTithi(tithi);
+        finder.setNakshatram("rOhiNI");
+        finder.setNakshatramPada(2);
+        finder.setYoga("aiMdra");
+        finder.setKaranaEndsAt("2026-02-24T07:02:29+05:30");
+        finder.setRahuKalam(new TimeWindow("03:47:58 PM", "05:15:31 PM"));
+        finder.setValidUntil("06:19:49 AM");
+        finder.setTimezone(TZ);
+        return new PanchangaResultCache.Entry(finder, now, now.plus(validFor));
+    }
+
+    @Test
+    @DisplayName("Nothing is created on disk until the first write")
+    void open_NoFiles_CreatesNothing() {
+        assertEquals(0, store.size());
+        assertTrue(store.get(key(1)).isEmpty());
+        assertFalse(Files.exists(directory.resolve(PanchangaStore.DATA_FILE)));
+    }
+
+    @Test
+    @DisplayName("A stored entry round-trips with its window and fields")
+    void put_ThenGet_RoundTrips() {
+        PanchangaResultCache.Entry stored = entry("saptamyAm", Duration.ofHours(3));
+        store.put(key(1), stored);
+
+        PanchangaResultCache.Entry read = store.get(key(1)).orElseThrow();
+
+        assertEquals(stored.validFrom().toEpochMilli(), read.validFrom().toEpochMilli());
+        assertEquals(stored.validUntil().toEpochMilli(), read.validUntil().toEpochMilli());
+        assertEquals("saptamyAm", read.value().getTithi());
+        assertEquals("rOhiNI", read.value().getNakshatram());
+        assertEquals(2, read.value().getNakshatramPada());
+        assertEquals("aiMdra", read.value().getYoga());
+        assertNull(read.value().getKarana());
+        assertEquals("2026-02-24T07:02:29+05:30", read.value().getKaranaEndsAt());
+        assertEquals(new TimeWindow("03:47:58 PM", "05:15:31 PM"), read.value().getRahuKalam());
+        assertNull(read.value().getAbhijitMuhurtham());
+        assertEquals(DATE, read.value().getDate());
+        assertNull(read.value().getSamvatsaram());
+        assertTrue(store.get(key(2)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Entries survive a restart")
+    void reopen_ServesEntriesFromDisk() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            store.put(key(i), entry("tithi-" + i, Duration.ofHours(3)));
+        }
+
+        store = reopen();
+
+        assertEquals(5, store.size());
+        assertEquals("tithi-3", store.get(key(3)).orElseThrow().value().getTithi());
+    }
+
+    @Test
+    @DisplayName("The index grows past its initial capacity without losing entries")
+    void put_ManyKeys_IndexGrows() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            store.put(key(i), entry("tithi-" + i, Duration.ofHours(3)));
+        }
+
+        assertEquals(100, store.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals("tithi-" + i, store.get(key(i)).orElseThrow().value().getTithi());
+        }
+        store = reopen();
+        assertEquals("tithi-99", store.get(key(99)).orElseThrow().value().getTithi());
+    }
+
+    @Test
+    @DisplayName("A newer record for the same key supersedes the older one")
+    void put_SameKey_LatestWins() throws Exception {
+        store.put(key(1), entry("old", Duration.ofHours(3)));
+        store.put(key(1), entry("new", Duration.ofHours(3)));
+
+        assertEquals(1, store.size());
+        assertEquals("new", store.get(key(1)).orElseThrow().value().getTithi());
+        assertEquals(0.5, store.deadFraction(), 0.01);
+    }
+
+    @Test
+    @DisplayName("Superseding existing keys never grows the index")
+    void put_SameKeyRepeatedly_IndexKeepsItsCapacity() throws Exception {
+        for (int i = 0; i < 11; i++) {
+            store.put(key(i), entry("first", Duration.ofHours(3)));
+        }
+        Path index = directory.resolve(PanchangaStore.INDEX_FILE);
+        long indexBytes = Files.size(index);
+
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 11; i++) {
+                store.put(key(i), entry("round-" + round, Duration.ofHours(3)));
+            }
+        }
+
+        assertEquals(11, store.size());
+        assertEquals(indexBytes, Files.size(index), "11 of 16 slots stays under the load factor");
+        assertEquals("round-4", store.get(key(10)).orElseThrow().value().getTithi());
+    }
+
+    @Test
+    @DisplayName("With its background thread the store appends on that thread and drains the queue on close")
+    void put_Background_WrittenByWriterThread() throws Exception {
+        store.close();
+        store = new PanchangaStore(properties, cacheProperties, new SimpleMeterRegistry(), true);
+        for (int i = 0; i < 20; i++) {
+            store.put(key(i), entry("tithi-" + i, Duration.ofHours(3)));
+        }
+        store.close();
+
+        store = reopen();
+
+        assertEquals(20, store.size());
+        assertEquals("tithi-19", store.get(key(19)).orElseThrow().value().getTithi());
+    }
+
+    @Test
+    @DisplayName("Results beyond max-pending-writes are not persisted rather than queued without bound")
+    void put_WriterBehind_Dropped() throws Exception {
+        store.close();
+        properties.setMaxPendingWrites(0);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        store = new PanchangaStore(properties, cacheProperties, registry, true);
+        store.put(key(1), entry("one", Duration.ofHours(3)));
+        store.close();
+
+        assertEquals(1.0, registry.get("panchanga.store.dropped.writes").counter().count());
+        assertFalse(Files.exists(directory.resolve(PanchangaStore.DATA_FILE)));
+    }
+
+    @Test
+    @DisplayName("Entries past valid-through plus stale retention are not served")
+    void get_Expired_Misses() throws Exception {
+        cacheProperties.setStaleRetention(Duration.ZERO);
+        store = reopen();
+        store.put(key(1), entry("soon", Duration.ofMillis(100)));
+        assertTrue(store.get(key(1)).isPresent());
+        Thread.sleep(150);
+        assertTrue(store.get(key(1)).isEmpty());
+
+        store.put(key(2), new PanchangaResultCache.Entry(new SankalpamFinder(), now.minusSeconds(7200), now.minusSeconds(3600)));
+
+        assertTrue(store.get(key(2)).isEmpty(), "already expired entries are not written");
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    @DisplayName("A missing or stale index is rebuilt from the data file")
+    void reopen_IndexMissing_Rebuilt() throws Exception {
+        store.put(key(1), entry("one", Duration.ofHours(3)));
+        store.put(key(2), entry("two", Duration.ofHours(3)));
+        store.close();
+        Files.delete(directory.resolve(PanchangaStore.INDEX_FILE));
+
+        store = reopen();
+
+        assertEquals(2, store.size());
+        assertEquals("two", store.get(key(2)).orElseThrow().value().getTithi());
+    }
+
+    @Test
+    @DisplayName("A data file written in another format version is discarded on open")
+    void reopen_OtherFormatVersion_StartsEmpty() throws Exception {
+        store.put(key(1), entry("one", Duration.ofHours(3)));
+        store.close();
+        Path data = directory.resolve(PanchangaStore.DATA_FILE);
+        byte[] bytes = Files.readAllBytes(data);
+        bytes[7] = 1;  // big-endian format version, after the magic
+        Files.write(data, bytes);
+
+        store = reopen();
+
+        assertEquals(0, store.size());
+        assertTrue(store.get(key(1)).isEmpty());
+        assertFalse(Files.exists(data));
+        assertFalse(Files.exists(directory.resolve(PanchangaStore.INDEX_FILE)));
+    }
+
+    @Test
+    @DisplayName("A torn record at the end of the data file is dropped on open")
+    void reopen_TornTail_Truncated() throws Exception {
+        store.put(key(1), entry("one", Duration.ofHours(3)));
+        store.close();
+        Path data = directory.resolve(PanchangaStore.DATA_FILE);
+        long goodLength = Files.size(data);
+        Files.write(data, new byte[]{0, 0, 1, 0, 42, 42}, StandardOpenOption.APPEND);
+
+        store = reopen();
+
+        assertEquals("one", store.get(key(1)).orElseThrow().value().getTithi());
+        assertEquals(goodLength, Files.size(data));
+        store.put(key(2), entry("two", Duration.ofHours(3)));
+        assertEquals("two", store.get(key(2)).orElseThrow().value().getTithi());
+    }
+
+    @Test
+    @DisplayName("Compaction drops superseded and expired records and keeps the rest readable")
+    void compact_DropsDeadRecords() throws Exception {
+        cacheProperties.setStaleRetention(Duration.ZERO);
+        store = reopen();
+        for (int i = 0; i < 10; i++) {
+            store.put(key(1), entry("version-" + i, Duration.ofHours(3)));
+        }
+        store.put(key(2), entry("expiring", Duration.ofMillis(100)));
+        Thread.sleep(150);
+        long before = store.dataBytes();
+
+        store.compact();
+
+        assertTrue(store.dataBytes() < before / 5, "expected the data file to shrink, was " + store.dataBytes());
+        assertEquals(1, store.size());
+        assertEquals("version-9", store.get(key(1)).orElseThrow().value().getTithi());
+        assertTrue(store.get(key(2)).isEmpty());
+        assertEquals(0.0, store.deadFraction(), 0.001);
+
+        store = reopen();
+        assertEquals("version-9", store.get(key(1)).orElseThrow().value().getTithi());
+    }
+
+    @Test
+    @DisplayName("The result cache falls back to the store, so a new cache instance starts warm")
+    void resultCache_NewInstance_ServedFromStore() {
+        Coordinates mumbai = new Coordinates(19.0760, 72.8777);
+        SankalpamFinder finder = new SankalpamFinder(DATE, "10:00", "Mumbai");
+        finder.setTithi("saptamyAm");
+        new PanchangaResultCache(cacheProperties, new SimpleMeterRegistry(), store)
+                .put(mumbai, TZ, DATE, now, now.plus(Duration.ofHours(3)), finder);
+
+        PanchangaResultCache restarted = new PanchangaResultCache(cacheProperties, new SimpleMeterRegistry(), store);
+
+        assertEquals("saptamyAm", restarted.get(mumbai, TZ, DATE, now.plusSeconds(60)).orElseThrow().getTithi());
+        assertEquals(1, restarted.size());
+    }
+}
@@ -0,0 +1,140 @@
+package com.sankalpam.service.impl;
+
+import com.sankalpam.model.Coordinates;
+import com.sankalpam.model.SankalpamFinder;
+import com.sankalpam.service.SankalpamApiClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CoalescingSankalpamApiClient Tests")
+class CoalescingSankalpamApiClientTest {
+
+    private static final Coordinates MUMBAI = new Coordinates(19.0760, 72.8777);
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final CountDownLatch upstreamEntered = new CountDownLatch(1);
+    private final CountDownLatch releaseUpstream = new CountDownLatch(1);
+    private volatile RuntimeException upstreamFailure;
+
+    private CoalescingSankalpamApiClient client;
+    private ExecutorService pool;
+
+    @BeforeEach
+    void setUp() {
+        SankalpamApiClient slowUpstream = (city, coords, timezone, date, time) -> {
+            upstreamCalls.incrementAndGet();
+            upstreamEntered.countDown();
+            try {
+                releaseUpstream.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (upstreamFailure != null) {
+                throw upstreamFailure;
+            }
+            SankalpamFinder finder = new SankalpamFinder(date, time, city);
+            finder.setTithi("Saptami");
+            return finder;
+        };
+        client = new CoalescingSankalpamApiClient(slowUpstream, new SimpleMeterRegistry());
+        pool = Executors.newFixedThreadPool(16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseUpstream.countDown();
+        pool.shutdownNow();
+    }
+
+    private Future<SankalpamFinder> submit(String time) {
+        return pool.submit(() -> client.fetchSankalpam("Mumbai", MUMBAI, "Asia/Kolkata", "2026-02-24", time));
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not reached in time");
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent identical requests share one upstream call")
+    void identicalConcurrentRequests_ShareOneUpstreamCall() throws Exception {
+        Future<SankalpamFinder> leader = submit("10:00");
+        assertTrue(upstreamEntered.await(5, TimeUnit.SECONDS));
+
+        List<Future<SankalpamFinder>> followers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            followers.add(submit("10:00"));
+        }
+        awaitCondition(() -> client.getCoalescedCount() == 10);
+        releaseUpstream.countDown();
+
+        SankalpamFinder leaderResult = leader.get(5, TimeUnit.SECONDS);
+        for (Future<SankalpamFinder> follower : followers) {
+            SankalpamFinder result = follower.get(5, TimeUnit.SECONDS);
+            assertEquals("Saptami", result.getTithi());
+            assertNotSame(leaderResult, result, "each caller gets its own copy");
+        }
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(1, client.getOriginatedCount());
+        assertEquals(10, client.getCoalescedCount());
+    }
+
+    @Test
+    @DisplayName("Requests with different parameters are not coalesced")
+    void differentRequests_NotCoalesced() throws Exception {
+        releaseUpstream.countDown();
+
+        submit("10:00").get(5, TimeUnit.SECONDS);
+        submit("11:00").get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(0, client.getCoalescedCount());
+    }
+
+    @Test
+    @DisplayName("Completed calls are not remembered: a later identical request goes upstream again")
+    void sequentialIdenticalRequests_EachOriginate() throws Exception {
+        releaseUpstream.countDown();
+
+        submit("10:00").get(5, TimeUnit.SECONDS);
+        submit("10:00").get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, client.getOriginatedCount());
+    }
+
+    @Test
+    @DisplayName("An upstream failure is propagated to every waiting caller")
+    void upstreamFailure_PropagatesToFollowers() throws Exception {
+        upstreamFailure = new IllegalStateException("appspot down");
+        Future<SankalpamFinder> leader = submit("10:00");
+        assertTrue(upstreamEntered.await(5, TimeUnit.SECONDS));
+        Future<SankalpamFinder> follower = submit("10:00");
+        awaitCondition(() -> client.getCoalescedCount() == 1);
+        releaseUpstream.countDown();
+
+        ExecutionException leaderError = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        ExecutionException followerError = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, leaderError.getCause());
+        assertInstanceOf(IllegalStateException.class, followerError.getCause());
+        assertEquals(1, upstreamCalls.get());
+    }
+}
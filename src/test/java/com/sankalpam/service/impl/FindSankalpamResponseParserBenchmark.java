@@ -0,0 +1,83 @@
+package com.sankalpam.service.impl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares {@link FindSankalpamResponseParser} with the regex extraction it replaced
+ * (kept here verbatim as {@code regexPath}).
+ *
+ * Run with:
+ * <pre>
+ *   mvn -Dfrontend.skip=true test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.sankalpam.service.impl.FindSankalpamResponseParserBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FindSankalpamResponseParserBenchmark {
+
+    private final String body = SankalpamApiClientImplTest.SAMPLE_RESPONSE;
+    private final FindSankalpamResponseParser parser = new FindSankalpamResponseParser();
+
+    @Benchmark
+    public FindSankalpamResponseParser.Result singlePass() {
+        return parser.parse(body);
+    }
+
+    @Benchmark
+    public void regexPath(Blackhole blackhole) {
+        blackhole.consume(extractBoldValues(body));
+        blackhole.consume(extractTagValue(body, "Sunrise"));
+        blackhole.consume(extractTagValue(body, "Sunset"));
+        blackhole.consume(extractValidThroughTime(body));
+    }
+
+    private static List<String> extractBoldValues(String responseBody) {
+        List<String> values = new ArrayList<>();
+        Matcher matcher = Pattern.compile("<b>(.*?)</b>", Pattern.CASE_INSENSITIVE).matcher(responseBody);
+        while (matcher.find()) {
+            values.add(matcher.group(1).trim());
+        }
+        return values;
+    }
+
+    private static String extractTagValue(String responseBody, String label) {
+        Pattern pattern = Pattern.compile(label + ":\\s*<i>([^<]+)</i>", Pattern.CASE_INSENSITIVE);
+        Matcher matcher = pattern.matcher(responseBody);
+        return matcher.find() ? matcher.group(1).trim() : null;
+    }
+
+    private static String extractValidThroughTime(String responseBody) {
+        Pattern pattern = Pattern.compile("valid through\\s+(.+?)\\s*:\\s*<br", Pattern.CASE_INSENSITIVE);
+        Matcher matcher = pattern.matcher(responseBody);
+        return matcher.find() ? matcher.group(1).trim() : null;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FindSankalpamResponseParserBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,126 @@
+package com.sankalpam.service.impl;
+
+import com.sankalpam.service.impl.FindSankalpamResponseParser.Field;
+import com.sankalpam.service.impl.FindSankalpamResponseParser.ParseException;
+import com.sankalpam.service.impl.FindSankalpamResponseParser.Result;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FindSankalpamResponseParser Tests")
+class FindSankalpamResponseParserTest {
+
+    private final FindSankalpamResponseParser parser = new FindSankalpamResponseParser();
+
+    @Test
+    @DisplayName("Parses every field of a well-formed response")
+    void parse_SampleResponse_AllFields() {
+        Result result = parser.parse(SankalpamApiClientImplTest.SAMPLE_RESPONSE);
+
+        assertEquals("viSvAvasu", result.samvatsaram());
+        assertEquals("uttarAyaNE", result.ayanam());
+        assertEquals("SiSira", result.ruthu());
+        assertEquals("mAGa", result.maasam());
+        assertEquals("Sukla", result.paksham());
+        assertEquals("saptamyAm", result.tithi());
+        assertEquals("BaumavAsarE", result.vaasaram());
+        assertEquals("rOhiNI", result.nakshatram());
+        assertEquals("07:02:37 AM", result.sunrise());
+        assertEquals("06:43:05 PM", result.sunset());
+        assertEquals("07:01:56 AM of following day", result.validThrough());
+    }
+
+    @Test
+    @DisplayName("Tags and labels are matched case-insensitively and values are trimmed")
+    void parse_MixedCase_Trimmed() {
+        String body = "VALID THROUGH 06:19:49 AM : <BR>"
+                + "<B> a </B><b>b</b><b>c</b><b>d</b><b>e</b><b>f</b><b>g</b><B>h </b>"
+                + "SUNRISE:<I> 06:00 AM </I> sunset:\n<i>18:00</i>";
+
+        Result result = parser.parse(body);
+
+        assertEquals("a", result.samvatsaram());
+        assertEquals("h", result.nakshatram());
+        assertEquals("06:00 AM", result.sunrise());
+        assertEquals("18:00", result.sunset());
+        assertEquals("06:19:49 AM", result.validThrough());
+    }
+
+    @Test
+    @DisplayName("Bold values beyond the eighth are ignored")
+    void parse_ExtraBoldValues_Ignored() {
+        String body = SankalpamApiClientImplTest.SAMPLE_RESPONSE.replace("</body>", "<b>extra</b></body>");
+
+        assertEquals("rOhiNI", parser.parse(body).nakshatram());
+    }
+
+    @Test
+    @DisplayName("A bold tag not closed on the same line is skipped")
+    void parse_BoldSpanningLines_Skipped() {
+        String body = "<b>broken\n</b><b>a</b><b>b</b><b>c</b><b>d</b><b>e</b><b>f</b><b>g</b><b>h</b>"
+                + "Sunrise: <i>6</i> Sunset: <i>18</i>";
+
+        assertEquals("a", parser.parse(body).samvatsaram());
+    }
+
+    @Test
+    @DisplayName("A malformed label occurrence does not hide a later well-formed one")
+    void parse_MalformedThenWellFormedLabel_UsesWellFormed() {
+        String body = SankalpamApiClientImplTest.SAMPLE_RESPONSE.replace("<html>", "<html>Sunrise times vary. ");
+
+        assertEquals("07:02:37 AM", parser.parse(body).sunrise());
+    }
+
+    @Test
+    @DisplayName("Missing valid-through is not an error")
+    void parse_NoValidThrough_NullValue() {
+        String body = SankalpamApiClientImplTest.SAMPLE_RESPONSE.replace("valid through", "good until");
+
+        assertNull(parser.parse(body).validThrough());
+    }
+
+    @Test
+    @DisplayName("Too few bold values reports exactly which fields are missing")
+    void parse_TooFewBoldValues_ReportsMissingFields() {
+        String body = "<b>a</b><b>b</b><b>c</b><b>d</b><b>e</b><b>f</b>Sunrise: <i>6</i> Sunset: <i>18</i>";
+
+        ParseException e = assertThrows(ParseException.class, () -> parser.parse(body));
+
+        assertEquals(Set.of(Field.VAASARAM, Field.NAKSHATRAM), e.getMissingFields());
+        assertEquals(6, e.getBoldValueCount());
+    }
+
+    @Test
+    @DisplayName("Missing sunset is reported even when all bold values are present")
+    void parse_MissingSunset_Reported() {
+        String body = SankalpamApiClientImplTest.SAMPLE_RESPONSE.replace("Sunset: <i>06:43:05 PM</i>", "");
+
+        ParseException e = assertThrows(ParseException.class, () -> parser.parse(body));
+
+        assertEquals(Set.of(Field.SUNSET), e.getMissingFields());
+    }
+
+    @Test
+    @DisplayName("Sunrise and sunset can be made optional; other fields cannot")
+    void parse_OptionalSunTimes_NullWhenAbsent() {
+        String body = SankalpamApiClientImplTest.SAMPLE_RESPONSE.replace("Sunrise: <i>07:02:37 AM</i> Sunset: <i>06:43:05 PM</i>", "");
+
+        Result result = parser.parse(body, Set.of(Field.SUNRISE, Field.SUNSET));
+
+        assertNull(result.sunrise());
+        assertNull(result.sunset());
+        assertEquals("rOhiNI", result.nakshatram());
+        assertEquals(Set.of(Field.NAKSHATRAM), assertThrows(ParseException.class,
+                () -> parser.parse(body.replace("<b>rOhiNI</b>", ""), Set.of(Field.SUNRISE, Field.SUNSET))).getMissingFields());
+    }
+
+    @Test
+    @DisplayName("Empty or null body reports every required field")
+    void parse_EmptyBody_AllMissing() {
+        assertEquals(Set.of(Field.values()), assertThrows(ParseException.class, () -> parser.parse("")).getMissingFields());
+        assertEquals(Set.of(Field.values()), assertThrows(ParseException.class, () -> parser.parse(null)).getMissingFields());
+    }
+}
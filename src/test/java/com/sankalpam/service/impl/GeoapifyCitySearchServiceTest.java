@@ -4,16 +4,16 @@ import com.sankalpam.config.GeoSearchApiProperties;
 import com.sankalpam.model.CityGeoInfo;
 import com.sankalpam.service.CityLookupService;
 import com.sankalpam.service.GeoapifyRateLimiter;
+import com.sankalpam.service.upstream.Upstream;
+import com.sankalpam.service.upstream.UpstreamHttpClient;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.net.http.HttpClient;
 import java.net.http.HttpResponse;
 import java.util.List;
 import java.util.Optional;
@@ -35,11 +35,14 @@ class GeoapifyCitySearchServiceTest {
     @Mock
     private CityLookupService cityLookupService;
 
+    @Mock
+    private UpstreamHttpClient upstreamHttpClient;
+
     private GeoapifyCitySearchService service;
 
     @BeforeEach
     void setUp() {
-        service = new GeoapifyCitySearchService(geoSearchApiProperties, rateLimiter, cityLookupService);
+        service = new GeoapifyCitySearchService(geoSearchApiProperties, rateLimiter, cityLookupService, upstreamHttpClient);
     }
 
     // ── Helper: set up mocks so that rate limiter passes and local cache misses ──
@@ -50,20 +53,11 @@ class GeoapifyCitySearchServiceTest {
     }
 
     @SuppressWarnings("unchecked")
-    private HttpClient mockHttpResponse(MockedStatic<HttpClient> httpClientStatic, int statusCode, String body) throws Exception {
-        HttpClient mockClient = mock(HttpClient.class);
-        HttpClient.Builder mockBuilder = mock(HttpClient.Builder.class);
-
-        httpClientStatic.when(HttpClient::newBuilder).thenReturn(mockBuilder);
-        when(mockBuilder.connectTimeout(any())).thenReturn(mockBuilder);
-        when(mockBuilder.build()).thenReturn(mockClient);
-
+    private void mockHttpResponse(int statusCode, String body) throws Exception {
         HttpResponse<String> mockResponse = mock(HttpResponse.class);
         when(mockResponse.statusCode()).thenReturn(statusCode);
         when(mockResponse.body()).thenReturn(body);
-        when(mockClient.send(any(), any(HttpResponse.BodyHandler.class))).thenReturn(mockResponse);
-
-        return mockClient;
+        when(upstreamHttpClient.get(eq(Upstream.GEOAPIFY), any())).thenReturn(mockResponse);
     }
 
     // ══════════════════════════════════════════════════════════
@@ -227,15 +221,13 @@ class GeoapifyCitySearchServiceTest {
                 }
                 """;
 
-            try (MockedStatic<HttpClient> httpClientStatic = mockStatic(HttpClient.class)) {
-                mockHttpResponse(httpClientStatic, 200, responseJson);
+            mockHttpResponse(200, responseJson);
 
-                List<String> result = service.searchCities("London");
+            List<String> result = service.searchCities("London");
 
-                assertEquals(2, result.size());
-                assertTrue(result.contains("London"));
-                assertTrue(result.contains("Londonderry"));
-            }
+            assertEquals(2, result.size());
+            assertTrue(result.contains("London"));
+            assertTrue(result.contains("Londonderry"));
         }
 
         @Test
@@ -254,15 +246,13 @@ class GeoapifyCitySearchServiceTest {
                 }
                 """;
 
-            try (MockedStatic<HttpClient> httpClientStatic = mockStatic(HttpClient.class)) {
-                mockHttpResponse(httpClientStatic, 200, responseJson);
+            mockHttpResponse(200, responseJson);
 
-                List<String> result = service.searchCities("Paris");
+            List<String> result = service.searchCities("Paris");
 
-                // Duplicates removed by LinkedHashSet
-                assertEquals(1, result.size());
-                assertEquals("Paris", result.get(0));
-            }
+            // Duplicates removed by LinkedHashSet
+            assertEquals(1, result.size());
+            assertEquals("Paris", result.get(0));
         }
 
         @Test
@@ -274,12 +264,10 @@ class GeoapifyCitySearchServiceTest {
                 {"results": []}
                 """;
 
-            try (MockedStatic<HttpClient> httpClientStatic = mockStatic(HttpClient.class)) {
-                mockHttpResponse(httpClientStatic, 200, responseJson);
+            mockHttpResponse(200, responseJson);
 
-                List<String> result = service.searchCities("zzzzz");
-                assertTrue(result.isEmpty());
-            }
+            List<String> result = service.searchCities("zzzzz");
+            assertTrue(result.isEmpty());
         }
 
         @Test
@@ -291,12 +279,10 @@ class GeoapifyCitySearchServiceTest {
                 {"status": "ok"}
                 """;
 
-            try (MockedStatic<HttpClient> httpClientStatic = mockStatic(HttpClient.class)) {
-                mockHttpResponse(httpClientStatic, 200, responseJson);
+            mockHttpResponse(200, responseJson);
 
-                List<String> result = service.searchCities("zzzzz");
-                assertTrue(result.isEmpty());
-            }
+            List<String> result = service.searchCities("zzzzz");
+            assertTrue(result.isEmpty());
         }
 
         @Test
@@ -304,12 +290,10 @@ class GeoapifyCitySearchServiceTest {
         void searchCities_Non200Status_ReturnsEmpty() throws Exception {
             setupApiCallPreconditions("test");
 
-            try (MockedStatic<HttpClient> httpClientStatic = mockStatic(HttpClient.class)) {
-                mockHttpResponse(httpClientStatic, 403, "{\"error\":\"forbidden\"}");
+            mockHttpResponse(403, "{\"error\":\"forbidden\"}");
 
-                List<String> result = service.searchCities("test");
-                assertTrue(result.isEmpty());
-            }
+            List<String> result = service.searchCities("test");
+            assertTrue(result.isEmpty());
         }
 
         @Test
@@ -317,12 +301,10 @@ class GeoapifyCitySearchServiceTest {
         void searchCities_500Status_ReturnsEmpty() throws Exception {
             setupApiCallPreconditions("test");
 
-            try (MockedStatic<HttpClient> httpClientStatic = mockStatic(HttpClient.class)) {
-                mockHttpResponse(httpClientStatic, 500, "Internal Server Error");
+            mockHttpResponse(500, "Internal Server Error");
 
-                List<String> result = service.searchCities("test");
-                assertTrue(result.isEmpty());
-            }
+            List<String> result = service.searchCities("test");
+            assertTrue(result.isEmpty());
         }
 
         @Test
@@ -331,19 +313,11 @@ class GeoapifyCitySearchServiceTest {
         void searchCities_SendThrowsException_ReturnsEmpty() throws Exception {
             setupApiCallPreconditions("test");
 
-            try (MockedStatic<HttpClient> httpClientStatic = mockStatic(HttpClient.class)) {
-                HttpClient mockClient = mock(HttpClient.class);
-                HttpClient.Builder mockBuilder = mock(HttpClient.Builder.class);
-
-                httpClientStatic.when(HttpClient::newBuilder).thenReturn(mockBuilder);
-                when(mockBuilder.connectTimeout(any())).thenReturn(mockBuilder);
-                when(mockBuilder.build()).thenReturn(mockClient);
-                when(mockClient.send(any(), any(HttpResponse.BodyHandler.class)))
-                        .thenThrow(new java.io.IOException("Connection refused"));
+            when(upstreamHttpClient.get(eq(Upstream.GEOAPIFY), any()))
+                    .thenThrow(new java.io.IOException("Connection refused"));
 
-                List<String> result = service.searchCities("test");
-                assertTrue(result.isEmpty());
-            }
+            List<String> result = service.searchCities("test");
+            assertTrue(result.isEmpty());
         }
     }
 
@@ -369,13 +343,11 @@ class GeoapifyCitySearchServiceTest {
                 }
                 """;
 
-            try (MockedStatic<HttpClient> httpClientStatic = mockStatic(HttpClient.class)) {
-                mockHttpResponse(httpClientStatic, 200, responseJson);
+            mockHttpResponse(200, responseJson);
 
-                List<String> result = service.searchCities("Berlin");
-                assertEquals(1, result.size());
-                assertEquals("Berlin", result.get(0));   // split on comma, trimmed
-            }
+            List<String> result = service.searchCities("Berlin");
+            assertEquals(1, result.size());
+            assertEquals("Berlin", result.get(0));   // split on comma, trimmed
         }
 
         @Test
@@ -392,13 +364,11 @@ class GeoapifyCitySearchServiceTest {
                 }
                 """;
 
-            try (MockedStatic<HttpClient> httpClientStatic = mockStatic(HttpClient.class)) {
-                mockHttpResponse(httpClientStatic, 200, responseJson);
+            mockHttpResponse(200, responseJson);
 
-                List<String> result = service.searchCities("Tokyo");
-                assertEquals(1, result.size());
-                assertEquals("Tokyo", result.get(0));
-            }
+            List<String> result = service.searchCities("Tokyo");
+            assertEquals(1, result.size());
+            assertEquals("Tokyo", result.get(0));
         }
 
         @Test
@@ -414,12 +384,10 @@ class GeoapifyCitySearchServiceTest {
                 }
                 """;
 
-            try (MockedStatic<HttpClient> httpClientStatic = mockStatic(HttpClient.class)) {
-                mockHttpResponse(httpClientStatic, 200, responseJson);
+            mockHttpResponse(200, responseJson);
 
-                List<String> result = service.searchCities("unknown");
-                assertTrue(result.isEmpty());
-            }
+            List<String> result = service.searchCities("unknown");
+            assertTrue(result.isEmpty());
         }
 
         @Test
@@ -436,13 +404,11 @@ class GeoapifyCitySearchServiceTest {
                 }
                 """;
 
-            try (MockedStatic<HttpClient> httpClientStatic = mockStatic(HttpClient.class)) {
-                mockHttpResponse(httpClientStatic, 200, responseJson);
+            mockHttpResponse(200, responseJson);
 
-                List<String> result = service.searchCities("Rome");
-                assertEquals(1, result.size());
-                assertEquals("Rome", result.get(0));
-            }
+            List<String> result = service.searchCities("Rome");
+            assertEquals(1, result.size());
+            assertEquals("Rome", result.get(0));
         }
     }
 
@@ -469,18 +435,16 @@ class GeoapifyCitySearchServiceTest {
                 }
                 """;
 
-            try (MockedStatic<HttpClient> httpClientStatic = mockStatic(HttpClient.class)) {
-                mockHttpResponse(httpClientStatic, 200, responseJson);
+            mockHttpResponse(200, responseJson);
 
-                service.searchCities("Sydney");
+            service.searchCities("Sydney");
 
-                verify(cityLookupService).addCity(eq("Sydney"), argThat(info ->
-                        "au".equals(info.getCountryCode()) &&
-                        info.getLatitude() == -33.8688 &&
-                        info.getLongitude() == 151.2093 &&
-                        "Australia/Sydney".equals(info.getTimezone())
-                ));
-            }
+            verify(cityLookupService).addCity(eq("Sydney"), argThat(info ->
+                    "au".equals(info.getCountryCode()) &&
+                    info.getLatitude() == -33.8688 &&
+                    info.getLongitude() == 151.2093 &&
+                    "Australia/Sydney".equals(info.getTimezone())
+            ));
         }
 
         @Test
@@ -496,13 +460,11 @@ class GeoapifyCitySearchServiceTest {
                 }
                 """;
 
-            try (MockedStatic<HttpClient> httpClientStatic = mockStatic(HttpClient.class)) {
-                mockHttpResponse(httpClientStatic, 200, responseJson);
+            mockHttpResponse(200, responseJson);
 
-                service.searchCities("test");
+            service.searchCities("test");
 
-                verify(cityLookupService, never()).addCity(anyString(), any());
-            }
+            verify(cityLookupService, never()).addCity(anyString(), any());
         }
 
         @Test
@@ -518,13 +480,11 @@ class GeoapifyCitySearchServiceTest {
                 }
                 """;
 
-            try (MockedStatic<HttpClient> httpClientStatic = mockStatic(HttpClient.class)) {
-                mockHttpResponse(httpClientStatic, 200, responseJson);
+            mockHttpResponse(200, responseJson);
 
-                service.searchCities("test");
+            service.searchCities("test");
 
-                verify(cityLookupService, never()).addCity(anyString(), any());
-            }
+            verify(cityLookupService, never()).addCity(anyString(), any());
         }
 
         @Test
@@ -544,15 +504,13 @@ class GeoapifyCitySearchServiceTest {
                 }
                 """;
 
-            try (MockedStatic<HttpClient> httpClientStatic = mockStatic(HttpClient.class)) {
-                mockHttpResponse(httpClientStatic, 200, responseJson);
+            mockHttpResponse(200, responseJson);
 
-                service.searchCities("Mumbai");
+            service.searchCities("Mumbai");
 
-                verify(cityLookupService).addCity(eq("Mumbai"), argThat(info ->
-                        "in".equals(info.getCountryCode())
-                ));
-            }
+            verify(cityLookupService).addCity(eq("Mumbai"), argThat(info ->
+                    "in".equals(info.getCountryCode())
+            ));
         }
 
         @Test
@@ -570,13 +528,11 @@ class GeoapifyCitySearchServiceTest {
                 }
                 """;
 
-            try (MockedStatic<HttpClient> httpClientStatic = mockStatic(HttpClient.class)) {
-                mockHttpResponse(httpClientStatic, 200, responseJson);
+            mockHttpResponse(200, responseJson);
 
-                service.searchCities("Tokyo");
+            service.searchCities("Tokyo");
 
-                verify(cityLookupService, never()).addCity(anyString(), any());
-            }
+            verify(cityLookupService, never()).addCity(anyString(), any());
         }
 
         @Test
@@ -593,17 +549,15 @@ class GeoapifyCitySearchServiceTest {
                 }
                 """;
 
-            try (MockedStatic<HttpClient> httpClientStatic = mockStatic(HttpClient.class)) {
-                mockHttpResponse(httpClientStatic, 200, responseJson);
+            mockHttpResponse(200, responseJson);
 
-                service.searchCities("test");
+            service.searchCities("test");
 
-                verify(cityLookupService).addCity(eq("TestCity"), argThat(info ->
-                        "us".equals(info.getCountryCode()) &&
-                        info.getLatitude() == 0 &&
-                        info.getLongitude() == 0
-                ));
-            }
+            verify(cityLookupService).addCity(eq("TestCity"), argThat(info ->
+                    "us".equals(info.getCountryCode()) &&
+                    info.getLatitude() == 0 &&
+                    info.getLongitude() == 0
+            ));
         }
 
         @Test
@@ -620,16 +574,14 @@ class GeoapifyCitySearchServiceTest {
                 }
                 """;
 
-            try (MockedStatic<HttpClient> httpClientStatic = mockStatic(HttpClient.class)) {
-                mockHttpResponse(httpClientStatic, 200, responseJson);
+            mockHttpResponse(200, responseJson);
 
-                service.searchCities("test");
+            service.searchCities("test");
 
-                verify(cityLookupService).addCity(eq("Delhi"), argThat(info ->
-                        "in".equals(info.getCountryCode()) &&
-                        info.getLatitude() == 28.6139
-                ));
-            }
+            verify(cityLookupService).addCity(eq("Delhi"), argThat(info ->
+                    "in".equals(info.getCountryCode()) &&
+                    info.getLatitude() == 28.6139
+            ));
         }
 
         @Test
@@ -647,16 +599,14 @@ class GeoapifyCitySearchServiceTest {
                 }
                 """;
 
-            try (MockedStatic<HttpClient> httpClientStatic = mockStatic(HttpClient.class)) {
-                mockHttpResponse(httpClientStatic, 200, responseJson);
+            mockHttpResponse(200, responseJson);
 
-                service.searchCities("test");
+            service.searchCities("test");
 
-                verify(cityLookupService).addCity(eq("Cairo"), argThat(info ->
-                        "eg".equals(info.getCountryCode()) &&
-                        info.getTimezone() == null
-                ));
-            }
+            verify(cityLookupService).addCity(eq("Cairo"), argThat(info ->
+                    "eg".equals(info.getCountryCode()) &&
+                    info.getTimezone() == null
+            ));
         }
 
         @Test
@@ -677,16 +627,14 @@ class GeoapifyCitySearchServiceTest {
                 }
                 """;
 
-            try (MockedStatic<HttpClient> httpClientStatic = mockStatic(HttpClient.class)) {
-                mockHttpResponse(httpClientStatic, 200, responseJson);
+            mockHttpResponse(200, responseJson);
 
-                List<String> result = service.searchCities("San");
+            List<String> result = service.searchCities("San");
 
-                assertEquals(2, result.size());
-                // San Francisco should be cached (new), San Diego should NOT be updated (already has country code)
-                verify(cityLookupService).addCity(eq("San Francisco"), any());
-                verify(cityLookupService, never()).addCity(eq("San Diego"), any());
-            }
+            assertEquals(2, result.size());
+            // San Francisco should be cached (new), San Diego should NOT be updated (already has country code)
+            verify(cityLookupService).addCity(eq("San Francisco"), any());
+            verify(cityLookupService, never()).addCity(eq("San Diego"), any());
         }
     }
 }
@@ -5,6 +5,7 @@ import com.sankalpam.model.CityGeoInfo;
 import com.sankalpam.model.Coordinates;
 import com.sankalpam.service.CityLookupService;
 import com.sankalpam.service.GeoapifyRateLimiter;
+import com.sankalpam.service.upstream.UpstreamHttpClient;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -31,11 +32,14 @@ class GeoapifyGeoLocationServiceTest {
     @Mock
     private GeoapifyRateLimiter rateLimiter;
 
+    @Mock
+    private UpstreamHttpClient upstreamHttpClient;
+
     private GeoapifyGeoLocationService service;
 
     @BeforeEach
     void setUp() {
-        service = new GeoapifyGeoLocationService(geoSearchApiProperties, cityLookupService, rateLimiter);
+        service = new GeoapifyGeoLocationService(geoSearchApiProperties, cityLookupService, rateLimiter, upstreamHttpClient);
     }
 
     // ── getGeoInfo: cache hit ──
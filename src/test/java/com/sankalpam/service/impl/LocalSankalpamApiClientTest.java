@@ -0,0 +1,96 @@
+package com.sankalpam.service.impl;
+
+import com.sankalpam.config.PanchangaEngineProperties;
+import com.sankalpam.model.Coordinates;
+import com.sankalpam.model.SankalpamFinder;
+import com.sankalpam.service.panchanga.PanchangaEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LocalSankalpamApiClient Tests")
+class LocalSankalpamApiClientTest {
+
+    private static final Coordinates MUMBAI = new Coordinates(19.0760, 72.8777);
+
+    @Mock
+    private SankalpamApiClientImpl calendarRules;
+
+    private LocalSankalpamApiClient client;
+
+    @BeforeEach
+    void setUp() {
+        when(calendarRules.resolveRequestedInstant(anyString(), anyString(), anyString())).thenCallRealMethod();
+        lenient().when(calendarRules.extractMaasam(any())).thenReturn("Phalgunamu");
+        lenient().when(calendarRules.extractRuthuFromMaasam(any())).thenReturn("Shishira");
+        lenient().when(calendarRules.extractVaaramFromDate(any())).thenReturn("Bhowma");
+        client = new LocalSankalpamApiClient(new PanchangaEngine(new PanchangaEngineProperties()), calendarRules);
+    }
+
+    @Test
+    @DisplayName("Answers from the engine: appspot's recorded tithi, plus nakshatram, pada and rasi at sunrise")
+    void fetchSankalpam_Mumbai_Computed() {
+        SankalpamFinder result = client.fetchSankalpam("Mumbai", MUMBAI, "Asia/Kolkata", "2026-02-24", "18:30");
+
+        assertEquals("Sukla", result.getPaksham());
+        assertEquals("saptamyAm", result.getTithi());
+        assertEquals("kRttikA", result.getNakshatram());
+        assertEquals(3, result.getNakshatramPada());
+        assertEquals("Vrishabha (Taurus)", result.getRasi());
+        assertEquals("aiMdra", result.getYoga());
+        assertEquals("2026-02-24T07:23:45+05:30", result.getYogaEndsAt());
+        assertEquals("vaNija", result.getKarana());
+        // a Tuesday: Rahu Kalam is the seventh eighth of the daytime
+        assertTrue(result.getRahuKalam().start().matches("03:4[6-9]:\\d\\d PM"), result.getRahuKalam().start());
+        assertNotNull(result.getAbhijitMuhurtham());
+        assertTrue(result.getSunrise().matches("07:0[0-3]:\\d\\d AM"), result.getSunrise());
+        assertTrue(result.getSunset().matches("06:4[1-4]:\\d\\d PM"), result.getSunset());
+        assertEquals("Vishvavasu", result.getSamvatsaram());
+        assertEquals("uttarAyaNE", result.getAyanam());
+        assertEquals("Phalgunamu", result.getMasam());
+        assertEquals("Shishira", result.getRuthu());
+        assertEquals("Bhowma", result.getVaasaram());
+        assertEquals("Mumbai", result.getCity());
+    }
+
+    @Test
+    @DisplayName("Before sunrise, Vaaram and the daytime windows follow the previous day, whose sun times are shown")
+    void fetchSankalpam_BeforeSunrise_PreviousDay() {
+        when(calendarRules.extractVaaramFromDate("2026-02-23")).thenReturn("Indu");
+
+        SankalpamFinder early = client.fetchSankalpam("Mumbai", MUMBAI, "Asia/Kolkata", "2026-02-24", "05:00");
+        SankalpamFinder evening = client.fetchSankalpam("Mumbai", MUMBAI, "Asia/Kolkata", "2026-02-23", "18:30");
+
+        assertEquals(evening.getSunrise(), early.getSunrise());
+        assertEquals(evening.getSunset(), early.getSunset());
+        assertEquals("Indu", early.getVaasaram());
+        // a Monday: Rahu Kalam is the second eighth, not Tuesday's seventh
+        assertEquals(evening.getRahuKalam(), early.getRahuKalam());
+        assertTrue(early.getRahuKalam().start().matches("08:(2[7-9]|3[0-1]):\\d\\d AM"), early.getRahuKalam().start());
+        assertEquals(evening.getYamagandam(), early.getYamagandam());
+        assertEquals(evening.getGulikaKalam(), early.getGulikaKalam());
+    }
+
+    @Test
+    @DisplayName("The async variant completes immediately, exceptionally for unparseable input")
+    void fetchSankalpamAsync_CompletesImmediately() {
+        assertEquals("saptamyAm", client.fetchSankalpamAsync("Mumbai", MUMBAI, "Asia/Kolkata", "2026-02-24", "6:30 PM")
+                .getNow(null).getTithi());
+
+        CompletableFuture<SankalpamFinder> invalid =
+                client.fetchSankalpamAsync("Mumbai", MUMBAI, "Asia/Kolkata", "24/02/2026", "18:30");
+        assertTrue(invalid.isCompletedExceptionally());
+    }
+}
@@ -1,23 +1,51 @@
 package com.sankalpam.service.impl;
 
+import com.sankalpam.config.PanchangaEngineProperties;
+import com.sankalpam.exception.PanchangaUnavailableException;
+import com.sankalpam.exception.UpstreamBusyException;
 import com.sankalpam.model.Coordinates;
 import com.sankalpam.model.SankalpamFinder;
+import com.sankalpam.model.TimeWindow;
+import com.sankalpam.service.PanchangaResultCache;
 import com.sankalpam.service.mapping.MappingService;
+import com.sankalpam.service.panchanga.PanchangaEngine;
+import com.sankalpam.service.upstream.BulkheadFullException;
+import com.sankalpam.service.upstream.PayloadCapture;
+import com.sankalpam.service.upstream.Upstream;
+import com.sankalpam.service.upstream.UpstreamHttpClient;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * Unit tests for SankalpamApiClientImpl
@@ -25,14 +53,50 @@ import static org.mockito.Mockito.lenient;
 @ExtendWith(MockitoExtension.class)
 class SankalpamApiClientImplTest {
 
+    /** Trimmed-down findSankalpam RPC body with the fields the parser reads. */
+    static final String SAMPLE_RESPONSE = """
+            <html><body>
+            Sankalpam for Mumbai on 02/24/2026 at 6:30 PM is valid through 07:01:56 AM of following day: <br/>
+            <b>viSvAvasu</b> nAma saMvatsarE, <b>uttarAyaNE</b>, <b>SiSira</b> Rtau, <b>mAGa</b> mAsE,
+            <b>Sukla</b> pakShE, <b>saptamyAm</b> SuBatithau, <b>BaumavAsarE</b>, <b>rOhiNI</b> nakShatrE<br/>
+            Sunrise: <i>07:02:37 AM</i> Sunset: <i>06:43:05 PM</i><br/>
+            </body></html>
+            """;
+
     @Mock
     private MappingService mappingService;
 
+    @Mock
+    private UpstreamHttpClient upstreamHttpClient;
+
+    @Mock
+    private PanchangaResultCache resultCache;
+
+    @Mock
+    private PayloadCapture payloadCapture;
+
+    @Spy
+    private PanchangaEngineProperties engineProperties = new PanchangaEngineProperties();
+
+    @Spy
+    private PanchangaEngine panchangaEngine = new PanchangaEngine(engineProperties);
+
     @InjectMocks
     private SankalpamApiClientImpl apiClient;
 
+    @SuppressWarnings("unchecked")
+    static HttpResponse<String> httpResponse(int statusCode, String body) {
+        HttpResponse<String> response = mock(HttpResponse.class);
+        lenient().when(response.statusCode()).thenReturn(statusCode);
+        lenient().when(response.body()).thenReturn(body);
+        return response;
+    }
+
     @BeforeEach
-    void setUp() {
+    void setUp() throws Exception {
+        HttpResponse<String> ok = httpResponse(200, SAMPLE_RESPONSE);
+        lenient().when(upstreamHttpClient.getAsync(eq(Upstream.PANCHANGA), any())).thenReturn(completedFuture(ok));
+
         // Set up Maasam mappings for date-range-based extraction
         Map<String, Map<String, Object>> maasamMap = new LinkedHashMap<>();
         maasamMap.put("Chaitramu", Map.of("range", "15/03-14/04", "months", List.of(3, 4)));
@@ -97,6 +161,13 @@ class SankalpamApiClientImplTest {
         assertNotNull(result.getNakshatram(), "Nakshatram should not be null");
         assertNotNull(result.getSunrise(), "Sunrise should not be null");
         assertNotNull(result.getSunset(), "Sunset should not be null");
+        // appspot's 07:02:37 AM – 06:43:05 PM on a Tuesday, in eighths
+        assertEquals(new TimeWindow("03:47:58 PM", "05:15:31 PM"), result.getRahuKalam());
+        assertEquals(new TimeWindow("09:57:44 AM", "11:25:17 AM"), result.getYamagandam());
+        assertEquals(new TimeWindow("12:52:51 PM", "02:20:24 PM"), result.getGulikaKalam());
+        assertEquals("aiMdra", result.getYoga());
+        // appspot takes zero-padded MM/dd/yyyy; recordings are keyed on it too
+        verify(upstreamHttpClient).getAsync(eq(Upstream.PANCHANGA), argThat(uri -> uri.getRawQuery().contains("sankalpamdatestr=02%2F24%2F2026&")));
 
         System.out.println("✅ Test passed for Mumbai");
         System.out.println("   Samvatsaram: " + result.getSamvatsaram());
@@ -126,24 +197,20 @@ class SankalpamApiClientImplTest {
     }
 
     @Test
-    @DisplayName("Test fetchSankalpam with invalid coordinates - should use fallback")
-    void testFetchSankalpam_InvalidCoords() {
+    @DisplayName("Test fetchSankalpam with invalid coordinates - upstream error without a known-good result fails")
+    void testFetchSankalpam_InvalidCoords() throws Exception {
         // Arrange
+        HttpResponse<String> error = httpResponse(500, "Internal Server Error");
+        lenient().when(upstreamHttpClient.getAsync(eq(Upstream.PANCHANGA), any())).thenReturn(completedFuture(error));
         String city = "TestCity";
         Coordinates coords = new Coordinates(0.0, 0.0);
         String timezone = "UTC";
         String date = "2026-02-24";
         String time = "12:00";
 
-        // Act
-        SankalpamFinder result = apiClient.fetchSankalpam(city, coords, timezone, date, time);
-
-        // Assert - Should get fallback data, not crash
-        assertNotNull(result, "Result should not be null even with invalid coords");
-        assertEquals(city, result.getCity());
-        assertEquals(date, result.getDate());
-
-        System.out.println("✅ Test passed - fallback data used");
+        // Act & Assert - no made-up data, a clear "unavailable" error instead
+        assertThrows(PanchangaUnavailableException.class,
+                () -> apiClient.fetchSankalpam(city, coords, timezone, date, time));
     }
 
     @Test
@@ -322,4 +389,269 @@ class SankalpamApiClientImplTest {
         // Force re-fetch by creating new instance with empty ruthu map
         assertNull(apiClient.extractRuthuFromMaasam("Unknown"));
     }
+
+    // ── Validity-window cache ──
+
+    @Test
+    @DisplayName("Parsed result is cached until the upstream's valid-through instant")
+    void fetchSankalpam_Success_CachesUntilValidThrough() {
+        Coordinates coords = new Coordinates(19.0760, 72.8777);
+
+        SankalpamFinder result = apiClient.fetchSankalpam("Mumbai", coords, "Asia/Kolkata", "2026-02-24", "18:30");
+
+        assertEquals("2026-02-25T07:01:56+05:30", result.getValidUntil());
+        // the Sun entered Kumbha on 13 February
+        assertEquals("uttarAyaNE", result.getAyanam());
+        assertEquals("Phalgunamu", result.getMasam());
+        assertEquals("Shishira", result.getRuthu());
+        verify(resultCache).put(eq(coords), eq("Asia/Kolkata"), eq("2026-02-24"),
+                eq(Instant.parse("2026-02-24T13:00:00Z")),
+                eq(Instant.parse("2026-02-25T01:31:56Z")),
+                any(SankalpamFinder.class));
+    }
+
+    @Test
+    @DisplayName("validUntil falls back to the computed next sunrise; tithi end is reported when the engine agrees")
+    void fetchSankalpam_ValidUntilSources() {
+        Coordinates coords = new Coordinates(19.0760, 72.8777);
+        HttpResponse<String> response = httpResponse(200,
+                SAMPLE_RESPONSE.replace("is valid through 07:01:56 AM of following day", "is valid"));
+        when(upstreamHttpClient.getAsync(eq(Upstream.PANCHANGA), any())).thenReturn(completedFuture(response));
+
+        SankalpamFinder result = apiClient.fetchSankalpam("Mumbai", coords, "Asia/Kolkata", "2026-02-24", "18:30");
+
+        assertTrue(result.getValidUntil().matches("2026-02-25T07:0[0-3]:\\d\\d\\+05:30"), result.getValidUntil());
+        verify(resultCache).put(eq(coords), eq("Asia/Kolkata"), eq("2026-02-24"),
+                eq(Instant.parse("2026-02-24T13:00:00Z")),
+                eq(OffsetDateTime.parse(result.getValidUntil()).toInstant()),
+                any(SankalpamFinder.class));
+        // saptami, current at sunrise, ends within the first minute or so after it
+        assertTrue(result.getTithiEndsAt().startsWith("2026-02-24T07:0"), result.getTithiEndsAt());
+        assertNull(result.getNakshatramEndsAt(), "appspot's nakshatram differs from the computed one");
+
+        engineProperties.setValidUntil(PanchangaEngineProperties.Source.UPSTREAM);
+        assertNull(apiClient.fetchSankalpam("Mumbai", coords, "Asia/Kolkata", "2026-02-24", "18:30").getValidUntil());
+    }
+
+    @Test
+    @DisplayName("Cache hit is served without calling the upstream")
+    void fetchSankalpam_CacheHit_SkipsUpstream() throws Exception {
+        SankalpamFinder cached = new SankalpamFinder("2026-02-24", "09:00", "mumbai");
+        cached.setTithi("saptamyAm");
+        when(resultCache.get(any(), eq("Asia/Kolkata"), eq("2026-02-24"), any()))
+                .thenReturn(Optional.of(cached));
+
+        SankalpamFinder result = apiClient.fetchSankalpam(
+                "Mumbai", new Coordinates(19.0760, 72.8777), "Asia/Kolkata", "2026-02-24", "18:30");
+
+        assertEquals("saptamyAm", result.getTithi());
+        assertEquals("18:30", result.getTime());
+        assertEquals("Mumbai", result.getCity());
+        verify(upstreamHttpClient, never()).getAsync(any(), any());
+    }
+
+    @Test
+    @DisplayName("Upstream errors are never cached")
+    void fetchSankalpam_UpstreamError_NotCached() throws Exception {
+        HttpResponse<String> error = httpResponse(503, "Service Unavailable");
+        when(upstreamHttpClient.getAsync(eq(Upstream.PANCHANGA), any())).thenReturn(completedFuture(error));
+
+        assertThrows(PanchangaUnavailableException.class, () -> apiClient.fetchSankalpam(
+                "Mumbai", new Coordinates(19.0760, 72.8777), "Asia/Kolkata", "2026-02-24", "18:30"));
+
+        verify(resultCache, never()).put(any(), any(), any(), any(), any(), any());
+        verify(payloadCapture).capture(eq(Upstream.PANCHANGA), any(), eq(503), eq("Service Unavailable"), eq(true));
+    }
+
+    @Test
+    @DisplayName("Payloads are offered for capture as successes, and unparseable ones as failures")
+    void fetchSankalpam_OffersPayloadForCapture() {
+        Coordinates mumbai = new Coordinates(19.0760, 72.8777);
+        apiClient.fetchSankalpam("Mumbai", mumbai, "Asia/Kolkata", "2026-02-24", "18:30");
+        verify(payloadCapture).capture(eq(Upstream.PANCHANGA), any(), eq(200), eq(SAMPLE_RESPONSE), eq(false));
+
+        HttpResponse<String> garbage = httpResponse(200, "<html>maintenance</html>");
+        when(upstreamHttpClient.getAsync(eq(Upstream.PANCHANGA), any())).thenReturn(completedFuture(garbage));
+
+        assertThrows(PanchangaUnavailableException.class,
+                () -> apiClient.fetchSankalpam("Mumbai", mumbai, "Asia/Kolkata", "2026-02-24", "18:30"));
+        verify(payloadCapture).capture(eq(Upstream.PANCHANGA), any(), eq(200), eq("<html>maintenance</html>"), eq(true));
+    }
+
+    @Test
+    @DisplayName("Missing sunrise and sunset are computed in-process by default")
+    void fetchSankalpam_NoSunTimes_FallsBackToComputed() {
+        String body = SAMPLE_RESPONSE.replace("Sunrise: <i>07:02:37 AM</i> Sunset: <i>06:43:05 PM</i>", "");
+        HttpResponse<String> response = httpResponse(200, body);
+        when(upstreamHttpClient.getAsync(eq(Upstream.PANCHANGA), any())).thenReturn(completedFuture(response));
+
+        SankalpamFinder result = apiClient.fetchSankalpam(
+                "Mumbai", new Coordinates(19.0760, 72.8777), "Asia/Kolkata", "2026-02-24", "18:30");
+
+        assertTrue(result.getSunrise().matches("07:0[0-3]:\\d\\d AM"), result.getSunrise());
+        assertTrue(result.getSunset().matches("06:4[1-4]:\\d\\d PM"), result.getSunset());
+        assertEquals("rOhiNI", result.getNakshatram());
+    }
+
+    @Test
+    @DisplayName("Sun-time source UPSTREAM rejects a response without them; COMPUTED ignores appspot's")
+    void fetchSankalpam_SunTimeSources() {
+        Coordinates mumbai = new Coordinates(19.0760, 72.8777);
+        engineProperties.setSunTimes(PanchangaEngineProperties.Source.COMPUTED);
+        SankalpamFinder computed = apiClient.fetchSankalpam("Mumbai", mumbai, "Asia/Kolkata", "2026-02-24", "18:30");
+        assertNotEquals("07:02:37 AM", computed.getSunrise());
+        assertTrue(computed.getSunrise().endsWith(" AM"), computed.getSunrise());
+
+        engineProperties.setSunTimes(PanchangaEngineProperties.Source.UPSTREAM);
+        String body = SAMPLE_RESPONSE.replace("Sunset: <i>06:43:05 PM</i>", "");
+        HttpResponse<String> response = httpResponse(200, body);
+        when(upstreamHttpClient.getAsync(eq(Upstream.PANCHANGA), any())).thenReturn(completedFuture(response));
+        assertThrows(PanchangaUnavailableException.class,
+                () -> apiClient.fetchSankalpam("Mumbai", mumbai, "Asia/Kolkata", "2026-02-24", "18:30"));
+    }
+
+    @Test
+    @DisplayName("Rasi and pada are computed; the nakshatram source picks whose name is shown")
+    void fetchSankalpam_NakshatramSources() {
+        Coordinates mumbai = new Coordinates(19.0760, 72.8777);
+        // at the 07:02 sunrise the Moon is at about 35° sidereal: kRttikA pada 3, in Vrishabha
+        SankalpamFinder fallback = apiClient.fetchSankalpam("Mumbai", mumbai, "Asia/Kolkata", "2026-02-24", "18:30");
+        assertEquals("rOhiNI", fallback.getNakshatram());
+        assertNull(fallback.getNakshatramPada(), "pada of a nakshatram other than the one shown");
+        assertEquals("Vrishabha (Taurus)", fallback.getRasi());
+
+        engineProperties.setNakshatram(PanchangaEngineProperties.Source.COMPUTED);
+        SankalpamFinder computed = apiClient.fetchSankalpam("Mumbai", mumbai, "Asia/Kolkata", "2026-02-24", "18:30");
+        assertEquals("kRttikA", computed.getNakshatram());
+        assertEquals(3, computed.getNakshatramPada());
+        assertEquals("Vrishabha (Taurus)", computed.getRasi());
+
+        engineProperties.setNakshatram(PanchangaEngineProperties.Source.FALLBACK);
+        HttpResponse<String> response = httpResponse(200, SAMPLE_RESPONSE.replace(", <b>rOhiNI</b> nakShatrE", ""));
+        when(upstreamHttpClient.getAsync(eq(Upstream.PANCHANGA), any())).thenReturn(completedFuture(response));
+        SankalpamFinder missing = apiClient.fetchSankalpam("Mumbai", mumbai, "Asia/Kolkata", "2026-02-24", "18:30");
+        assertEquals("kRttikA", missing.getNakshatram());
+        assertEquals(3, missing.getNakshatramPada());
+
+        engineProperties.setNakshatram(PanchangaEngineProperties.Source.UPSTREAM);
+        assertThrows(PanchangaUnavailableException.class,
+                () -> apiClient.fetchSankalpam("Mumbai", mumbai, "Asia/Kolkata", "2026-02-24", "18:30"));
+    }
+
+    @Test
+    @DisplayName("resolveValidThroughInstant handles same-day and following-day forms")
+    void resolveValidThroughInstant_Forms() {
+        assertEquals(Instant.parse("2026-02-24T00:49:49Z"),
+                apiClient.resolveValidThroughInstant("06:19:49 AM", "2026-02-24", "Asia/Kolkata"));
+        assertEquals(Instant.parse("2026-02-25T00:00:12Z"),
+                apiClient.resolveValidThroughInstant("05:30:12 AM of following day", "2026-02-24", "Asia/Kolkata"));
+        assertNull(apiClient.resolveValidThroughInstant("sometime soon", "2026-02-24", "Asia/Kolkata"));
+        assertNull(apiClient.resolveValidThroughInstant(null, "2026-02-24", "Asia/Kolkata"));
+    }
+
+    @Test
+    @DisplayName("resolveRequestedInstant accepts 24h and AM/PM input")
+    void resolveRequestedInstant_Formats() {
+        Instant expected = Instant.parse("2026-02-24T13:00:00Z");
+        assertEquals(expected, apiClient.resolveRequestedInstant("2026-02-24", "18:30", "Asia/Kolkata"));
+        assertEquals(expected, apiClient.resolveRequestedInstant("2026-02-24", "6:30 PM", "Asia/Kolkata"));
+        assertNull(apiClient.resolveRequestedInstant("2026-02-24", "later", "Asia/Kolkata"));
+    }
+
+    // ── Async variant ──
+
+    @Test
+    @DisplayName("fetchSankalpamAsync completes with parsed data without blocking")
+    void fetchSankalpamAsync_ParsesResponse() throws Exception {
+        SankalpamFinder result = apiClient.fetchSankalpamAsync(
+                "Mumbai", new Coordinates(19.0760, 72.8777), "Asia/Kolkata", "2026-02-24", "18:30").get();
+
+        assertEquals("Vishvavasu", result.getSamvatsaram());
+        assertEquals("07:02:37 AM", result.getSunrise());
+    }
+
+    @Test
+    @DisplayName("fetchSankalpamAsync fails with PanchangaUnavailableException when the upstream future fails")
+    void fetchSankalpamAsync_UpstreamFailure_CompletesExceptionally() {
+        when(upstreamHttpClient.getAsync(eq(Upstream.PANCHANGA), any()))
+                .thenReturn(CompletableFuture.failedFuture(new HttpTimeoutException("timed out")));
+
+        CompletableFuture<SankalpamFinder> future = apiClient.fetchSankalpamAsync(
+                "Mumbai", new Coordinates(19.0760, 72.8777), "Asia/Kolkata", "2026-02-24", "18:30");
+
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(PanchangaUnavailableException.class, e.getCause());
+        verify(resultCache, never()).put(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("fetchSankalpamAsync fails with UpstreamBusyException when the bulkhead turns the call away")
+    void fetchSankalpamAsync_BulkheadFull_CompletesWithUpstreamBusy() {
+        when(upstreamHttpClient.getAsync(eq(Upstream.PANCHANGA), any())).thenReturn(CompletableFuture.failedFuture(
+                new BulkheadFullException(Upstream.PANCHANGA, "queue full", Duration.ofSeconds(5))));
+
+        CompletableFuture<SankalpamFinder> future = apiClient.fetchSankalpamAsync(
+                "Mumbai", new Coordinates(19.0760, 72.8777), "Asia/Kolkata", "2026-02-24", "18:30");
+
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        UpstreamBusyException busy = assertInstanceOf(UpstreamBusyException.class, e.getCause());
+        assertEquals(Duration.ofSeconds(5), busy.getRetryAfter());
+    }
+
+    // ── Stale-while-revalidate ──
+
+    private static SankalpamFinder staleFinder() {
+        SankalpamFinder stale = new SankalpamFinder("2026-02-24", "07:00", "Mumbai");
+        stale.setTithi("shashThyAm");
+        stale.setValidUntil("06:19:49 AM");
+        stale.setStale(true);
+        return stale;
+    }
+
+    @Test
+    @DisplayName("Upstream failure serves the last known-good result flagged stale")
+    void fetchSankalpam_UpstreamError_ServesStale() throws Exception {
+        HttpResponse<String> error = httpResponse(500, "Internal Server Error");
+        when(upstreamHttpClient.getAsync(eq(Upstream.PANCHANGA), any())).thenReturn(completedFuture(error));
+        when(resultCache.getStale(any(), eq("Asia/Kolkata"), eq("2026-02-24"))).thenReturn(Optional.of(staleFinder()));
+        lenient().when(resultCache.getStaleAfter()).thenReturn(Duration.ofSeconds(5));
+
+        SankalpamFinder result = apiClient.fetchSankalpam(
+                "Mumbai", new Coordinates(19.0760, 72.8777), "Asia/Kolkata", "2026-02-24", "18:30");
+
+        assertTrue(result.isStale());
+        assertEquals("shashThyAm", result.getTithi());
+        assertEquals("18:30", result.getTime());
+    }
+
+    @Test
+    @DisplayName("Slow upstream serves stale after the budget and still refreshes the cache in the background")
+    void fetchSankalpamAsync_SlowUpstream_ServesStaleThenRefreshes() throws Exception {
+        CompletableFuture<HttpResponse<String>> slow = new CompletableFuture<>();
+        when(upstreamHttpClient.getAsync(eq(Upstream.PANCHANGA), any())).thenReturn(slow);
+        when(resultCache.getStale(any(), eq("Asia/Kolkata"), eq("2026-02-24"))).thenReturn(Optional.of(staleFinder()));
+        when(resultCache.getStaleAfter()).thenReturn(Duration.ofMillis(50));
+
+        SankalpamFinder result = apiClient.fetchSankalpamAsync(
+                "Mumbai", new Coordinates(19.0760, 72.8777), "Asia/Kolkata", "2026-02-24", "18:30").get(5, TimeUnit.SECONDS);
+
+        assertTrue(result.isStale());
+        verify(resultCache, never()).put(any(), any(), any(), any(), any(), any());
+
+        slow.complete(httpResponse(200, SAMPLE_RESPONSE));
+        verify(resultCache).put(any(), eq("Asia/Kolkata"), eq("2026-02-24"), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("A fresh upstream answer within the budget wins over the stale one")
+    void fetchSankalpam_FastUpstream_PrefersFresh() throws Exception {
+        when(resultCache.getStale(any(), eq("Asia/Kolkata"), eq("2026-02-24"))).thenReturn(Optional.of(staleFinder()));
+        lenient().when(resultCache.getStaleAfter()).thenReturn(Duration.ofSeconds(5));
+
+        SankalpamFinder result = apiClient.fetchSankalpam(
+                "Mumbai", new Coordinates(19.0760, 72.8777), "Asia/Kolkata", "2026-02-24", "18:30");
+
+        assertFalse(result.isStale());
+        assertEquals("Vishvavasu", result.getSamvatsaram());
+    }
 }
@@ -15,6 +15,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.concurrent.CompletableFuture;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -75,6 +77,27 @@ class SankalpamServiceImplTest {
         verify(geoService).getGeoInfo("Mumbai");
     }
 
+    @Test
+    @DisplayName("findSankalpamAsync should complete with the finder and its timezone")
+    void findSankalpamAsync_ValidRequest_CompletesWithFinder() throws Exception {
+        SankalpamFinderRequest req = new SankalpamFinderRequest("2026-03-01", "10:00", "Sydney");
+
+        CityGeoInfo geoInfo = new CityGeoInfo(-33.8688, 151.2093, "Australia/Sydney", "au");
+        when(geoService.getGeoInfo("Sydney")).thenReturn(geoInfo);
+
+        SankalpamFinder expected = new SankalpamFinder();
+        expected.setSamvatsaram("viSvAvasu");
+        when(apiClient.fetchSankalpamAsync(eq("Sydney"), any(Coordinates.class),
+                eq("Australia/Sydney"), eq("2026-03-01"), eq("10:00")))
+                .thenReturn(CompletableFuture.completedFuture(expected));
+
+        SankalpamFinder result = service.findSankalpamAsync(req).get();
+
+        assertEquals("viSvAvasu", result.getSamvatsaram());
+        assertEquals("Australia/Sydney", result.getTimezone());
+        verify(apiClient, never()).fetchSankalpam(any(), any(), any(), any(), any());
+    }
+
     // ── submit Tests ──
 
     @Test
@@ -0,0 +1,171 @@
+package com.sankalpam.service.impl;
+
+import com.sankalpam.config.PanchangaEngineProperties;
+import com.sankalpam.config.PanchangaEngineProperties.Engine;
+import com.sankalpam.model.Coordinates;
+import com.sankalpam.model.SankalpamFinder;
+import com.sankalpam.service.SankalpamApiClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ShadowSankalpamApiClient Tests")
+class ShadowSankalpamApiClientTest {
+
+    private static final Coordinates MUMBAI = new Coordinates(19.0760, 72.8777);
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final AtomicInteger localCalls = new AtomicInteger();
+    private final CompletableFuture<SankalpamFinder> upstreamAnswer = new CompletableFuture<>();
+    private volatile SankalpamFinder localAnswer = finder("saptamyAm", "kRttikA", "07:02:37 AM",
+            "2026-02-25T07:01:56+05:30");
+
+    private PanchangaEngineProperties properties;
+    private SimpleMeterRegistry registry;
+    private ShadowSankalpamApiClient client;
+
+    @BeforeEach
+    void setUp() {
+        SankalpamApiClient upstream = new SankalpamApiClient() {
+            @Override
+            public SankalpamFinder fetchSankalpam(String city, Coordinates coords, String timezone, String date, String time) {
+                return fetchSankalpamAsync(city, coords, timezone, date, time).join();
+            }
+
+            @Override
+            public CompletableFuture<SankalpamFinder> fetchSankalpamAsync(String city, Coordinates coords, String timezone,
+                                                                          String date, String time) {
+                upstreamCalls.incrementAndGet();
+                return upstreamAnswer.thenApply(SankalpamFinder::new);
+            }
+        };
+        // completes on the caller's thread, as LocalSankalpamApiClient does
+        SankalpamApiClient local = new SankalpamApiClient() {
+            @Override
+            public SankalpamFinder fetchSankalpam(String city, Coordinates coords, String timezone, String date, String time) {
+                localCalls.incrementAndGet();
+                if (localAnswer == null) {
+                    throw new IllegalStateException("engine failure");
+                }
+                return new SankalpamFinder(localAnswer);
+            }
+
+            @Override
+            public CompletableFuture<SankalpamFinder> fetchSankalpamAsync(String city, Coordinates coords, String timezone,
+                                                                          String date, String time) {
+                return CompletableFuture.completedFuture(fetchSankalpam(city, coords, timezone, date, time));
+            }
+        };
+        properties = new PanchangaEngineProperties();
+        properties.getShadow().setSampleRate(1);
+        properties.getShadow().setMismatchLogSize(2);
+        registry = new SimpleMeterRegistry();
+        client = new ShadowSankalpamApiClient(upstream, local, properties, registry);
+    }
+
+    @Test
+    @DisplayName("Answers from appspot and counts agreement when times differ within the tolerance")
+    void fetchSankalpam_Agreeing_CountsAgreement() {
+        CompletableFuture<SankalpamFinder> result = fetch();
+        assertFalse(result.isDone(), "the caller waits for appspot, not the local engine");
+
+        upstreamAnswer.complete(finder("Saptamyam", "kRttikA", "07:03:10 AM", "2026-02-25T01:31:00Z"));
+
+        assertEquals("Saptamyam", result.join().getTithi());
+        awaitComparison();
+        assertEquals(1L, client.comparisonCounts().get("agreed"));
+        assertTrue(client.recentMismatches().isEmpty());
+        assertEquals(6, registry.get("panchanga.shadow.fields").tag("outcome", "match").counters().size());
+        assertEquals(1, registry.get("panchanga.shadow.latency").tag("engine", "local").timer().count());
+    }
+
+    @Test
+    @DisplayName("Records each diverging field and keeps only the most recent mismatches")
+    void fetchSankalpam_Diverging_RecordsBoundedMismatches() {
+        upstreamAnswer.complete(finder("ashTamyAm", "rOhiNI", "07:10:00 AM", "2026-02-25T07:01:56+05:30"));
+
+        fetch().join();
+        awaitComparison();
+
+        assertEquals(1L, client.comparisonCounts().get("diverged"));
+        assertEquals(1L, client.mismatchCounts().get("tithi"));
+        assertEquals(1L, client.mismatchCounts().get("nakshatram"));
+        assertEquals(1L, client.mismatchCounts().get("sunrise"));
+        assertEquals(0L, client.mismatchCounts().get("validUntil"));
+        List<ShadowSankalpamApiClient.Mismatch> recent = client.recentMismatches();
+        assertEquals(2, recent.size(), "the log is bounded by mismatch-log-size");
+        assertEquals(List.of("nakshatram", "sunrise"), recent.stream().map(ShadowSankalpamApiClient.Mismatch::field).toList());
+        assertEquals("rOhiNI", recent.get(0).upstream());
+        assertEquals("kRttikA", recent.get(0).local());
+    }
+
+    @Test
+    @DisplayName("A failing shadow never reaches the caller; it is only counted")
+    void fetchSankalpam_ShadowFails_PrimaryUnaffected() {
+        localAnswer = null;
+        upstreamAnswer.complete(finder("saptamyAm", "kRttikA", "07:02:37 AM", null));
+
+        assertEquals("saptamyAm", client.fetchSankalpam("Mumbai", MUMBAI, "Asia/Kolkata", "2026-02-24", "18:30").getTithi());
+        awaitComparison();
+        assertEquals(1L, client.comparisonCounts().get("failed"));
+    }
+
+    @Test
+    @DisplayName("Promoted to local, the engine answers and appspot becomes the shadow; unsampled lookups skip it")
+    void fetchSankalpam_LocalPrimary() {
+        properties.getShadow().setPrimary(Engine.LOCAL);
+        properties.getShadow().setSampleRate(0);
+
+        assertEquals("saptamyAm", fetch().getNow(null).getTithi());
+        assertEquals(0, upstreamCalls.get());
+
+        properties.getShadow().setSampleRate(1);
+        CompletableFuture<SankalpamFinder> sampled = fetch();
+        assertTrue(sampled.isDone(), "the local answer does not wait for appspot");
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(2, localCalls.get());
+    }
+
+    @Test
+    @DisplayName("Clock times and instants agree within the tolerance, across midnight and offsets")
+    void agreementRules() {
+        Duration tolerance = Duration.ofMinutes(2);
+        assertTrue(ShadowSankalpamApiClient.sameClockTime("11:59:30 PM", "00:00:40", tolerance));
+        assertFalse(ShadowSankalpamApiClient.sameClockTime("07:02:37 AM", "07:05:00 AM", tolerance));
+        assertTrue(ShadowSankalpamApiClient.sameInstant("2026-02-25T07:01:56+05:30", "2026-02-25T01:32:30Z", tolerance));
+        assertFalse(ShadowSankalpamApiClient.sameInstant("2026-02-25T07:01:56+05:30", null, tolerance));
+        assertTrue(ShadowSankalpamApiClient.sameName(" Sukla", "sukla", tolerance));
+    }
+
+    private CompletableFuture<SankalpamFinder> fetch() {
+        return client.fetchSankalpamAsync("Mumbai", MUMBAI, "Asia/Kolkata", "2026-02-24", "18:30");
+    }
+
+    /** The comparison runs on whichever thread completes last; here that is the test thread, but be lenient. */
+    private void awaitComparison() {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (client.comparisonCounts().values().stream().mapToLong(Long::longValue).sum() == 0
+                && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static SankalpamFinder finder(String tithi, String nakshatram, String sunrise, String validUntil) {
+        SankalpamFinder finder = new SankalpamFinder("2026-02-24", "18:30", "Mumbai");
+        finder.setPaksham("Sukla");
+        finder.setTithi(tithi);
+        finder.setNakshatram(nakshatram);
+        finder.setSunrise(sunrise);
+        finder.setSunset("06:43:05 PM");
+        finder.setValidUntil(validUntil);
+        return finder;
+    }
+}
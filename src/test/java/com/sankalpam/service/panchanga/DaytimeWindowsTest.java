@@ -0,0 +1,40 @@
+package com.sankalpam.service.panchanga;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DaytimeWindows Tests")
+class DaytimeWindowsTest {
+
+    private static final LocalTime SUNRISE = LocalTime.of(6, 0);
+    private static final LocalTime SUNSET = LocalTime.of(18, 0);
+
+    @Test
+    @DisplayName("A 12-hour day: 90-minute eighths chosen by weekday, Abhijit 48 minutes around noon")
+    void of_TwelveHourDay() {
+        DaytimeWindows monday = DaytimeWindows.of(DayOfWeek.MONDAY, SUNRISE, SUNSET);
+
+        assertEquals(new DaytimeWindows.Window(LocalTime.of(7, 30), LocalTime.of(9, 0)), monday.rahuKalam());
+        assertEquals(new DaytimeWindows.Window(LocalTime.of(10, 30), LocalTime.of(12, 0)), monday.yamagandam());
+        assertEquals(new DaytimeWindows.Window(LocalTime.of(13, 30), LocalTime.of(15, 0)), monday.gulikaKalam());
+        assertEquals(new DaytimeWindows.Window(LocalTime.of(11, 36), LocalTime.of(12, 24)), monday.abhijit());
+
+        DaytimeWindows sunday = DaytimeWindows.of(DayOfWeek.SUNDAY, SUNRISE, SUNSET);
+        assertEquals(new DaytimeWindows.Window(LocalTime.of(16, 30), LocalTime.of(18, 0)), sunday.rahuKalam());
+        assertEquals(LocalTime.of(6, 0), DaytimeWindows.of(DayOfWeek.SATURDAY, SUNRISE, SUNSET).gulikaKalam().start());
+    }
+
+    @Test
+    @DisplayName("No Abhijit on Wednesdays, and no windows without a sunrise and a later sunset")
+    void of_Exceptions() {
+        assertNull(DaytimeWindows.of(DayOfWeek.WEDNESDAY, SUNRISE, SUNSET).abhijit());
+        assertNotNull(DaytimeWindows.of(DayOfWeek.WEDNESDAY, SUNRISE, SUNSET).rahuKalam());
+        assertNull(DaytimeWindows.of(DayOfWeek.MONDAY, null, SUNSET));
+        assertNull(DaytimeWindows.of(DayOfWeek.MONDAY, SUNSET, SUNRISE));
+    }
+}
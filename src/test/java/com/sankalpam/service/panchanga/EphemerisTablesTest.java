@@ -0,0 +1,80 @@
+package com.sankalpam.service.panchanga;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@DisplayName("EphemerisTables Tests")
+class EphemerisTablesTest {
+
+    /** 0.01″: a hundredth of a second of Moon motion, far inside the theory's own ~10″. */
+    private static final double BOUND = 0.01 / 3600;
+
+    @Test
+    @DisplayName("A generated table maps back and matches the theory within its recorded error")
+    void generatedTable_MatchesTheory(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("chebyshev.bin");
+        EphemerisTableGenerator.write(file, LocalDate.of(2026, 1, 1), LocalDate.of(2027, 1, 1));
+        EphemerisTables tables = EphemerisTables.map(file);
+
+        assertEquals(Instant.parse("2026-01-01T00:00:00Z"), tables.from());
+        assertFalse(tables.until().isBefore(Instant.parse("2027-01-01T00:00:00Z")));
+        assertTrue(tables.maxError(true) < BOUND, "moon " + tables.maxError(true) * 3600 + "″");
+        assertTrue(tables.maxError(false) < BOUND, "sun " + tables.maxError(false) * 3600 + "″");
+        assertSampledWithin(tables, 2000);
+
+        assertTrue(Double.isNaN(tables.longitude(true, Instant.parse("2025-12-31T23:59:59Z"))));
+        assertTrue(Double.isNaN(tables.longitude(true, tables.until())), "the shorter (Moon) series ends at until()");
+    }
+
+    @Test
+    @DisplayName("The table built for the classpath covers 1900–2100 within 0.01″")
+    void bundledTable_Covers1900To2100() {
+        EphemerisTables tables = EphemerisTables.shared();
+        assumeTrue(tables != null, "run after process-classes, which generates the table");
+
+        assertEquals(Instant.parse("1900-01-01T00:00:00Z"), tables.from());
+        assertFalse(tables.until().isBefore(Instant.parse("2101-01-01T00:00:00Z")));
+        assertTrue(tables.maxError(true) < BOUND, "moon " + tables.maxError(true) * 3600 + "″");
+        assertTrue(tables.maxError(false) < BOUND, "sun " + tables.maxError(false) * 3600 + "″");
+        assertSampledWithin(tables, 5000);
+
+        Instant at = Instant.parse("2026-02-24T01:32:00Z");
+        assertEquals(Ephemeris.elongation(at), EphemerisTables.elongation(at), BOUND * 2);
+        assertEquals(Ephemeris.yogaLongitude(at), EphemerisTables.yogaLongitude(at), BOUND * 2);
+    }
+
+    @Test
+    @DisplayName("Outside the tables the full theory answers")
+    void outsideTables_FallsBackToTheory() {
+        Instant at = Instant.parse("1850-06-01T00:00:00Z");
+        assertEquals(Ephemeris.siderealMoonLongitude(at), EphemerisTables.siderealMoonLongitude(at));
+        assertEquals(Ephemeris.siderealSunLongitude(at), EphemerisTables.siderealSunLongitude(at));
+    }
+
+    /** Random instants across the table: never worse than the error recorded at generation. */
+    private static void assertSampledWithin(EphemerisTables tables, int samples) {
+        Random random = new Random(42);
+        long from = tables.from().getEpochSecond();
+        long span = tables.until().getEpochSecond() - from;
+        for (int i = 0; i < samples; i++) {
+            Instant at = Instant.ofEpochSecond(from + (long) (random.nextDouble() * span));
+            assertWithin(tables.maxError(true), Ephemeris.siderealMoonLongitude(at), tables.longitude(true, at), at);
+            assertWithin(tables.maxError(false), Ephemeris.siderealSunLongitude(at), tables.longitude(false, at), at);
+        }
+    }
+
+    private static void assertWithin(double recorded, double expected, double actual, Instant at) {
+        double d = Math.abs(expected - actual);
+        double error = Math.min(d, 360 - d);
+        assertTrue(error <= Math.max(recorded * 1.5, 1e-9), at + ": " + error * 3600 + "″");
+    }
+}
@@ -0,0 +1,106 @@
+package com.sankalpam.service.panchanga;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Ephemeris Tests")
+class EphemerisTest {
+
+    private static final double ONE_ARCSEC = 1.0 / 3600.0;
+
+    /** Signed difference a − b folded into (−180, 180]. */
+    private static double angle(double a, double b) {
+        double d = SolarCalculator.normalize(a - b);
+        return d > 180 ? d - 360 : d;
+    }
+
+    @Test
+    @DisplayName("Sun longitude matches Meeus example 25.b (1992 Oct 13.0 TD) to an arc-second")
+    void sunLongitude_MeeusExample() {
+        // λ = 199°54′21.818″
+        assertEquals(0, angle(Ephemeris.sunLongitudeTT(2448908.5), 199.906060), ONE_ARCSEC);
+    }
+
+    @Test
+    @DisplayName("Moon longitude matches Meeus example 47.a (1992 Apr 12.0 TD) to an arc-second")
+    void moonLongitude_MeeusExample() {
+        // λ = 133.162655° + Δψ 0.004610°
+        assertEquals(0, angle(Ephemeris.moonLongitudeTT(2448724.5), 133.167265), ONE_ARCSEC);
+    }
+
+    @Test
+    @DisplayName("Elongation is zero at new moon and 180° at full moon")
+    void elongation_Syzygies() {
+        // published to the minute, in which the elongation changes by about 30″
+        assertEquals(0, angle(Ephemeris.elongation(Instant.parse("2024-04-08T18:21:00Z")), 0), 30 * ONE_ARCSEC);
+        assertEquals(0, angle(Ephemeris.elongation(Instant.parse("2024-04-23T23:49:00Z")), 180), 30 * ONE_ARCSEC);
+        assertEquals(0, angle(Ephemeris.elongation(Instant.parse("2026-02-17T12:01:00Z")), 0), 30 * ONE_ARCSEC);
+        assertEquals(0, angle(Ephemeris.elongation(Instant.parse("1900-01-01T13:52:00Z")), 0), 0.05);
+    }
+
+    @Test
+    @DisplayName("Lahiri ayanamsa is exact at its epoch and tracks precession")
+    void lahiriAyanamsa_EpochAndJ2000() {
+        assertEquals(23.245524743, Ephemeris.lahiriAyanamsa((2435553.5 - SolarCalculator.J2000) / 36525), 1e-9);
+        // 23°51′25.5″ at J2000, about 50.3″ a year
+        assertEquals(23.857092, Ephemeris.lahiriAyanamsa(0), ONE_ARCSEC);
+        assertEquals(50.29 * ONE_ARCSEC, Ephemeris.lahiriAyanamsa(0.01) - Ephemeris.lahiriAyanamsa(0), 0.01 * ONE_ARCSEC);
+    }
+
+    @Test
+    @DisplayName("Sidereal Moon of Meeus example 47.a falls in ASlEShA pada 1, Karka")
+    void siderealMoon_MeeusExample() {
+        // 1992 Apr 12.0 TD, 59 s of ΔT earlier in UT; mean λ 133.162655°
+        Nakshatram moon = Nakshatram.at(Instant.parse("1992-04-11T23:59:01Z"));
+        double expected = 133.162655 - Ephemeris.lahiriAyanamsa((2448724.5 - SolarCalculator.J2000) / 36525);
+        assertEquals(0, angle(moon.siderealLongitude(), expected), 2 * ONE_ARCSEC);
+        assertEquals("ASlEShA", moon.name());
+        assertEquals(1, moon.pada());
+        assertEquals("Karka (Cancer)", moon.rasiName());
+    }
+
+    @Test
+    @DisplayName("Nakshatram, pada and rasi boundaries")
+    void nakshatram_Divisions() {
+        assertEquals(new Nakshatram(1, 1, 1, 0), Nakshatram.of(0));
+        assertEquals("aSvinI", Nakshatram.of(0).name());
+        assertEquals(1, Nakshatram.of(13.33).number());
+        assertEquals(4, Nakshatram.of(13.33).pada());
+        assertEquals("BaraNI", Nakshatram.of(360.0 / 27).name());
+        // kRttikA straddles Mesha and Vrishabha
+        assertEquals("Mesha (Aries)", Nakshatram.of(29.99).rasiName());
+        assertEquals("kRttikA", Nakshatram.of(30).name());
+        assertEquals(2, Nakshatram.of(30).pada());
+        assertEquals("Vrishabha (Taurus)", Nakshatram.of(30).rasiName());
+        assertEquals("rEvatI", Nakshatram.of(359.999).name());
+        assertEquals(4, Nakshatram.of(359.999).pada());
+        assertEquals("Meena (Pisces)", Nakshatram.of(359.999).rasiName());
+    }
+
+    @Test
+    @DisplayName("ΔT is close to observed values")
+    void deltaT_Observed() {
+        assertEquals(-2.7, DeltaT.seconds(1900), 1);
+        assertEquals(63.8, DeltaT.seconds(2000), 1);
+        assertEquals(69.2, DeltaT.seconds(2020), 5);
+    }
+
+    @Test
+    @DisplayName("Tithi numbering, paksham and names follow the elongation")
+    void tithi_FromElongation() {
+        assertEquals(1, Tithi.of(0).number());
+        assertEquals("prathamyAm", Tithi.of(0).name());
+        assertEquals("saptamyAm", Tithi.of(83.99).name());
+        assertEquals("aShTamyAm", Tithi.of(84.0).name());
+        assertEquals("pUrNimAyAm", Tithi.of(179.9).name());
+        assertEquals("Sukla", Tithi.of(179.9).paksham());
+        assertEquals("prathamyAm", Tithi.of(180).name());
+        assertEquals("kRShNa", Tithi.of(180).paksham());
+        assertEquals("amAvAsyAyAm", Tithi.of(359.99).name());
+        assertEquals(30, Tithi.of(359.99).number());
+    }
+}
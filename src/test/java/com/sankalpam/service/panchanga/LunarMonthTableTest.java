@@ -0,0 +1,84 @@
+package com.sankalpam.service.panchanga;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LunarMonthTable Tests")
+class LunarMonthTableTest {
+
+    @Test
+    @DisplayName("2026 has thirteen new moons and an Adhika Jyeshtha from 16 May to 15 June")
+    void year_AdhikaJyeshtha2026() {
+        List<LunarMonth> year = LunarMonthTable.year(2026);
+
+        assertEquals(12, year.size(), "the 13th month of 2026 opened in December 2025");
+        int[] maasams = {11, 12, 1, 2, 3, 3, 4, 5, 6, 7, 8, 9};
+        for (int i = 0; i < year.size(); i++) {
+            assertEquals(maasams[i], year.get(i).maasam(), "month " + i);
+            assertEquals(i == 4, year.get(i).adhika(), "month " + i);
+            if (i > 0) {
+                assertEquals(year.get(i - 1).ends(), year.get(i).began());
+            }
+        }
+        // published new moon: 17 February 2026, 12:01 UT
+        Instant phalguna = year.get(1).began();
+        assertTrue(Duration.between(Instant.parse("2026-02-17T12:01:00Z"), phalguna).abs().toMinutes() <= 2, phalguna.toString());
+    }
+
+    @Test
+    @DisplayName("Adhika months fall where the calendars put them in 2023 and 2029")
+    void year_OtherAdhikaMonths() {
+        assertEquals(List.of(5), adhika(LunarMonthTable.year(2023)), "Adhika Sravana");
+        assertEquals(List.of(1), adhika(LunarMonthTable.year(2029)), "Adhika Chaitra");
+        assertEquals(List.of(), adhika(LunarMonthTable.year(2027)));
+    }
+
+    @Test
+    @DisplayName("Lookups switch month exactly at the new moon and carry across the year end")
+    void at_SwitchesAtNewMoon() {
+        LunarMonth chaitra = LunarMonthTable.year(2026).get(2);
+
+        assertEquals(12, LunarMonth.at(chaitra.began().minusSeconds(1)).maasam());
+        assertEquals(chaitra, LunarMonth.at(chaitra.began()));
+        assertEquals(chaitra, LunarMonth.at(chaitra.ends().minusSeconds(1)));
+        assertEquals(1, chaitra.ruthu(), "Vasantha");
+
+        LunarMonth pushya = LunarMonth.at(Instant.parse("2026-01-01T00:00:00Z"));
+        assertEquals(10, pushya.maasam());
+        assertEquals(LunarMonthTable.year(2025).get(LunarMonthTable.year(2025).size() - 1), pushya);
+        assertEquals(LunarMonthTable.year(2026).get(0).began(), pushya.ends());
+    }
+
+    @Test
+    @DisplayName("Samvatsaram changes at Ugadi: Vishvavasu until 19 March 2026, then Parabhava")
+    void samvatsaram_ChangesAtUgadi() {
+        Instant ugadi = LunarMonthTable.ugadi(2026);
+        assertEquals(LunarMonthTable.year(2026).get(2).began(), ugadi);
+
+        Samvatsaram vishvavasu = Samvatsaram.at(ugadi.minusSeconds(1));
+        assertEquals(39, vishvavasu.number());
+        assertEquals("Vishvavasu", vishvavasu.name());
+        assertEquals(ugadi, vishvavasu.ends());
+        assertEquals(LunarMonthTable.ugadi(2025), vishvavasu.began());
+
+        Samvatsaram parabhava = Samvatsaram.at(ugadi);
+        assertEquals("Parabhava", parabhava.name());
+        assertEquals(LunarMonthTable.ugadi(2027), parabhava.ends());
+
+        assertEquals("Krodhi", Samvatsaram.at(Instant.parse("2024-06-01T00:00:00Z")).name());
+        assertEquals("Akshaya", Samvatsaram.at(Instant.parse("2046-06-01T00:00:00Z")).name());
+        assertEquals("Prabhava", Samvatsaram.at(Instant.parse("2047-06-01T00:00:00Z")).name());
+        // the year begins with the Adhika Chaitra
+        assertEquals(LunarMonthTable.year(2029).get(2).began(), LunarMonthTable.ugadi(2029));
+    }
+
+    private static List<Integer> adhika(List<LunarMonth> year) {
+        return year.stream().filter(LunarMonth::adhika).map(LunarMonth::maasam).toList();
+    }
+}
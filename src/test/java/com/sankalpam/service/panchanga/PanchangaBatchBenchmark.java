@@ -0,0 +1,83 @@
+package com.sankalpam.service.panchanga;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tithi, nakshatram and both longitudes for 1000 consecutive days: {@link PanchangaBatch} on
+ * SIMD lanes and on its scalar kernel, against the per-call path the engine uses for a single
+ * lookup ({@link Tithi#at}, {@link Nakshatram#at}) and against the full theory.
+ *
+ * Run with:
+ * <pre>
+ *   mvn -Dfrontend.skip=true test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.sankalpam.service.panchanga.PanchangaBatchBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class PanchangaBatchBenchmark {
+
+    private final long[] seconds = new long[1000];
+    private final Instant[] instants = new Instant[seconds.length];
+
+    public PanchangaBatchBenchmark() {
+        long start = Instant.parse("2026-01-01T01:30:00Z").getEpochSecond();
+        for (int i = 0; i < seconds.length; i++) {
+            seconds[i] = start + i * 86400L;
+            instants[i] = Instant.ofEpochSecond(seconds[i]);
+        }
+    }
+
+    @Benchmark
+    public PanchangaBatch.Result batch() {
+        return PanchangaBatch.at(seconds);
+    }
+
+    @Benchmark
+    public PanchangaBatch.Result batchScalar() {
+        return PanchangaBatch.evaluate(seconds, PanchangaBatch.SCALAR);
+    }
+
+    @Benchmark
+    public void perCall(Blackhole blackhole) {
+        for (Instant at : instants) {
+            blackhole.consume(Tithi.at(at));
+            blackhole.consume(Nakshatram.at(at));
+            blackhole.consume(EphemerisTables.siderealSunLongitude(at));
+        }
+    }
+
+    @Benchmark
+    public void perCallTheory(Blackhole blackhole) {
+        for (Instant at : instants) {
+            blackhole.consume(Tithi.of(Ephemeris.elongation(at)));
+            blackhole.consume(Nakshatram.of(Ephemeris.siderealMoonLongitude(at)));
+            blackhole.consume(Ephemeris.siderealSunLongitude(at));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PanchangaBatchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
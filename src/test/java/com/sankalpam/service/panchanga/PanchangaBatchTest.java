@@ -0,0 +1,84 @@
+package com.sankalpam.service.panchanga;
+
+import com.sankalpam.config.PanchangaEngineProperties;
+import com.sankalpam.model.Coordinates;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@DisplayName("PanchangaBatch Tests")
+class PanchangaBatchTest {
+
+    private final PanchangaEngine engine = new PanchangaEngine(new PanchangaEngineProperties());
+
+    @Test
+    @DisplayName("A year of Mumbai sunrises matches the per-call tithi, nakshatram and longitudes")
+    void yearOfSunrises_MatchesPerCall() {
+        long[] sunrises = engine.sunrises(new Coordinates(19.0760, 72.8777), ZoneId.of("Asia/Kolkata"),
+                LocalDate.of(2026, 1, 1), 365);
+        PanchangaBatch.Result batch = PanchangaBatch.at(sunrises);
+
+        assertEquals(365, batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            Instant at = Instant.ofEpochSecond(sunrises[i]);
+            assertEquals(Tithi.at(at).number(), batch.tithi()[i], at.toString());
+            assertEquals(Nakshatram.at(at).number(), batch.nakshatram()[i], at.toString());
+            assertEquals(EphemerisTables.siderealSunLongitude(at), batch.sunLongitude()[i], 1e-9);
+            assertEquals(EphemerisTables.siderealMoonLongitude(at), batch.moonLongitude()[i], 1e-9);
+        }
+        // 24 February 2026: Sukla saptami, kRttikA at sunrise
+        assertEquals(7, batch.tithi()[54]);
+        assertEquals(3, batch.nakshatram()[54]);
+    }
+
+    @Test
+    @DisplayName("Instants at a location are reckoned as PanchangaEngine.compute reckons them, before sunrise included")
+    void batchAtLocation_MatchesCompute() {
+        Coordinates mumbai = new Coordinates(19.0760, 72.8777);
+        ZoneId ist = ZoneId.of("Asia/Kolkata");
+        Instant[] instants = new Instant[48];
+        for (int i = 0; i < instants.length; i++) {
+            instants[i] = Instant.parse("2026-02-23T20:15:00Z").plusSeconds(i * 7 * 3600L);
+        }
+
+        PanchangaBatch.Result batch = engine.batch(mumbai, ist, instants);
+
+        for (int i = 0; i < instants.length; i++) {
+            PanchangaEngine.Panchanga single = engine.compute(mumbai, ist, instants[i].atZone(ist));
+            assertEquals(single.reckonedAt().getEpochSecond(), batch.epochSeconds()[i], instants[i].toString());
+            assertEquals(single.tithi().number(), batch.tithi()[i], instants[i].toString());
+            assertEquals(single.nakshatram().number(), batch.nakshatram()[i], instants[i].toString());
+        }
+        // 05:45 IST on 24 February is before sunrise: still the 23rd's Sukla shashti
+        assertEquals(6, batch.tithi()[0]);
+    }
+
+    @Test
+    @DisplayName("The SIMD kernel gives the scalar kernel's answers, including around lanes outside the tables")
+    void vectorKernel_MatchesScalar() {
+        assumeTrue(PanchangaBatch.vectorized(), "needs --add-modules jdk.incubator.vector");
+        Random random = new Random(7);
+        long[] seconds = new long[1003];
+        for (int i = 0; i < seconds.length; i++) {
+            seconds[i] = Instant.parse("1950-01-01T00:00:00Z").getEpochSecond() + (long) (random.nextDouble() * 3.1e9);
+        }
+        seconds[17] = Instant.parse("1850-01-01T00:00:00Z").getEpochSecond();
+
+        PanchangaBatch.Result vector = PanchangaBatch.at(seconds);
+        PanchangaBatch.Result scalar = PanchangaBatch.evaluate(seconds, PanchangaBatch.SCALAR);
+        for (int i = 0; i < seconds.length; i++) {
+            assertEquals(scalar.sunLongitude()[i], vector.sunLongitude()[i], 1e-9, "instant " + i);
+            assertEquals(scalar.moonLongitude()[i], vector.moonLongitude()[i], 1e-9, "instant " + i);
+            assertEquals(scalar.tithi()[i], vector.tithi()[i], "instant " + i);
+        }
+        Instant outside = Instant.ofEpochSecond(seconds[17]);
+        assertEquals(Ephemeris.siderealMoonLongitude(outside), vector.moonLongitude()[17]);
+    }
+}
@@ -0,0 +1,131 @@
+package com.sankalpam.service.panchanga;
+
+import com.sankalpam.config.PanchangaEngineProperties;
+import com.sankalpam.config.PanchangaEngineProperties.Reckoning;
+import com.sankalpam.model.Coordinates;
+import com.sankalpam.service.panchanga.PanchangaEngine.Panchanga;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PanchangaEngine Tests")
+class PanchangaEngineTest {
+
+    private static final Coordinates MUMBAI = new Coordinates(19.0760, 72.8777);
+    private static final ZoneId IST = ZoneId.of("Asia/Kolkata");
+
+    private final PanchangaEngineProperties properties = new PanchangaEngineProperties();
+    private final PanchangaEngine engine = new PanchangaEngine(properties);
+
+    private static ZonedDateTime ist(String localDateTime) {
+        return LocalDateTime.parse(localDateTime).atZone(IST);
+    }
+
+    @Test
+    @DisplayName("Matches the recorded appspot response: Sukla saptami at the day's sunrise")
+    void compute_Mumbai_MatchesRecordedUpstream() {
+        Panchanga panchanga = engine.compute(MUMBAI, IST, ist("2026-02-24T18:30"));
+
+        assertEquals(LocalDate.of(2026, 2, 24), panchanga.day());
+        assertEquals(panchanga.sunTimes().sunrise().toInstant(), panchanga.reckonedAt());
+        assertEquals("Sukla", panchanga.tithi().paksham());
+        assertEquals("saptamyAm", panchanga.tithi().name());
+        assertEquals("kRttikA", panchanga.nakshatram().name());
+        assertEquals(ist("2026-02-24T15:07:14").toInstant(), panchanga.ends().nakshatram());
+        assertEquals(engine.sunTimes(MUMBAI, IST, LocalDate.of(2026, 2, 25)).sunrise().toInstant().truncatedTo(ChronoUnit.SECONDS),
+                panchanga.validUntil());
+        assertEquals(3, panchanga.nakshatram().pada());
+        assertEquals("Vrishabha (Taurus)", panchanga.nakshatram().rasiName());
+    }
+
+    @Test
+    @DisplayName("Yoga from the Sun + Moon sum and karana from the half-tithi, each with its end")
+    void compute_Mumbai_YogaAndKarana() {
+        Panchanga panchanga = engine.compute(MUMBAI, IST, ist("2026-02-24T18:30"));
+
+        assertEquals("aiMdra", panchanga.yoga().name());
+        assertEquals(ist("2026-02-24T07:23:45").toInstant(), panchanga.ends().yoga());
+        // second half of Sukla saptami, ending with the tithi just after sunrise
+        assertEquals(14, panchanga.karana().number());
+        assertEquals("vaNija", panchanga.karana().name());
+        assertEquals(panchanga.ends().tithi(), panchanga.ends().karana());
+        assertTrue(panchanga.ends().karana().isAfter(panchanga.reckonedAt()));
+    }
+
+    @Test
+    @DisplayName("Karanas: kiMstughna opens the month, seven movable ones recur, three fixed ones close it")
+    void karana_Names() {
+        assertEquals("kiMstughna", Karana.of(0).name());
+        assertEquals("bava", Karana.of(6).name());
+        assertEquals("viShTi", Karana.of(42).name());
+        assertEquals("bava", Karana.of(48).name());
+        assertEquals("viShTi", Karana.of(340).name());
+        assertEquals("Sakuni", Karana.of(342).name());
+        assertEquals("catuShpAda", Karana.of(348).name());
+        assertEquals("nAga", Karana.of(359.99).name());
+        assertEquals("viShkaMBa", Yoga.of(0).name());
+        assertEquals("vaidhRti", Yoga.of(359.99).name());
+    }
+
+    @Test
+    @DisplayName("Under instant reckoning the answer is valid only until the karana ends")
+    void compute_InstantReckoning_BoundedByKarana() {
+        properties.setReckoning(Reckoning.INSTANT);
+
+        Panchanga panchanga = engine.compute(MUMBAI, IST, ist("2026-02-24T15:30"));
+
+        assertFalse(panchanga.validUntil().isAfter(panchanga.ends().karana()));
+        // the first half of ashtami ends at 17:57, before the tithi, nakshatram or yoga
+        assertEquals(panchanga.ends().karana(), panchanga.validUntil());
+    }
+
+    @Test
+    @DisplayName("Instant reckoning evaluates the lunar elements at the requested time")
+    void compute_InstantReckoning() {
+        properties.setReckoning(Reckoning.INSTANT);
+
+        Panchanga panchanga = engine.compute(MUMBAI, IST, ist("2026-02-24T18:30"));
+
+        assertEquals("aShTamyAm", panchanga.tithi().name());
+        // the Moon has crossed from kRttikA (at sunrise) into rOhiNI by the evening
+        assertEquals("rOhiNI", panchanga.nakshatram().name());
+        assertEquals(1, panchanga.nakshatram().pada());
+        // ashtami is the kshaya tithi and ends before the next sunrise, but the yoga ends earlier still
+        assertEquals(panchanga.ends().yoga(), panchanga.validUntil());
+        assertTrue(panchanga.validUntil().isBefore(panchanga.ends().tithi()));
+        assertTrue(panchanga.validUntil().isBefore(engine.sunTimes(MUMBAI, IST, LocalDate.of(2026, 2, 25)).sunrise().toInstant()));
+
+        Panchanga morning = engine.compute(MUMBAI, IST, ist("2026-02-24T09:00"));
+        assertEquals(morning.ends().nakshatram(), morning.validUntil(), "kRttikA ends at 15:07, before the tithi");
+    }
+
+    @Test
+    @DisplayName("A time before sunrise belongs to the previous civil date's Hindu day")
+    void compute_BeforeSunrise_PreviousDay() {
+        Panchanga panchanga = engine.compute(MUMBAI, IST, ist("2026-02-25T05:00"));
+
+        assertEquals(LocalDate.of(2026, 2, 24), panchanga.day());
+        assertEquals("saptamyAm", panchanga.tithi().name());
+        // aShTami begins and ends between the two sunrises (a kShaya tithi), so the 25th's day is navami
+        assertEquals("navamyAm", engine.compute(MUMBAI, IST, ist("2026-02-25T09:00")).tithi().name());
+    }
+
+    @Test
+    @DisplayName("Without a sunrise, the requested instant is used")
+    void compute_PolarDay_UsesInstant() {
+        ZoneId zone = ZoneId.of("Arctic/Longyearbyen");
+        ZonedDateTime requested = LocalDateTime.parse("2024-06-21T12:00").atZone(zone);
+
+        Panchanga panchanga = engine.compute(new Coordinates(78.22, 15.65), zone, requested);
+
+        assertNull(panchanga.sunTimes().sunrise());
+        assertEquals(requested.toInstant(), panchanga.reckonedAt());
+    }
+}
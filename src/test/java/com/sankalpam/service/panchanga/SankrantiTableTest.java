@@ -0,0 +1,65 @@
+package com.sankalpam.service.panchanga;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SankrantiTable Tests")
+class SankrantiTableTest {
+
+    @Test
+    @DisplayName("A year has twelve ingresses in rasi order, 29–32 days apart, Makara on 14 January")
+    void year_TwelveIngressesInOrder() {
+        List<SankrantiTable.Sankranti> year = SankrantiTable.year(2026);
+
+        assertEquals(12, year.size());
+        for (int i = 0; i < 12; i++) {
+            assertEquals((9 + i) % 12 + 1, year.get(i).rasi(), "Makara first, Dhanus last");
+            if (i > 0) {
+                long days = Duration.between(year.get(i - 1).at(), year.get(i).at()).toDays();
+                assertTrue(days >= 29 && days <= 31, "gap " + days);
+            }
+        }
+        // published: 14 January 2026, 15:13 IST
+        Instant makara = year.get(0).at();
+        assertTrue(Duration.between(Instant.parse("2026-01-14T09:43:00Z"), makara).abs().toMinutes() <= 15, makara.toString());
+    }
+
+    @Test
+    @DisplayName("Lookups switch rasi exactly at the ingress and carry across the year end")
+    void lookups_SwitchAtIngress() {
+        Instant meena = SankrantiTable.year(2026).get(2).at();
+
+        assertEquals(11, SankrantiTable.rasiAt(meena.minusSeconds(1)));
+        assertEquals(12, SankrantiTable.rasiAt(meena));
+        assertEquals(meena, SankrantiTable.previous(meena.plusSeconds(86400)).at());
+        assertEquals(meena, SankrantiTable.next(meena.minusSeconds(86400)).at());
+
+        assertEquals(9, SankrantiTable.rasiAt(Instant.parse("2026-01-01T00:00:00Z")));
+        assertEquals(SankrantiTable.year(2025).get(11), SankrantiTable.previous(Instant.parse("2026-01-01T00:00:00Z")));
+        assertEquals(SankrantiTable.year(2027).get(0), SankrantiTable.next(Instant.parse("2026-12-31T00:00:00Z")));
+    }
+
+    @Test
+    @DisplayName("The Sun's rasi fixes maasam, ruthu and ayanam")
+    void solarMonth_MaasamRuthuAyanam() {
+        SolarMonth kumbha = SolarMonth.at(Instant.parse("2026-02-24T01:32:00Z"));
+        assertEquals(11, kumbha.rasi());
+        assertEquals(12, kumbha.maasam(), "Phalguna");
+        assertEquals(6, kumbha.ruthu(), "Shishira");
+        assertEquals("uttarAyaNE", kumbha.ayanam());
+        assertTrue(kumbha.began().isBefore(Instant.parse("2026-02-24T01:32:00Z")));
+
+        SolarMonth meena = new SolarMonth(12, null, null);
+        assertEquals(1, meena.maasam(), "Chaitra");
+        assertEquals(1, meena.ruthu(), "Vasantha");
+        assertEquals("dakshinAyaNE", new SolarMonth(4, null, null).ayanam(), "Karka");
+        assertEquals("dakshinAyaNE", new SolarMonth(9, null, null).ayanam(), "Dhanus");
+        assertEquals("uttarAyaNE", new SolarMonth(10, null, null).ayanam(), "Makara");
+    }
+}
@@ -0,0 +1,83 @@
+package com.sankalpam.service.panchanga;
+
+import com.sankalpam.service.panchanga.SolarCalculator.SunTimes;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SolarCalculator Tests")
+class SolarCalculatorTest {
+
+    private static void assertNear(String expected, ZonedDateTime actual, Duration tolerance) {
+        assertNotNull(actual);
+        long off = Math.abs(Duration.between(LocalTime.parse(expected), actual.toLocalTime()).getSeconds());
+        assertTrue(off <= tolerance.getSeconds(), "expected " + expected + " ± " + tolerance + " but was " + actual);
+    }
+
+    @Test
+    @DisplayName("Matches the sunrise and sunset in the recorded appspot response for Mumbai")
+    void sunTimes_Mumbai_MatchesRecordedUpstream() {
+        // src/test/resources/upstream-recordings: Sunrise 07:02:37 AM, Sunset 06:43:05 PM
+        SunTimes times = SolarCalculator.sunTimes(LocalDate.of(2026, 2, 24), 19.0760, 72.8777, 0, ZoneId.of("Asia/Kolkata"));
+
+        assertNear("07:02:37", times.sunrise(), Duration.ofMinutes(2));
+        assertNear("18:43:05", times.sunset(), Duration.ofMinutes(2));
+    }
+
+    @Test
+    @DisplayName("Matches almanac values across latitudes, hemispheres and daylight saving")
+    void sunTimes_AlmanacValues() {
+        SunTimes newYork = SolarCalculator.sunTimes(LocalDate.of(2024, 6, 20), 40.7128, -74.0060, 0, ZoneId.of("America/New_York"));
+        assertNear("05:25:00", newYork.sunrise(), Duration.ofMinutes(1));
+        assertNear("20:31:00", newYork.sunset(), Duration.ofMinutes(1));
+
+        SunTimes london = SolarCalculator.sunTimes(LocalDate.of(2024, 12, 21), 51.5074, -0.1278, 0, ZoneId.of("Europe/London"));
+        assertNear("08:04:00", london.sunrise(), Duration.ofMinutes(1));
+        assertNear("15:54:00", london.sunset(), Duration.ofMinutes(1));
+
+        SunTimes sydney = SolarCalculator.sunTimes(LocalDate.of(2024, 6, 21), -33.8688, 151.2093, 0, ZoneId.of("Australia/Sydney"));
+        assertNear("07:00:00", sydney.sunrise(), Duration.ofMinutes(1));
+        assertNear("16:54:00", sydney.sunset(), Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("Returns no sunrise or sunset during polar day")
+    void sunTimes_PolarDay_Null() {
+        SunTimes svalbard = SolarCalculator.sunTimes(LocalDate.of(2024, 6, 21), 78.22, 15.65, 0, ZoneId.of("Arctic/Longyearbyen"));
+
+        assertNull(svalbard.sunrise());
+        assertNull(svalbard.sunset());
+    }
+
+    @Test
+    @DisplayName("An elevated observer sees the Sun rise earlier and set later")
+    void sunTimes_Elevation_WidensDay() {
+        ZoneId zone = ZoneId.of("Asia/Kolkata");
+        SunTimes sea = SolarCalculator.sunTimes(LocalDate.of(2026, 2, 24), 19.0760, 72.8777, 0, zone);
+        SunTimes hill = SolarCalculator.sunTimes(LocalDate.of(2026, 2, 24), 19.0760, 72.8777, 500, zone);
+
+        long earlier = Duration.between(hill.sunrise(), sea.sunrise()).getSeconds();
+        long later = Duration.between(sea.sunset(), hill.sunset()).getSeconds();
+        // 500 m dips the horizon by ~0.77°, about three minutes of time at this latitude
+        assertTrue(earlier > 120 && earlier < 300, "sunrise earlier by " + earlier + " s");
+        assertTrue(later > 120 && later < 300, "sunset later by " + later + " s");
+    }
+
+    @Test
+    @DisplayName("Sun position at J2000 matches Meeus")
+    void position_J2000() {
+        SolarCalculator.Position sun = SolarCalculator.position(SolarCalculator.J2000);
+
+        assertEquals(280.37, sun.apparentLongitude(), 0.01);
+        assertEquals(-23.03, sun.declination(), 0.01);
+        assertEquals(Instant.parse("2000-01-01T12:00:00Z"), SolarCalculator.instant(SolarCalculator.J2000));
+    }
+}
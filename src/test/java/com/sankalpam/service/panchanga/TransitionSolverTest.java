@@ -0,0 +1,63 @@
+package com.sankalpam.service.panchanga;
+
+import com.sankalpam.service.panchanga.TransitionSolver.Element;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TransitionSolver Tests")
+class TransitionSolverTest {
+
+    private static void assertWithin(Instant expected, Instant actual, Duration tolerance) {
+        assertTrue(Duration.between(expected, actual).abs().compareTo(tolerance) <= 0,
+                () -> "expected " + expected + " ± " + tolerance + " but was " + actual);
+    }
+
+    @Test
+    @DisplayName("Amavasya ends at the published new moon; purnima at the full moon")
+    void tithiEnd_Syzygies() {
+        assertWithin(Instant.parse("2024-04-08T18:21:00Z"),
+                TransitionSolver.end(Element.TITHI, Instant.parse("2024-04-08T00:00:00Z")), Duration.ofMinutes(1));
+        assertWithin(Instant.parse("2024-04-23T23:49:00Z"),
+                TransitionSolver.end(Element.TITHI, Instant.parse("2024-04-23T06:00:00Z")), Duration.ofMinutes(1));
+        assertWithin(Instant.parse("2026-02-17T12:01:00Z"),
+                TransitionSolver.start(Element.TITHI, Instant.parse("2026-02-18T06:00:00Z")), Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("Every element's angle crosses a boundary between start and end, and nowhere inside")
+    void startAndEnd_BracketTheElement() {
+        Instant at = Instant.parse("2026-02-24T13:00:00Z");
+        for (Element element : Element.values()) {
+            Instant start = TransitionSolver.start(element, at);
+            Instant end = TransitionSolver.end(element, at);
+            assertTrue(start.isBefore(at) && end.isAfter(at), element + " " + start + " .. " + end);
+
+            int index = (int) Math.floor(element.angle(at) / element.span());
+            assertEquals(index, (int) Math.floor(element.angle(start.plusSeconds(2)) / element.span()), element.name());
+            assertEquals(index, (int) Math.floor(element.angle(end.minusSeconds(2)) / element.span()), element.name());
+            if (element.span() < 360) {
+                assertNotEquals(index, (int) Math.floor(element.angle(end.plusSeconds(2)) / element.span()), element.name());
+            } else {
+                // a whole turn: the angle wraps back through zero
+                assertTrue(element.angle(end.plusSeconds(2)) < 1, element.name());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("A karana is the first or second half of its tithi")
+    void karana_HalvesTithi() {
+        Instant at = Instant.parse("2026-02-24T13:00:00Z");
+        Instant tithiStart = TransitionSolver.start(Element.TITHI, at);
+        Instant tithiEnd = TransitionSolver.end(Element.TITHI, at);
+        Instant karanaEnd = TransitionSolver.end(Element.KARANA, tithiStart.plusSeconds(60));
+
+        assertTrue(karanaEnd.isAfter(tithiStart) && karanaEnd.isBefore(tithiEnd));
+        assertEquals(tithiEnd, TransitionSolver.end(Element.KARANA, karanaEnd.plusSeconds(60)));
+    }
+}
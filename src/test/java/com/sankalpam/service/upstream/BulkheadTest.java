@@ -0,0 +1,147 @@
+package com.sankalpam.service.upstream;
+
+import com.sankalpam.config.BulkheadProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Bulkhead Tests")
+class BulkheadTest {
+
+    private BulkheadProperties properties;
+    private final List<String> rejections = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        properties = new BulkheadProperties();
+        properties.setMaxConcurrentCalls(2);
+        properties.setMaxQueuedCalls(1);
+        properties.setMaxWaitDuration(Duration.ofSeconds(5));
+    }
+
+    private Bulkhead newBulkhead() {
+        return new Bulkhead(Upstream.PANCHANGA, properties, rejections::add);
+    }
+
+    @Test
+    @DisplayName("Slots are granted at once up to the concurrency limit")
+    void acquire_BelowLimit_GrantedImmediately() {
+        Bulkhead bulkhead = newBulkhead();
+
+        assertTrue(bulkhead.acquire().isDone());
+        assertTrue(bulkhead.acquire().isDone());
+
+        assertEquals(2, bulkhead.getInFlight());
+        assertEquals(0, bulkhead.getQueued());
+    }
+
+    @Test
+    @DisplayName("A call beyond the limit queues and gets the slot released by another call")
+    void acquire_AtLimit_QueuesUntilRelease() {
+        Bulkhead bulkhead = newBulkhead();
+        bulkhead.acquire();
+        bulkhead.acquire();
+
+        CompletableFuture<Void> queued = bulkhead.acquire();
+        assertFalse(queued.isDone());
+        assertEquals(1, bulkhead.getQueued());
+
+        bulkhead.release();
+
+        assertTrue(queued.isDone());
+        assertFalse(queued.isCompletedExceptionally());
+        assertEquals(2, bulkhead.getInFlight());
+        assertEquals(0, bulkhead.getQueued());
+    }
+
+    @Test
+    @DisplayName("With the queue full, further calls are rejected at once")
+    void acquire_QueueFull_RejectedImmediately() {
+        Bulkhead bulkhead = newBulkhead();
+        bulkhead.acquire();
+        bulkhead.acquire();
+        bulkhead.acquire();
+
+        CompletableFuture<Void> rejected = bulkhead.acquire();
+
+        ExecutionException e = assertThrows(ExecutionException.class, rejected::get);
+        BulkheadFullException full = assertInstanceOf(BulkheadFullException.class, e.getCause());
+        assertEquals(Upstream.PANCHANGA, full.getUpstream());
+        assertEquals(properties.getRetryAfter(), full.getRetryAfter());
+        assertEquals(List.of(Bulkhead.QUEUE_FULL), rejections);
+    }
+
+    @Test
+    @DisplayName("A queued call that waits past the deadline is rejected and leaves the queue")
+    void acquire_WaitExceeded_Rejected() {
+        properties.setMaxWaitDuration(Duration.ofMillis(50));
+        Bulkhead bulkhead = newBulkhead();
+        bulkhead.acquire();
+        bulkhead.acquire();
+
+        CompletableFuture<Void> queued = bulkhead.acquire();
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> queued.get(2, TimeUnit.SECONDS));
+        assertInstanceOf(BulkheadFullException.class, e.getCause());
+        assertEquals(List.of(Bulkhead.WAIT_TIMEOUT), rejections);
+        assertEquals(0, bulkhead.getQueued());
+        assertEquals(2, bulkhead.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Released slots go to waiters in arrival order, and newcomers do not overtake them")
+    void release_HandsSlotToOldestWaiter() {
+        properties.setMaxQueuedCalls(2);
+        Bulkhead bulkhead = newBulkhead();
+        bulkhead.acquire();
+        bulkhead.acquire();
+        CompletableFuture<Void> first = bulkhead.acquire();
+        CompletableFuture<Void> second = bulkhead.acquire();
+
+        bulkhead.release();
+
+        assertTrue(first.isDone());
+        assertFalse(second.isDone());
+        assertFalse(bulkhead.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("A cancelled waiter gives up its place without taking a slot")
+    void cancel_QueuedWaiter_RemovedFromQueue() {
+        Bulkhead bulkhead = newBulkhead();
+        bulkhead.acquire();
+        bulkhead.acquire();
+        CompletableFuture<Void> queued = bulkhead.acquire();
+
+        assertTrue(bulkhead.cancel(queued));
+        assertTrue(queued.isCancelled());
+        assertEquals(0, bulkhead.getQueued());
+
+        bulkhead.release();
+        assertEquals(1, bulkhead.getInFlight());
+        assertFalse(bulkhead.cancel(bulkhead.acquire()));
+    }
+
+    @Test
+    @DisplayName("When disabled, calls are counted but never queued or rejected")
+    void acquire_Disabled_AlwaysGranted() {
+        properties.setEnabled(false);
+        Bulkhead bulkhead = newBulkhead();
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(bulkhead.acquire().isDone());
+        }
+
+        assertEquals(10, bulkhead.getInFlight());
+        assertTrue(rejections.isEmpty());
+    }
+}
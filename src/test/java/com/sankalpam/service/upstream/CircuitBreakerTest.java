@@ -0,0 +1,221 @@
+package com.sankalpam.service.upstream;
+
+import com.sankalpam.config.CircuitBreakerProperties;
+import com.sankalpam.service.upstream.CircuitBreaker.State;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CircuitBreaker Tests")
+class CircuitBreakerTest {
+
+    private static final Duration FAST = Duration.ofMillis(100);
+
+    private final MutableClock clock = new MutableClock();
+    private CircuitBreakerProperties properties;
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CircuitBreakerProperties();
+        properties.setSlidingWindowSize(10);
+        properties.setMinimumNumberOfCalls(4);
+        properties.setFailureRateThreshold(50);
+        properties.setSlowCallRateThreshold(50);
+        properties.setSlowCallDuration(Duration.ofSeconds(2));
+        properties.setWaitDurationInOpenState(Duration.ofSeconds(30));
+        properties.setPermittedCallsInHalfOpenState(2);
+        breaker = new CircuitBreakerRegistry(properties, new SimpleMeterRegistry(), clock).forUpstream(Upstream.PANCHANGA);
+    }
+
+    private void call(Duration elapsed, boolean failed) {
+        long permit = breaker.tryAcquirePermission();
+        assertNotEquals(CircuitBreaker.NOT_PERMITTED, permit, "call should have been permitted");
+        breaker.onResult(permit, elapsed, failed);
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            call(FAST, true);
+        }
+        assertEquals(State.OPEN, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("Stays closed below the minimum number of calls, however many fail")
+    void belowMinimumCalls_StaysClosed() {
+        for (int i = 0; i < 3; i++) {
+            call(FAST, true);
+        }
+
+        assertEquals(State.CLOSED, breaker.getState());
+        assertEquals(-1, breaker.snapshot().failureRate());
+    }
+
+    @Test
+    @DisplayName("Opens when the failure rate reaches the threshold and then rejects calls")
+    void failureRateAtThreshold_Opens() {
+        call(FAST, false);
+        call(FAST, false);
+        call(FAST, true);
+        call(FAST, true);
+
+        assertEquals(State.OPEN, breaker.getState());
+        assertEquals(CircuitBreaker.NOT_PERMITTED, breaker.tryAcquirePermission());
+        assertEquals(1, breaker.snapshot().rejectedCalls());
+    }
+
+    @Test
+    @DisplayName("Opens when the slow-call rate reaches the threshold even if every call succeeded")
+    void slowCallRateAtThreshold_Opens() {
+        call(FAST, false);
+        call(FAST, false);
+        call(Duration.ofSeconds(3), false);
+        call(Duration.ofSeconds(2), false);
+
+        assertEquals(State.OPEN, breaker.getState());
+        assertTrue(breaker.snapshot().recentTransitions().get(0).reason().contains("slow-call rate"));
+    }
+
+    @Test
+    @DisplayName("Old outcomes slide out of the window")
+    void slidingWindow_EvictsOldOutcomes() {
+        properties.setSlidingWindowSize(4);
+        breaker = new CircuitBreakerRegistry(properties, new SimpleMeterRegistry(), clock).forUpstream(Upstream.PANCHANGA);
+        call(FAST, true);
+        call(FAST, false);
+        call(FAST, false);
+        call(FAST, false);
+        call(FAST, false);
+
+        assertEquals(State.CLOSED, breaker.getState());
+        assertEquals(0f, breaker.snapshot().failureRate());
+    }
+
+    @Test
+    @DisplayName("After the wait duration a limited number of probes is let through")
+    void afterWait_HalfOpenWithLimitedProbes() {
+        open();
+        clock.advance(Duration.ofSeconds(29));
+        assertEquals(CircuitBreaker.NOT_PERMITTED, breaker.tryAcquirePermission());
+
+        clock.advance(Duration.ofSeconds(1));
+        assertNotEquals(CircuitBreaker.NOT_PERMITTED, breaker.tryAcquirePermission());
+        assertEquals(State.HALF_OPEN, breaker.getState());
+        assertNotEquals(CircuitBreaker.NOT_PERMITTED, breaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.NOT_PERMITTED, breaker.tryAcquirePermission());
+    }
+
+    @Test
+    @DisplayName("All probes succeeding closes the breaker with a fresh window")
+    void halfOpen_AllProbesSucceed_Closes() {
+        open();
+        clock.advance(Duration.ofSeconds(30));
+
+        call(FAST, false);
+        assertEquals(State.HALF_OPEN, breaker.getState());
+        call(FAST, false);
+
+        assertEquals(State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.snapshot().bufferedCalls());
+    }
+
+    @Test
+    @DisplayName("A failing or slow probe re-opens the breaker")
+    void halfOpen_ProbeFails_Reopens() {
+        open();
+        clock.advance(Duration.ofSeconds(30));
+        call(FAST, true);
+        assertEquals(State.OPEN, breaker.getState());
+
+        clock.advance(Duration.ofSeconds(30));
+        call(Duration.ofSeconds(5), false);
+        assertEquals(State.OPEN, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("Results of calls started before a state change are ignored")
+    void staleResult_FromEarlierGeneration_Ignored() {
+        long inFlight = breaker.tryAcquirePermission();
+        open();
+        clock.advance(Duration.ofSeconds(30));
+        long probe = breaker.tryAcquirePermission();
+
+        breaker.onResult(inFlight, FAST, true);
+        assertEquals(State.HALF_OPEN, breaker.getState());
+
+        breaker.onResult(probe, FAST, false);
+        call(FAST, false);
+        assertEquals(State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("Transitions are recorded in order for the actuator endpoint")
+    void transitions_RecordedAndExposed() {
+        open();
+        clock.advance(Duration.ofSeconds(30));
+        call(FAST, false);
+        call(FAST, false);
+
+        var transitions = breaker.snapshot().recentTransitions();
+        assertEquals(3, transitions.size());
+        assertEquals(State.OPEN, transitions.get(0).to());
+        assertEquals(State.HALF_OPEN, transitions.get(1).to());
+        assertEquals(State.CLOSED, transitions.get(2).to());
+    }
+
+    @Test
+    @DisplayName("Endpoint reports every upstream by tag")
+    void endpoint_ReportsEveryUpstream() {
+        CircuitBreakerRegistry registry = new CircuitBreakerRegistry(properties, new SimpleMeterRegistry(), clock);
+
+        Map<String, CircuitBreaker.Snapshot> snapshots = new CircuitBreakersEndpoint(registry).circuitBreakers();
+
+        assertEquals(Upstream.values().length, snapshots.size());
+        assertEquals(State.CLOSED, snapshots.get("panchanga").state());
+    }
+
+    @Test
+    @DisplayName("Disabled breaker never rejects")
+    void disabled_NeverRejects() {
+        properties.setEnabled(false);
+        for (int i = 0; i < 10; i++) {
+            call(FAST, true);
+        }
+
+        assertEquals(State.CLOSED, breaker.getState());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-02-24T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
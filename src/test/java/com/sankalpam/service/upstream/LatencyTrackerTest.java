@@ -0,0 +1,41 @@
+package com.sankalpam.service.upstream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LatencyTracker Tests")
+class LatencyTrackerTest {
+
+    @Test
+    @DisplayName("No percentile until the minimum number of samples has been seen")
+    void percentile_BelowMinimum_Null() {
+        LatencyTracker tracker = new LatencyTracker(100);
+        tracker.record(Duration.ofMillis(10));
+
+        assertNull(tracker.percentile(99, 2));
+        assertEquals(Duration.ofMillis(10), tracker.percentile(99, 1));
+    }
+
+    @Test
+    @DisplayName("While the window fills, percentiles are re-sorted only every RECOMPUTE_EVERY samples")
+    void percentile_WindowFilling_RecomputedOnSchedule() {
+        LatencyTracker tracker = new LatencyTracker(100);
+        for (int i = 1; i <= 10; i++) {
+            tracker.record(Duration.ofMillis(i));
+        }
+        assertEquals(Duration.ofMillis(10), tracker.percentile(100, 1));
+
+        tracker.record(Duration.ofSeconds(5));
+        assertEquals(Duration.ofMillis(10), tracker.percentile(100, 1), "one new sample does not force a sort");
+
+        for (int i = 1; i < LatencyTracker.RECOMPUTE_EVERY; i++) {
+            tracker.record(Duration.ofMillis(1));
+        }
+        assertEquals(Duration.ofSeconds(5), tracker.percentile(100, 1));
+        assertEquals(10 + LatencyTracker.RECOMPUTE_EVERY, tracker.count());
+    }
+}
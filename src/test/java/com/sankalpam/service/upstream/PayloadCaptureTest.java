@@ -0,0 +1,123 @@
+package com.sankalpam.service.upstream;
+
+import com.sankalpam.config.PayloadCaptureProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PayloadCapture Tests")
+class PayloadCaptureTest {
+
+    private static final URI REQUEST = URI.create("/rpc?cityfld=Pune&apiKey=secret");
+
+    @TempDir
+    Path directory;
+
+    private PayloadCaptureProperties properties;
+    private PayloadCapture capture;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PayloadCaptureProperties();
+        properties.setDirectory(directory.toString());
+        properties.setSampleRate(4);
+        capture = new PayloadCapture(properties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        capture.shutdown();
+    }
+
+    private List<String> lines(Path file) throws Exception {
+        return Files.exists(file) ? Files.readAllLines(file) : List.of();
+    }
+
+    @Test
+    @DisplayName("One in sample-rate successes is captured, and every failure")
+    void capture_SamplesSuccessesKeepsFailures() throws Exception {
+        int captured = 0;
+        for (int i = 0; i < 8; i++) {
+            captured += capture.capture(Upstream.PANCHANGA, REQUEST, 200, "ok", false) ? 1 : 0;
+        }
+        assertEquals(2, captured);
+        assertTrue(capture.capture(Upstream.PANCHANGA, REQUEST, 200, "garbage", true));
+        assertTrue(capture.capture(Upstream.PANCHANGA, REQUEST, 503, "down", true));
+
+        capture.shutdown();
+        List<String> lines = lines(capture.file());
+        assertEquals(4, lines.size());
+        assertEquals(4, capture.getWritten());
+        assertTrue(lines.get(2).contains("\"reason\":\"FAILURE\""));
+        assertTrue(lines.get(3).contains("\"status\":503"));
+        assertFalse(String.join("\n", lines).contains("secret"), "API keys must not be captured");
+    }
+
+    @Test
+    @DisplayName("Nothing is captured while disabled, and sampling can be switched off leaving failures")
+    void capture_DisabledOrZeroRate() {
+        properties.setEnabled(false);
+        assertFalse(capture.capture(Upstream.PANCHANGA, REQUEST, 200, "garbage", true));
+
+        properties.setEnabled(true);
+        properties.setSampleRate(0);
+        assertFalse(capture.capture(Upstream.PANCHANGA, REQUEST, 200, "ok", false));
+        assertTrue(capture.capture(Upstream.PANCHANGA, REQUEST, 200, "garbage", true));
+    }
+
+    @Test
+    @DisplayName("Long bodies are truncated and flagged")
+    void capture_LongBody_Truncated() throws Exception {
+        properties.setMaxBodyLength(5);
+        capture.capture(Upstream.PANCHANGA, REQUEST, 200, "0123456789", true);
+
+        capture.shutdown();
+        String line = lines(capture.file()).get(0);
+        assertTrue(line.contains("\"body\":\"01234\""), line);
+        assertTrue(line.contains("\"truncated\":true"), line);
+    }
+
+    @Test
+    @DisplayName("The sink rolls by size and keeps at most max-history old files")
+    void capture_RollsBySize() throws Exception {
+        properties.setMaxFileSize(DataSize.ofBytes(300));
+        properties.setMaxHistory(2);
+        for (int i = 0; i < 10; i++) {
+            capture.capture(Upstream.PANCHANGA, REQUEST, 200, "x".repeat(150), true);
+        }
+
+        capture.shutdown();
+        Path file = capture.file();
+        assertEquals(1, lines(file).size());
+        assertEquals(1, lines(PayloadCapture.rolled(file, 1)).size());
+        assertEquals(1, lines(PayloadCapture.rolled(file, 2)).size());
+        assertFalse(Files.exists(PayloadCapture.rolled(file, 3)));
+        assertEquals(10, capture.getWritten());
+    }
+
+    @Test
+    @DisplayName("The actuator endpoint changes settings at runtime")
+    void endpoint_UpdatesSettings() {
+        PayloadCaptureEndpoint endpoint = new PayloadCaptureEndpoint(properties, capture);
+
+        PayloadCaptureEndpoint.Status status = endpoint.update(false, 1);
+
+        assertFalse(status.enabled());
+        assertEquals(1, status.sampleRate());
+        assertFalse(capture.capture(Upstream.PANCHANGA, REQUEST, 200, "ok", false));
+        assertTrue(endpoint.update(true, null).enabled());
+        assertTrue(capture.capture(Upstream.PANCHANGA, REQUEST, 200, "ok", false));
+        assertThrows(IllegalArgumentException.class, () -> endpoint.update(null, -1));
+    }
+}
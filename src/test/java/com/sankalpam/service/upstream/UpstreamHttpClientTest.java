@@ -0,0 +1,350 @@
+package com.sankalpam.service.upstream;
+
+import com.sankalpam.config.BulkheadProperties;
+import com.sankalpam.config.CircuitBreakerProperties;
+import com.sankalpam.config.HedgingProperties;
+import com.sankalpam.config.UpstreamHttpProperties;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.net.ssl.SSLSession;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("UpstreamHttpClient Tests")
+class UpstreamHttpClientTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private UpstreamHttpClient client;
+    private HttpServer server;
+    private final AtomicInteger failingCalls = new AtomicInteger();
+    private final AtomicInteger stallingCalls = new AtomicInteger();
+    private final CountDownLatch held = new CountDownLatch(1);
+
+    private static final int WARM_UP_CALLS = 10;
+    private static final int STALLED_CALL = WARM_UP_CALLS + 1;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        client = newClient(new HedgingProperties());
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/ping", exchange -> {
+            byte[] body = "pong".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/fail", exchange -> {
+            failingCalls.incrementAndGet();
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+        });
+        server.createContext("/stall", exchange -> {
+            if (stallingCalls.incrementAndGet() == STALLED_CALL) {
+                try {
+                    Thread.sleep(3_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/hold", exchange -> {
+            try {
+                held.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "released".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    private UpstreamHttpClient newClient(HedgingProperties hedging) {
+        return newClient(new UpstreamHttpProperties(), hedging, new BulkheadProperties());
+    }
+
+    private UpstreamHttpClient newClient(UpstreamHttpProperties properties, HedgingProperties hedging,
+                                         BulkheadProperties bulkhead) {
+        return new UpstreamHttpClient(properties, meterRegistry,
+                new CircuitBreakerRegistry(new CircuitBreakerProperties(), meterRegistry), hedging, bulkhead);
+    }
+
+    private static BulkheadProperties bulkhead(int maxConcurrentCalls, int maxQueuedCalls) {
+        BulkheadProperties bulkhead = new BulkheadProperties();
+        bulkhead.setMaxConcurrentCalls(maxConcurrentCalls);
+        bulkhead.setMaxQueuedCalls(maxQueuedCalls);
+        bulkhead.setMaxWaitDuration(Duration.ofSeconds(5));
+        return bulkhead;
+    }
+
+    private static HedgingProperties hedging(int budgetPercent) {
+        HedgingProperties hedging = new HedgingProperties();
+        hedging.setEnabled(true);
+        hedging.setMinimumSamples(WARM_UP_CALLS);
+        hedging.setBudgetPercent(budgetPercent);
+        return hedging;
+    }
+
+    @AfterEach
+    void tearDown() {
+        held.countDown();
+        server.stop(0);
+        client.shutdown();
+    }
+
+    @Test
+    @DisplayName("get returns the upstream body and records a timer per upstream and status")
+    void get_ReturnsBody_AndRecordsTimer() throws Exception {
+        URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/ping");
+
+        HttpResponse<String> first = client.get(Upstream.GEOAPIFY, uri);
+        HttpResponse<String> second = client.get(Upstream.GEOAPIFY, uri);
+
+        assertEquals(200, first.statusCode());
+        assertEquals("pong", second.body());
+        assertEquals(2, meterRegistry.get("upstream.http.requests")
+                .tag("upstream", "geoapify").tag("status", "200").timer().count());
+    }
+
+    @Test
+    @DisplayName("First sighting of a TLS session counts as a handshake, later ones as reuse")
+    void recordTlsSession_CountsHandshakesAndReuse() {
+        SSLSession session = tlsSession(new byte[]{1, 2, 3}, 1_000L);
+
+        client.recordTlsSession(Upstream.PANCHANGA, Optional.of(session));
+        client.recordTlsSession(Upstream.PANCHANGA, Optional.of(session));
+        client.recordTlsSession(Upstream.PANCHANGA, Optional.of(session));
+
+        assertEquals(1, client.getHandshakeCount(Upstream.PANCHANGA));
+        assertEquals(2, client.getReusedConnectionCount(Upstream.PANCHANGA));
+        assertEquals(0, client.getHandshakeCount(Upstream.GEOAPIFY));
+    }
+
+    @Test
+    @DisplayName("A new session id or creation time is a new handshake")
+    void recordTlsSession_DistinctSessions_EachCountAsHandshake() {
+        client.recordTlsSession(Upstream.GEOAPIFY, Optional.of(tlsSession(new byte[]{1}, 1L)));
+        client.recordTlsSession(Upstream.GEOAPIFY, Optional.of(tlsSession(new byte[]{2}, 1L)));
+        client.recordTlsSession(Upstream.GEOAPIFY, Optional.of(tlsSession(new byte[]{1}, 2L)));
+
+        assertEquals(3, client.getHandshakeCount(Upstream.GEOAPIFY));
+        assertEquals(0, client.getReusedConnectionCount(Upstream.GEOAPIFY));
+    }
+
+    @Test
+    @DisplayName("Plain-HTTP responses carry no session and are not counted")
+    void recordTlsSession_NoSession_NotCounted() {
+        client.recordTlsSession(Upstream.PANCHANGA, Optional.empty());
+
+        assertEquals(0, client.getHandshakeCount(Upstream.PANCHANGA));
+        assertEquals(0, client.getReusedConnectionCount(Upstream.PANCHANGA));
+    }
+
+    @Test
+    @DisplayName("Repeated 5xx responses open the breaker; further calls fail fast without reaching the upstream")
+    void get_RepeatedServerErrors_OpenBreakerAndFailFast() throws Exception {
+        URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/fail");
+        int minimumCalls = new CircuitBreakerProperties().getMinimumNumberOfCalls();
+
+        for (int i = 0; i < minimumCalls; i++) {
+            assertEquals(500, client.get(Upstream.PANCHANGA, uri).statusCode());
+        }
+
+        assertThrows(CircuitOpenException.class, () -> client.get(Upstream.PANCHANGA, uri));
+        ExecutionException async = assertThrows(ExecutionException.class, () -> client.getAsync(Upstream.PANCHANGA, uri).get());
+        assertInstanceOf(CircuitOpenException.class, async.getCause());
+        assertEquals(minimumCalls, failingCalls.get());
+        assertEquals(2, meterRegistry.get("upstream.circuitbreaker.calls.rejected")
+                .tag("upstream", "panchanga").counter().count());
+
+        // Breakers are per upstream: Geoapify is unaffected
+        assertEquals(500, client.get(Upstream.GEOAPIFY, uri).statusCode());
+    }
+
+    @Test
+    @DisplayName("A call slower than the recent tail is hedged and the faster duplicate wins")
+    void getAsync_StalledCall_HedgeWins() throws Exception {
+        client.shutdown();
+        client = newClient(hedging(100));
+        URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/stall");
+        for (int i = 0; i < WARM_UP_CALLS; i++) {
+            client.getAsync(Upstream.PANCHANGA, uri).get(5, TimeUnit.SECONDS);
+        }
+
+        long start = System.nanoTime();
+        HttpResponse<String> response = client.getAsync(Upstream.PANCHANGA, uri).get(5, TimeUnit.SECONDS);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals("ok", response.body());
+        assertTrue(elapsedMs < 2_000, "hedge should answer well before the 3 s stall, took " + elapsedMs + " ms");
+        assertEquals(1, meterRegistry.get("upstream.http.hedges").tag("outcome", "issued").counter().count());
+        // The win is counted just after the response is handed over
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (meterRegistry.get("upstream.http.hedges").tag("outcome", "won").counter().count() < 1
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, meterRegistry.get("upstream.http.hedges").tag("outcome", "won").counter().count());
+    }
+
+    @Test
+    @DisplayName("No hedge is sent once the budget is spent")
+    void getAsync_BudgetExhausted_NoHedge() throws Exception {
+        client.shutdown();
+        client = newClient(hedging(0));
+        URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/stall");
+        for (int i = 0; i < WARM_UP_CALLS; i++) {
+            client.getAsync(Upstream.PANCHANGA, uri).get(5, TimeUnit.SECONDS);
+        }
+
+        assertEquals("ok", client.getAsync(Upstream.PANCHANGA, uri).get(10, TimeUnit.SECONDS).body());
+
+        assertEquals(STALLED_CALL, stallingCalls.get());
+        assertEquals(1, meterRegistry.get("upstream.http.hedges").tag("outcome", "skipped_budget").counter().count());
+    }
+
+    @Test
+    @DisplayName("Upstreams not configured for hedging are never hedged")
+    void getAsync_UpstreamNotHedged_SingleRequest() throws Exception {
+        client.shutdown();
+        client = newClient(hedging(100));
+        URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/stall");
+        for (int i = 0; i < STALLED_CALL; i++) {
+            client.getAsync(Upstream.GEOAPIFY, uri).get(10, TimeUnit.SECONDS);
+        }
+
+        assertEquals(STALLED_CALL, stallingCalls.get());
+        assertTrue(meterRegistry.find("upstream.http.hedges").counters().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Calls beyond the bulkhead's limit queue, and beyond its queue are rejected at once")
+    void getAsync_BulkheadSaturated_QueuesThenRejects() throws Exception {
+        client.shutdown();
+        meterRegistry = new SimpleMeterRegistry(); // gauges registered by the setUp client would shadow the new ones
+        client = newClient(new UpstreamHttpProperties(), new HedgingProperties(), bulkhead(1, 1));
+        URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/hold");
+
+        CompletableFuture<HttpResponse<String>> inFlight = client.getAsync(Upstream.PANCHANGA, uri);
+        CompletableFuture<HttpResponse<String>> queued = client.getAsync(Upstream.PANCHANGA, uri);
+        CompletableFuture<HttpResponse<String>> rejected = client.getAsync(Upstream.PANCHANGA, uri);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> rejected.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(BulkheadFullException.class, e.getCause());
+        assertEquals(1, meterRegistry.get("upstream.bulkhead.inflight").tag("upstream", "panchanga").gauge().value());
+        assertEquals(1, meterRegistry.get("upstream.bulkhead.queued").tag("upstream", "panchanga").gauge().value());
+        assertEquals(1, meterRegistry.get("upstream.bulkhead.calls.rejected")
+                .tag("upstream", "panchanga").tag("reason", "queue_full").counter().count());
+
+        held.countDown();
+
+        assertEquals("released", inFlight.get(5, TimeUnit.SECONDS).body());
+        assertEquals("released", queued.get(5, TimeUnit.SECONDS).body());
+        assertEquals(0, meterRegistry.get("upstream.bulkhead.queued").tag("upstream", "panchanga").gauge().value());
+    }
+
+    @Test
+    @DisplayName("A blocking call is rejected when the bulkhead is full, and bulkheads are per upstream")
+    void get_BulkheadFull_RejectedPerUpstream() throws Exception {
+        client.shutdown();
+        client = newClient(new UpstreamHttpProperties(), new HedgingProperties(), bulkhead(1, 0));
+        URI hold = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/hold");
+        URI ping = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/ping");
+
+        CompletableFuture<HttpResponse<String>> inFlight = client.getAsync(Upstream.GEOAPIFY, hold);
+
+        assertThrows(BulkheadFullException.class, () -> client.get(Upstream.GEOAPIFY, ping));
+        assertEquals("pong", client.get(Upstream.PANCHANGA, ping).body());
+
+        held.countDown();
+        inFlight.get(5, TimeUnit.SECONDS);
+        assertEquals("pong", client.get(Upstream.GEOAPIFY, ping).body());
+    }
+
+    @Test
+    @DisplayName("Until enough latencies are seen the configured request timeout applies")
+    void requestTimeout_TooFewSamples_UsesConfiguredTimeout() throws Exception {
+        URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/ping");
+        client.get(Upstream.PANCHANGA, uri);
+
+        Duration configured = new UpstreamHttpProperties().getRequestTimeout();
+        assertEquals(configured, client.requestTimeout(Upstream.PANCHANGA));
+        assertEquals(configured.toMillis(), meterRegistry.get("upstream.http.timeout")
+                .tag("upstream", "panchanga").gauge().value());
+    }
+
+    @Test
+    @DisplayName("After warm-up a hung call times out near the upstream's normal tail, not the configured timeout")
+    void get_StalledCallAfterWarmUp_TimesOutAtAdaptiveTimeout() throws Exception {
+        client.shutdown();
+        UpstreamHttpProperties properties = new UpstreamHttpProperties();
+        properties.getAdaptiveTimeout().setFloor(Duration.ofMillis(300));
+        properties.getAdaptiveTimeout().setMinimumSamples(WARM_UP_CALLS);
+        client = newClient(properties, new HedgingProperties(), new BulkheadProperties());
+        URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/stall");
+        for (int i = 0; i < WARM_UP_CALLS; i++) {
+            client.get(Upstream.PANCHANGA, uri);
+        }
+        assertEquals(Duration.ofMillis(300), client.requestTimeout(Upstream.PANCHANGA));
+
+        long start = System.nanoTime();
+        assertThrows(HttpTimeoutException.class, () -> client.get(Upstream.PANCHANGA, uri));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMs < 2_000, "should give up well before the 3 s stall, took " + elapsedMs + " ms");
+        assertEquals(1, meterRegistry.get("upstream.http.requests")
+                .tag("upstream", "panchanga").tag("status", "TIMEOUT").timer().count());
+    }
+
+    @Test
+    @DisplayName("Hedge budget allows at most the configured share of primary requests")
+    void hedgeBudget_CapsHedgesAtPercentage() {
+        HedgeBudget budget = new HedgeBudget(10);
+        int hedges = 0;
+        for (int i = 0; i < 1_000; i++) {
+            budget.onPrimaryRequest();
+            if (budget.tryAcquire()) {
+                hedges++;
+            }
+        }
+
+        assertEquals(100, hedges);
+        assertFalse(new HedgeBudget(0).tryAcquire());
+    }
+
+    private static SSLSession tlsSession(byte[] id, long creationTime) {
+        SSLSession session = mock(SSLSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.getCreationTime()).thenReturn(creationTime);
+        return session;
+    }
+}
@@ -0,0 +1,139 @@
+package com.sankalpam.service.upstream;
+
+import com.sankalpam.config.BulkheadProperties;
+import com.sankalpam.config.CircuitBreakerProperties;
+import com.sankalpam.config.HedgingProperties;
+import com.sankalpam.config.UpstreamHttpProperties;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UpstreamStubServer Tests")
+class UpstreamStubServerTest {
+
+    @TempDir
+    Path recordings;
+
+    private HttpServer origin;
+    private UpstreamHttpClient client;
+    private UpstreamStubServer stub;
+
+    @AfterEach
+    void tearDown() {
+        if (origin != null) {
+            origin.stop(0);
+        }
+        if (client != null) {
+            client.shutdown();
+        }
+        if (stub != null) {
+            stub.close();
+        }
+    }
+
+    private UpstreamHttpClient newClient(String panchangaBaseUrl, boolean record) {
+        UpstreamHttpProperties properties = new UpstreamHttpProperties();
+        properties.setPanchangaBaseUrl(panchangaBaseUrl);
+        properties.getRecording().setEnabled(record);
+        properties.getRecording().setDirectory(recordings.toString());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return new UpstreamHttpClient(properties, meterRegistry,
+                new CircuitBreakerRegistry(new CircuitBreakerProperties(), meterRegistry),
+                new HedgingProperties(), new BulkheadProperties());
+    }
+
+    @Test
+    @DisplayName("Request keys sort the query and drop the API key")
+    void requestKey_SortedWithoutApiKey() {
+        assertEquals("/v1/geocode/search?lang=en&text=Pune",
+                UpstreamRecording.requestKey(URI.create("/v1/geocode/search?text=Pune&apiKey=secret&lang=en")));
+        assertEquals("/rpc", UpstreamRecording.requestKey(URI.create("http://host/rpc")));
+    }
+
+    @Test
+    @DisplayName("Responses captured in record mode are replayed by the stub")
+    void recordThenReplay_ServesCapturedResponse() throws Exception {
+        origin = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        origin.createContext("/rpc", exchange -> {
+            byte[] body = "<b>recorded</b>".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/html");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        origin.start();
+        client = newClient("http://127.0.0.1:" + origin.getAddress().getPort(), true);
+        URI request = URI.create("/rpc?action=findSankalpam&cityfld=Pune&apiKey=secret");
+
+        assertEquals("<b>recorded</b>", client.get(Upstream.PANCHANGA, request).body());
+        origin.stop(0);
+        origin = null;
+        client.shutdown();
+
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(recordings)) {
+            files = walk.filter(Files::isRegularFile).toList();
+        }
+        assertEquals(1, files.size());
+        assertFalse(Files.readString(files.get(0)).contains("secret"), "API keys must not be recorded");
+
+        stub = new UpstreamStubServer(recordings).start(0);
+        client = newClient(stub.baseUrl(), false);
+        HttpResponse<String> replayed = client.get(Upstream.PANCHANGA, request);
+
+        assertEquals(200, replayed.statusCode());
+        assertEquals("<b>recorded</b>", replayed.body());
+        assertEquals("text/html", replayed.headers().firstValue("Content-Type").orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Without an exact recording, a lenient stub answers with one for the same path; a strict one with 404")
+    void replay_NoExactMatch_LenientFallsBackStrict404() throws Exception {
+        stub = new UpstreamStubServer(recordings)
+                .add(new UpstreamRecording("panchanga", "/rpc?cityfld=Pune", 200, "text/html", "pune"))
+                .start(0);
+        client = newClient(stub.baseUrl(), false);
+        URI other = URI.create("/rpc?cityfld=Mumbai");
+
+        assertEquals("pune", client.get(Upstream.PANCHANGA, other).body());
+
+        stub.lenient(false);
+        assertEquals(404, client.get(Upstream.PANCHANGA, other).statusCode());
+        assertEquals(404, client.get(Upstream.PANCHANGA, URI.create("/unknown")).statusCode());
+    }
+
+    @Test
+    @DisplayName("Latency and error injection apply to every request")
+    void replay_LatencyAndErrors_Injected() throws Exception {
+        stub = new UpstreamStubServer(recordings)
+                .add(new UpstreamRecording("panchanga", "/rpc", 200, null, "ok"))
+                .latency(Duration.ofMillis(150), Duration.ZERO)
+                .errorRate(1.0)
+                .start(0);
+        client = newClient(stub.baseUrl(), false);
+
+        long start = System.nanoTime();
+        HttpResponse<String> response = client.get(Upstream.PANCHANGA, URI.create("/rpc"));
+        long elapsedMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertEquals(503, response.statusCode());
+        assertTrue(elapsedMs >= 150, "expected the injected latency, took " + elapsedMs + " ms");
+        assertEquals(1, stub.getRequestCount());
+        assertEquals(1, stub.getInjectedErrorCount());
+    }
+}